@@ -0,0 +1,108 @@
+package com.example.validation.cnpj;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ValidationException;
+
+/**
+ * Validador para a anotação {@link ValidCNPJ}.
+ *
+ * <p>Adapta as regras de {@link CnpjValidacao} (módulo {@code cnpj-core}) ao Bean Validation:
+ * trata o {@code null} conforme {@link ValidCNPJ#acceptNull()} e, se a anotação restringir a
+ * {@link ValidCNPJ#situacao()}, ainda consulta um CNPJ válido no {@link SituacaoCadastralIndex}
+ * padrão (busca binária em arquivo mapeado, sem alocar).</p>
+ *
+ * <p>Com um {@link CnpjShadowValidator} registrado como padrão, uma amostra das validações
+ * também é comparada com um motor candidato, fora da thread da validação.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CNPJValidator implements ConstraintValidator<ValidCNPJ, String> {
+
+    private boolean acceptNull;
+
+    /** Códigos de situação aceitos, um bit por código; 0 dispensa a consulta. */
+    private long situacoesAceitas;
+
+    /**
+     * Inicializa o validador com os parâmetros da anotação.
+     *
+     * @param constraintAnnotation anotação com os parâmetros de configuração
+     */
+    @Override
+    public void initialize(ValidCNPJ constraintAnnotation) {
+        this.acceptNull = constraintAnnotation.acceptNull();
+        this.situacoesAceitas = 0;
+        for (SituacaoCadastral situacao : constraintAnnotation.situacao()) {
+            this.situacoesAceitas |= 1L << situacao.getCodigo();
+        }
+    }
+
+    /**
+     * Valida se o CNPJ informado é válido.
+     *
+     * @param cnpj o CNPJ a ser validado
+     * @param context contexto de validação
+     * @return true se o CNPJ é válido, false caso contrário
+     */
+    @Override
+    public boolean isValid(String cnpj, ConstraintValidatorContext context) {
+        // Trata valores nulos conforme configuração
+        if (cnpj == null) {
+            return acceptNull;
+        }
+
+        boolean valido = CnpjValidacao.isValid(cnpj);
+
+        CnpjShadowValidator sombra = CnpjShadowValidator.getPadrao();
+        if (sombra != null) {
+            sombra.observar(cnpj, valido);
+        }
+
+        if (valido && situacoesAceitas != 0 && !situacaoAceita(cnpj)) {
+            if (context != null) {
+                context.disableDefaultConstraintViolation();
+                context.buildConstraintViolationWithTemplate("CNPJ sem situação cadastral aceita")
+                    .addConstraintViolation();
+            }
+            return false;
+        }
+        return valido;
+    }
+
+    /**
+     * Calcula os dígitos verificadores (DV) de um CNPJ.
+     *
+     * @param baseCnpj os 12 primeiros caracteres do CNPJ (sem DV)
+     * @return os 2 dígitos verificadores calculados
+     * @throws IllegalArgumentException se a base do CNPJ for inválida
+     * @deprecated o cálculo passou para o {@code cnpj-core}: use {@link CnpjValidacao#calculaDV(String)}
+     *             ou, sem alocar, {@link CnpjFastValidator#calculaDV(CharSequence, int)}
+     */
+    @Deprecated
+    public static String calculaDV(String baseCnpj) {
+        return CnpjValidacao.calculaDV(baseCnpj);
+    }
+
+    /**
+     * Confere a situação cadastral de um CNPJ válido.
+     *
+     * @param cnpj CNPJ válido
+     * @return true se o CNPJ consta na base em uma das situações aceitas
+     * @throws ValidationException se nenhuma base de situação cadastral estiver carregada
+     */
+    private boolean situacaoAceita(String cnpj) {
+        SituacaoCadastralIndex indice = SituacaoCadastralIndex.getPadrao();
+        if (indice == null) {
+            throw new ValidationException(
+                "Base de situação cadastral não carregada (configure cnpj.situacao.arquivo)");
+        }
+        int info = indice.consultar(cnpj);
+        if (info == SituacaoCadastralIndex.NAO_ENCONTRADO) {
+            return false;
+        }
+        int codigo = SituacaoCadastralIndex.codigo(info);
+        return codigo < Long.SIZE && (situacoesAceitas & 1L << codigo) != 0;
+    }
+}
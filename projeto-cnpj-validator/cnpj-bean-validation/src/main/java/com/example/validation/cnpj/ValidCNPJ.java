@@ -29,6 +29,13 @@ import java.lang.annotation.Target;
  * }
  * </pre>
  * 
+ * <p>Com {@link #situacao()} o CNPJ também precisa constar na base de situação cadastral
+ * ({@link SituacaoCadastralIndex}) em uma das situações informadas:</p>
+ * <pre>
+ * {@literal @}ValidCNPJ(situacao = SituacaoCadastral.ATIVA)
+ * private String cnpj;
+ * </pre>
+ * 
  * @author Sistema de Validação
  * @since 1.0
  */
@@ -66,4 +73,15 @@ public @interface ValidCNPJ {
      * @return true se null é considerado válido, false caso contrário
      */
     boolean acceptNull() default true;
+
+    /**
+     * Situações cadastrais aceitas. Vazio (padrão) dispensa a consulta; caso contrário o
+     * CNPJ ausente da base ou em outra situação é inválido.
+     * 
+     * <p>Exige uma base carregada em {@link SituacaoCadastralIndex#definirPadrao}
+     * (propriedade {@code cnpj.situacao.arquivo} na aplicação).</p>
+     * 
+     * @return situações aceitas
+     */
+    SituacaoCadastral[] situacao() default {};
 }
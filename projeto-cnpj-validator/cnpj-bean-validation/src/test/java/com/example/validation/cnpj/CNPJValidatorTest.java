@@ -1,10 +1,12 @@
 package com.example.validation.cnpj;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -207,6 +209,11 @@ class CNPJValidatorTest {
                 public boolean acceptNull() {
                     return acceptNull;
                 }
+
+                @Override
+                public SituacaoCadastral[] situacao() {
+                    return new SituacaoCadastral[0];
+                }
             };
         }
     }
@@ -272,4 +279,61 @@ class CNPJValidatorTest {
             );
         }
     }
+
+    @Nested
+    @DisplayName("Testes de Motivo da Validação")
+    class Motivo {
+
+        @ParameterizedTest
+        @DisplayName("Deve identificar o motivo do resultado")
+        @CsvSource({
+            "12ABC34501DE35, VALIDO",
+            "90.021.382/0001-22, VALIDO",
+            "90025255/0001, TAMANHO_INVALIDO",
+            "1345c3A5000106, CARACTERE_INVALIDO",
+            "12ABC34501DEAA, DV_NAO_NUMERICO",
+            "00000000000000, ZERADO",
+            "00000000000012, ZERADO",
+            "12ABC34501DE00, DV_INCORRETO"
+        })
+        void deveIdentificarMotivo(String cnpj, CnpjMotivo esperado) {
+            assertEquals(esperado, CnpjValidacao.motivo(cnpj));
+        }
+
+        @Test
+        @DisplayName("Deve retornar NULO para CNPJ nulo")
+        void deveRetornarNuloParaCNPJNulo() {
+            assertEquals(CnpjMotivo.NULO, CnpjValidacao.motivo(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Modo Sombra")
+    class ModoSombra {
+
+        @AfterEach
+        void limparPadrao() {
+            CnpjShadowValidator.definirPadrao(null);
+        }
+
+        @Test
+        @DisplayName("Deve comparar as validações com o candidato registrado, sem mudar o resultado")
+        void deveCompararComCandidato() {
+            // candidato que ainda não conhece o CNPJ alfanumérico
+            CnpjShadowValidator sombra = new CnpjShadowValidator(CnpjShadowValidator.motor("validacao"),
+                cnpj -> cnpj.chars().allMatch(c -> c < 'A') && CnpjValidacao.isValid(cnpj), 1.0, 10, Runnable::run);
+            CnpjShadowValidator.definirPadrao(sombra);
+
+            assertTrue(validator.isValid("12ABC34501DE35", null));
+            assertTrue(validator.isValid("90.021.382/0001-22", null));
+            assertFalse(validator.isValid("12ABC34501DE00", null));
+
+            assertEquals(3, sombra.getComparadas());
+            assertEquals(1, sombra.getDivergentes());
+            CnpjShadowValidator.Divergencia divergencia = sombra.getDivergencias().get(0);
+            assertEquals("12ABC34501DE35", divergencia.cnpj());
+            assertTrue(divergencia.ativo());
+            assertFalse(divergencia.candidato());
+        }
+    }
 }
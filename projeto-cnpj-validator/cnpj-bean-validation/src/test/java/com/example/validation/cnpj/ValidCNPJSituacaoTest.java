@@ -0,0 +1,75 @@
+package com.example.validation.cnpj;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da opção {@code situacao} do {@link ValidCNPJ}, com uma base de situação
+ * cadastral ({@link SituacaoCadastralIndex}) gravada em arquivo temporário.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("ValidCNPJ - Situação Cadastral")
+class ValidCNPJSituacaoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @AfterEach
+    void limparPadrao() {
+        SituacaoCadastralIndex.definirPadrao(null);
+    }
+
+    @Test
+    @DisplayName("@ValidCNPJ(situacao = ATIVA) deve exigir o CNPJ ativo na base")
+    void deveValidarSituacaoNaAnotacao() throws IOException {
+        Path arquivo = diretorio.resolve("situacao.bin");
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(arquivo, null)) {
+            escritor.adicionar(CnpjPacked.packBase("12ABC34501DE", 0),
+                SituacaoCadastralIndex.info(SituacaoCadastral.ATIVA.getCodigo(), null));
+            escritor.adicionar(CnpjPacked.packBase("900213820001", 0),
+                SituacaoCadastralIndex.info(SituacaoCadastral.BAIXADA.getCodigo(), null));
+        }
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+
+            assertThrows(ValidationException.class, () -> validator.validate(new Cadastro("12ABC34501DE35")),
+                "Sem base carregada a validação com situação não pode passar em silêncio");
+
+            try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo)) {
+                SituacaoCadastralIndex.definirPadrao(indice);
+
+                assertTrue(validator.validate(new Cadastro("12.ABC.345/01DE-35")).isEmpty());
+                assertEquals("CNPJ sem situação cadastral aceita",
+                    validator.validate(new Cadastro("90021382000122")).iterator().next().getMessage());
+                assertFalse(validator.validate(new Cadastro("R55231B3000757")).isEmpty(), "ausente da base");
+                assertEquals("CNPJ inválido",
+                    validator.validate(new Cadastro("12ABC34501DE00")).iterator().next().getMessage());
+                assertTrue(validator.validate(new Cadastro(null)).isEmpty());
+
+                // sem a opção, a base não é consultada
+                assertTrue(validator.validate(new CadastroSemSituacao("90021382000122")).isEmpty());
+            }
+            assertNull(SituacaoCadastralIndex.getPadrao(), "close deve remover o índice padrão");
+        }
+    }
+
+    private record Cadastro(@ValidCNPJ(situacao = SituacaoCadastral.ATIVA) String cnpj) {
+    }
+
+    private record CadastroSemSituacao(@ValidCNPJ String cnpj) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.validation.cnpj.fuzz;
+
+import com.example.validation.cnpj.reference.CnpjReferenceValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Execução curta do {@link CnpjDifferentialFuzzer} no Surefire.
+ *
+ * <p>A semente e a quantidade de entradas podem ser trocadas com
+ * {@code -Dcnpj.fuzz.seed=...} e {@code -Dcnpj.fuzz.iteracoes=...}; a divergência
+ * informa a entrada exata para virar um caso fixo abaixo.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("Fuzzer diferencial contra a implementação de referência")
+class CnpjDifferentialFuzzTest {
+
+    private static final long SEED = Long.getLong("cnpj.fuzz.seed", 20261019L);
+    private static final int ITERACOES = Integer.getInteger("cnpj.fuzz.iteracoes", 50_000);
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+        "", " ", "12ABC34501DE35", "12.ABC.345/01DE-35", "\t12ABC34501DE35\n", "\u000012ABC34501DE35\u001F",
+        " 12ABC34501DE35", "12ABC34501DE35\u3000", "12abc34501de35", "12aBC34501DE35",
+        "00000000000000", "00000000000012", "0.0.0.0.0.0.0.0.0.0.0.0.1.2", "000000000000AB",
+        "12ABC34501DE\u0663\u0665", "\uFF11\uFF12ABC34501DE35", "12ABC-34501DE35-", "12ABC 34501DE35",
+        "90.021.382/0001-22", "R55231B3000757", "--------", "12ABC34501DE3"
+    })
+    @DisplayName("Casos fixos devem concordar com a referência")
+    void casosFixos(String entrada) {
+        assertNull(CnpjDifferentialFuzzer.verificar(entrada), () -> CnpjDifferentialFuzzer.literal(entrada));
+    }
+
+    @Test
+    @DisplayName("Entradas geradas devem concordar com a referência")
+    void entradasGeradas() {
+        CnpjDifferentialFuzzer fuzzer = new CnpjDifferentialFuzzer(SEED);
+        for (int i = 0; i < ITERACOES; i++) {
+            String entrada = fuzzer.proximaEntrada();
+            String divergencia = CnpjDifferentialFuzzer.verificar(entrada);
+            if (divergencia != null) {
+                fail(String.format("Divergência na entrada %d (seed %d) %s: %s",
+                    i, SEED, CnpjDifferentialFuzzer.literal(entrada), divergencia));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("O gerador deve produzir válidos, inválidos e exceções da referência")
+    void geradorDeveCobrirTodosOsResultados() {
+        CnpjDifferentialFuzzer fuzzer = new CnpjDifferentialFuzzer(SEED);
+        int validos = 0;
+        int minusculos = 0;
+        int comEspacos = 0;
+        int nulos = 0;
+        int excecoes = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String entrada = fuzzer.proximaEntrada();
+            if (entrada == null) {
+                nulos++;
+                continue;
+            }
+            try {
+                if (CnpjReferenceValidator.isValid(entrada, false)) {
+                    validos++;
+                }
+            } catch (IllegalArgumentException e) {
+                excecoes++;
+            }
+            if (!entrada.equals(entrada.toUpperCase(Locale.ROOT))) {
+                minusculos++;
+            }
+            if (!entrada.equals(entrada.trim())) {
+                comEspacos++;
+            }
+        }
+        assertTrue(validos > 1_000, "válidos: " + validos);
+        assertTrue(minusculos > 1_000, "minúsculos: " + minusculos);
+        assertTrue(comEspacos > 500, "com espaços: " + comEspacos);
+        assertTrue(nulos > 50, "nulos: " + nulos);
+        assertTrue(excecoes > 0, "exceções da referência: " + excecoes);
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.validation.cnpj.fuzz;
+
+import com.example.validation.cnpj.CNPJValidator;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.ValidCNPJ;
+import com.example.validation.cnpj.reference.CnpjReferenceValidator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fuzzer diferencial: compara todas as implementações de validação de CNPJ com a
+ * {@link CnpjReferenceValidator} em entradas geradas a partir de CNPJs válidos mutados.
+ *
+ * <p>As mutações cobrem formatação em posições arbitrárias, minúsculas, espaços nas pontas
+ * e no meio (inclusive caracteres que {@link String#trim()} não remove), dígitos e letras
+ * Unicode, DV trocado, bases zeradas, remoções, duplicações e transposições. O valor
+ * {@code null} é testado com {@code acceptNull} ligado e desligado.</p>
+ *
+ * <p>Implementações comparadas:</p>
+ * <ul>
+ *   <li>{@link CNPJValidator#isValid} (anotação): deve ser idêntico, inclusive na exceção</li>
+ *   <li>{@link CnpjValidacao#motivo}: {@code VALIDO} exatamente quando a referência aceita</li>
+ *   <li>{@link CnpjFastValidator} sobre {@code String}, {@code byte[]} e {@code ByteBuffer}
+ *       direto com offset: idêntico, exceto que a exceção da referência vira {@code false}</li>
+ * </ul>
+ *
+ * <p>Execução longa (fora do Surefire), até encontrar a primeira divergência:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.validation.cnpj.fuzz.CnpjDifferentialFuzzer \
+ *     -Dexec.args="--duracao PT30M --threads 4 --seed 42"
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjDifferentialFuzzer {
+
+    private static final char[] ALFABETO = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] FORMATACAO = { '.', '/', '-' };
+
+    /** Espaços removidos por {@code trim()} e outros que ele não remove. */
+    private static final char[] ESPACOS = {
+        ' ', '\t', '\n', '\r', '\u0000', '\u000B', '\u001F', '\u00A0', '\u2003', '\u3000', '\uFEFF'
+    };
+
+    /** Caracteres que parecem válidos mas não são ASCII (ou não são aceitos pelas regras). */
+    private static final char[] ESTRANHOS = {
+        '\u00C7', '\u00E7', '\u00E9', '\u0663', '\uFF10', '\uFF19', '\uFF21', '\uFF5A', '\u00DF', '\u0130',
+        '_', '*', '+', ',', ':', '\\', '?', '\u007F', '\u00FF'
+    };
+
+    private static final CNPJValidator ANOTACAO_ACEITA_NULO = validador(true);
+    private static final CNPJValidator ANOTACAO_REJEITA_NULO = validador(false);
+
+    private final SplittableRandom random;
+
+    /**
+     * @param seed semente do gerador (a mesma semente gera a mesma sequência)
+     */
+    public CnpjDifferentialFuzzer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gera a próxima entrada.
+     *
+     * @return entrada (pode ser null)
+     */
+    public String proximaEntrada() {
+        int sorteio = random.nextInt(100);
+        if (sorteio == 0) {
+            return null;
+        }
+        if (sorteio < 4) {
+            return lixo();
+        }
+
+        StringBuilder cnpj = new StringBuilder(cnpjValido());
+        int mutacoes = random.nextInt(4);
+        for (int i = 0; i < mutacoes && cnpj.length() > 0; i++) {
+            mutar(cnpj);
+        }
+        return cnpj.toString();
+    }
+
+    /**
+     * Confere uma entrada em todas as implementações.
+     *
+     * @param entrada entrada a conferir
+     * @return descrição da divergência, ou null se todas concordarem com a referência
+     */
+    public static String verificar(String entrada) {
+        Resultado aceitaNulo = referencia(entrada, true);
+        Resultado rejeitaNulo = referencia(entrada, false);
+
+        String divergencia = comparar("CNPJValidator(acceptNull=true)", aceitaNulo,
+            executar(() -> ANOTACAO_ACEITA_NULO.isValid(entrada, null)));
+        if (divergencia == null) {
+            divergencia = comparar("CNPJValidator(acceptNull=false)", rejeitaNulo,
+                executar(() -> ANOTACAO_REJEITA_NULO.isValid(entrada, null)));
+        }
+        if (divergencia != null || entrada == null) {
+            return divergencia;
+        }
+
+        // Demais implementações não têm acceptNull; a exceção da referência vale como inválido
+        boolean esperado = rejeitaNulo == Resultado.VALIDO;
+
+        CnpjMotivo motivo = CnpjValidacao.motivo(entrada);
+        if ((motivo == CnpjMotivo.VALIDO) != esperado) {
+            return "CnpjValidacao.motivo: " + motivo + ", referência " + rejeitaNulo;
+        }
+        if (rejeitaNulo == Resultado.EXCECAO && motivo != CnpjMotivo.ZERADO) {
+            return "CnpjValidacao.motivo: " + motivo + " para exceção da referência (esperado ZERADO)";
+        }
+        if (CnpjFastValidator.motivo(entrada, 0, entrada.length()) != motivo) {
+            return "CnpjFastValidator(CharSequence): " + CnpjFastValidator.motivo(entrada, 0, entrada.length())
+                + ", CnpjValidacao.motivo " + motivo;
+        }
+
+        byte[] bytes = ("##" + entrada + "##").getBytes(StandardCharsets.ISO_8859_1);
+        if (CnpjFastValidator.isValid(bytes, 2, bytes.length - 2) != esperado) {
+            return "CnpjFastValidator(byte[]): " + !esperado + ", referência " + rejeitaNulo;
+        }
+        ByteBuffer direto = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        if (CnpjFastValidator.isValid(direto, 2, bytes.length - 2) != esperado) {
+            return "CnpjFastValidator(ByteBuffer direto): " + !esperado + ", referência " + rejeitaNulo;
+        }
+        return null;
+    }
+
+    /**
+     * Representação legível de uma entrada, com escapes para caracteres não imprimíveis.
+     *
+     * @param entrada entrada original
+     * @return literal Java equivalente
+     */
+    public static String literal(String entrada) {
+        if (entrada == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < entrada.length(); i++) {
+            char c = entrada.charAt(i);
+            if (c >= ' ' && c < 0x7F && c != '"' && c != '\\') {
+                sb.append(c);
+            } else {
+                sb.append(String.format("\\u%04X", (int) c));
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private String cnpjValido() {
+        char[] base = new char[12];
+        do {
+            for (int i = 0; i < base.length; i++) {
+                // metade numérico, metade alfanumérico
+                base[i] = ALFABETO[random.nextInt(random.nextBoolean() ? 10 : ALFABETO.length)];
+            }
+        } while (new String(base).matches("0+"));
+        String texto = new String(base);
+        return texto + CnpjReferenceValidator.calculaDV(texto);
+    }
+
+    private void mutar(StringBuilder cnpj) {
+        int posicao = random.nextInt(cnpj.length() + 1);
+        int indice = Math.min(posicao, cnpj.length() - 1);
+        switch (random.nextInt(12)) {
+            case 0 -> cnpj.setCharAt(indice, Character.toLowerCase(cnpj.charAt(indice)));
+            case 1 -> {
+                String minusculo = cnpj.toString().toLowerCase(Locale.ROOT);
+                cnpj.setLength(0);
+                cnpj.append(minusculo);
+            }
+            case 2 -> cnpj.insert(posicao, FORMATACAO[random.nextInt(FORMATACAO.length)]);
+            case 3 -> mascarar(cnpj);
+            case 4 -> {
+                cnpj.insert(0, espacos());
+                cnpj.append(espacos());
+            }
+            case 5 -> cnpj.insert(posicao, ESPACOS[random.nextInt(ESPACOS.length)]);
+            case 6 -> cnpj.setCharAt(indice, ESTRANHOS[random.nextInt(ESTRANHOS.length)]);
+            case 7 -> cnpj.setCharAt(indice, ALFABETO[random.nextInt(ALFABETO.length)]);
+            case 8 -> cnpj.deleteCharAt(indice);
+            case 9 -> cnpj.insert(indice, cnpj.charAt(indice));
+            case 10 -> {
+                // zera a base, mantendo o que vier depois
+                for (int i = 0, trocados = 0; i < cnpj.length() && trocados < 12; i++) {
+                    if (Character.isLetterOrDigit(cnpj.charAt(i))) {
+                        cnpj.setCharAt(i, '0');
+                        trocados++;
+                    }
+                }
+            }
+            default -> {
+                if (indice + 1 < cnpj.length()) {
+                    char c = cnpj.charAt(indice);
+                    cnpj.setCharAt(indice, cnpj.charAt(indice + 1));
+                    cnpj.setCharAt(indice + 1, c);
+                }
+            }
+        }
+    }
+
+    private void mascarar(StringBuilder cnpj) {
+        if (cnpj.length() == 14) {
+            cnpj.insert(12, '-').insert(8, '/').insert(5, '.').insert(2, '.');
+        }
+    }
+
+    private String espacos() {
+        StringBuilder sb = new StringBuilder();
+        int quantidade = random.nextInt(3);
+        for (int i = 0; i < quantidade; i++) {
+            sb.append(ESPACOS[random.nextInt(ESPACOS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private String lixo() {
+        StringBuilder sb = new StringBuilder();
+        int tamanho = random.nextInt(24);
+        for (int i = 0; i < tamanho; i++) {
+            sb.append((char) random.nextInt(0x3100));
+        }
+        return sb.toString();
+    }
+
+    private enum Resultado { VALIDO, INVALIDO, EXCECAO }
+
+    private interface Execucao {
+        boolean executar();
+    }
+
+    private static Resultado referencia(String entrada, boolean acceptNull) {
+        return executar(() -> CnpjReferenceValidator.isValid(entrada, acceptNull));
+    }
+
+    private static Resultado executar(Execucao execucao) {
+        try {
+            return execucao.executar() ? Resultado.VALIDO : Resultado.INVALIDO;
+        } catch (IllegalArgumentException e) {
+            return Resultado.EXCECAO;
+        }
+    }
+
+    private static String comparar(String nome, Resultado esperado, Resultado obtido) {
+        return esperado == obtido ? null : nome + ": " + obtido + ", referência " + esperado;
+    }
+
+    private static CNPJValidator validador(boolean acceptNull) {
+        try {
+            ValidCNPJ anotacao = Alvos.class.getDeclaredField(acceptNull ? "aceitaNulo" : "rejeitaNulo")
+                .getAnnotation(ValidCNPJ.class);
+            CNPJValidator validator = new CNPJValidator();
+            validator.initialize(anotacao);
+            return validator;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Campos anotados, usados só para obter instâncias de {@link ValidCNPJ}. */
+    @SuppressWarnings("unused")
+    private static final class Alvos {
+        @ValidCNPJ(acceptNull = true)
+        private String aceitaNulo;
+        @ValidCNPJ(acceptNull = false)
+        private String rejeitaNulo;
+    }
+
+    /**
+     * Modo de execução longa: {@code --duracao PT10M --threads 4 --seed 42}.
+     *
+     * @param args argumentos opcionais
+     * @throws InterruptedException se interrompido
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Duration duracao = Duration.ofMinutes(10);
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--duracao" -> duracao = Duration.parse(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        long fim = System.nanoTime() + duracao.toNanos();
+        AtomicLong total = new AtomicLong();
+        AtomicBoolean divergiu = new AtomicBoolean();
+        System.out.printf("Fuzzer diferencial: seed=%d threads=%d duração=%s%n", seed, threads, duracao);
+
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seedThread = seed + t;
+            Thread thread = new Thread(() -> {
+                CnpjDifferentialFuzzer fuzzer = new CnpjDifferentialFuzzer(seedThread);
+                while (!divergiu.get() && System.nanoTime() < fim) {
+                    String entrada = fuzzer.proximaEntrada();
+                    String divergencia = verificar(entrada);
+                    if (divergencia != null && divergiu.compareAndSet(false, true)) {
+                        System.out.printf("DIVERGÊNCIA (seed da thread %d) para %s: %s%n",
+                            seedThread, literal(entrada), divergencia);
+                    }
+                    total.incrementAndGet();
+                }
+            }, "fuzzer-" + t);
+            thread.start();
+            trabalhadores.add(thread);
+        }
+
+        for (Thread thread : trabalhadores) {
+            while (thread.isAlive()) {
+                thread.join(10_000);
+                System.out.printf("  %,d entradas verificadas%n", total.get());
+            }
+        }
+        if (divergiu.get()) {
+            System.exit(1);
+        }
+        System.out.println("Nenhuma divergência encontrada.");
+    }
+}
@@ -0,0 +1,585 @@
+package com.example.batch;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e escrita do formato Arrow IPC (versão de metadados V5), nos modos stream e arquivo.
+ *
+ * <p>Uma stream é uma sequência de mensagens: prefixo de continuação ({@code 0xFFFFFFFF}),
+ * tamanho dos metadados, a mensagem em FlatBuffer ({@link FlatBuffer}) e o corpo com os
+ * buffers das colunas, cada um alinhado a 8 bytes. A primeira mensagem é o schema e as
+ * seguintes são lotes (record batches); o fim é um tamanho zero. O arquivo é a mesma stream
+ * entre os marcadores {@code ARROW1}, seguida de um rodapé com a posição de cada lote, o que
+ * permite mapear o corpo de cada lote direto do arquivo, sem cópia.</p>
+ *
+ * <p>Só o necessário para validar uma coluna: os tipos das demais colunas são reconhecidos
+ * para localizar os buffers da coluna no corpo; lotes com compressão, tipos de tamanho
+ * variável por view e metadados big-endian não são aceitos.</p>
+ *
+ * <p>Metadados corrompidos (deslocamentos, tamanhos ou índices fora do que foi lido) resultam
+ * em {@link IOException}, nunca em exceções não verificadas nem em alocações do tamanho lido.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+final class ArrowIpc {
+
+    static final byte[] MAGICA = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    static final int CONTINUACAO = 0xFFFFFFFF;
+
+    static final short VERSAO_V4 = 3;
+    static final short VERSAO_V5 = 4;
+
+    // MessageHeader
+    static final int MENSAGEM_SCHEMA = 1;
+    static final int MENSAGEM_DICIONARIO = 2;
+    static final int MENSAGEM_LOTE = 3;
+
+    // Type
+    static final int TIPO_NULL = 1;
+    static final int TIPO_INT = 2;
+    static final int TIPO_FLOATING_POINT = 3;
+    static final int TIPO_BINARY = 4;
+    static final int TIPO_UTF8 = 5;
+    static final int TIPO_BOOL = 6;
+    static final int TIPO_DECIMAL = 7;
+    static final int TIPO_DATE = 8;
+    static final int TIPO_TIME = 9;
+    static final int TIPO_TIMESTAMP = 10;
+    static final int TIPO_INTERVAL = 11;
+    static final int TIPO_LIST = 12;
+    static final int TIPO_STRUCT = 13;
+    static final int TIPO_FIXED_SIZE_BINARY = 15;
+    static final int TIPO_FIXED_SIZE_LIST = 16;
+    static final int TIPO_MAP = 17;
+    static final int TIPO_DURATION = 18;
+    static final int TIPO_LARGE_BINARY = 19;
+    static final int TIPO_LARGE_UTF8 = 20;
+    static final int TIPO_LARGE_LIST = 21;
+    static final int TIPO_RUN_END_ENCODED = 22;
+
+    private static final int TAMANHO_NO = 16;
+    private static final int TAMANHO_BUFFER = 16;
+    private static final int TAMANHO_BLOCO = 24;
+    /** Aninhamento máximo de colunas filhas aceito no schema. */
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+    private static final byte[] ZEROS = new byte[8];
+
+    private ArrowIpc() {
+    }
+
+    /**
+     * Coluna do schema.
+     *
+     * @param nome nome da coluna
+     * @param anulavel true se aceita nulos
+     * @param tipo tipo Arrow ({@code TIPO_*})
+     * @param largura bytes por valor de {@code FixedSizeBinary} ou bits de {@code Int}
+     * @param dicionario true se codificada por dicionário
+     * @param filhos colunas filhas dos tipos aninhados
+     * @param metadados metadados da coluna (gravados, ignorados na leitura)
+     */
+    record Campo(String nome, boolean anulavel, int tipo, int largura, boolean dicionario, List<Campo> filhos,
+                 Map<String, String> metadados) {
+
+        static Campo simples(String nome, boolean anulavel, int tipo, int largura) {
+            return new Campo(nome, anulavel, tipo, largura, false, List.of(), Map.of());
+        }
+
+        /** @return nós (field nodes) da coluna em um lote, contando as filhas */
+        int nos() {
+            if (dicionario) {
+                return 1;
+            }
+            int nos = 1;
+            for (Campo filho : filhos) {
+                nos += filho.nos();
+            }
+            return nos;
+        }
+
+        /**
+         * @return buffers da coluna em um lote, contando as filhas
+         * @throws IOException se o tipo não for suportado
+         */
+        int buffers() throws IOException {
+            if (dicionario) {
+                return 2;
+            }
+            int buffers = switch (tipo) {
+                case TIPO_NULL, TIPO_RUN_END_ENCODED -> 0;
+                case TIPO_STRUCT, TIPO_FIXED_SIZE_LIST -> 1;
+                case TIPO_INT, TIPO_FLOATING_POINT, TIPO_BOOL, TIPO_DECIMAL, TIPO_DATE, TIPO_TIME, TIPO_TIMESTAMP,
+                     TIPO_INTERVAL, TIPO_FIXED_SIZE_BINARY, TIPO_DURATION, TIPO_LIST, TIPO_LARGE_LIST, TIPO_MAP -> 2;
+                case TIPO_BINARY, TIPO_UTF8, TIPO_LARGE_BINARY, TIPO_LARGE_UTF8 -> 3;
+                default -> throw new IOException(String.format("Tipo Arrow %d da coluna '%s' não suportado", tipo, nome));
+            };
+            for (Campo filho : filhos) {
+                buffers += filho.buffers();
+            }
+            return buffers;
+        }
+    }
+
+    /**
+     * Lote (record batch) lido. O corpo só vale até a leitura do próximo lote.
+     *
+     * @param linhas linhas do lote
+     * @param nos pares (tamanho, nulos) de cada nó, em ordem
+     * @param buffers pares (posição no corpo, tamanho) de cada buffer, em ordem
+     * @param corpo corpo do lote
+     */
+    record Lote(long linhas, long[] nos, long[] buffers, ByteBuffer corpo) {
+
+        long tamanhoNo(int no) throws IOException {
+            return nos[2 * indice(no, nos.length, "Nó")];
+        }
+
+        long nulosNo(int no) throws IOException {
+            return nos[2 * indice(no, nos.length, "Nó") + 1];
+        }
+
+        /** @return o buffer, em little-endian e começando na posição 0 */
+        ByteBuffer buffer(int buffer) throws IOException {
+            long inicio = buffers[2 * indice(buffer, buffers.length, "Buffer")];
+            long tamanho = buffers[2 * buffer + 1];
+            if (inicio < 0 || tamanho < 0 || inicio > corpo.capacity() || tamanho > corpo.capacity() - inicio) {
+                throw new IOException("Buffer " + buffer + " fora do corpo do lote Arrow");
+            }
+            return corpo.slice((int) inicio, (int) tamanho).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private static int indice(int indice, int pares, String nome) throws IOException {
+            if (indice < 0 || 2 * indice >= pares) {
+                throw new IOException(nome + " " + indice + " ausente no lote Arrow (há " + pares / 2 + ")");
+            }
+            return indice;
+        }
+    }
+
+    /**
+     * Leitura de lotes em sequência.
+     */
+    interface Leitor extends Closeable {
+
+        List<Campo> schema();
+
+        /** @return próximo lote, ou null no fim */
+        Lote proximo() throws IOException;
+    }
+
+    /**
+     * Lê uma stream Arrow IPC. A entrada não é fechada pelo leitor.
+     *
+     * @param entrada stream posicionada no schema
+     * @return leitor com o schema já lido
+     * @throws IOException se a stream não começar por um schema suportado
+     */
+    static Leitor lerStream(InputStream entrada) throws IOException {
+        return new LeitorStream(entrada);
+    }
+
+    /**
+     * Lê um arquivo Arrow IPC pelo rodapé, mapeando o corpo de cada lote.
+     *
+     * @param arquivo arquivo {@code .arrow}
+     * @return leitor com o schema já lido
+     * @throws IOException se o arquivo não for um arquivo Arrow suportado
+     */
+    static Leitor lerArquivo(Path arquivo) throws IOException {
+        return new LeitorArquivo(arquivo);
+    }
+
+    private record Mensagem(int tipo, FlatBuffer.Tabela cabecalho, long tamanhoCorpo) {
+    }
+
+    private static Mensagem mensagem(ByteBuffer metadados) throws IOException {
+        FlatBuffer.Tabela mensagem = FlatBuffer.raiz(metadados);
+        short versao = mensagem.curto(0, (short) 0);
+        if (versao < VERSAO_V4) {
+            throw new IOException("Versão de metadados Arrow " + versao + " não suportada");
+        }
+        return new Mensagem(mensagem.byteSemSinal(1, 0), mensagem.tabela(2), mensagem.longo(3, 0));
+    }
+
+    private static List<Campo> schema(FlatBuffer.Tabela schema) throws IOException {
+        if (schema == null) {
+            throw new IOException("Mensagem de schema Arrow sem conteúdo");
+        }
+        if (schema.curto(0, (short) 0) != 0) {
+            throw new IOException("Dados Arrow big-endian não suportados");
+        }
+        return campos(schema, 1, 0);
+    }
+
+    private static List<Campo> campos(FlatBuffer.Tabela tabela, int id, int profundidade) throws IOException {
+        if (profundidade > PROFUNDIDADE_MAXIMA) {
+            throw new IOException("Schema Arrow com colunas aninhadas demais");
+        }
+        List<Campo> campos = new ArrayList<>();
+        int quantidade = tabela.tamanhoVetor(id, 4);
+        for (int i = 0; i < quantidade; i++) {
+            FlatBuffer.Tabela campo = tabela.tabelaDoVetor(id, i);
+            int tipo = campo.byteSemSinal(2, 0);
+            FlatBuffer.Tabela detalhe = campo.tabela(3);
+            int largura = detalhe != null && (tipo == TIPO_FIXED_SIZE_BINARY || tipo == TIPO_INT)
+                ? detalhe.inteiro(0, 0) : 0;
+            campos.add(new Campo(campo.texto(0), campo.logico(1), tipo, largura, campo.presente(4),
+                campos(campo, 5, profundidade + 1), Map.of()));
+        }
+        return campos;
+    }
+
+    private static Lote lote(Mensagem mensagem, ByteBuffer corpo) throws IOException {
+        FlatBuffer.Tabela lote = mensagem.cabecalho();
+        if (lote == null) {
+            throw new IOException("Mensagem de lote Arrow sem conteúdo");
+        }
+        if (lote.presente(3)) {
+            throw new IOException("Lotes Arrow comprimidos não são suportados");
+        }
+        // tamanhos já conferidos contra os metadados lidos: a alocação é limitada por eles
+        long[] nos = new long[2 * lote.tamanhoVetor(1, TAMANHO_NO)];
+        for (int i = 0; i < nos.length; i++) {
+            nos[i] = lote.longoDaEstrutura(1, TAMANHO_NO, i / 2, 8 * (i % 2));
+        }
+        long[] buffers = new long[2 * lote.tamanhoVetor(2, TAMANHO_BUFFER)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = lote.longoDaEstrutura(2, TAMANHO_BUFFER, i / 2, 8 * (i % 2));
+        }
+        return new Lote(lote.longo(0, 0), nos, buffers, corpo);
+    }
+
+    private static final class LeitorStream implements Leitor {
+
+        private final InputStream entrada;
+        private final byte[] inteiro = new byte[4];
+        private final List<Campo> schema;
+        private ByteBuffer corpo = ByteBuffer.allocate(0);
+
+        LeitorStream(InputStream entrada) throws IOException {
+            this.entrada = entrada;
+            Mensagem mensagem = ler();
+            if (mensagem == null || mensagem.tipo() != MENSAGEM_SCHEMA) {
+                throw new IOException("Stream Arrow deve começar pelo schema");
+            }
+            this.schema = ArrowIpc.schema(mensagem.cabecalho());
+        }
+
+        @Override
+        public List<Campo> schema() {
+            return schema;
+        }
+
+        @Override
+        public Lote proximo() throws IOException {
+            Mensagem mensagem;
+            while ((mensagem = ler()) != null) {
+                if (mensagem.tamanhoCorpo() < 0 || mensagem.tamanhoCorpo() > Integer.MAX_VALUE) {
+                    throw new IOException("Tamanho de corpo Arrow inválido: " + mensagem.tamanhoCorpo());
+                }
+                int tamanho = (int) mensagem.tamanhoCorpo();
+                switch (mensagem.tipo()) {
+                    case MENSAGEM_LOTE -> {
+                        ByteBuffer destino;
+                        if (corpo.capacity() < tamanho) {
+                            // cresce conforme os bytes chegam: um tamanho corrompido não vira
+                            // uma alocação de até 2 GB antes de a stream acabar
+                            byte[] bytes = entrada.readNBytes(tamanho);
+                            if (bytes.length < tamanho) {
+                                throw new EOFException("Stream Arrow truncada");
+                            }
+                            corpo = ByteBuffer.wrap(bytes);
+                            destino = corpo;
+                        } else {
+                            destino = corpo.slice(0, tamanho);
+                            if (entrada.readNBytes(destino.array(), destino.arrayOffset(), tamanho) < tamanho) {
+                                throw new EOFException("Stream Arrow truncada");
+                            }
+                        }
+                        return lote(mensagem, destino);
+                    }
+                    // dicionários são de outras colunas: a validada não pode ser codificada
+                    case MENSAGEM_DICIONARIO -> entrada.skipNBytes(tamanho);
+                    default -> throw new IOException("Mensagem Arrow inesperada do tipo " + mensagem.tipo());
+                }
+            }
+            return null;
+        }
+
+        private Mensagem ler() throws IOException {
+            if (entrada.readNBytes(inteiro, 0, 4) < 4) {
+                return null;
+            }
+            int tamanho = ByteBuffer.wrap(inteiro).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (tamanho == CONTINUACAO) {
+                if (entrada.readNBytes(inteiro, 0, 4) < 4) {
+                    throw new EOFException("Stream Arrow truncada");
+                }
+                tamanho = ByteBuffer.wrap(inteiro).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            }
+            if (tamanho == 0) {
+                return null;
+            }
+            if (tamanho < 0) {
+                throw new IOException("Tamanho de metadados Arrow inválido: " + tamanho);
+            }
+            byte[] metadados = entrada.readNBytes(tamanho);
+            if (metadados.length < tamanho) {
+                throw new EOFException("Stream Arrow truncada");
+            }
+            return mensagem(ByteBuffer.wrap(metadados));
+        }
+
+        @Override
+        public void close() {
+            // a entrada é do chamador
+        }
+    }
+
+    private static final class LeitorArquivo implements Leitor {
+
+        private final FileChannel canal;
+        private final List<Campo> schema;
+        private final long[] blocos;
+        private int proximo;
+
+        LeitorArquivo(Path arquivo) throws IOException {
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+            try {
+                long tamanho = canal.size();
+                if (tamanho < 2L * 8 + 4 || !magica(0) || !magica(tamanho - MAGICA.length)) {
+                    throw new IOException("Arquivo sem os marcadores ARROW1: " + arquivo);
+                }
+                int tamanhoRodape = ler(tamanho - MAGICA.length - 4, 4).getInt(0);
+                long inicioRodape = tamanho - MAGICA.length - 4 - tamanhoRodape;
+                if (tamanhoRodape <= 0 || inicioRodape < 8) {
+                    throw new IOException("Rodapé do arquivo Arrow inválido: " + arquivo);
+                }
+                FlatBuffer.Tabela rodape = FlatBuffer.raiz(ler(inicioRodape, tamanhoRodape));
+                this.schema = ArrowIpc.schema(rodape.tabela(1));
+                int quantidade = rodape.tamanhoVetor(3, TAMANHO_BLOCO);
+                this.blocos = new long[3 * quantidade];
+                for (int i = 0; i < quantidade; i++) {
+                    blocos[3 * i] = rodape.longoDaEstrutura(3, TAMANHO_BLOCO, i, 0);
+                    blocos[3 * i + 1] = rodape.inteiroDaEstrutura(3, TAMANHO_BLOCO, i, 8);
+                    blocos[3 * i + 2] = rodape.longoDaEstrutura(3, TAMANHO_BLOCO, i, 16);
+                }
+            } catch (IOException | RuntimeException e) {
+                canal.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public List<Campo> schema() {
+            return schema;
+        }
+
+        @Override
+        public Lote proximo() throws IOException {
+            if (3 * proximo >= blocos.length) {
+                return null;
+            }
+            long inicio = blocos[3 * proximo];
+            long tamanhoMetadados = blocos[3 * proximo + 1];
+            long tamanhoCorpo = blocos[3 * proximo + 2];
+            proximo++;
+            if (tamanhoCorpo > Integer.MAX_VALUE) {
+                throw new IOException("Lote Arrow maior que 2 GB");
+            }
+            // o bloco do rodapé tem de caber entre o início do arquivo e o rodapé
+            if (inicio < 8 || tamanhoMetadados < 8 || tamanhoCorpo < 0
+                    || inicio + tamanhoMetadados + tamanhoCorpo > canal.size()) {
+                throw new IOException("Bloco " + (proximo - 1) + " do rodapé Arrow fora do arquivo");
+            }
+
+            ByteBuffer metadados = ler(inicio, (int) tamanhoMetadados);
+            int prefixo = metadados.getInt(0) == CONTINUACAO ? 8 : 4;
+            Mensagem mensagem = mensagem(metadados.slice(prefixo, (int) tamanhoMetadados - prefixo));
+            if (mensagem.tipo() != MENSAGEM_LOTE) {
+                throw new IOException("Bloco do arquivo Arrow não é um lote");
+            }
+            ByteBuffer corpo = canal.map(FileChannel.MapMode.READ_ONLY, inicio + tamanhoMetadados, tamanhoCorpo);
+            return lote(mensagem, corpo);
+        }
+
+        private boolean magica(long posicao) throws IOException {
+            ByteBuffer bytes = ler(posicao, MAGICA.length);
+            return bytes.equals(ByteBuffer.wrap(MAGICA));
+        }
+
+        private ByteBuffer ler(long posicao, int tamanho) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate(tamanho).order(ByteOrder.LITTLE_ENDIAN);
+            while (bytes.hasRemaining()) {
+                if (canal.read(bytes, posicao + bytes.position()) < 0) {
+                    throw new EOFException("Arquivo Arrow truncado");
+                }
+            }
+            return bytes.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+
+    /**
+     * Gravação de uma stream ou arquivo Arrow IPC. A saída não é fechada pelo escritor.
+     */
+    static final class Escritor implements Closeable {
+
+        private final OutputStream saida;
+        private final WritableByteChannel canal;
+        private final boolean arquivo;
+        private final FlatBuffer.NovaTabela schema;
+        private final List<long[]> blocos = new ArrayList<>();
+        private long posicao;
+
+        /**
+         * @param saida destino
+         * @param arquivo true para o formato de arquivo, false para stream
+         * @param campos colunas (só tipos planos: {@code Utf8}, {@code Binary}, {@code FixedSizeBinary},
+         *               {@code Bool} e {@code Int})
+         */
+        Escritor(OutputStream saida, boolean arquivo, List<Campo> campos) throws IOException {
+            this.saida = saida;
+            this.canal = Channels.newChannel(saida);
+            this.arquivo = arquivo;
+            List<FlatBuffer.NovaTabela> tabelas = new ArrayList<>();
+            for (Campo campo : campos) {
+                tabelas.add(campo(campo));
+            }
+            this.schema = new FlatBuffer.NovaTabela().escalar(0, 2, 0).tabelas(1, tabelas);
+            if (arquivo) {
+                escrever(ByteBuffer.wrap(MAGICA));
+                escrever(ByteBuffer.wrap(ZEROS, 0, 2));
+            }
+            escreverMetadados(mensagem(MENSAGEM_SCHEMA, schema, 0));
+        }
+
+        /**
+         * Grava um lote.
+         *
+         * @param linhas linhas do lote
+         * @param nos pares (tamanho, nulos) de cada coluna
+         * @param buffers buffers das colunas, em ordem (vazio para validade sem nulos)
+         */
+        void escrever(long linhas, long[] nos, ByteBuffer... buffers) throws IOException {
+            ByteOrder ordem = ByteOrder.LITTLE_ENDIAN;
+            ByteBuffer estruturasNos = ByteBuffer.allocate(8 * nos.length).order(ordem);
+            for (long valor : nos) {
+                estruturasNos.putLong(valor);
+            }
+            ByteBuffer estruturasBuffers = ByteBuffer.allocate(TAMANHO_BUFFER * buffers.length).order(ordem);
+            long corpo = 0;
+            for (ByteBuffer buffer : buffers) {
+                estruturasBuffers.putLong(corpo).putLong(buffer.remaining());
+                corpo += alinhado(buffer.remaining());
+            }
+
+            FlatBuffer.NovaTabela lote = new FlatBuffer.NovaTabela()
+                .escalar(0, 8, linhas)
+                .estruturas(1, TAMANHO_NO, estruturasNos.array())
+                .estruturas(2, TAMANHO_BUFFER, estruturasBuffers.array());
+            long inicio = posicao;
+            int tamanhoMetadados = escreverMetadados(mensagem(MENSAGEM_LOTE, lote, corpo));
+            for (ByteBuffer buffer : buffers) {
+                int tamanho = buffer.remaining();
+                escrever(buffer.duplicate());
+                escrever(ByteBuffer.wrap(ZEROS, 0, (int) (alinhado(tamanho) - tamanho)));
+            }
+            blocos.add(new long[] {inicio, tamanhoMetadados, corpo});
+        }
+
+        /**
+         * Grava o fim da stream e, no formato de arquivo, o rodapé.
+         */
+        @Override
+        public void close() throws IOException {
+            ByteBuffer fim = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putInt(CONTINUACAO).putInt(0);
+            escrever(fim.flip());
+            if (arquivo) {
+                ByteBuffer estruturasBlocos = ByteBuffer.allocate(TAMANHO_BLOCO * blocos.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                for (long[] bloco : blocos) {
+                    estruturasBlocos.putLong(bloco[0]).putInt((int) bloco[1]).putInt(0).putLong(bloco[2]);
+                }
+                byte[] rodape = FlatBuffer.gravar(new FlatBuffer.NovaTabela()
+                    .escalar(0, 2, VERSAO_V5)
+                    .tabela(1, schema)
+                    .estruturas(2, TAMANHO_BLOCO, new byte[0])
+                    .estruturas(3, TAMANHO_BLOCO, estruturasBlocos.array()));
+                escrever(ByteBuffer.wrap(rodape));
+                escrever(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, rodape.length));
+                escrever(ByteBuffer.wrap(MAGICA));
+            }
+            saida.flush();
+        }
+
+        private int escreverMetadados(byte[] mensagem) throws IOException {
+            int tamanho = (int) alinhado(8 + mensagem.length) - 8;
+            escrever(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putInt(0, CONTINUACAO).putInt(4, tamanho));
+            escrever(ByteBuffer.wrap(mensagem));
+            escrever(ByteBuffer.wrap(ZEROS, 0, tamanho - mensagem.length));
+            return 8 + tamanho;
+        }
+
+        private void escrever(ByteBuffer bytes) throws IOException {
+            posicao += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                canal.write(bytes);
+            }
+        }
+
+        private static byte[] mensagem(int tipo, FlatBuffer.NovaTabela cabecalho, long corpo) {
+            return FlatBuffer.gravar(new FlatBuffer.NovaTabela()
+                .escalar(0, 2, VERSAO_V5)
+                .escalar(1, 1, tipo)
+                .tabela(2, cabecalho)
+                .escalar(3, 8, corpo));
+        }
+
+        private static FlatBuffer.NovaTabela campo(Campo campo) {
+            FlatBuffer.NovaTabela tipo = new FlatBuffer.NovaTabela();
+            switch (campo.tipo()) {
+                case TIPO_FIXED_SIZE_BINARY -> tipo.escalar(0, 4, campo.largura());
+                case TIPO_INT -> tipo.escalar(0, 4, campo.largura()).logico(1, true);
+                case TIPO_UTF8, TIPO_BINARY, TIPO_BOOL -> {
+                    // tipos sem parâmetros: tabela vazia
+                }
+                default -> throw new IllegalArgumentException("Tipo Arrow " + campo.tipo() + " não gravável");
+            }
+            List<FlatBuffer.NovaTabela> metadados = new ArrayList<>();
+            campo.metadados().forEach((chave, valor) ->
+                metadados.add(new FlatBuffer.NovaTabela().texto(0, chave).texto(1, valor)));
+            FlatBuffer.NovaTabela tabela = new FlatBuffer.NovaTabela()
+                .texto(0, campo.nome())
+                .logico(1, campo.anulavel())
+                .escalar(2, 1, campo.tipo())
+                .tabela(3, tipo)
+                .tabelas(5, List.of());
+            return metadados.isEmpty() ? tabela : tabela.tabelas(6, metadados);
+        }
+
+        private static long alinhado(long valor) {
+            return (valor + 7) & ~7L;
+        }
+    }
+}
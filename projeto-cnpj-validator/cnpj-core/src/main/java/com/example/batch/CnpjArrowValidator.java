@@ -0,0 +1,373 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjMotivo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Validação colunar de CNPJs no layout do Apache Arrow.
+ *
+ * <p>A coluna de CNPJ ({@code Utf8}, {@code Binary} ou {@code FixedSizeBinary}) é validada
+ * direto nos seus buffers: bitmap de validade, offsets {@code int32} e dados, sem criar uma
+ * {@code String} por valor. O resultado são dois vetores alinhados com a coluna: um bitmap
+ * de CNPJs válidos (bit {@code i} no byte {@code i / 8}, do menos significativo para o mais,
+ * como a validade do Arrow) e um código de motivo por linha, o {@code ordinal()} do
+ * {@link CnpjMotivo} ({@code 0} = {@code VALIDO}, {@code 1} = {@code NULO}, ...).</p>
+ *
+ * <p>Sobre arquivos e streams Arrow IPC, cada lote da entrada vira um lote da saída com a
+ * coluna original (buffers copiados byte a byte), {@code valido} ({@code Bool}) e
+ * {@code motivo} ({@code Int8}, com a tabela de códigos nos metadados da coluna). No modo
+ * arquivo o corpo de cada lote é mapeado do disco; na stream, lido para um buffer reutilizado.
+ * Lotes comprimidos e colunas codificadas por dicionário não são aceitos.</p>
+ *
+ * <p>Uso pela linha de comando ({@code .arrows} ou {@code -} para stream, stdin/stdout):</p>
+ * <pre>
+ * CnpjArrowValidator [--coluna cnpj] entrada.arrow|entrada.arrows|- saida.arrow|saida.arrows|-
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjArrowValidator {
+
+    /** Formato Arrow IPC. */
+    public enum Modo {
+        /** Arquivo com rodapé ({@code .arrow}), lido com acesso aleatório. */
+        ARQUIVO,
+        /** Stream de mensagens ({@code .arrows}), lida em sequência. */
+        STREAM
+    }
+
+    /**
+     * Resumo de uma execução.
+     *
+     * @param linhas linhas da coluna
+     * @param validos CNPJs válidos
+     * @param invalidos valores rejeitados
+     * @param nulos valores nulos
+     * @param lotes lotes (record batches) processados
+     * @param coluna nome da coluna validada
+     */
+    public record Resultado(long linhas, long validos, long invalidos, long nulos, long lotes, String coluna) {
+    }
+
+    private CnpjArrowValidator() {
+    }
+
+    /**
+     * Valida uma coluna de tamanho variável ({@code VarCharVector}/{@code VarBinaryVector}).
+     *
+     * <p>Todos os buffers são lidos por posição absoluta a partir do índice 0.</p>
+     *
+     * @param validade bitmap de validade, ou null se a coluna não tiver nulos
+     * @param offsets {@code linhas + 1} offsets {@code int32} little-endian
+     * @param dados bytes dos valores
+     * @param linhas linhas da coluna
+     * @param resultado recebe o bitmap de válidos ({@code (linhas + 7) / 8} bytes)
+     * @param motivos recebe o código do motivo de cada linha ({@code linhas} bytes)
+     * @return quantidade de CNPJs válidos
+     */
+    public static int validarVarChar(ByteBuffer validade, ByteBuffer offsets, ByteBuffer dados, int linhas,
+                                     ByteBuffer resultado, ByteBuffer motivos) {
+        ByteBuffer posicoes = offsets.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int validos = 0;
+        int bits = 0;
+        int inicio = posicoes.getInt(0);
+        for (int i = 0; i < linhas; i++) {
+            int fim = posicoes.getInt(4 * (i + 1));
+            CnpjMotivo motivo = nulo(validade, i) ? CnpjMotivo.NULO : CnpjFastValidator.motivo(dados, inicio, fim);
+            inicio = fim;
+            bits = registrar(motivo, i, bits, resultado, motivos);
+            if (motivo == CnpjMotivo.VALIDO) {
+                validos++;
+            }
+        }
+        fecharBitmap(linhas, bits, resultado);
+        return validos;
+    }
+
+    /**
+     * Valida uma coluna de tamanho fixo ({@code FixedSizeBinaryVector}). Valores menores que a
+     * largura podem ser completados com espaços ou bytes zero.
+     *
+     * @param validade bitmap de validade, ou null se a coluna não tiver nulos
+     * @param dados {@code linhas * largura} bytes dos valores
+     * @param largura bytes por valor
+     * @param linhas linhas da coluna
+     * @param resultado recebe o bitmap de válidos ({@code (linhas + 7) / 8} bytes)
+     * @param motivos recebe o código do motivo de cada linha ({@code linhas} bytes)
+     * @return quantidade de CNPJs válidos
+     */
+    public static int validarFixedSizeBinary(ByteBuffer validade, ByteBuffer dados, int largura, int linhas,
+                                             ByteBuffer resultado, ByteBuffer motivos) {
+        int validos = 0;
+        int bits = 0;
+        for (int i = 0, inicio = 0; i < linhas; i++, inicio += largura) {
+            CnpjMotivo motivo = nulo(validade, i)
+                ? CnpjMotivo.NULO : CnpjFastValidator.motivo(dados, inicio, inicio + largura);
+            bits = registrar(motivo, i, bits, resultado, motivos);
+            if (motivo == CnpjMotivo.VALIDO) {
+                validos++;
+            }
+        }
+        fecharBitmap(linhas, bits, resultado);
+        return validos;
+    }
+
+    private static boolean nulo(ByteBuffer validade, int i) {
+        return validade != null && (validade.get(i >>> 3) & (1 << (i & 7))) == 0;
+    }
+
+    private static int registrar(CnpjMotivo motivo, int i, int bits, ByteBuffer resultado, ByteBuffer motivos) {
+        motivos.put(i, (byte) motivo.ordinal());
+        if (motivo == CnpjMotivo.VALIDO) {
+            bits |= 1 << (i & 7);
+        }
+        if ((i & 7) == 7) {
+            resultado.put(i >>> 3, (byte) bits);
+            return 0;
+        }
+        return bits;
+    }
+
+    private static void fecharBitmap(int linhas, int bits, ByteBuffer resultado) {
+        if ((linhas & 7) != 0) {
+            resultado.put(linhas >>> 3, (byte) bits);
+        }
+    }
+
+    /**
+     * Valida a coluna de CNPJ de um arquivo ou stream Arrow IPC.
+     *
+     * @param entrada arquivo de entrada
+     * @param modoEntrada formato da entrada
+     * @param coluna nome da coluna, ou null para a primeira de texto cujo nome contém "cnpj"
+     *               (ou a primeira de texto)
+     * @param saida arquivo de saída
+     * @param modoSaida formato da saída
+     * @return resumo da execução
+     * @throws IllegalArgumentException se a coluna não existir ou não for texto/binário
+     * @throws IOException se a entrada não puder ser lida ou não for Arrow IPC suportado
+     */
+    public static Resultado validar(Path entrada, Modo modoEntrada, String coluna, Path saida, Modo modoSaida)
+            throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(saida), 1 << 16)) {
+            return validar(entrada, modoEntrada, coluna, out, modoSaida);
+        }
+    }
+
+    private static Resultado validar(Path entrada, Modo modoEntrada, String coluna, OutputStream saida,
+                                     Modo modoSaida) throws IOException {
+        if (modoEntrada == Modo.ARQUIVO) {
+            try (ArrowIpc.Leitor leitor = ArrowIpc.lerArquivo(entrada)) {
+                return validar(leitor, coluna, saida, modoSaida);
+            }
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(entrada), 1 << 16)) {
+            return validar(ArrowIpc.lerStream(in), coluna, saida, modoSaida);
+        }
+    }
+
+    /**
+     * Valida a coluna de CNPJ de uma stream Arrow IPC. Entrada e saída não são fechadas.
+     *
+     * @param entrada stream Arrow IPC
+     * @param coluna nome da coluna, ou null para detectar
+     * @param saida destino do resultado
+     * @param modoSaida formato da saída
+     * @return resumo da execução
+     * @throws IllegalArgumentException se a coluna não existir ou não for texto/binário
+     * @throws IOException se a entrada não puder ser lida ou não for Arrow IPC suportado
+     */
+    public static Resultado validar(InputStream entrada, String coluna, OutputStream saida, Modo modoSaida)
+            throws IOException {
+        return validar(ArrowIpc.lerStream(entrada), coluna, saida, modoSaida);
+    }
+
+    private static Resultado validar(ArrowIpc.Leitor leitor, String colunaPedida, OutputStream saida, Modo modoSaida)
+            throws IOException {
+        List<ArrowIpc.Campo> campos = leitor.schema();
+        int alvo = coluna(campos, colunaPedida);
+        ArrowIpc.Campo campo = campos.get(alvo);
+        // nós e buffers das colunas anteriores, na ordem em que aparecem no corpo
+        int no = 0;
+        int buffer = 0;
+        for (int i = 0; i < alvo; i++) {
+            no += campos.get(i).nos();
+            buffer += campos.get(i).buffers();
+        }
+        boolean fixo = campo.tipo() == ArrowIpc.TIPO_FIXED_SIZE_BINARY;
+        if (fixo && campo.largura() <= 0) {
+            throw new IOException("Coluna '" + campo.nome() + "' com largura inválida: " + campo.largura());
+        }
+
+        StringJoiner codigos = new StringJoiner(",");
+        for (CnpjMotivo motivo : CnpjMotivo.values()) {
+            codigos.add(motivo.ordinal() + "=" + motivo.name());
+        }
+        List<ArrowIpc.Campo> colunasSaida = List.of(
+            ArrowIpc.Campo.simples(campo.nome(), campo.anulavel(), campo.tipo(), campo.largura()),
+            ArrowIpc.Campo.simples("valido", false, ArrowIpc.TIPO_BOOL, 0),
+            new ArrowIpc.Campo("motivo", false, ArrowIpc.TIPO_INT, 8, false, List.of(),
+                Map.of("cnpj.motivos", codigos.toString())));
+
+        long linhas = 0;
+        long validos = 0;
+        long nulos = 0;
+        long lotes = 0;
+        ByteBuffer resultado = ByteBuffer.allocate(0);
+        ByteBuffer motivos = ByteBuffer.allocate(0);
+        ByteBuffer vazio = ByteBuffer.allocate(0);
+
+        try (ArrowIpc.Escritor escritor = new ArrowIpc.Escritor(saida, modoSaida == Modo.ARQUIVO, colunasSaida)) {
+            ArrowIpc.Lote lote;
+            while ((lote = leitor.proximo()) != null) {
+                if (lote.nos().length < 2 * (no + 1)) {
+                    throw new IOException("Lote Arrow sem a coluna '" + campo.nome() + "'");
+                }
+                long tamanho = lote.tamanhoNo(no);
+                if (tamanho < 0 || tamanho > Integer.MAX_VALUE / 8) {
+                    throw new IOException("Lote Arrow com quantidade de linhas inválida: " + tamanho);
+                }
+                int n = (int) tamanho;
+                long nulosLote = lote.nulosNo(no);
+                if (nulosLote < 0 || nulosLote > n) {
+                    throw new IOException("Lote Arrow com quantidade de nulos inválida: " + nulosLote);
+                }
+                // índices de buffer fora do lote viram IOException em Lote.buffer
+                ByteBuffer validade = lote.buffer(buffer);
+                ByteBuffer[] originais = fixo
+                    ? new ByteBuffer[] {validade, lote.buffer(buffer + 1)}
+                    : new ByteBuffer[] {validade, lote.buffer(buffer + 1), lote.buffer(buffer + 2)};
+
+                // linhas coerentes com o corpo antes de alocar o resultado pela quantidade lida
+                long necessario = fixo ? (long) n * campo.largura() : 4L * (n + 1);
+                if (n > 0 && originais[1].capacity() < necessario) {
+                    throw new IOException("Lote Arrow malformado na coluna '" + campo.nome() + "': "
+                        + n + " linhas e buffer de " + originais[1].capacity() + " bytes");
+                }
+
+                int bytesBitmap = (n + 7) / 8;
+                if (motivos.capacity() < n) {
+                    motivos = ByteBuffer.allocate(n);
+                    resultado = ByteBuffer.allocate(bytesBitmap);
+                }
+                int validosLote;
+                try {
+                    ByteBuffer bitmapEntrada = nulosLote == 0 || validade.capacity() == 0 ? null : validade;
+                    validosLote = fixo
+                        ? validarFixedSizeBinary(bitmapEntrada, originais[1], campo.largura(), n, resultado, motivos)
+                        : validarVarChar(bitmapEntrada, originais[1], originais[2], n, resultado, motivos);
+                } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+                    // offsets ou tamanhos de buffer incoerentes com a quantidade de linhas
+                    throw new IOException("Lote Arrow malformado na coluna '" + campo.nome() + "'", e);
+                }
+
+                List<ByteBuffer> buffers = new ArrayList<>(List.of(originais));
+                buffers.addAll(List.of(vazio, resultado.slice(0, bytesBitmap), vazio, motivos.slice(0, n)));
+                escritor.escrever(n, new long[] {n, nulosLote, n, 0, n, 0}, buffers.toArray(ByteBuffer[]::new));
+
+                linhas += n;
+                validos += validosLote;
+                nulos += nulosLote;
+                lotes++;
+            }
+        }
+        return new Resultado(linhas, validos, linhas - validos - nulos, nulos, lotes, campo.nome());
+    }
+
+    private static int coluna(List<ArrowIpc.Campo> campos, String pedida) {
+        if (pedida != null) {
+            for (int i = 0; i < campos.size(); i++) {
+                if (pedida.equals(campos.get(i).nome())) {
+                    if (!texto(campos.get(i))) {
+                        throw new IllegalArgumentException(String.format(
+                            "Coluna '%s' não é Utf8, Binary ou FixedSizeBinary sem dicionário", pedida));
+                    }
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Coluna '%s' não encontrada no schema", pedida));
+        }
+        int primeira = -1;
+        for (int i = 0; i < campos.size(); i++) {
+            if (texto(campos.get(i))) {
+                String nome = campos.get(i).nome();
+                if (nome != null && nome.toLowerCase(Locale.ROOT).contains("cnpj")) {
+                    return i;
+                }
+                if (primeira < 0) {
+                    primeira = i;
+                }
+            }
+        }
+        if (primeira < 0) {
+            throw new IllegalArgumentException("Schema sem coluna Utf8, Binary ou FixedSizeBinary");
+        }
+        return primeira;
+    }
+
+    private static boolean texto(ArrowIpc.Campo campo) {
+        return !campo.dicionario() && (campo.tipo() == ArrowIpc.TIPO_UTF8 || campo.tipo() == ArrowIpc.TIPO_BINARY
+            || campo.tipo() == ArrowIpc.TIPO_FIXED_SIZE_BINARY);
+    }
+
+    /**
+     * Linha de comando: {@code [--coluna nome] entrada saida}. O modo de cada lado vem da
+     * extensão ({@code .arrows} para stream) ou de {@code -} (stdin/stdout, stream).
+     *
+     * @param args argumentos
+     * @throws IOException se a entrada não puder ser lida ou a saída gravada
+     */
+    public static void main(String[] args) throws IOException {
+        String coluna = null;
+        List<String> arquivos = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--coluna")) {
+                coluna = args[++i];
+            } else {
+                arquivos.add(args[i]);
+            }
+        }
+        if (arquivos.size() != 2) {
+            System.err.println("Uso: CnpjArrowValidator [--coluna nome] entrada.arrow|entrada.arrows|- "
+                + "saida.arrow|saida.arrows|-");
+            System.exit(1);
+        }
+
+        String entrada = arquivos.get(0);
+        String saida = arquivos.get(1);
+        Modo modoSaida = saida.equals("-") ? Modo.STREAM : modo(saida);
+        Resultado resultado;
+        try (OutputStream out = new BufferedOutputStream(
+                saida.equals("-") ? System.out : Files.newOutputStream(Path.of(saida)), 1 << 16)) {
+            resultado = entrada.equals("-")
+                ? validar(new BufferedInputStream(System.in, 1 << 16), coluna, out, modoSaida)
+                : validar(Path.of(entrada), modo(entrada), coluna, out, modoSaida);
+        }
+
+        (saida.equals("-") ? System.err : System.out).printf(
+            "Coluna: %s | Lotes: %,d | Linhas: %,d | Válidos: %,d | Inválidos: %,d | Nulos: %,d%n",
+            resultado.coluna(), resultado.lotes(), resultado.linhas(), resultado.validos(),
+            resultado.invalidos(), resultado.nulos());
+    }
+
+    private static Modo modo(String arquivo) {
+        return arquivo.toLowerCase(Locale.ROOT).endsWith(".arrows") ? Modo.STREAM : Modo.ARQUIVO;
+    }
+}
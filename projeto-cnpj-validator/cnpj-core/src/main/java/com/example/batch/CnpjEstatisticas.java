@@ -0,0 +1,440 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.CnpjPacked;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas de cardinalidade e qualidade de um fluxo de CNPJs, em memória fixa.
+ *
+ * <p>Para cada valor registrado acumula:</p>
+ * <ul>
+ *   <li><b>CNPJs e raízes distintos</b>: dois {@link HyperLogLog} sobre a base empacotada e
+ *       a raiz ({@link CnpjPacked}), 16 KB cada com a precisão padrão, em vez de um
+ *       {@code HashSet} que cresce com a entrada;</li>
+ *   <li><b>contadores</b> de válidos, alfanuméricos/numéricos e rejeições por motivo
+ *       ({@link CnpjMotivo}), em {@code long} primitivos;</li>
+ *   <li><b>inválidos mais repetidos</b>: top-k pelo algoritmo Space-Saving, com
+ *       {@code 4 × k} contadores. A contagem de cada valor pode estar superestimada em até
+ *       {@link Frequente#erroMaximo()}; valores com frequência acima de {@code n / (4k)}
+ *       sempre são monitorados, e o resumo só traz os que certamente se repetiram.</li>
+ * </ul>
+ *
+ * <p>Thread-safe. O estado fica em {@code particoes} parciais, cada uma com o seu lock; cada
+ * thread registra sempre na mesma parcial (escolhida pelo id do thread), e a validação em si
+ * roda fora do lock. Com várias parciais, threads diferentes quase nunca disputam o mesmo lock
+ * e as leituras ({@link #resumo}, {@link #quantidade}) combinam as parciais. Para uso por um
+ * thread só (ferramentas de linha de comando) basta uma parcial; cada thread também pode
+ * acumular a sua instância e combiná-las com {@link #mesclar}.</p>
+ *
+ * <pre>
+ * CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+ * estatisticas.registrar("12.ABC.345/01DE-35");   // VALIDO
+ * estatisticas.registrar("00.000.000/0000-00");   // ZERADO
+ * estatisticas.resumo().cnpjsDistintos();         // 1
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjEstatisticas {
+
+    /** Precisão padrão dos contadores de distintos: 2<sup>14</sup> registradores, ~0,8% de erro. */
+    public static final int PRECISAO_PADRAO = 14;
+
+    /** Quantidade padrão de inválidos mais repetidos no resumo. */
+    public static final int FREQUENTES_PADRAO = 10;
+
+    /** Valores inválidos maiores que isso são truncados antes de entrar no top-k. */
+    static final int TAMANHO_MAXIMO_VALOR = 40;
+
+    private static final CnpjMotivo[] MOTIVOS = CnpjMotivo.values();
+
+    private final int precisao;
+    private final int frequentes;
+    private final Parcial[] parciais;
+
+    /**
+     * Cria as estatísticas com a precisão e o top-k padrão, numa parcial só.
+     */
+    public CnpjEstatisticas() {
+        this(PRECISAO_PADRAO, FREQUENTES_PADRAO);
+    }
+
+    /**
+     * Cria as estatísticas numa parcial só.
+     *
+     * @param precisao bits de índice dos contadores de distintos (4 a 18)
+     * @param frequentes quantidade de inválidos mais repetidos no resumo
+     * @throws IllegalArgumentException se a precisão estiver fora da faixa ou o top-k for negativo
+     */
+    public CnpjEstatisticas(int precisao, int frequentes) {
+        this(precisao, frequentes, 1);
+    }
+
+    /**
+     * Cria as estatísticas para registro concorrente.
+     *
+     * <p>Cada parcial tem os seus dois HyperLogLog e os seus {@code 4 × frequentes}
+     * contadores: a memória é {@code particoes} vezes a de uma parcial.</p>
+     *
+     * @param precisao bits de índice dos contadores de distintos (4 a 18)
+     * @param frequentes quantidade de inválidos mais repetidos no resumo
+     * @param particoes parciais independentes (por exemplo, a quantidade de processadores)
+     * @throws IllegalArgumentException se a precisão estiver fora da faixa, o top-k for negativo
+     *                                  ou não houver parcial
+     */
+    public CnpjEstatisticas(int precisao, int frequentes, int particoes) {
+        if (frequentes < 0) {
+            throw new IllegalArgumentException("Quantidade de frequentes não pode ser negativa");
+        }
+        if (particoes < 1) {
+            throw new IllegalArgumentException("Deve haver pelo menos uma parcial");
+        }
+        this.precisao = precisao;
+        this.frequentes = frequentes;
+        this.parciais = new Parcial[particoes];
+        for (int i = 0; i < particoes; i++) {
+            parciais[i] = new Parcial(precisao, frequentes * 4);
+        }
+    }
+
+    /**
+     * Valida e registra um CNPJ com ou sem formatação.
+     *
+     * @param cnpj valor lido (pode ser null)
+     * @return motivo da validação
+     */
+    public CnpjMotivo registrar(CharSequence cnpj) {
+        if (cnpj == null) {
+            parcial().rejeitar(CnpjMotivo.NULO, "null");
+            return CnpjMotivo.NULO;
+        }
+        // caminho comum: só a validação do empacotamento
+        long base = CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+        if (base != CnpjPacked.INVALIDO) {
+            parcial().aceitar(base);
+            return CnpjMotivo.VALIDO;
+        }
+        CnpjMotivo motivo = CnpjFastValidator.motivo(cnpj, 0, cnpj.length());
+        parcial().rejeitar(motivo, valor(cnpj));
+        return motivo;
+    }
+
+    /**
+     * Valida e registra o CNPJ em {@code dados[inicio, fim)}, sem alocar quando válido.
+     *
+     * @param dados bytes de origem (UTF-8)
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return base empacotada, ou {@link CnpjPacked#INVALIDO} se o CNPJ for inválido
+     */
+    public long registrarBase(byte[] dados, int inicio, int fim) {
+        long base = CnpjFastValidator.packBase(dados, inicio, fim);
+        if (base != CnpjPacked.INVALIDO) {
+            parcial().aceitar(base);
+        } else {
+            parcial().rejeitar(CnpjFastValidator.motivo(dados, inicio, fim), valor(dados, inicio, fim));
+        }
+        return base;
+    }
+
+    /**
+     * Incorpora as estatísticas de outra instância (por exemplo, a parcial de outra thread).
+     *
+     * @param outra estatísticas com a mesma precisão
+     * @throws IllegalArgumentException se as precisões forem diferentes
+     */
+    public void mesclar(CnpjEstatisticas outra) {
+        if (outra == this) {
+            throw new IllegalArgumentException("Estatísticas não podem ser mescladas com elas mesmas");
+        }
+        if (outra.precisao != precisao) {
+            throw new IllegalArgumentException("Estatísticas com precisões diferentes não podem ser mescladas");
+        }
+        // cópia sob o lock da outra para não segurar os dois ao mesmo tempo
+        Parcial copia = outra.combinar();
+        Parcial destino = parcial();
+        synchronized (destino) {
+            destino.incorporar(copia);
+        }
+    }
+
+    /**
+     * Valores registrados com o motivo, sem montar o resumo.
+     *
+     * @param motivo motivo da validação
+     * @return quantidade
+     */
+    public long quantidade(CnpjMotivo motivo) {
+        long quantidade = 0;
+        for (Parcial parcial : parciais) {
+            synchronized (parcial) {
+                quantidade += parcial.porMotivo[motivo.ordinal()];
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Resumo do que foi registrado até agora.
+     *
+     * @return resumo imutável
+     */
+    public Resumo resumo() {
+        if (parciais.length == 1) {
+            synchronized (parciais[0]) {
+                return resumir(parciais[0]);
+            }
+        }
+        return resumir(combinar());
+    }
+
+    private Resumo resumir(Parcial parcial) {
+        long[] porMotivo = parcial.porMotivo;
+        long validos = porMotivo[CnpjMotivo.VALIDO.ordinal()];
+        // as estimativas nunca passam do que é possível
+        long distintos = Math.min(parcial.cnpjs.estimar(), validos);
+        long raizesDistintas = Math.min(parcial.raizes.estimar(), distintos);
+
+        Map<CnpjMotivo, Long> rejeicoes = new EnumMap<>(CnpjMotivo.class);
+        for (CnpjMotivo motivo : MOTIVOS) {
+            if (motivo != CnpjMotivo.VALIDO) {
+                rejeicoes.put(motivo, porMotivo[motivo.ordinal()]);
+            }
+        }
+
+        List<Frequente> topo = new ArrayList<>(parcial.contagens.size());
+        for (Map.Entry<String, long[]> entrada : parcial.contagens.entrySet()) {
+            long[] contagem = entrada.getValue();
+            // só o que com certeza se repetiu: num fluxo de inválidos todos diferentes, os
+            // contadores herdam contagens de outros valores e não dizem nada
+            if (contagem[0] - contagem[1] > 1) {
+                topo.add(new Frequente(entrada.getKey(), contagem[0], contagem[1]));
+            }
+        }
+        topo.sort(Comparator.comparingLong(Frequente::ocorrencias).reversed()
+            .thenComparing(Frequente::valor));
+
+        return new Resumo(parcial.total, validos, distintos, raizesDistintas, parcial.alfanumericos,
+            validos - parcial.alfanumericos, Collections.unmodifiableMap(rejeicoes),
+            List.copyOf(topo.subList(0, Math.min(frequentes, topo.size()))));
+    }
+
+    /**
+     * Parcial do thread atual. Threads de pool têm ids sequenciais, que o resto da divisão
+     * espalha bem entre as parciais.
+     */
+    private Parcial parcial() {
+        return parciais.length == 1 ? parciais[0]
+            : parciais[(int) (Thread.currentThread().getId() % parciais.length)];
+    }
+
+    /**
+     * Cópia de todas as parciais numa só, travando uma de cada vez. A cópia fica confinada
+     * ao thread chamador.
+     */
+    private Parcial combinar() {
+        Parcial combinada = new Parcial(precisao, frequentes * 4);
+        for (Parcial parcial : parciais) {
+            synchronized (parcial) {
+                combinada.incorporar(parcial);
+            }
+        }
+        return combinada;
+    }
+
+    /**
+     * Estado de uma parcial. Os métodos de registro travam a própria parcial; quem lê ou
+     * incorpora campos de uma parcial compartilhada trava-a antes.
+     */
+    private static final class Parcial {
+
+        private final HyperLogLog cnpjs;
+        private final HyperLogLog raizes;
+        private final int monitorados;
+
+        private long total;
+        private long alfanumericos;
+        private final long[] porMotivo = new long[MOTIVOS.length];
+
+        /** Space-Saving: valor -> {ocorrências, erro máximo}. */
+        private final Map<String, long[]> contagens;
+
+        private Parcial(int precisao, int monitorados) {
+            this.cnpjs = new HyperLogLog(precisao);
+            this.raizes = new HyperLogLog(precisao);
+            this.monitorados = monitorados;
+            this.contagens = new HashMap<>(monitorados * 2);
+        }
+
+        private synchronized void aceitar(long base) {
+            total++;
+            porMotivo[CnpjMotivo.VALIDO.ordinal()]++;
+            cnpjs.adicionar(base);
+            raizes.adicionar(CnpjPacked.raiz(base));
+            if (alfanumerico(base)) {
+                alfanumericos++;
+            }
+        }
+
+        private synchronized void rejeitar(CnpjMotivo motivo, String valor) {
+            total++;
+            porMotivo[motivo.ordinal()]++;
+            if (monitorados > 0) {
+                contar(valor, 1, 0);
+            }
+        }
+
+        /** Soma {@code outra} a esta parcial; o chamador garante o acesso exclusivo às duas. */
+        private void incorporar(Parcial outra) {
+            cnpjs.mesclar(outra.cnpjs);
+            raizes.mesclar(outra.raizes);
+            total += outra.total;
+            alfanumericos += outra.alfanumericos;
+            for (int i = 0; i < porMotivo.length; i++) {
+                porMotivo[i] += outra.porMotivo[i];
+            }
+            if (monitorados > 0) {
+                for (Map.Entry<String, long[]> entrada : outra.contagens.entrySet()) {
+                    contar(entrada.getKey(), entrada.getValue()[0], entrada.getValue()[1]);
+                }
+            }
+        }
+
+        /**
+         * Space-Saving: valor monitorado soma; valor novo ocupa um contador livre ou substitui o
+         * de menor contagem, herdando-a como erro.
+         */
+        private void contar(String valor, long ocorrencias, long erro) {
+            long[] contagem = contagens.get(valor);
+            if (contagem != null) {
+                contagem[0] += ocorrencias;
+                contagem[1] += erro;
+                return;
+            }
+            if (contagens.size() < monitorados) {
+                contagens.put(valor, new long[] {ocorrencias, erro});
+                return;
+            }
+
+            Map.Entry<String, long[]> menor = null;
+            for (Map.Entry<String, long[]> entrada : contagens.entrySet()) {
+                if (menor == null || entrada.getValue()[0] < menor.getValue()[0]) {
+                    menor = entrada;
+                }
+            }
+            long minimo = menor.getValue()[0];
+            contagens.remove(menor.getKey());
+            contagens.put(valor, new long[] {minimo + ocorrencias, minimo + erro});
+        }
+    }
+
+    /** Base com alguma letra, isto é, algum dígito base 36 maior que 9. */
+    private static boolean alfanumerico(long base) {
+        for (int i = 0; i < CnpjPacked.TAMANHO_BASE; i++) {
+            if (base % 36 >= 10) {
+                return true;
+            }
+            base /= 36;
+        }
+        return false;
+    }
+
+    private static String valor(CharSequence texto) {
+        int inicio = 0;
+        int fim = texto.length();
+        while (inicio < fim && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && texto.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        return texto.subSequence(inicio, Math.min(fim, inicio + TAMANHO_MAXIMO_VALOR)).toString();
+    }
+
+    private static String valor(byte[] dados, int inicio, int fim) {
+        while (inicio < fim && (dados[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (dados[fim - 1] & 0xFF) <= ' ') {
+            fim--;
+        }
+        return new String(dados, inicio, Math.min(fim - inicio, TAMANHO_MAXIMO_VALOR), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Valor inválido entre os mais repetidos (com pelo menos duas ocorrências garantidas).
+     *
+     * @param valor valor lido, sem os espaços das pontas e truncado em 40 caracteres
+     * @param ocorrencias ocorrências contadas (limite superior)
+     * @param erroMaximo quanto da contagem pode ser de outros valores
+     */
+    public record Frequente(String valor, long ocorrencias, long erroMaximo) {
+    }
+
+    /**
+     * Resumo das estatísticas.
+     *
+     * @param total valores registrados
+     * @param validos CNPJs válidos
+     * @param cnpjsDistintos estimativa de CNPJs válidos distintos
+     * @param raizesDistintas estimativa de raízes (8 primeiros caracteres) distintas
+     * @param alfanumericos CNPJs válidos com alguma letra na base
+     * @param numericos CNPJs válidos só com dígitos
+     * @param rejeicoes valores rejeitados por motivo
+     * @param frequentes inválidos mais repetidos, do mais frequente ao menos
+     */
+    public record Resumo(long total, long validos, long cnpjsDistintos, long raizesDistintas,
+                         long alfanumericos, long numericos, Map<CnpjMotivo, Long> rejeicoes,
+                         List<Frequente> frequentes) {
+
+        /**
+         * @return valores rejeitados
+         */
+        public long invalidos() {
+            return total - validos;
+        }
+
+        /**
+         * @return percentual de CNPJs alfanuméricos entre os válidos (0 sem válidos)
+         */
+        public double percentualAlfanumerico() {
+            return validos == 0 ? 0 : 100.0 * alfanumericos / validos;
+        }
+
+        /**
+         * Texto do resumo para a saída das ferramentas de linha de comando.
+         *
+         * @return linhas do resumo
+         */
+        public String formatar() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format("CNPJs distintos: ~%,d | Raízes distintas: ~%,d | "
+                    + "Alfanuméricos: %,d (%.1f%%) | Numéricos: %,d%n",
+                cnpjsDistintos, raizesDistintas, alfanumericos, percentualAlfanumerico(), numericos));
+            texto.append("Rejeições:");
+            for (CnpjMotivo motivo : MOTIVOS) {
+                Long quantidade = rejeicoes.get(motivo);
+                if (quantidade != null && quantidade > 0) {
+                    texto.append(String.format(" %s=%,d", motivo.name(), quantidade));
+                }
+            }
+            texto.append(String.format("%n"));
+            for (Frequente frequente : frequentes) {
+                texto.append(String.format("  %,8d (±%,d)  %s%n",
+                    frequente.ocorrencias(), frequente.erroMaximo(), frequente.valor()));
+            }
+            return texto.toString();
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjCodec;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjFormatter;
+import com.example.validation.cnpj.CnpjPacked;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ordenação externa com deduplicação de arquivos de CNPJ maiores que o heap.
+ *
+ * <p>Fluxo:</p>
+ * <ol>
+ *   <li>Lê os arquivos de entrada (um CNPJ por linha, com ou sem formatação), valida cada
+ *       linha e converte os CNPJs válidos em uma chave {@code long} (base empacotada,
+ *       ver {@link CnpjPacked}); linhas inválidas são apenas contadas</li>
+ *   <li>Quando o buffer de chaves enche, ordena e grava um <i>run</i> em arquivo temporário</li>
+ *   <li>Faz o merge de k vias dos runs, lidos por memória mapeada, gravando cada CNPJ
+ *       uma única vez e, opcionalmente, os CNPJs repetidos com a quantidade de ocorrências</li>
+ * </ol>
+ *
+ * <p>Com um {@link CnpjEstatisticas}, a fase 1 também acumula a qualidade da entrada
+ * (distintos, raízes, rejeições por motivo, inválidos mais repetidos) sem outra leitura.</p>
+ *
+ * <p>O heap usado é limitado pelo buffer de chaves ({@code memoriaMaxima}), que começa pequeno
+ * e dobra conforme a entrada, de modo que arquivos pequenos não alocam o limite inteiro; os
+ * runs são mapeados fora do heap durante o merge.</p>
+ *
+ * <p>A saída é texto (um CNPJ por linha) ou, com {@code saidaBinaria}, o formato do
+ * {@link CnpjCodec}: o {@link CnpjCodec#CABECALHO} seguido de 8 bytes por CNPJ, em ordem
+ * crescente (menos da metade do texto e legível sem parsing).</p>
+ *
+ * <p>Uso pela linha de comando:</p>
+ * <pre>
+ * CnpjExternalDeduplicator [--memoria 256m] [--duplicados dup.csv] [--binario] saida.txt entrada1.txt [entrada2.txt ...]
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjExternalDeduplicator {
+
+    /** Memória padrão do buffer de chaves: 256 MB. */
+    public static final long MEMORIA_PADRAO = 256L * 1024 * 1024;
+
+    private static final int BYTES_POR_CHAVE = Long.BYTES;
+    private static final long MEMORIA_MINIMA = 16L * BYTES_POR_CHAVE;
+
+    /** Chaves do buffer no início (512 KB); ele dobra conforme a entrada, até {@code memoriaMaxima}. */
+    private static final int BUFFER_INICIAL = 64 * 1024;
+
+    /** Cada run precisa caber em um único mapeamento (até 2 GB). */
+    private static final int MAXIMO_CHAVES_POR_RUN = Integer.MAX_VALUE / BYTES_POR_CHAVE;
+
+    private final int chavesPorRun;
+    private final Path diretorioTemporario;
+    private final boolean saidaBinaria;
+
+    /**
+     * Cria o deduplicador.
+     *
+     * @param memoriaMaxima bytes de heap para o buffer de chaves
+     * @param diretorioTemporario diretório onde os runs são gravados
+     * @throws IllegalArgumentException se a memória for menor que o mínimo
+     */
+    public CnpjExternalDeduplicator(long memoriaMaxima, Path diretorioTemporario) {
+        this(memoriaMaxima, diretorioTemporario, false);
+    }
+
+    /**
+     * Cria o deduplicador escolhendo o formato da saída.
+     *
+     * @param memoriaMaxima bytes de heap para o buffer de chaves
+     * @param diretorioTemporario diretório onde os runs são gravados
+     * @param saidaBinaria true para gravar os CNPJs únicos no formato do {@link CnpjCodec}
+     * @throws IllegalArgumentException se a memória for menor que o mínimo
+     */
+    public CnpjExternalDeduplicator(long memoriaMaxima, Path diretorioTemporario, boolean saidaBinaria) {
+        if (memoriaMaxima < MEMORIA_MINIMA) {
+            throw new IllegalArgumentException(
+                String.format("Memória máxima deve ser de pelo menos %d bytes", MEMORIA_MINIMA)
+            );
+        }
+        this.chavesPorRun = (int) Math.min(MAXIMO_CHAVES_POR_RUN, memoriaMaxima / BYTES_POR_CHAVE);
+        this.diretorioTemporario = diretorioTemporario;
+        this.saidaBinaria = saidaBinaria;
+    }
+
+    /**
+     * Resumo de uma execução.
+     *
+     * @param linhasLidas total de linhas não vazias lidas
+     * @param invalidos linhas rejeitadas pela validação
+     * @param unicos CNPJs distintos gravados na saída
+     * @param repetidos CNPJs distintos que apareceram mais de uma vez
+     * @param ocorrenciasExcedentes ocorrências descartadas por duplicidade
+     * @param runs quantidade de runs gravados em disco
+     */
+    public record Resultado(long linhasLidas, long invalidos, long unicos,
+                            long repetidos, long ocorrenciasExcedentes, int runs) {
+    }
+
+    /**
+     * Executa a deduplicação.
+     *
+     * @param entradas arquivos de entrada (UTF-8, um CNPJ por linha)
+     * @param saida arquivo de saída com os CNPJs únicos, ordenados, sem formatação (ou binários)
+     * @param saidaRepetidos arquivo {@code cnpj;ocorrencias} com os CNPJs repetidos, ou null
+     * @return resumo da execução
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public Resultado deduplicar(List<Path> entradas, Path saida, Path saidaRepetidos) throws IOException {
+        return deduplicar(entradas, saida, saidaRepetidos, null);
+    }
+
+    /**
+     * Executa a deduplicação acumulando as estatísticas da entrada.
+     *
+     * @param entradas arquivos de entrada (UTF-8, um CNPJ por linha)
+     * @param saida arquivo de saída com os CNPJs únicos, ordenados, sem formatação (ou binários)
+     * @param saidaRepetidos arquivo {@code cnpj;ocorrencias} com os CNPJs repetidos, ou null
+     * @param estatisticas estatísticas que recebem cada linha não vazia, ou null
+     * @return resumo da execução
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public Resultado deduplicar(List<Path> entradas, Path saida, Path saidaRepetidos,
+                                CnpjEstatisticas estatisticas) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            long[] contadores = gerarRuns(entradas, runs, estatisticas);
+            long[] merge = merge(runs, saida, saidaRepetidos);
+            return new Resultado(contadores[0], contadores[1], merge[0], merge[1], merge[2], runs.size());
+        } finally {
+            for (Path run : runs) {
+                apagar(run);
+            }
+        }
+    }
+
+    /**
+     * Fase 1: lê, valida, empacota e grava runs ordenados.
+     *
+     * @return {linhas lidas, inválidos}
+     */
+    private long[] gerarRuns(List<Path> entradas, List<Path> runs, CnpjEstatisticas estatisticas)
+            throws IOException {
+        // cresce por duplicação até chavesPorRun: entradas pequenas não pagam o buffer inteiro
+        long[][] buffer = {new long[Math.min(chavesPorRun, BUFFER_INICIAL)]};
+        int[] quantidade = new int[1];
+        long[] contadores = new long[2];
+
+        // Lê os bytes direto para a validação: nenhuma String por linha
+        LinhasReader.Consumidor consumidor = (dados, inicio, fim) -> {
+            if (LinhasReader.branca(dados, inicio, fim)) {
+                return;
+            }
+            contadores[0]++;
+            long base = estatisticas != null
+                ? estatisticas.registrarBase(dados, inicio, fim)
+                : CnpjFastValidator.packBase(dados, inicio, fim);
+            if (base == CnpjPacked.INVALIDO) {
+                contadores[1]++;
+                return;
+            }
+            if (quantidade[0] == buffer[0].length) {
+                if (buffer[0].length < chavesPorRun) {
+                    buffer[0] = Arrays.copyOf(buffer[0], (int) Math.min(chavesPorRun, 2L * buffer[0].length));
+                } else {
+                    runs.add(gravarRun(buffer[0], quantidade[0]));
+                    quantidade[0] = 0;
+                }
+            }
+            buffer[0][quantidade[0]++] = base;
+        };
+
+        for (Path entrada : entradas) {
+            try (InputStream in = Files.newInputStream(entrada)) {
+                LinhasReader.ler(in, consumidor);
+            }
+        }
+        if (quantidade[0] > 0) {
+            runs.add(gravarRun(buffer[0], quantidade[0]));
+        }
+        return contadores;
+    }
+
+    private Path gravarRun(long[] buffer, int quantidade) throws IOException {
+        Arrays.sort(buffer, 0, quantidade);
+
+        Path run = Files.createTempFile(diretorioTemporario, "cnpj-run-", ".bin");
+        ByteBuffer bloco = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel canal = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < quantidade; i++) {
+                if (!bloco.hasRemaining()) {
+                    escreverTudo(canal, bloco);
+                }
+                bloco.putLong(buffer[i]);
+            }
+            escreverTudo(canal, bloco);
+        }
+        return run;
+    }
+
+    /**
+     * Fase 2: merge de k vias com heap binário de primitivos.
+     *
+     * @return {únicos, repetidos, ocorrências excedentes}
+     */
+    private long[] merge(List<Path> runs, Path saida, Path saidaRepetidos) throws IOException {
+        int k = runs.size();
+        MappedByteBuffer[] mapas = new MappedByteBuffer[k];
+        for (int i = 0; i < k; i++) {
+            try (FileChannel canal = FileChannel.open(runs.get(i), StandardOpenOption.READ)) {
+                mapas[i] = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            }
+        }
+
+        // Heap mínimo: chave no topo + índice do run de origem
+        long[] chaves = new long[k];
+        int[] origens = new int[k];
+        int tamanhoHeap = 0;
+        for (int i = 0; i < k; i++) {
+            if (mapas[i].hasRemaining()) {
+                chaves[tamanhoHeap] = mapas[i].getLong();
+                origens[tamanhoHeap] = i;
+                subir(chaves, origens, tamanhoHeap++);
+            }
+        }
+
+        long unicos = 0;
+        long repetidos = 0;
+        long excedentes = 0;
+        StringBuilder cnpj = new StringBuilder(CnpjFormatter.TAMANHO_NORMALIZADO);
+
+        ByteBuffer bloco = saidaBinaria ? ByteBuffer.allocateDirect(64 * 1024).put(CnpjCodec.CABECALHO) : null;
+
+        try (BufferedWriter writer = saidaBinaria ? null : Files.newBufferedWriter(saida, StandardCharsets.UTF_8);
+             FileChannel canal = saidaBinaria ? FileChannel.open(saida, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE) : null;
+             BufferedWriter writerRepetidos = saidaRepetidos == null
+                 ? null : Files.newBufferedWriter(saidaRepetidos, StandardCharsets.UTF_8)) {
+
+            boolean temAtual = false;
+            long atual = 0;
+            long ocorrencias = 0;
+
+            while (tamanhoHeap > 0) {
+                long chave = chaves[0];
+                int origem = origens[0];
+
+                if (mapas[origem].hasRemaining()) {
+                    chaves[0] = mapas[origem].getLong();
+                } else {
+                    tamanhoHeap--;
+                    chaves[0] = chaves[tamanhoHeap];
+                    origens[0] = origens[tamanhoHeap];
+                }
+                descer(chaves, origens, tamanhoHeap);
+
+                if (temAtual && chave == atual) {
+                    ocorrencias++;
+                    continue;
+                }
+                if (temAtual) {
+                    unicos++;
+                    if (ocorrencias > 1) {
+                        repetidos++;
+                        excedentes += ocorrencias - 1;
+                    }
+                    gravar(writer, canal, bloco, writerRepetidos, cnpj, atual, ocorrencias);
+                }
+                atual = chave;
+                ocorrencias = 1;
+                temAtual = true;
+            }
+            if (temAtual) {
+                unicos++;
+                if (ocorrencias > 1) {
+                    repetidos++;
+                    excedentes += ocorrencias - 1;
+                }
+                gravar(writer, canal, bloco, writerRepetidos, cnpj, atual, ocorrencias);
+            }
+            if (canal != null) {
+                escreverTudo(canal, bloco);
+            }
+        }
+        return new long[]{unicos, repetidos, excedentes};
+    }
+
+    private static void gravar(BufferedWriter writer, FileChannel canal, ByteBuffer bloco,
+                               BufferedWriter writerRepetidos, StringBuilder cnpj,
+                               long base, long ocorrencias) throws IOException {
+        if (canal != null) {
+            if (bloco.remaining() < CnpjCodec.TAMANHO_COMPACTO) {
+                escreverTudo(canal, bloco);
+            }
+            CnpjCodec.escreverBase(base, bloco);
+            if (writerRepetidos == null || ocorrencias == 1) {
+                return;
+            }
+        }
+        cnpj.setLength(0);
+        CnpjPacked.unpackBase(base, cnpj);
+        int dv = CnpjFastValidator.calculaDV(cnpj, 0);
+        cnpj.append((char) ('0' + dv / 10)).append((char) ('0' + dv % 10));
+
+        if (writer != null) {
+            writer.append(cnpj).append('\n');
+        }
+        if (writerRepetidos != null && ocorrencias > 1) {
+            writerRepetidos.append(cnpj).append(';').append(Long.toString(ocorrencias)).append('\n');
+        }
+    }
+
+    private static void subir(long[] chaves, int[] origens, int indice) {
+        while (indice > 0) {
+            int pai = (indice - 1) >>> 1;
+            if (chaves[pai] <= chaves[indice]) {
+                return;
+            }
+            trocar(chaves, origens, pai, indice);
+            indice = pai;
+        }
+    }
+
+    private static void descer(long[] chaves, int[] origens, int tamanho) {
+        int indice = 0;
+        while (true) {
+            int menor = indice;
+            int esquerda = 2 * indice + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && chaves[esquerda] < chaves[menor]) {
+                menor = esquerda;
+            }
+            if (direita < tamanho && chaves[direita] < chaves[menor]) {
+                menor = direita;
+            }
+            if (menor == indice) {
+                return;
+            }
+            trocar(chaves, origens, menor, indice);
+            indice = menor;
+        }
+    }
+
+    private static void trocar(long[] chaves, int[] origens, int a, int b) {
+        long chave = chaves[a];
+        chaves[a] = chaves[b];
+        chaves[b] = chave;
+        int origem = origens[a];
+        origens[a] = origens[b];
+        origens[b] = origem;
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer bloco) throws IOException {
+        bloco.flip();
+        while (bloco.hasRemaining()) {
+            canal.write(bloco);
+        }
+        bloco.clear();
+    }
+
+    private static void apagar(Path run) {
+        try {
+            Files.deleteIfExists(run);
+        } catch (IOException e) {
+            // Em alguns sistemas o arquivo mapeado só pode ser apagado ao fim da JVM
+            run.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Converte tamanhos como {@code 512k}, {@code 256m} ou {@code 2g} em bytes.
+     *
+     * @param valor tamanho com sufixo opcional
+     * @return quantidade de bytes
+     */
+    static long parseTamanho(String valor) {
+        String texto = valor.trim().toLowerCase();
+        long multiplicador = 1;
+        char sufixo = texto.charAt(texto.length() - 1);
+        if (sufixo == 'k' || sufixo == 'm' || sufixo == 'g') {
+            multiplicador = sufixo == 'k' ? 1024L : sufixo == 'm' ? 1024L * 1024 : 1024L * 1024 * 1024;
+            texto = texto.substring(0, texto.length() - 1);
+        }
+        return Long.parseLong(texto) * multiplicador;
+    }
+
+    /**
+     * Execução pela linha de comando.
+     *
+     * @param args {@code [--memoria 256m] [--duplicados arquivo] [--binario] saida entrada...}
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public static void main(String[] args) throws IOException {
+        long memoria = MEMORIA_PADRAO;
+        Path repetidos = null;
+        boolean binario = false;
+        List<Path> arquivos = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--memoria" -> memoria = parseTamanho(args[++i]);
+                case "--duplicados" -> repetidos = Path.of(args[++i]);
+                case "--binario" -> binario = true;
+                default -> arquivos.add(Path.of(args[i]));
+            }
+        }
+        if (arquivos.size() < 2) {
+            System.err.println("Uso: CnpjExternalDeduplicator [--memoria 256m] [--duplicados arquivo] [--binario] "
+                + "saida entrada...");
+            System.exit(1);
+        }
+
+        Path saida = arquivos.get(0);
+        Path temporario = saida.toAbsolutePath().getParent();
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+        Resultado resultado = new CnpjExternalDeduplicator(memoria, temporario, binario)
+            .deduplicar(arquivos.subList(1, arquivos.size()), saida, repetidos, estatisticas);
+
+        System.out.printf("Linhas lidas: %,d | Inválidos: %,d | Únicos: %,d | Repetidos: %,d "
+                + "(ocorrências excedentes: %,d) | Runs: %d%n",
+            resultado.linhasLidas(), resultado.invalidos(), resultado.unicos(),
+            resultado.repetidos(), resultado.ocorrenciasExcedentes(), resultado.runs());
+        System.out.print(estatisticas.resumo().formatar());
+    }
+}
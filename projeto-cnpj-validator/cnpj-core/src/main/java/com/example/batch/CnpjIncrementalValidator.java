@@ -0,0 +1,393 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.CnpjFastValidator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Revalidação incremental de arquivos de CNPJ que mudam pouco entre execuções.
+ *
+ * <p>O arquivo (um CNPJ por linha) é dividido em blocos de linhas com fronteiras definidas
+ * pelo conteúdo: um bloco termina após uma linha cujo hash satisfaz uma máscara, respeitando
+ * tamanhos mínimo e máximo. Com isso, inserir ou remover linhas altera apenas os blocos
+ * vizinhos, e os demais mantêm o mesmo conteúdo e o mesmo checksum.</p>
+ *
+ * <p>Um manifesto ao lado do arquivo ({@code <arquivo>.cnpj-manifest}) guarda, para cada bloco,
+ * o checksum (CRC32C + hash das linhas + tamanho) e o resultado da validação (índices das linhas
+ * inválidas). Na execução seguinte, blocos com checksum conhecido reaproveitam o resultado e
+ * apenas os blocos alterados são validados. O arquivo ainda é lido por inteiro para calcular
+ * os checksums, mas isso custa muito menos que validar cada linha.</p>
+ *
+ * <p>Linhas em branco são ignoradas (não contam como inválidas), mas mantêm a numeração.</p>
+ *
+ * <p>Uso pela linha de comando:</p>
+ * <pre>
+ * CnpjIncrementalValidator arquivo.txt [relatorio-invalidos.csv]
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjIncrementalValidator {
+
+    /** Extensão do manifesto gravado ao lado do arquivo validado. */
+    public static final String EXTENSAO_MANIFESTO = ".cnpj-manifest";
+
+    /**
+     * Versão das regras de validação. Deve ser incrementada sempre que o resultado do
+     * {@link CnpjValidacao} mudar, para invalidar manifestos antigos.
+     */
+    static final int VERSAO_REGRAS = 1;
+
+    private static final int MAGICO = 0x434E504A; // "CNPJ"
+    private static final int VERSAO_FORMATO = 1;
+
+    private static final int TAMANHO_MINIMO_BLOCO = 8 * 1024;
+    private static final int TAMANHO_MAXIMO_BLOCO = 1024 * 1024;
+    /** Em média, uma fronteira a cada 4096 linhas (~64 KB para CNPJs formatados). */
+    private static final int MASCARA_FRONTEIRA = 0xFFF;
+
+    private final int tamanhoMinimoBloco;
+    private final int tamanhoMaximoBloco;
+    private final int mascaraFronteira;
+
+    /**
+     * Cria o validador com os tamanhos de bloco padrão.
+     */
+    public CnpjIncrementalValidator() {
+        this(TAMANHO_MINIMO_BLOCO, TAMANHO_MAXIMO_BLOCO, MASCARA_FRONTEIRA);
+    }
+
+    /**
+     * Cria o validador com tamanhos de bloco específicos.
+     *
+     * @param tamanhoMinimoBloco bytes mínimos antes de aceitar uma fronteira
+     * @param tamanhoMaximoBloco bytes a partir dos quais a fronteira é forçada no fim da linha
+     * @param mascaraFronteira máscara aplicada ao hash da linha (potência de 2 menos 1)
+     */
+    CnpjIncrementalValidator(int tamanhoMinimoBloco, int tamanhoMaximoBloco, int mascaraFronteira) {
+        this.tamanhoMinimoBloco = tamanhoMinimoBloco;
+        this.tamanhoMaximoBloco = tamanhoMaximoBloco;
+        this.mascaraFronteira = mascaraFronteira;
+    }
+
+    /**
+     * Resumo de uma execução.
+     *
+     * @param linhas total de linhas do arquivo
+     * @param invalidos linhas não vazias com CNPJ inválido
+     * @param blocos total de blocos
+     * @param blocosReprocessados blocos validados nesta execução
+     * @param bytesReprocessados bytes validados nesta execução
+     */
+    public record Resultado(long linhas, long invalidos, int blocos,
+                            int blocosReprocessados, long bytesReprocessados) {
+    }
+
+    /**
+     * Identificação de um bloco pelo conteúdo.
+     */
+    private record ChaveBloco(int crc, int hash, int tamanho) {
+    }
+
+    /**
+     * Bloco do manifesto: identificação + resultado da validação.
+     */
+    private record Bloco(ChaveBloco chave, int linhas, int[] invalidas) {
+    }
+
+    /**
+     * Valida o arquivo usando o manifesto padrão ({@code <arquivo>.cnpj-manifest}).
+     *
+     * @param arquivo arquivo com um CNPJ por linha
+     * @param relatorioInvalidos arquivo {@code linha;valor} com as linhas inválidas, ou null
+     * @return resumo da execução
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public Resultado validar(Path arquivo, Path relatorioInvalidos) throws IOException {
+        return validar(arquivo, manifestoPadrao(arquivo), relatorioInvalidos);
+    }
+
+    /**
+     * Valida o arquivo reaproveitando os resultados do manifesto anterior e grava o novo manifesto.
+     *
+     * @param arquivo arquivo com um CNPJ por linha
+     * @param manifesto arquivo de manifesto (lido se existir e regravado ao final)
+     * @param relatorioInvalidos arquivo {@code linha;valor} com as linhas inválidas, ou null
+     * @return resumo da execução
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public Resultado validar(Path arquivo, Path manifesto, Path relatorioInvalidos) throws IOException {
+        Map<ChaveBloco, Bloco> anteriores = lerManifesto(manifesto);
+        Execucao execucao = new Execucao(anteriores, relatorioInvalidos);
+
+        try (InputStream in = Files.newInputStream(arquivo)) {
+            execucao.processar(in);
+        } finally {
+            execucao.fecharRelatorio();
+        }
+
+        gravarManifesto(manifesto, execucao.blocos);
+        return new Resultado(execucao.totalLinhas, execucao.totalInvalidos, execucao.blocos.size(),
+            execucao.blocosReprocessados, execucao.bytesReprocessados);
+    }
+
+    /**
+     * Caminho padrão do manifesto de um arquivo.
+     *
+     * @param arquivo arquivo validado
+     * @return caminho do manifesto
+     */
+    public static Path manifestoPadrao(Path arquivo) {
+        return arquivo.resolveSibling(arquivo.getFileName() + EXTENSAO_MANIFESTO);
+    }
+
+    /**
+     * Estado de uma execução: bloco corrente, contadores e relatório.
+     */
+    private final class Execucao {
+
+        private final Map<ChaveBloco, Bloco> anteriores;
+        private final BufferedWriter relatorio;
+        private final List<Bloco> blocos = new ArrayList<>();
+        private final CRC32C crc = new CRC32C();
+
+        private byte[] dados = new byte[tamanhoMinimoBloco * 2];
+        private int tamanho;
+        private int linhasBloco;
+        private int hashLinha = 1;
+        private int hashBloco = 1;
+
+        private long totalLinhas;
+        private long totalInvalidos;
+        private int blocosReprocessados;
+        private long bytesReprocessados;
+
+        Execucao(Map<ChaveBloco, Bloco> anteriores, Path relatorioInvalidos) throws IOException {
+            this.anteriores = anteriores;
+            this.relatorio = relatorioInvalidos == null
+                ? null : Files.newBufferedWriter(relatorioInvalidos, StandardCharsets.UTF_8);
+        }
+
+        void processar(InputStream in) throws IOException {
+            byte[] leitura = new byte[256 * 1024];
+            int lidos;
+            while ((lidos = in.read(leitura)) > 0) {
+                for (int i = 0; i < lidos; i++) {
+                    byte b = leitura[i];
+                    if (tamanho == dados.length) {
+                        dados = Arrays.copyOf(dados, dados.length * 2);
+                    }
+                    dados[tamanho++] = b;
+
+                    if (b != '\n') {
+                        hashLinha = 31 * hashLinha + b;
+                        continue;
+                    }
+                    linhasBloco++;
+                    int hash = misturar(hashLinha);
+                    hashBloco = 31 * hashBloco + hash;
+                    hashLinha = 1;
+
+                    if (tamanho >= tamanhoMaximoBloco
+                            || (tamanho >= tamanhoMinimoBloco && (hash & mascaraFronteira) == 0)) {
+                        fecharBloco();
+                    }
+                }
+            }
+            if (tamanho > 0) {
+                if (dados[tamanho - 1] != '\n') {
+                    linhasBloco++;
+                    hashBloco = 31 * hashBloco + misturar(hashLinha);
+                }
+                fecharBloco();
+            }
+        }
+
+        private void fecharBloco() throws IOException {
+            crc.reset();
+            crc.update(dados, 0, tamanho);
+            ChaveBloco chave = new ChaveBloco((int) crc.getValue(), hashBloco, tamanho);
+
+            Bloco bloco = anteriores.get(chave);
+            if (bloco == null || bloco.linhas() != linhasBloco) {
+                bloco = new Bloco(chave, linhasBloco, validarBloco());
+                blocosReprocessados++;
+                bytesReprocessados += tamanho;
+            }
+            blocos.add(bloco);
+
+            if (relatorio != null) {
+                // índices em ordem crescente: o bloco é percorrido uma vez só
+                int inicio = 0;
+                int linha = 0;
+                for (int indice : bloco.invalidas()) {
+                    for (; linha < indice; linha++) {
+                        inicio = fimLinha(inicio) + 1;
+                    }
+                    int fim = fimLinha(inicio);
+                    if (fim > inicio && dados[fim - 1] == '\r') {
+                        fim--;
+                    }
+                    relatorio.append(Long.toString(totalLinhas + indice + 1)).append(';')
+                        .append(new String(dados, inicio, fim - inicio, StandardCharsets.UTF_8))
+                        .append('\n');
+                }
+            }
+            totalLinhas += bloco.linhas();
+            totalInvalidos += bloco.invalidas().length;
+
+            tamanho = 0;
+            linhasBloco = 0;
+            hashBloco = 1;
+        }
+
+        /**
+         * Valida as linhas do bloco corrente.
+         *
+         * @return índices (relativos ao bloco) das linhas inválidas
+         */
+        private int[] validarBloco() {
+            int[] invalidas = new int[16];
+            int quantidade = 0;
+            int inicio = 0;
+            for (int indice = 0; indice < linhasBloco; indice++) {
+                int fim = fimLinha(inicio);
+                if (!LinhasReader.branca(dados, inicio, fim) && !CnpjFastValidator.isValid(dados, inicio, fim)) {
+                    if (quantidade == invalidas.length) {
+                        invalidas = Arrays.copyOf(invalidas, quantidade * 2);
+                    }
+                    invalidas[quantidade++] = indice;
+                }
+                inicio = fim + 1;
+            }
+            return Arrays.copyOf(invalidas, quantidade);
+        }
+
+        /**
+         * @return posição da quebra de linha que termina a linha iniciada em {@code inicio},
+         *         ou o fim do bloco se a última linha não tiver quebra
+         */
+        private int fimLinha(int inicio) {
+            int fim = inicio;
+            while (fim < tamanho && dados[fim] != '\n') {
+                fim++;
+            }
+            return fim;
+        }
+
+        void fecharRelatorio() throws IOException {
+            if (relatorio != null) {
+                relatorio.close();
+            }
+        }
+    }
+
+    /**
+     * Finalizador do MurmurHash3: espalha os bits para que a máscara de fronteira
+     * dependa de todo o conteúdo da linha.
+     */
+    private static int misturar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static Map<ChaveBloco, Bloco> lerManifesto(Path manifesto) throws IOException {
+        Map<ChaveBloco, Bloco> blocos = new HashMap<>();
+        if (!Files.exists(manifesto)) {
+            return blocos;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(manifesto)))) {
+            if (in.readInt() != MAGICO || in.readInt() != VERSAO_FORMATO || in.readInt() != VERSAO_REGRAS) {
+                // Manifesto de outra versão: tudo será revalidado
+                return blocos;
+            }
+            int quantidade = in.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                ChaveBloco chave = new ChaveBloco(in.readInt(), in.readInt(), in.readInt());
+                int linhas = in.readInt();
+                int quantidadeInvalidas = in.readInt();
+                if (linhas < 0 || quantidadeInvalidas < 0 || quantidadeInvalidas > linhas) {
+                    // Manifesto corrompido: tudo será revalidado
+                    return new HashMap<>();
+                }
+                int[] invalidas = new int[quantidadeInvalidas];
+                for (int j = 0; j < invalidas.length; j++) {
+                    invalidas[j] = in.readInt();
+                    if (invalidas[j] < (j == 0 ? 0 : invalidas[j - 1] + 1) || invalidas[j] >= linhas) {
+                        return new HashMap<>();
+                    }
+                }
+                blocos.put(chave, new Bloco(chave, linhas, invalidas));
+            }
+        } catch (EOFException e) {
+            // Manifesto truncado: tudo será revalidado
+            return new HashMap<>();
+        }
+        return blocos;
+    }
+
+    private static void gravarManifesto(Path manifesto, List<Bloco> blocos) throws IOException {
+        Path temporario = manifesto.resolveSibling(manifesto.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+            out.writeInt(MAGICO);
+            out.writeInt(VERSAO_FORMATO);
+            out.writeInt(VERSAO_REGRAS);
+            out.writeInt(blocos.size());
+            for (Bloco bloco : blocos) {
+                out.writeInt(bloco.chave().crc());
+                out.writeInt(bloco.chave().hash());
+                out.writeInt(bloco.chave().tamanho());
+                out.writeInt(bloco.linhas());
+                out.writeInt(bloco.invalidas().length);
+                for (int indice : bloco.invalidas()) {
+                    out.writeInt(indice);
+                }
+            }
+        }
+        Files.move(temporario, manifesto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Execução pela linha de comando.
+     *
+     * @param args {@code arquivo [relatorio-invalidos]}
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: CnpjIncrementalValidator arquivo [relatorio-invalidos]");
+            System.exit(1);
+        }
+        Path relatorio = args.length > 1 ? Path.of(args[1]) : null;
+        Resultado resultado = new CnpjIncrementalValidator().validar(Path.of(args[0]), relatorio);
+
+        System.out.printf("Linhas: %,d | Inválidos: %,d | Blocos: %,d | Reprocessados: %,d (%,d bytes)%n",
+            resultado.linhas(), resultado.invalidos(), resultado.blocos(),
+            resultado.blocosReprocessados(), resultado.bytesReprocessados());
+    }
+}
@@ -0,0 +1,693 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjFormatter;
+import com.example.validation.cnpj.CnpjMotivo;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Validação em streaming da coluna de CNPJ de uma planilha {@code .xlsx}.
+ *
+ * <p>O {@code .xlsx} é um zip de XMLs. A aba é lida evento a evento com StAX (nunca como
+ * DOM), e só o valor da coluna de CNPJ de cada linha é guardado até o fim da linha. A tabela
+ * de strings compartilhadas ({@code sharedStrings.xml}), onde o Excel guarda os textos das
+ * células, é despejada em arquivos temporários (textos e posições) e consultada por índice;
+ * assim o heap usado não depende do tamanho da planilha.</p>
+ *
+ * <p>A coluna é escolhida pelo nome no cabeçalho (primeira linha) ou pela letra; sem
+ * indicação, é a primeira cuja célula de cabeçalho contém "CNPJ" (ou a coluna A, sem
+ * cabeçalho). CNPJs digitados como número perdem os zeros à esquerda no Excel
+ * ({@code 191} em vez de {@code 00000000000191}): valores numéricos inteiros são completados
+ * com zeros até 14 dígitos antes da validação.</p>
+ *
+ * <p>O relatório, uma linha por célula não vazia, sai em NDJSON ou em uma nova planilha
+ * {@code .xlsx} (linha original, valor lido, CNPJ formatado, válido e motivo), também
+ * gravada em streaming. Um {@link CnpjEstatisticas} opcional acumula a qualidade da coluna
+ * na mesma passada.</p>
+ *
+ * <p>Uso pela linha de comando:</p>
+ * <pre>
+ * CnpjXlsxValidator [--aba Parceiros] [--coluna CNPJ|B] planilha.xlsx relatorio.ndjson|relatorio.xlsx
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjXlsxValidator {
+
+    /** Formato do relatório. */
+    public enum Formato {
+        /** Um objeto JSON por linha. */
+        NDJSON,
+        /** Planilha com o resultado de cada linha. */
+        XLSX
+    }
+
+    /**
+     * Resumo de uma execução.
+     *
+     * @param linhas células não vazias validadas
+     * @param validos CNPJs válidos
+     * @param invalidos valores rejeitados
+     * @param vazias linhas sem valor na coluna
+     * @param coluna letra da coluna lida
+     * @param cabecalho true se a primeira linha foi tratada como cabeçalho
+     */
+    public record Resultado(long linhas, long validos, long invalidos, long vazias, String coluna, boolean cabecalho) {
+    }
+
+    private static final String NS_RELACOES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final int TAMANHO_CNPJ = 14;
+
+    private final Path diretorioTemporario;
+
+    /**
+     * Cria o validador com arquivos temporários no diretório padrão do sistema.
+     */
+    public CnpjXlsxValidator() {
+        this(Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Cria o validador.
+     *
+     * @param diretorioTemporario diretório dos arquivos da tabela de strings compartilhadas
+     */
+    public CnpjXlsxValidator(Path diretorioTemporario) {
+        this.diretorioTemporario = diretorioTemporario;
+    }
+
+    /**
+     * Valida a coluna de CNPJ de uma aba.
+     *
+     * @param planilha arquivo {@code .xlsx}
+     * @param aba nome da aba, ou null para a primeira
+     * @param coluna nome no cabeçalho ou letra da coluna, ou null para detectar
+     * @param relatorio arquivo do relatório
+     * @param formato formato do relatório
+     * @return resumo da execução
+     * @throws IllegalArgumentException se a aba ou a coluna não existirem
+     * @throws IOException se a planilha não puder ser lida ou estiver malformada
+     */
+    public Resultado validar(Path planilha, String aba, String coluna, Path relatorio, Formato formato)
+            throws IOException {
+        return validar(planilha, aba, coluna, relatorio, formato, null);
+    }
+
+    /**
+     * Valida a coluna de CNPJ de uma aba acumulando as estatísticas dos valores lidos.
+     *
+     * @param planilha arquivo {@code .xlsx}
+     * @param aba nome da aba, ou null para a primeira
+     * @param coluna nome no cabeçalho ou letra da coluna, ou null para detectar
+     * @param relatorio arquivo do relatório
+     * @param formato formato do relatório
+     * @param estatisticas estatísticas que recebem cada célula não vazia, ou null
+     * @return resumo da execução
+     * @throws IllegalArgumentException se a aba ou a coluna não existirem
+     * @throws IOException se a planilha não puder ser lida ou estiver malformada
+     */
+    public Resultado validar(Path planilha, String aba, String coluna, Path relatorio, Formato formato,
+                             CnpjEstatisticas estatisticas) throws IOException {
+        XMLInputFactory fabrica = XMLInputFactory.newFactory();
+        fabrica.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        fabrica.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        fabrica.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+
+        try (ZipFile zip = new ZipFile(planilha.toFile())) {
+            Map<String, String> relacoes = relacoesDaPasta(zip, fabrica);
+            String caminhoAba = caminhoDaAba(zip, fabrica, relacoes, aba);
+            ZipEntry entradaAba = zip.getEntry(caminhoAba);
+            if (entradaAba == null) {
+                throw new IOException("Aba não encontrada no arquivo: " + caminhoAba);
+            }
+
+            try (StringsCompartilhadas strings = StringsCompartilhadas.ler(zip,
+                    relacoes.getOrDefault("sharedStrings", "xl/sharedStrings.xml"), fabrica, diretorioTemporario);
+                 Relatorio saida = formato == Formato.XLSX ? new RelatorioXlsx(relatorio) : new RelatorioNdjson(relatorio);
+                 InputStream in = zip.getInputStream(entradaAba)) {
+                return lerAba(fabrica.createXMLStreamReader(in), strings, coluna, saida, estatisticas);
+            } catch (XMLStreamException e) {
+                throw new IOException("Planilha malformada: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private Resultado lerAba(XMLStreamReader xml, StringsCompartilhadas strings, String colunaPedida, Relatorio saida,
+                             CnpjEstatisticas estatisticas) throws XMLStreamException, IOException {
+        long linhas = 0;
+        long validos = 0;
+        long invalidos = 0;
+        long vazias = 0;
+
+        int alvo = -1;
+        boolean cabecalho = false;
+        // células da primeira linha, só enquanto a coluna não está resolvida
+        Map<Integer, String> primeira = new HashMap<>();
+
+        int linha = 0;
+        int coluna = -1;
+        String tipo = null;
+        String valor = null;
+
+        while (xml.hasNext()) {
+            int evento = xml.next();
+            if (evento == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "row" -> {
+                        String r = xml.getAttributeValue(null, "r");
+                        linha = r != null ? Integer.parseInt(r) : linha + 1;
+                        coluna = -1;
+                        valor = null;
+                    }
+                    case "c" -> {
+                        String r = xml.getAttributeValue(null, "r");
+                        coluna = r != null ? indiceColuna(r) : coluna + 1;
+                        tipo = xml.getAttributeValue(null, "t");
+                    }
+                    case "v", "is" -> {
+                        if (alvo < 0 || coluna == alvo) {
+                            String texto = xml.getLocalName().equals("v")
+                                ? valorCelula(tipo, xml.getElementText(), strings)
+                                : lerTexto(xml, "is");
+                            if (alvo < 0) {
+                                primeira.put(coluna, texto);
+                            } else {
+                                valor = texto;
+                            }
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            } else if (evento == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("row")) {
+                if (alvo < 0) {
+                    alvo = resolverColuna(primeira, colunaPedida);
+                    String titulo = primeira.get(alvo);
+                    cabecalho = colunaPedida != null && !ehLetraDeColuna(colunaPedida, primeira)
+                        || titulo != null && titulo.toUpperCase(Locale.ROOT).contains("CNPJ");
+                    valor = primeira.get(alvo);
+                    primeira = null;
+                    if (cabecalho) {
+                        continue;
+                    }
+                }
+                if (valor == null || valor.isBlank()) {
+                    vazias++;
+                    continue;
+                }
+                CnpjMotivo motivo = estatisticas != null
+                    ? estatisticas.registrar(valor)
+                    : CnpjFastValidator.motivo(valor, 0, valor.length());
+                saida.linha(linha, valor, motivo);
+                linhas++;
+                if (motivo == CnpjMotivo.VALIDO) {
+                    validos++;
+                } else {
+                    invalidos++;
+                }
+            }
+        }
+        if (alvo < 0) {
+            alvo = colunaPedida != null ? resolverColuna(Map.of(), colunaPedida) : 0;
+        }
+        return new Resultado(linhas, validos, invalidos, vazias, letraColuna(alvo), cabecalho);
+    }
+
+    private static int resolverColuna(Map<Integer, String> cabecalho, String pedida) {
+        if (pedida == null) {
+            return cabecalho.entrySet().stream()
+                .filter(celula -> celula.getValue() != null
+                    && celula.getValue().toUpperCase(Locale.ROOT).contains("CNPJ"))
+                .mapToInt(Map.Entry::getKey)
+                .min()
+                .orElse(0);
+        }
+        for (Map.Entry<Integer, String> celula : cabecalho.entrySet()) {
+            if (celula.getValue() != null && celula.getValue().trim().equalsIgnoreCase(pedida.trim())) {
+                return celula.getKey();
+            }
+        }
+        if (ehLetraDeColuna(pedida, Map.of())) {
+            return indiceColuna(pedida.toUpperCase(Locale.ROOT));
+        }
+        throw new IllegalArgumentException(String.format("Coluna '%s' não encontrada no cabeçalho", pedida));
+    }
+
+    /**
+     * True se a coluna pedida é uma letra ({@code A} a {@code XFD}) e não o nome de uma célula do cabeçalho.
+     */
+    private static boolean ehLetraDeColuna(String pedida, Map<Integer, String> cabecalho) {
+        if (!pedida.trim().matches("[A-Za-z]{1,3}")) {
+            return false;
+        }
+        return cabecalho.values().stream()
+            .noneMatch(titulo -> titulo != null && titulo.trim().equalsIgnoreCase(pedida.trim()));
+    }
+
+    private static String valorCelula(String tipo, String texto, StringsCompartilhadas strings) throws IOException {
+        if (tipo == null || tipo.equals("n")) {
+            return numero(texto);
+        }
+        if (tipo.equals("s")) {
+            try {
+                return strings.obter(Integer.parseInt(texto.trim()));
+            } catch (NumberFormatException e) {
+                throw new IOException("Índice de string compartilhada inválido: " + texto, e);
+            }
+        }
+        return texto;
+    }
+
+    /**
+     * Inteiro não negativo sem notação científica, completado com zeros até 14 dígitos.
+     */
+    static String numero(String texto) {
+        try {
+            BigDecimal numero = new BigDecimal(texto.trim()).stripTrailingZeros();
+            if (numero.signum() >= 0 && numero.scale() <= 0) {
+                String digitos = numero.toBigInteger().toString();
+                return digitos.length() < TAMANHO_CNPJ ? "0".repeat(TAMANHO_CNPJ - digitos.length()) + digitos : digitos;
+            }
+        } catch (NumberFormatException e) {
+            // não é número: fica como está
+        }
+        return texto;
+    }
+
+    /**
+     * Concatena os {@code <t>} de um texto rico ({@code <si>} ou {@code <is>}), sem a fonética ({@code <rPh>}).
+     */
+    private static String lerTexto(XMLStreamReader xml, String elemento) throws XMLStreamException {
+        StringBuilder texto = new StringBuilder();
+        int fonetica = 0;
+        while (xml.hasNext()) {
+            int evento = xml.next();
+            if (evento == XMLStreamConstants.START_ELEMENT) {
+                if (xml.getLocalName().equals("rPh")) {
+                    fonetica++;
+                } else if (xml.getLocalName().equals("t")) {
+                    String t = xml.getElementText();
+                    if (fonetica == 0) {
+                        texto.append(t);
+                    }
+                }
+            } else if (evento == XMLStreamConstants.END_ELEMENT) {
+                if (xml.getLocalName().equals("rPh")) {
+                    fonetica--;
+                } else if (xml.getLocalName().equals(elemento)) {
+                    break;
+                }
+            }
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Índice (0 para A) da coluna de uma referência como {@code B12} ou {@code AA}.
+     */
+    static int indiceColuna(String referencia) {
+        int indice = 0;
+        for (int i = 0; i < referencia.length(); i++) {
+            char c = referencia.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            indice = indice * 26 + (c - 'A' + 1);
+        }
+        return indice - 1;
+    }
+
+    static String letraColuna(int indice) {
+        StringBuilder letras = new StringBuilder();
+        for (int i = indice + 1; i > 0; i = (i - 1) / 26) {
+            letras.append((char) ('A' + (i - 1) % 26));
+        }
+        return letras.reverse().toString();
+    }
+
+    /**
+     * Relações de {@code xl/workbook.xml}: id e tipo ({@code sharedStrings}) para o caminho no zip.
+     */
+    private static Map<String, String> relacoesDaPasta(ZipFile zip, XMLInputFactory fabrica) throws IOException {
+        Map<String, String> relacoes = new HashMap<>();
+        ZipEntry entrada = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (entrada == null) {
+            return relacoes;
+        }
+        try (InputStream in = zip.getInputStream(entrada)) {
+            XMLStreamReader xml = fabrica.createXMLStreamReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("Relationship")) {
+                    String alvo = xml.getAttributeValue(null, "Target");
+                    String caminho = alvo.startsWith("/") ? alvo.substring(1) : "xl/" + alvo;
+                    relacoes.put(xml.getAttributeValue(null, "Id"), caminho);
+                    String tipo = xml.getAttributeValue(null, "Type");
+                    if (tipo != null && tipo.endsWith("/sharedStrings")) {
+                        relacoes.put("sharedStrings", caminho);
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Relações da planilha malformadas: " + e.getMessage(), e);
+        }
+        return relacoes;
+    }
+
+    private static String caminhoDaAba(ZipFile zip, XMLInputFactory fabrica, Map<String, String> relacoes, String aba)
+            throws IOException {
+        ZipEntry entrada = zip.getEntry("xl/workbook.xml");
+        if (entrada == null) {
+            throw new IOException("Arquivo não é uma planilha .xlsx (xl/workbook.xml ausente)");
+        }
+        List<String> nomes = new ArrayList<>();
+        try (InputStream in = zip.getInputStream(entrada)) {
+            XMLStreamReader xml = fabrica.createXMLStreamReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("sheet")) {
+                    String nome = xml.getAttributeValue(null, "name");
+                    nomes.add(nome);
+                    if (aba == null || aba.equals(nome)) {
+                        String caminho = relacoes.get(xml.getAttributeValue(NS_RELACOES, "id"));
+                        return caminho != null ? caminho : "xl/worksheets/sheet" + nomes.size() + ".xml";
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Pasta de trabalho malformada: " + e.getMessage(), e);
+        }
+        throw new IllegalArgumentException(String.format("Aba '%s' não encontrada; abas: %s", aba, nomes));
+    }
+
+    /**
+     * Tabela de strings compartilhadas em disco: textos em UTF-8 num arquivo e a posição de
+     * cada um ({@code long}) em outro, ambos mapeados (fora do heap) para consulta por índice.
+     */
+    private static final class StringsCompartilhadas implements Closeable {
+
+        private final Path textos;
+        private final Path posicoes;
+        private final ByteBuffer dados;
+        private final LongBuffer indice;
+        private final int quantidade;
+        private byte[] buffer = new byte[64];
+
+        private StringsCompartilhadas(Path textos, Path posicoes, int quantidade) throws IOException {
+            this.textos = textos;
+            this.posicoes = posicoes;
+            this.quantidade = quantidade;
+            try (FileChannel canalTextos = FileChannel.open(textos, StandardOpenOption.READ);
+                 FileChannel canalPosicoes = FileChannel.open(posicoes, StandardOpenOption.READ)) {
+                this.dados = canalTextos.map(FileChannel.MapMode.READ_ONLY, 0, canalTextos.size());
+                this.indice = canalPosicoes.map(FileChannel.MapMode.READ_ONLY, 0, canalPosicoes.size()).asLongBuffer();
+            }
+        }
+
+        static StringsCompartilhadas ler(ZipFile zip, String caminho, XMLInputFactory fabrica, Path diretorio)
+                throws IOException {
+            Path textos = Files.createTempFile(diretorio, "cnpj-xlsx-", ".strings");
+            Path posicoes = Files.createTempFile(diretorio, "cnpj-xlsx-", ".posicoes");
+            int quantidade = 0;
+            try {
+                ZipEntry entrada = zip.getEntry(caminho);
+                try (DataOutputStream outTextos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(textos)));
+                     DataOutputStream outPosicoes = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(posicoes)))) {
+                    if (entrada != null) {
+                        try (InputStream in = zip.getInputStream(entrada)) {
+                            XMLStreamReader xml = fabrica.createXMLStreamReader(in);
+                            while (xml.hasNext()) {
+                                if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("si")) {
+                                    outPosicoes.writeLong(outTextos.size());
+                                    outTextos.write(lerTexto(xml, "si").getBytes(StandardCharsets.UTF_8));
+                                    quantidade++;
+                                }
+                            }
+                        } catch (XMLStreamException e) {
+                            throw new IOException("Strings compartilhadas malformadas: " + e.getMessage(), e);
+                        }
+                    }
+                    // DataOutputStream.size() satura em 2 GB; a tabela de uma planilha fica muito abaixo disso
+                    outPosicoes.writeLong(outTextos.size());
+                }
+                return new StringsCompartilhadas(textos, posicoes, quantidade);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(textos);
+                Files.deleteIfExists(posicoes);
+                throw e;
+            }
+        }
+
+        String obter(int i) throws IOException {
+            if (i < 0 || i >= quantidade) {
+                throw new IOException(String.format("Índice de string compartilhada fora da tabela: %d", i));
+            }
+            int inicio = (int) indice.get(i);
+            int tamanho = (int) indice.get(i + 1) - inicio;
+            if (buffer.length < tamanho) {
+                buffer = new byte[tamanho];
+            }
+            dados.get(inicio, buffer, 0, tamanho);
+            return new String(buffer, 0, tamanho, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(textos);
+            Files.deleteIfExists(posicoes);
+        }
+    }
+
+    private interface Relatorio extends Closeable {
+
+        void linha(int linha, String valor, CnpjMotivo motivo) throws IOException;
+    }
+
+    /**
+     * {@code {"linha":2,"cnpj":"...","valido":true,"formatado":"...","motivo":"VALIDO"}} por linha.
+     */
+    private static final class RelatorioNdjson implements Relatorio {
+
+        private final Writer out;
+
+        RelatorioNdjson(Path arquivo) throws IOException {
+            this.out = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void linha(int linha, String valor, CnpjMotivo motivo) throws IOException {
+            out.write("{\"linha\":");
+            out.write(Integer.toString(linha));
+            out.write(",\"cnpj\":\"");
+            escaparJson(valor, out);
+            out.write("\",\"valido\":");
+            out.write(motivo == CnpjMotivo.VALIDO ? "true" : "false");
+            if (motivo == CnpjMotivo.VALIDO) {
+                out.write(",\"formatado\":\"");
+                out.write(CnpjFormatter.format(valor));
+                out.write('"');
+            }
+            out.write(",\"motivo\":\"");
+            out.write(motivo.name());
+            out.write("\"}\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private static void escaparJson(String texto, Writer out) throws IOException {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Planilha mínima (uma aba, textos inline, sem tabela de strings compartilhadas),
+     * gravada linha a linha.
+     */
+    private static final class RelatorioXlsx implements Relatorio {
+
+        private static final String[] TITULOS = { "Linha", "CNPJ", "CNPJ formatado", "Válido", "Motivo" };
+
+        private final ZipOutputStream zip;
+        private final Writer out;
+        private int linhaSaida;
+
+        RelatorioXlsx(Path arquivo) throws IOException {
+            this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo)));
+            // o XML da aba é repetitivo e comprime bem mesmo no nível mais rápido
+            zip.setLevel(Deflater.BEST_SPEED);
+            try {
+                entrada("[Content_Types].xml", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+                    <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+                    <Default Extension="xml" ContentType="application/xml"/>\
+                    <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+                    <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+                    </Types>""");
+                entrada("_rels/.rels", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                    <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+                    </Relationships>""");
+                entrada("xl/workbook.xml", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                    xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                    <sheets><sheet name="Validação" sheetId="1" r:id="rId1"/></sheets></workbook>""");
+                entrada("xl/_rels/workbook.xml.rels", """
+                    <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                    <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                    <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+                    </Relationships>""");
+
+                zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+                this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+                out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<sheetPr><outlinePr/></sheetPr><sheetViews><sheetView workbookViewId=\"0\">"
+                    + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+                    + "</sheetView></sheetViews><sheetData>");
+                abrirLinha();
+                for (int i = 0; i < TITULOS.length; i++) {
+                    texto(i, TITULOS[i]);
+                }
+                out.write("</row>");
+            } catch (IOException | RuntimeException e) {
+                zip.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void linha(int linha, String valor, CnpjMotivo motivo) throws IOException {
+            boolean valido = motivo == CnpjMotivo.VALIDO;
+            abrirLinha();
+            out.write("<c r=\"A" + linhaSaida + "\"><v>" + linha + "</v></c>");
+            texto(1, valor);
+            if (valido) {
+                texto(2, CnpjFormatter.format(valor));
+            }
+            out.write("<c r=\"D" + linhaSaida + "\" t=\"b\"><v>" + (valido ? 1 : 0) + "</v></c>");
+            texto(4, valido ? motivo.name() : motivo.name() + " - " + motivo.getDescricao());
+            out.write("</row>");
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.write("</sheetData></worksheet>");
+                out.flush();
+                zip.closeEntry();
+            } finally {
+                zip.close();
+            }
+        }
+
+        private void abrirLinha() throws IOException {
+            linhaSaida++;
+            out.write("<row r=\"" + linhaSaida + "\">");
+        }
+
+        private void texto(int coluna, String texto) throws IOException {
+            out.write("<c r=\"" + letraColuna(coluna) + linhaSaida + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            escaparXml(texto, out);
+            out.write("</t></is></c>");
+        }
+
+        private void entrada(String nome, String conteudo) throws IOException {
+            zip.putNextEntry(new ZipEntry(nome));
+            zip.write(conteudo.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        private static void escaparXml(String texto, Writer out) throws IOException {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '&' -> out.write("&amp;");
+                    case '<' -> out.write("&lt;");
+                    case '>' -> out.write("&gt;");
+                    case '"' -> out.write("&quot;");
+                    default -> {
+                        // caracteres de controle não são permitidos em XML 1.0
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String aba = null;
+        String coluna = null;
+        List<Path> arquivos = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--aba" -> aba = args[++i];
+                case "--coluna" -> coluna = args[++i];
+                default -> arquivos.add(Path.of(args[i]));
+            }
+        }
+        if (arquivos.size() != 2) {
+            System.err.println("Uso: CnpjXlsxValidator [--aba nome] [--coluna nome|letra] planilha.xlsx "
+                + "relatorio.ndjson|relatorio.xlsx");
+            System.exit(1);
+        }
+
+        Path relatorio = arquivos.get(1);
+        Formato formato = relatorio.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xlsx")
+            ? Formato.XLSX : Formato.NDJSON;
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+        Resultado resultado = new CnpjXlsxValidator(relatorio.toAbsolutePath().getParent())
+            .validar(arquivos.get(0), aba, coluna, relatorio, formato, estatisticas);
+
+        System.out.printf("Coluna: %s%s | Linhas: %,d | Válidos: %,d | Inválidos: %,d | Vazias: %,d%n",
+            resultado.coluna(), resultado.cabecalho() ? " (com cabeçalho)" : "", resultado.linhas(),
+            resultado.validos(), resultado.invalidos(), resultado.vazias());
+        System.out.print(estatisticas.resumo().formatar());
+    }
+}
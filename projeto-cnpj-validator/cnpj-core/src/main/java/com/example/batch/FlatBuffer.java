@@ -0,0 +1,377 @@
+package com.example.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Leitura e escrita mínimas de FlatBuffers, o formato dos metadados do Arrow IPC.
+ *
+ * <p>Um FlatBuffer começa com o deslocamento da tabela raiz. Cada tabela aponta (deslocamento
+ * com sinal) para a sua vtable, que guarda a posição de cada campo dentro da tabela (0 para
+ * campo ausente). Tabelas filhas, vetores e textos são referenciados por deslocamentos sem
+ * sinal para frente. Só o necessário para as mensagens do Arrow: campos escalares, tabelas,
+ * vetores de tabelas, vetores de structs e textos.</p>
+ *
+ * <p>A escrita é feita da frente para trás: cada tabela é gravada antes das suas filhas, que
+ * por isso sempre ficam em posições maiores, como o formato exige.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+final class FlatBuffer {
+
+    private FlatBuffer() {
+    }
+
+    /**
+     * Tabela raiz de um FlatBuffer.
+     *
+     * @param buffer bytes do FlatBuffer, a partir da posição 0
+     * @return tabela raiz
+     * @throws IOException se o deslocamento da raiz ou a sua vtable estiverem fora do buffer
+     */
+    static Tabela raiz(ByteBuffer buffer) throws IOException {
+        ByteBuffer dados = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        verificar(dados, 0, 4);
+        return new Tabela(dados, dados.getInt(0));
+    }
+
+    /**
+     * Confere que {@code [posicao, posicao + tamanho)} está dentro do buffer. Os metadados vêm
+     * da entrada: sem isso, um deslocamento ou tamanho corrompido escaparia como exceção não
+     * verificada, ou viraria uma alocação do tamanho lido.
+     */
+    private static void verificar(ByteBuffer dados, long posicao, long tamanho) throws IOException {
+        if (posicao < 0 || tamanho < 0 || posicao + tamanho > dados.limit()) {
+            throw new IOException(String.format("FlatBuffer corrompido: %d bytes na posição %d, fora dos %d do buffer",
+                tamanho, posicao, dados.limit()));
+        }
+    }
+
+    /**
+     * Tabela em leitura. Toda posição lida é conferida contra o tamanho do buffer.
+     */
+    static final class Tabela {
+
+        private final ByteBuffer dados;
+        private final int posicao;
+        private final int vtable;
+        private final int tamanhoVtable;
+
+        private Tabela(ByteBuffer dados, int posicao) throws IOException {
+            verificar(dados, posicao, 4);
+            long vtable = (long) posicao - dados.getInt(posicao);
+            verificar(dados, vtable, 4);
+            int tamanhoVtable = Short.toUnsignedInt(dados.getShort((int) vtable));
+            if (tamanhoVtable < 4) {
+                throw new IOException("FlatBuffer corrompido: vtable com " + tamanhoVtable + " bytes");
+            }
+            verificar(dados, vtable, tamanhoVtable);
+            this.dados = dados;
+            this.posicao = posicao;
+            this.vtable = (int) vtable;
+            this.tamanhoVtable = tamanhoVtable;
+        }
+
+        private int campo(int id) {
+            int entrada = 4 + 2 * id;
+            return entrada + 2 <= tamanhoVtable ? Short.toUnsignedInt(dados.getShort(vtable + entrada)) : 0;
+        }
+
+        /** @return posição absoluta do campo, conferindo que os seus {@code tamanho} bytes cabem no buffer */
+        private long posicaoCampo(int campo, int tamanho) throws IOException {
+            long posicaoCampo = (long) posicao + campo;
+            verificar(dados, posicaoCampo, tamanho);
+            return posicaoCampo;
+        }
+
+        boolean presente(int id) {
+            return campo(id) != 0;
+        }
+
+        int byteSemSinal(int id, int padrao) throws IOException {
+            int campo = campo(id);
+            return campo == 0 ? padrao : Byte.toUnsignedInt(dados.get((int) posicaoCampo(campo, 1)));
+        }
+
+        boolean logico(int id) throws IOException {
+            return byteSemSinal(id, 0) != 0;
+        }
+
+        short curto(int id, short padrao) throws IOException {
+            int campo = campo(id);
+            return campo == 0 ? padrao : dados.getShort((int) posicaoCampo(campo, 2));
+        }
+
+        int inteiro(int id, int padrao) throws IOException {
+            int campo = campo(id);
+            return campo == 0 ? padrao : dados.getInt((int) posicaoCampo(campo, 4));
+        }
+
+        long longo(int id, long padrao) throws IOException {
+            int campo = campo(id);
+            return campo == 0 ? padrao : dados.getLong((int) posicaoCampo(campo, 8));
+        }
+
+        /** @return tabela referenciada pelo campo, ou null */
+        Tabela tabela(int id) throws IOException {
+            int referencia = referencia(id);
+            return referencia < 0 ? null : new Tabela(dados, referencia);
+        }
+
+        /** @return texto do campo, ou null */
+        String texto(int id) throws IOException {
+            int referencia = referencia(id);
+            if (referencia < 0) {
+                return null;
+            }
+            int tamanho = elementos(referencia, 1);
+            byte[] bytes = new byte[tamanho];
+            dados.get(referencia + 4, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @param tamanhoElemento bytes de cada elemento (4 para vetores de tabelas)
+         * @return quantidade de elementos do vetor do campo (0 se ausente), já conferida contra
+         *         o tamanho do buffer
+         */
+        int tamanhoVetor(int id, int tamanhoElemento) throws IOException {
+            int referencia = referencia(id);
+            return referencia < 0 ? 0 : elementos(referencia, tamanhoElemento);
+        }
+
+        /** @return i-ésima tabela de um vetor de tabelas */
+        Tabela tabelaDoVetor(int id, int i) throws IOException {
+            int elemento = elemento(id, 4, i);
+            long destino = elemento + Integer.toUnsignedLong(dados.getInt(elemento));
+            verificar(dados, destino, 4);
+            return new Tabela(dados, (int) destino);
+        }
+
+        /** @return campo {@code long} na posição {@code deslocamento} da i-ésima struct de um vetor */
+        long longoDaEstrutura(int id, int tamanhoEstrutura, int i, int deslocamento) throws IOException {
+            return dados.getLong(elemento(id, tamanhoEstrutura, i) + deslocamento);
+        }
+
+        /** @return campo {@code int} na posição {@code deslocamento} da i-ésima struct de um vetor */
+        int inteiroDaEstrutura(int id, int tamanhoEstrutura, int i, int deslocamento) throws IOException {
+            return dados.getInt(elemento(id, tamanhoEstrutura, i) + deslocamento);
+        }
+
+        /** @return posição do i-ésimo elemento de um vetor, conferindo o índice */
+        private int elemento(int id, int tamanhoElemento, int i) throws IOException {
+            int referencia = referencia(id);
+            if (referencia < 0 || i < 0 || i >= elementos(referencia, tamanhoElemento)) {
+                throw new IOException("FlatBuffer corrompido: elemento " + i + " fora do vetor do campo " + id);
+            }
+            return referencia + 4 + i * tamanhoElemento;
+        }
+
+        private int elementos(int referencia, int tamanhoElemento) throws IOException {
+            int tamanho = dados.getInt(referencia);
+            verificar(dados, referencia + 4L, (long) tamanho * tamanhoElemento);
+            return tamanho;
+        }
+
+        /** @return posição do vetor, texto ou tabela referenciado pelo campo, ou -1 se ausente */
+        private int referencia(int id) throws IOException {
+            int campo = campo(id);
+            if (campo == 0) {
+                return -1;
+            }
+            long origem = posicaoCampo(campo, 4);
+            long destino = origem + Integer.toUnsignedLong(dados.getInt((int) origem));
+            // o destino tem pelo menos o tamanho (vetores, textos) ou o deslocamento da vtable
+            verificar(dados, destino, 4);
+            return (int) destino;
+        }
+    }
+
+    /**
+     * Tabela a gravar. Os campos são declarados pelo id do esquema, em qualquer ordem.
+     */
+    static final class NovaTabela {
+
+        private final List<Campo> campos = new ArrayList<>();
+
+        NovaTabela escalar(int id, int tamanho, long valor) {
+            campos.add(new Campo(id, tamanho, valor, null));
+            return this;
+        }
+
+        NovaTabela logico(int id, boolean valor) {
+            return escalar(id, 1, valor ? 1 : 0);
+        }
+
+        NovaTabela tabela(int id, NovaTabela filha) {
+            campos.add(new Campo(id, 4, 0, filha));
+            return this;
+        }
+
+        NovaTabela tabelas(int id, List<NovaTabela> filhas) {
+            campos.add(new Campo(id, 4, 0, new VetorTabelas(filhas)));
+            return this;
+        }
+
+        /**
+         * @param estruturas structs já codificadas em little-endian, uma após a outra
+         */
+        NovaTabela estruturas(int id, int tamanhoEstrutura, byte[] estruturas) {
+            campos.add(new Campo(id, 4, 0, new VetorEstruturas(tamanhoEstrutura, estruturas)));
+            return this;
+        }
+
+        NovaTabela texto(int id, String valor) {
+            campos.add(new Campo(id, 4, 0, valor.getBytes(StandardCharsets.UTF_8)));
+            return this;
+        }
+    }
+
+    private record Campo(int id, int tamanho, long valor, Object referencia) {
+    }
+
+    private record VetorTabelas(List<NovaTabela> tabelas) {
+    }
+
+    private record VetorEstruturas(int tamanhoEstrutura, byte[] dados) {
+    }
+
+    /**
+     * Grava o FlatBuffer com a tabela raiz informada.
+     *
+     * @param raiz tabela raiz
+     * @return bytes do FlatBuffer
+     */
+    static byte[] gravar(NovaTabela raiz) {
+        Gravador gravador = new Gravador();
+        gravador.posicao = 4;
+        int tabela = gravador.tabela(raiz);
+        gravador.dados.putInt(0, tabela);
+        return Arrays.copyOf(gravador.dados.array(), gravador.posicao);
+    }
+
+    private static final class Gravador {
+
+        private ByteBuffer dados = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        private int posicao;
+
+        private int tabela(NovaTabela tabela) {
+            // maiores primeiro, para não perder bytes com alinhamento
+            List<Campo> campos = new ArrayList<>(tabela.campos);
+            campos.sort(Comparator.comparingInt(Campo::tamanho).reversed());
+            int quantidadeIds = 0;
+            int tamanhoTabela = 4;
+            int[] deslocamentos = new int[campos.size()];
+            for (int i = 0; i < campos.size(); i++) {
+                Campo campo = campos.get(i);
+                quantidadeIds = Math.max(quantidadeIds, campo.id() + 1);
+                tamanhoTabela = alinhado(tamanhoTabela, campo.tamanho());
+                deslocamentos[i] = tamanhoTabela;
+                tamanhoTabela += campo.tamanho();
+            }
+
+            alinhar(2);
+            int vtable = posicao;
+            int tamanhoVtable = 4 + 2 * quantidadeIds;
+            garantir(tamanhoVtable + 8 + tamanhoTabela);
+            dados.putShort(vtable, (short) tamanhoVtable);
+            dados.putShort(vtable + 2, (short) tamanhoTabela);
+            for (int i = 0; i < campos.size(); i++) {
+                dados.putShort(vtable + 4 + 2 * campos.get(i).id(), (short) deslocamentos[i]);
+            }
+            posicao += tamanhoVtable;
+
+            // início da tabela alinhado a 8: os campos long ficam alinhados no buffer
+            alinhar(8);
+            int inicio = posicao;
+            dados.putInt(inicio, inicio - vtable);
+            for (int i = 0; i < campos.size(); i++) {
+                Campo campo = campos.get(i);
+                int destino = inicio + deslocamentos[i];
+                switch (campo.tamanho()) {
+                    case 1 -> dados.put(destino, (byte) campo.valor());
+                    case 2 -> dados.putShort(destino, (short) campo.valor());
+                    case 4 -> dados.putInt(destino, (int) campo.valor());
+                    default -> dados.putLong(destino, campo.valor());
+                }
+            }
+            posicao = inicio + tamanhoTabela;
+
+            for (int i = 0; i < campos.size(); i++) {
+                Object referencia = campos.get(i).referencia();
+                if (referencia != null) {
+                    // gravar a filha pode trocar o buffer: só depois se lê o campo dados
+                    int destino = gravarReferencia(referencia);
+                    int origem = inicio + deslocamentos[i];
+                    dados.putInt(origem, destino - origem);
+                }
+            }
+            return inicio;
+        }
+
+        private int gravarReferencia(Object referencia) {
+            if (referencia instanceof NovaTabela filha) {
+                return tabela(filha);
+            }
+            if (referencia instanceof VetorTabelas vetor) {
+                alinhar(4);
+                int inicio = posicao;
+                int quantidade = vetor.tabelas().size();
+                garantir(4 + 4 * quantidade);
+                dados.putInt(inicio, quantidade);
+                posicao += 4 + 4 * quantidade;
+                for (int i = 0; i < quantidade; i++) {
+                    int destino = tabela(vetor.tabelas().get(i));
+                    int elemento = inicio + 4 + 4 * i;
+                    dados.putInt(elemento, destino - elemento);
+                }
+                return inicio;
+            }
+            if (referencia instanceof VetorEstruturas vetor) {
+                // tamanho em posição 8k+4: as structs começam alinhadas a 8
+                alinhar(8);
+                garantir(8 + vetor.dados().length);
+                int inicio = posicao + 4;
+                dados.putInt(inicio, vetor.dados().length / vetor.tamanhoEstrutura());
+                dados.put(inicio + 4, vetor.dados());
+                posicao = inicio + 4 + vetor.dados().length;
+                return inicio;
+            }
+            byte[] texto = (byte[]) referencia;
+            alinhar(4);
+            int inicio = posicao;
+            garantir(4 + texto.length + 1);
+            dados.putInt(inicio, texto.length);
+            dados.put(inicio + 4, texto);
+            dados.put(inicio + 4 + texto.length, (byte) 0);
+            posicao += 4 + texto.length + 1;
+            return inicio;
+        }
+
+        private void alinhar(int alinhamento) {
+            int alinhada = alinhado(posicao, alinhamento);
+            garantir(alinhada - posicao);
+            posicao = alinhada;
+        }
+
+        private void garantir(int bytes) {
+            if (posicao + bytes > dados.capacity()) {
+                ByteBuffer maior = ByteBuffer.allocate(Math.max(dados.capacity() * 2, posicao + bytes + 64))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                maior.put(0, dados, 0, posicao);
+                dados = maior;
+            }
+        }
+
+        private static int alinhado(int valor, int alinhamento) {
+            return (valor + alinhamento - 1) / alinhamento * alinhamento;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Leitura de arquivos linha a linha direto sobre um buffer de bytes reaproveitado.
+ *
+ * <p>Cada linha é entregue como intervalo {@code [inicio, fim)} do buffer, sem o
+ * {@code \n} final (um {@code \r} antes dele continua no intervalo e é tratado como espaço
+ * pelo {@link com.example.validation.cnpj.CnpjFastValidator}). Nenhum objeto é criado
+ * por linha; o buffer só cresce se uma linha não couber nele.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+final class LinhasReader {
+
+    static final int TAMANHO_BUFFER = 64 * 1024;
+
+    /** Recebe cada linha lida. */
+    @FunctionalInterface
+    interface Consumidor {
+
+        /**
+         * @param dados buffer compartilhado (válido apenas durante a chamada)
+         * @param inicio primeiro byte da linha
+         * @param fim posição após o último byte da linha, sem o {@code \n}
+         * @throws IOException repassada ao chamador de {@link #ler}
+         */
+        void linha(byte[] dados, int inicio, int fim) throws IOException;
+    }
+
+    private LinhasReader() {
+    }
+
+    /**
+     * Lê o stream até o fim entregando cada linha ao consumidor.
+     *
+     * @param in stream de entrada (não é fechado)
+     * @param consumidor destino das linhas
+     * @throws IOException em falha de leitura ou do consumidor
+     */
+    static void ler(InputStream in, Consumidor consumidor) throws IOException {
+        byte[] dados = new byte[TAMANHO_BUFFER];
+        int tamanho = 0;
+        int varridos = 0;
+        int lidos;
+        while ((lidos = in.read(dados, tamanho, dados.length - tamanho)) >= 0) {
+            tamanho += lidos;
+            int inicio = 0;
+            for (int i = varridos; i < tamanho; i++) {
+                if (dados[i] == '\n') {
+                    consumidor.linha(dados, inicio, i);
+                    inicio = i + 1;
+                }
+            }
+            // a linha incompleta vai para o começo do buffer
+            tamanho -= inicio;
+            System.arraycopy(dados, inicio, dados, 0, tamanho);
+            varridos = tamanho;
+            if (tamanho == dados.length) {
+                dados = Arrays.copyOf(dados, dados.length * 2);
+            }
+        }
+        if (tamanho > 0) {
+            consumidor.linha(dados, 0, tamanho);
+        }
+    }
+
+    /**
+     * Equivalente a {@link String#isBlank()} sem decodificar a linha.
+     *
+     * @param dados bytes de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return true se a linha só tem espaços (ou está vazia)
+     */
+    static boolean branca(byte[] dados, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            int b = dados[i] & 0xFF;
+            if (b >= 0x80 || !Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,484 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Converte os arquivos de estabelecimentos dos dados abertos do CNPJ da Receita Federal
+ * ({@code *ESTABELE*}, CSV com {@code ;} e aspas, ISO-8859-1, sem cabeçalho) no arquivo
+ * binário ordenado lido pelo {@link SituacaoCadastralIndex}.
+ *
+ * <p>Das colunas do layout só são usadas a raiz (1ª), a ordem (2ª), o DV (3ª), a situação
+ * cadastral (6ª) e a data da situação (7ª, {@code AAAAMMDD}). O fluxo é o mesmo do
+ * {@link CnpjExternalDeduplicator}: os registros válidos vão para um buffer de chaves
+ * limitado, cada buffer cheio é ordenado e gravado como <i>run</i> temporário, e os runs são
+ * intercalados (merge de k vias, lidos por memória mapeada) direto no arquivo final.
+ * Quando a mesma base aparece mais de uma vez, fica o registro com a data de situação mais
+ * recente.</p>
+ *
+ * <p>Arquivos {@code .zip} (como publicados pela Receita) são lidos sem extrair.</p>
+ *
+ * <p>Uso pela linha de comando:</p>
+ * <pre>
+ * SituacaoCadastralLoader [--memoria 256m] [--data-referencia 2026-10-12] saida.bin Estabelecimentos0.zip ...
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class SituacaoCadastralLoader {
+
+    private static final int BYTES_POR_REGISTRO = Long.BYTES + Integer.BYTES;
+    private static final long MEMORIA_MINIMA = 16L * BYTES_POR_REGISTRO;
+
+    /** Cada run precisa caber em um único mapeamento (até 2 GB). */
+    private static final int MAXIMO_REGISTROS_POR_RUN = Integer.MAX_VALUE / BYTES_POR_REGISTRO;
+
+    private static final int COLUNA_RAIZ = 0;
+    private static final int COLUNA_ORDEM = 1;
+    private static final int COLUNA_DV = 2;
+    private static final int COLUNA_SITUACAO = 5;
+    private static final int COLUNA_DATA = 6;
+    private static final int COLUNAS_USADAS = COLUNA_DATA + 1;
+
+    private final int registrosPorRun;
+    private final Path diretorioTemporario;
+
+    /**
+     * Cria o carregador.
+     *
+     * @param memoriaMaxima bytes de heap para o buffer de registros
+     * @param diretorioTemporario diretório onde os runs são gravados
+     * @throws IllegalArgumentException se a memória for menor que o mínimo
+     */
+    public SituacaoCadastralLoader(long memoriaMaxima, Path diretorioTemporario) {
+        if (memoriaMaxima < MEMORIA_MINIMA) {
+            throw new IllegalArgumentException(
+                String.format("Memória máxima deve ser de pelo menos %d bytes", MEMORIA_MINIMA)
+            );
+        }
+        this.registrosPorRun = (int) Math.min(MAXIMO_REGISTROS_POR_RUN, memoriaMaxima / BYTES_POR_REGISTRO);
+        this.diretorioTemporario = diretorioTemporario;
+    }
+
+    /**
+     * Resumo de uma carga.
+     *
+     * @param linhasLidas total de linhas não vazias lidas
+     * @param invalidos linhas descartadas (CNPJ inválido ou situação ausente)
+     * @param registros estabelecimentos gravados no arquivo final
+     * @param repetidos registros descartados por repetirem uma base
+     * @param runs quantidade de runs gravados em disco
+     */
+    public record Resultado(long linhasLidas, long invalidos, long registros, long repetidos, int runs) {
+    }
+
+    /**
+     * Executa a carga.
+     *
+     * @param entradas arquivos de estabelecimentos ({@code .csv} ou {@code .zip})
+     * @param saida arquivo binário de destino
+     * @param dataReferencia data dos dados abertos, ou null
+     * @return resumo da carga
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public Resultado carregar(List<Path> entradas, Path saida, LocalDate dataReferencia) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            long[] contadores = gerarRuns(entradas, runs);
+            long[] merge = merge(runs, saida, dataReferencia);
+            return new Resultado(contadores[0], contadores[1], merge[0], merge[1], runs.size());
+        } finally {
+            for (Path run : runs) {
+                apagar(run);
+            }
+        }
+    }
+
+    /**
+     * Fase 1: lê, extrai as colunas, empacota e grava runs ordenados.
+     *
+     * @return {linhas lidas, inválidos}
+     */
+    private long[] gerarRuns(List<Path> entradas, List<Path> runs) throws IOException {
+        long[] bases = new long[registrosPorRun];
+        int[] infos = new int[registrosPorRun];
+        int[] quantidade = new int[1];
+        long[] contadores = new long[2];
+        int[] colunas = new int[COLUNAS_USADAS * 2];
+        byte[] cnpj = new byte[CnpjPacked.TAMANHO_BASE + 2];
+
+        LinhasReader.Consumidor consumidor = (dados, inicio, fim) -> {
+            if (LinhasReader.branca(dados, inicio, fim)) {
+                return;
+            }
+            contadores[0]++;
+            int info = extrair(dados, inicio, fim, colunas, cnpj);
+            long base = info < 0 ? CnpjPacked.INVALIDO : CnpjFastValidator.packBase(cnpj, 0, cnpj.length);
+            if (base == CnpjPacked.INVALIDO) {
+                contadores[1]++;
+                return;
+            }
+            bases[quantidade[0]] = base;
+            infos[quantidade[0]++] = info;
+            if (quantidade[0] == bases.length) {
+                runs.add(gravarRun(bases, infos, quantidade[0]));
+                quantidade[0] = 0;
+            }
+        };
+
+        for (Path entrada : entradas) {
+            try (InputStream in = Files.newInputStream(entrada)) {
+                if (entrada.getFileName().toString().toLowerCase().endsWith(".zip")) {
+                    ZipInputStream zip = new ZipInputStream(in);
+                    for (ZipEntry item; (item = zip.getNextEntry()) != null; ) {
+                        if (!item.isDirectory()) {
+                            LinhasReader.ler(zip, consumidor);
+                        }
+                    }
+                } else {
+                    LinhasReader.ler(in, consumidor);
+                }
+            }
+        }
+        if (quantidade[0] > 0) {
+            runs.add(gravarRun(bases, infos, quantidade[0]));
+        }
+        return contadores;
+    }
+
+    /**
+     * Localiza as colunas usadas, copia raiz, ordem e DV para {@code cnpj} e monta o info.
+     *
+     * @param colunas área de trabalho com {início, fim} de cada coluna, sem as aspas
+     * @param cnpj destino dos 14 caracteres do CNPJ
+     * @return info do registro, ou -1 se a linha não tiver as colunas esperadas
+     */
+    static int extrair(byte[] dados, int inicio, int fim, int[] colunas, byte[] cnpj) {
+        int coluna = 0;
+        int i = inicio;
+        while (coluna < COLUNAS_USADAS && i <= fim) {
+            int fimColuna;
+            if (i < fim && dados[i] == '"') {
+                int abre = ++i;
+                while (i < fim && dados[i] != '"') {
+                    i++;
+                }
+                colunas[2 * coluna] = abre;
+                fimColuna = i;
+                // pula a aspa de fechamento até o separador
+                while (i < fim && dados[i] != ';') {
+                    i++;
+                }
+            } else {
+                colunas[2 * coluna] = i;
+                while (i < fim && dados[i] != ';') {
+                    i++;
+                }
+                fimColuna = i;
+            }
+            colunas[2 * coluna + 1] = fimColuna;
+            coluna++;
+            i++;
+        }
+        if (coluna < COLUNAS_USADAS
+                || !copiar(dados, colunas, COLUNA_RAIZ, cnpj, 0, CnpjPacked.TAMANHO_RAIZ)
+                || !copiar(dados, colunas, COLUNA_ORDEM, cnpj, CnpjPacked.TAMANHO_RAIZ, 4)
+                || !copiar(dados, colunas, COLUNA_DV, cnpj, CnpjPacked.TAMANHO_BASE, 2)) {
+            return -1;
+        }
+
+        int codigo = numero(dados, colunas[2 * COLUNA_SITUACAO], colunas[2 * COLUNA_SITUACAO + 1]);
+        if (codigo < 0 || codigo > 0x7F) {
+            return -1;
+        }
+        return SituacaoCadastralIndex.info(codigo,
+            data(dados, colunas[2 * COLUNA_DATA], colunas[2 * COLUNA_DATA + 1]));
+    }
+
+    private static boolean copiar(byte[] dados, int[] colunas, int coluna, byte[] destino, int posicao, int tamanho) {
+        int inicio = colunas[2 * coluna];
+        if (colunas[2 * coluna + 1] - inicio != tamanho) {
+            return false;
+        }
+        System.arraycopy(dados, inicio, destino, posicao, tamanho);
+        return true;
+    }
+
+    /**
+     * @return valor decimal de {@code dados[inicio, fim)}, ou -1 se vazio ou não numérico
+     */
+    private static int numero(byte[] dados, int inicio, int fim) {
+        if (inicio >= fim || fim - inicio > 8) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = dados[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * @return data {@code AAAAMMDD}, ou null se ausente, zerada, inválida ou anterior a 1900
+     */
+    private static LocalDate data(byte[] dados, int inicio, int fim) {
+        int valor = fim - inicio == 8 ? numero(dados, inicio, fim) : -1;
+        if (valor < 1900_01_01) {
+            return null;
+        }
+        try {
+            return LocalDate.of(valor / 10000, valor / 100 % 100, valor % 100);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private Path gravarRun(long[] bases, int[] infos, int quantidade) throws IOException {
+        ordenar(bases, infos, quantidade);
+
+        Path run = Files.createTempFile(diretorioTemporario, "cnpj-situacao-", ".bin");
+        ByteBuffer bloco = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel canal = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < quantidade; i++) {
+                if (bloco.remaining() < BYTES_POR_REGISTRO) {
+                    escreverTudo(canal, bloco);
+                }
+                bloco.putLong(bases[i]).putInt(infos[i]);
+            }
+            escreverTudo(canal, bloco);
+        }
+        return run;
+    }
+
+    /**
+     * Heapsort dos pares (base, info) pela base: ordena os dois arrays juntos, no lugar,
+     * sem objetos por registro.
+     */
+    static void ordenar(long[] bases, int[] infos, int quantidade) {
+        for (int i = quantidade / 2 - 1; i >= 0; i--) {
+            descerMaximo(bases, infos, i, quantidade);
+        }
+        for (int fim = quantidade - 1; fim > 0; fim--) {
+            trocar(bases, infos, 0, fim);
+            descerMaximo(bases, infos, 0, fim);
+        }
+    }
+
+    private static void descerMaximo(long[] bases, int[] infos, int indice, int tamanho) {
+        while (true) {
+            int maior = indice;
+            int esquerda = 2 * indice + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && bases[esquerda] > bases[maior]) {
+                maior = esquerda;
+            }
+            if (direita < tamanho && bases[direita] > bases[maior]) {
+                maior = direita;
+            }
+            if (maior == indice) {
+                return;
+            }
+            trocar(bases, infos, maior, indice);
+            indice = maior;
+        }
+    }
+
+    /**
+     * Fase 2: merge de k vias com heap binário de primitivos, gravando o arquivo final.
+     *
+     * @return {registros, repetidos}
+     */
+    private long[] merge(List<Path> runs, Path saida, LocalDate dataReferencia) throws IOException {
+        int k = runs.size();
+        MappedByteBuffer[] mapas = new MappedByteBuffer[k];
+        for (int i = 0; i < k; i++) {
+            try (FileChannel canal = FileChannel.open(runs.get(i), StandardOpenOption.READ)) {
+                mapas[i] = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            }
+        }
+
+        // Heap mínimo: base e info no topo + índice do run de origem
+        long[] bases = new long[k];
+        int[] infos = new int[k];
+        int[] origens = new int[k];
+        int tamanhoHeap = 0;
+        for (int i = 0; i < k; i++) {
+            if (mapas[i].hasRemaining()) {
+                bases[tamanhoHeap] = mapas[i].getLong();
+                infos[tamanhoHeap] = mapas[i].getInt();
+                origens[tamanhoHeap] = i;
+                subir(bases, infos, origens, tamanhoHeap++);
+            }
+        }
+
+        long repetidos = 0;
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(saida, dataReferencia)) {
+            boolean temAtual = false;
+            long atual = 0;
+            int infoAtual = 0;
+
+            while (tamanhoHeap > 0) {
+                long base = bases[0];
+                int info = infos[0];
+                int origem = origens[0];
+
+                if (mapas[origem].hasRemaining()) {
+                    bases[0] = mapas[origem].getLong();
+                    infos[0] = mapas[origem].getInt();
+                } else {
+                    tamanhoHeap--;
+                    bases[0] = bases[tamanhoHeap];
+                    infos[0] = infos[tamanhoHeap];
+                    origens[0] = origens[tamanhoHeap];
+                }
+                descer(bases, infos, origens, tamanhoHeap);
+
+                if (temAtual && base == atual) {
+                    repetidos++;
+                    if (maisRecente(info, infoAtual)) {
+                        infoAtual = info;
+                    }
+                    continue;
+                }
+                if (temAtual) {
+                    escritor.adicionar(atual, infoAtual);
+                }
+                atual = base;
+                infoAtual = info;
+                temAtual = true;
+            }
+            if (temAtual) {
+                escritor.adicionar(atual, infoAtual);
+            }
+            return new long[]{escritor.quantidade(), repetidos};
+        }
+    }
+
+    /**
+     * Desempate entre registros da mesma base: vence a data mais recente e, com a mesma
+     * data, o maior código, para que o resultado não dependa da ordem das entradas.
+     */
+    private static boolean maisRecente(int info, int atual) {
+        int data = info & 0xFFFFFF;
+        int dataAtual = atual & 0xFFFFFF;
+        return data != dataAtual ? data > dataAtual : (info >>> 24) > (atual >>> 24);
+    }
+
+    private static void subir(long[] bases, int[] infos, int[] origens, int indice) {
+        while (indice > 0) {
+            int pai = (indice - 1) >>> 1;
+            if (bases[pai] <= bases[indice]) {
+                return;
+            }
+            trocar(bases, infos, origens, pai, indice);
+            indice = pai;
+        }
+    }
+
+    private static void descer(long[] bases, int[] infos, int[] origens, int tamanho) {
+        int indice = 0;
+        while (true) {
+            int menor = indice;
+            int esquerda = 2 * indice + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && bases[esquerda] < bases[menor]) {
+                menor = esquerda;
+            }
+            if (direita < tamanho && bases[direita] < bases[menor]) {
+                menor = direita;
+            }
+            if (menor == indice) {
+                return;
+            }
+            trocar(bases, infos, origens, menor, indice);
+            indice = menor;
+        }
+    }
+
+    private static void trocar(long[] bases, int[] infos, int a, int b) {
+        long base = bases[a];
+        bases[a] = bases[b];
+        bases[b] = base;
+        int info = infos[a];
+        infos[a] = infos[b];
+        infos[b] = info;
+    }
+
+    private static void trocar(long[] bases, int[] infos, int[] origens, int a, int b) {
+        trocar(bases, infos, a, b);
+        int origem = origens[a];
+        origens[a] = origens[b];
+        origens[b] = origem;
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer bloco) throws IOException {
+        bloco.flip();
+        while (bloco.hasRemaining()) {
+            canal.write(bloco);
+        }
+        bloco.clear();
+    }
+
+    private static void apagar(Path run) {
+        try {
+            Files.deleteIfExists(run);
+        } catch (IOException e) {
+            // Em alguns sistemas o arquivo mapeado só pode ser apagado ao fim da JVM
+            run.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Execução pela linha de comando.
+     *
+     * @param args {@code [--memoria 256m] [--data-referencia AAAA-MM-DD] saida entrada...}
+     * @throws IOException em falha de leitura ou escrita
+     */
+    public static void main(String[] args) throws IOException {
+        long memoria = CnpjExternalDeduplicator.MEMORIA_PADRAO;
+        LocalDate referencia = null;
+        List<Path> arquivos = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--memoria" -> memoria = CnpjExternalDeduplicator.parseTamanho(args[++i]);
+                case "--data-referencia" -> referencia = LocalDate.parse(args[++i]);
+                default -> arquivos.add(Path.of(args[i]));
+            }
+        }
+        if (arquivos.size() < 2) {
+            System.err.println("Uso: SituacaoCadastralLoader [--memoria 256m] [--data-referencia AAAA-MM-DD] saida entrada...");
+            System.exit(1);
+        }
+
+        Path saida = arquivos.get(0);
+        Path temporario = saida.toAbsolutePath().getParent();
+        Resultado resultado = new SituacaoCadastralLoader(memoria, temporario)
+            .carregar(arquivos.subList(1, arquivos.size()), saida, referencia);
+
+        System.out.printf("Linhas lidas: %,d | Inválidas: %,d | Estabelecimentos: %,d | Repetidos: %,d | Runs: %d%n",
+            resultado.linhasLidas(), resultado.invalidos(), resultado.registros(),
+            resultado.repetidos(), resultado.runs());
+    }
+}
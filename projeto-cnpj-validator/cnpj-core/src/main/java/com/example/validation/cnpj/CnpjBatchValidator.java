@@ -0,0 +1,216 @@
+package com.example.validation.cnpj;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Validação paralela de grandes volumes de CNPJ mantidos em memória.
+ *
+ * <p>A entrada é dividida por um {@link Spliterator} próprio, que só corta em
+ * múltiplos de 64 posições. Assim cada folha escreve em palavras {@code long}
+ * exclusivas do resultado, sem sincronização, e o resultado final é montado
+ * como {@link BitSet} sem nenhum objeto por elemento.</p>
+ *
+ * <p>Valores {@code null} são considerados inválidos.</p>
+ *
+ * <pre>
+ * BitSet validos = CnpjBatchValidator.validateAll(cnpjs);
+ * int invalidos = cnpjs.length - validos.cardinality();
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjBatchValidator {
+
+    /** Tamanho padrão das folhas: grande o bastante para diluir o custo das tarefas. */
+    public static final int TAMANHO_FOLHA_PADRAO = 16 * 1024;
+
+    private static final int BITS_POR_PALAVRA = 64;
+
+    private CnpjBatchValidator() {
+    }
+
+    /**
+     * Valida todos os CNPJs do array no {@link ForkJoinPool#commonPool()}.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @return bit {@code i} ligado se {@code cnpjs[i]} for válido
+     */
+    public static BitSet validateAll(String[] cnpjs) {
+        return validateAll(cnpjs, ForkJoinPool.commonPool(), TAMANHO_FOLHA_PADRAO);
+    }
+
+    /**
+     * Valida todos os CNPJs da lista no {@link ForkJoinPool#commonPool()}.
+     *
+     * <p>A lista deve ter acesso aleatório eficiente (ex.: {@link java.util.ArrayList}).</p>
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @return bit {@code i} ligado se {@code cnpjs.get(i)} for válido
+     */
+    public static BitSet validateAll(List<String> cnpjs) {
+        return validateAll(cnpjs, ForkJoinPool.commonPool(), TAMANHO_FOLHA_PADRAO);
+    }
+
+    /**
+     * Valida todos os CNPJs do array em um pool e tamanho de folha específicos.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param pool pool onde as tarefas serão executadas
+     * @param tamanhoFolha quantidade mínima de elementos validados sequencialmente por tarefa
+     * @return bit {@code i} ligado se {@code cnpjs[i]} for válido
+     */
+    public static BitSet validateAll(String[] cnpjs, ForkJoinPool pool, int tamanhoFolha) {
+        return validateAll(new FonteArray(cnpjs), cnpjs.length, pool, tamanhoFolha);
+    }
+
+    /**
+     * Valida todos os CNPJs da lista em um pool e tamanho de folha específicos.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param pool pool onde as tarefas serão executadas
+     * @param tamanhoFolha quantidade mínima de elementos validados sequencialmente por tarefa
+     * @return bit {@code i} ligado se {@code cnpjs.get(i)} for válido
+     */
+    public static BitSet validateAll(List<String> cnpjs, ForkJoinPool pool, int tamanhoFolha) {
+        return validateAll(new FonteLista(cnpjs), cnpjs.size(), pool, tamanhoFolha);
+    }
+
+    private static BitSet validateAll(Fonte fonte, int tamanho, ForkJoinPool pool, int tamanhoFolha) {
+        if (tamanhoFolha < 1) {
+            throw new IllegalArgumentException("Tamanho da folha deve ser positivo");
+        }
+        long[] palavras = new long[(tamanho + BITS_POR_PALAVRA - 1) / BITS_POR_PALAVRA];
+        if (tamanho > 0) {
+            CnpjSpliterator spliterator = new CnpjSpliterator(fonte, 0, tamanho, alinhar(tamanhoFolha));
+            pool.invoke(new ValidacaoTask(spliterator, palavras));
+        }
+        return BitSet.valueOf(palavras);
+    }
+
+    private static int alinhar(int tamanhoFolha) {
+        int palavras = (tamanhoFolha + BITS_POR_PALAVRA - 1) / BITS_POR_PALAVRA;
+        return palavras * BITS_POR_PALAVRA;
+    }
+
+    /**
+     * Acesso indexado à entrada, comum a arrays e listas.
+     */
+    private interface Fonte {
+        String get(int indice);
+    }
+
+    private record FonteArray(String[] cnpjs) implements Fonte {
+        @Override
+        public String get(int indice) {
+            return cnpjs[indice];
+        }
+    }
+
+    private record FonteLista(List<String> cnpjs) implements Fonte {
+        @Override
+        public String get(int indice) {
+            return cnpjs.get(indice);
+        }
+    }
+
+    /**
+     * {@link Spliterator} sobre um intervalo de índices da entrada.
+     *
+     * <p>Divide ao meio com ponto de corte alinhado a 64 e para de dividir quando
+     * o intervalo chega ao tamanho da folha.</p>
+     */
+    private static final class CnpjSpliterator implements Spliterator<String> {
+
+        private final Fonte fonte;
+        private final int tamanhoFolha;
+        private int inicio;
+        private final int fim;
+
+        CnpjSpliterator(Fonte fonte, int inicio, int fim, int tamanhoFolha) {
+            this.fonte = fonte;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tamanhoFolha = tamanhoFolha;
+        }
+
+        @Override
+        public CnpjSpliterator trySplit() {
+            int restante = fim - inicio;
+            if (restante <= tamanhoFolha) {
+                return null;
+            }
+            int meio = inicio + (restante / 2 / BITS_POR_PALAVRA) * BITS_POR_PALAVRA;
+            if (meio <= inicio) {
+                return null;
+            }
+            CnpjSpliterator prefixo = new CnpjSpliterator(fonte, inicio, meio, tamanhoFolha);
+            inicio = meio;
+            return prefixo;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> acao) {
+            if (inicio >= fim) {
+                return false;
+            }
+            acao.accept(fonte.get(inicio++));
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fim - inicio;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        /**
+         * Valida o intervalo restante gravando nas palavras do resultado.
+         * O início é sempre múltiplo de 64, então nenhuma palavra é compartilhada.
+         */
+        void validarRestante(long[] palavras) {
+            for (int base = inicio; base < fim; base += BITS_POR_PALAVRA) {
+                int limite = Math.min(fim, base + BITS_POR_PALAVRA);
+                long palavra = 0L;
+                for (int i = base; i < limite; i++) {
+                    String cnpj = fonte.get(i);
+                    if (CnpjFastValidator.isValid(cnpj)) {
+                        palavra |= 1L << (i - base);
+                    }
+                }
+                palavras[base / BITS_POR_PALAVRA] = palavra;
+            }
+            inicio = fim;
+        }
+    }
+
+    private static final class ValidacaoTask extends RecursiveAction {
+
+        private final CnpjSpliterator spliterator;
+        private final long[] palavras;
+
+        ValidacaoTask(CnpjSpliterator spliterator, long[] palavras) {
+            this.spliterator = spliterator;
+            this.palavras = palavras;
+        }
+
+        @Override
+        protected void compute() {
+            CnpjSpliterator prefixo = spliterator.trySplit();
+            if (prefixo == null) {
+                spliterator.validarRestante(palavras);
+                return;
+            }
+            invokeAll(new ValidacaoTask(prefixo, palavras), new ValidacaoTask(spliterator, palavras));
+        }
+    }
+}
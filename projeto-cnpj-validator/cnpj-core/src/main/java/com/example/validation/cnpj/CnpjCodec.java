@@ -0,0 +1,312 @@
+package com.example.validation.cnpj;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codificação binária compacta de CNPJs e textos, para arquivos e transmissão.
+ *
+ * <p>Formato de um CNPJ:</p>
+ * <ul>
+ *   <li><b>8 bytes</b> quando os dígitos verificadores estão corretos: a base empacotada
+ *       ({@link CnpjPacked#packBase}) em um {@code long} big-endian; o DV é recalculado na
+ *       leitura;</li>
+ *   <li><b>9 bytes</b> quando o DV não confere com a base: o mesmo {@code long} com o bit de
+ *       sinal ligado (a base nunca passa de 63 bits), seguido de um byte com o DV informado
+ *       (0 a 99).</li>
+ * </ul>
+ * <p>O texto fica com 14 a 18 bytes e, em JSON, ainda ganha aspas e separadores; como todo
+ * CNPJ aceito pelo validador ocupa 8 bytes, um lote de CNPJs válidos é um array de
+ * {@code long} ordenável e mapeável direto.</p>
+ *
+ * <p>Textos (razão social, nome fantasia) são gravados em UTF-8 precedidos do tamanho em
+ * varint (7 bits por byte) somado de 1; o tamanho 0 representa {@code null}.</p>
+ *
+ * <pre>
+ * ByteBuffer buffer = ByteBuffer.allocate(CnpjCodec.TAMANHO_MAXIMO);
+ * CnpjCodec.escrever("12.ABC.345/01DE-35", buffer);  // 8 bytes
+ * buffer.flip();
+ * CnpjCodec.ler(buffer);                             // "12ABC34501DE35"
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjCodec {
+
+    /** Bytes de um CNPJ com DV correto. */
+    public static final int TAMANHO_COMPACTO = Long.BYTES;
+
+    /** Bytes de um CNPJ com DV divergente (maior tamanho possível). */
+    public static final int TAMANHO_MAXIMO = Long.BYTES + 1;
+
+    /** Cabeçalho dos arquivos de CNPJs no formato binário. */
+    public static final byte[] CABECALHO = "CNPJBIN1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long COM_DV = Long.MIN_VALUE;
+
+    /** 36<sup>12</sup>: nenhuma base empacotada chega a esse valor. */
+    private static final long LIMITE_BASE = 4_738_381_338_321_616_896L;
+
+    private CnpjCodec() {
+    }
+
+    /**
+     * Grava um CNPJ com ou sem formatação.
+     *
+     * @param cnpj CNPJ com base no alfabeto e DV numérico (o DV pode estar incorreto)
+     * @param destino buffer de destino
+     * @return bytes gravados (8 ou 9)
+     * @throws IllegalArgumentException se o CNPJ não puder ser representado
+     * @throws BufferOverflowException se faltar espaço no destino
+     */
+    public static int escrever(CharSequence cnpj, ByteBuffer destino) {
+        if (cnpj == null) {
+            throw new IllegalArgumentException("CNPJ nulo não pode ser codificado");
+        }
+        // caminho comum sem alocar: CNPJ válido
+        long base = CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+        if (base != CnpjPacked.INVALIDO) {
+            destino.putLong(base);
+            return TAMANHO_COMPACTO;
+        }
+
+        String normalizado = CnpjFormatter.normalize(cnpj);
+        base = normalizado.length() == CnpjFormatter.TAMANHO_NORMALIZADO
+            ? CnpjPacked.packBase(normalizado, 0)
+            : CnpjPacked.INVALIDO;
+        int dv1 = normalizado.length() == CnpjFormatter.TAMANHO_NORMALIZADO ? normalizado.charAt(12) - '0' : -1;
+        int dv2 = normalizado.length() == CnpjFormatter.TAMANHO_NORMALIZADO ? normalizado.charAt(13) - '0' : -1;
+        if (base == CnpjPacked.INVALIDO || dv1 < 0 || dv1 > 9 || dv2 < 0 || dv2 > 9) {
+            throw new IllegalArgumentException(String.format("CNPJ '%s' não pode ser codificado", cnpj));
+        }
+        if (destino.remaining() < TAMANHO_MAXIMO) {
+            throw new BufferOverflowException();
+        }
+        destino.putLong(base | COM_DV);
+        destino.put((byte) (dv1 * 10 + dv2));
+        return TAMANHO_MAXIMO;
+    }
+
+    /**
+     * Grava um CNPJ válido a partir da base empacotada (o DV é implícito).
+     *
+     * @param base base empacotada
+     * @param destino buffer de destino
+     */
+    public static void escreverBase(long base, ByteBuffer destino) {
+        destino.putLong(base);
+    }
+
+    /**
+     * Lê um CNPJ, anexando os 14 caracteres (sem formatação) ao builder.
+     *
+     * @param origem buffer posicionado no início do CNPJ
+     * @param destino builder de destino
+     * @return bytes consumidos (8 ou 9)
+     * @throws IllegalArgumentException se os bytes não forem um CNPJ codificado
+     * @throws BufferUnderflowException se o CNPJ estiver incompleto
+     */
+    public static int ler(ByteBuffer origem, StringBuilder destino) {
+        long valor = origem.getLong();
+        long base = valor & ~COM_DV;
+        if (base >= LIMITE_BASE) {
+            throw new IllegalArgumentException("Bytes não correspondem a um CNPJ codificado");
+        }
+        int inicio = destino.length();
+        CnpjPacked.unpackBase(base, destino);
+
+        int dv;
+        if (valor == base) {
+            // a base zerada não tem DV calculável e só é gravada com o DV junto
+            dv = CnpjFastValidator.calculaDV(destino, inicio);
+        } else {
+            dv = origem.get();
+            if (dv < 0 || dv > 99) {
+                dv = CnpjPacked.INVALIDO;
+            }
+        }
+        if (dv == CnpjPacked.INVALIDO) {
+            destino.setLength(inicio);
+            throw new IllegalArgumentException("Bytes não correspondem a um CNPJ codificado");
+        }
+        destino.append((char) ('0' + dv / 10)).append((char) ('0' + dv % 10));
+        return valor == base ? TAMANHO_COMPACTO : TAMANHO_MAXIMO;
+    }
+
+    /**
+     * Lê um CNPJ.
+     *
+     * @param origem buffer posicionado no início do CNPJ
+     * @return CNPJ sem formatação
+     */
+    public static String ler(ByteBuffer origem) {
+        StringBuilder cnpj = new StringBuilder(CnpjFormatter.TAMANHO_NORMALIZADO);
+        ler(origem, cnpj);
+        return cnpj.toString();
+    }
+
+    /**
+     * Lê só a base empacotada de um CNPJ, descartando o DV.
+     *
+     * @param origem buffer posicionado no início do CNPJ
+     * @return base empacotada
+     */
+    public static long lerBase(ByteBuffer origem) {
+        long valor = origem.getLong();
+        if (valor < 0) {
+            origem.get();
+        }
+        return valor & ~COM_DV;
+    }
+
+    /**
+     * Grava vários CNPJs em sequência.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param destino buffer de destino
+     * @return total de bytes gravados
+     * @throws IllegalArgumentException se algum CNPJ não puder ser representado
+     */
+    public static int escreverTodos(CharSequence[] cnpjs, ByteBuffer destino) {
+        int total = 0;
+        for (CharSequence cnpj : cnpjs) {
+            total += escrever(cnpj, destino);
+        }
+        return total;
+    }
+
+    /**
+     * Lê CNPJs em sequência até encher o destino ou esgotar o buffer.
+     *
+     * @param origem buffer com CNPJs codificados
+     * @param destino array que recebe os CNPJs sem formatação
+     * @return quantidade de CNPJs lidos
+     */
+    public static int lerTodos(ByteBuffer origem, String[] destino) {
+        StringBuilder cnpj = new StringBuilder(CnpjFormatter.TAMANHO_NORMALIZADO);
+        int lidos = 0;
+        while (lidos < destino.length && origem.remaining() >= TAMANHO_COMPACTO) {
+            cnpj.setLength(0);
+            ler(origem, cnpj);
+            destino[lidos++] = cnpj.toString();
+        }
+        return lidos;
+    }
+
+    /**
+     * Grava um texto em UTF-8 precedido do tamanho (varint de {@code bytes + 1}; 0 para null).
+     *
+     * @param texto texto ou null
+     * @param destino buffer de destino
+     * @return bytes gravados
+     */
+    public static int escreverTexto(String texto, ByteBuffer destino) {
+        if (texto == null) {
+            destino.put((byte) 0);
+            return 1;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int prefixo = escreverVarint(bytes.length + 1, destino);
+        destino.put(bytes);
+        return prefixo + bytes.length;
+    }
+
+    /**
+     * Lê um texto gravado por {@link #escreverTexto}.
+     *
+     * @param origem buffer posicionado no prefixo de tamanho
+     * @return texto ou null
+     * @throws IllegalArgumentException se o prefixo for inválido
+     * @throws BufferUnderflowException se o texto estiver incompleto
+     */
+    public static String lerTexto(ByteBuffer origem) {
+        int tamanho = lerVarint(origem);
+        if (tamanho == 0) {
+            return null;
+        }
+        tamanho--;
+        if (tamanho > origem.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String texto;
+        if (origem.hasArray()) {
+            texto = new String(origem.array(), origem.arrayOffset() + origem.position(), tamanho, StandardCharsets.UTF_8);
+            origem.position(origem.position() + tamanho);
+        } else {
+            byte[] bytes = new byte[tamanho];
+            origem.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+
+    /**
+     * Bytes que {@link #escreverTexto} vai gravar para o texto.
+     *
+     * @param texto texto ou null
+     * @return tamanho codificado
+     */
+    public static int tamanhoTexto(String texto) {
+        if (texto == null) {
+            return 1;
+        }
+        int bytes = tamanhoUtf8(texto);
+        int valor = bytes + 1;
+        int prefixo = 1;
+        while ((valor >>>= 7) != 0) {
+            prefixo++;
+        }
+        return prefixo + bytes;
+    }
+
+    private static int escreverVarint(int valor, ByteBuffer destino) {
+        int gravados = 1;
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+            gravados++;
+        }
+        destino.put((byte) valor);
+        return gravados;
+    }
+
+    private static int lerVarint(ByteBuffer origem) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = origem.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                if (valor < 0) {
+                    break;
+                }
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Tamanho de texto inválido");
+    }
+
+    private static int tamanhoUtf8(String texto) {
+        int bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // surrogate sozinho vira '?' no getBytes
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.validation.cnpj;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validação de CNPJ direto sobre a entrada bruta, sem cópias nem expressões regulares.
+ *
+ * <p>Aplica exatamente as regras do {@link CnpjValidacao} (mesma ordem, mesmo
+ * {@link CnpjMotivo}) em uma única passada sobre um intervalo de {@code byte[]},
+ * {@link ByteBuffer} (heap ou direto) ou {@link CharSequence}: ignora espaços das pontas
+ * (regra de {@link String#trim()}), descarta {@code .}, {@code /} e {@code -}, confere a
+ * formação e calcula os dois dígitos verificadores enquanto percorre os caracteres.
+ * Nenhum objeto é alocado.</p>
+ *
+ * <p>Bytes são interpretados como ISO-8859-1 (um byte por caractere). Qualquer byte fora
+ * do ASCII torna o CNPJ inválido, então o resultado é o mesmo para entradas em UTF-8.</p>
+ *
+ * <p>Única diferença em relação ao {@link CnpjValidacao#isValid}: uma base zerada com DV
+ * numérico (ex.: {@code 00000000000012}) retorna {@code false} em vez de propagar a
+ * {@link IllegalArgumentException} do cálculo do DV.</p>
+ *
+ * <pre>
+ * byte[] linha = ...;
+ * boolean valido = CnpjFastValidator.isValid(linha, inicio, fim);
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjFastValidator {
+
+    private static final int TAMANHO_BASE = 12;
+    private static final int TAMANHO_CNPJ = 14;
+
+    /** Pesos do 1º DV (sobre os 12 caracteres da base). */
+    private static final int[] PESOS_DV1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    /** Pesos do 2º DV (sobre a base; o 1º DV tem peso 2). */
+    private static final int[] PESOS_DV2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3 };
+
+    /*
+     * Estado da varredura compactado em um long, para que os laços de cada tipo
+     * de origem compartilhem a mesma lógica sem alocar:
+     *
+     * bits  0-15  soma do 1º DV       bits 32-35  DV informado (1º)
+     * bits 16-31  soma do 2º DV       bits 36-39  DV informado (2º)
+     * bits 40-55  caracteres lidos    bits 56-59  flags (base inválida, DV não numérico, não zerada)
+     */
+    private static final int DESLOC_DV = 32;
+    private static final int DESLOC_LIDOS = 40;
+    private static final long MASCARA_LIDOS = 0xFFFFL;
+    private static final long BASE_INVALIDA = 1L << 56;
+    private static final long DV_NAO_NUMERICO = 1L << 57;
+    private static final long NAO_ZERADA = 1L << 58;
+
+    private CnpjFastValidator() {
+    }
+
+    /**
+     * Valida um CNPJ com ou sem formatação.
+     *
+     * @param cnpj CNPJ (null é inválido)
+     * @return true se o CNPJ é válido
+     */
+    public static boolean isValid(CharSequence cnpj) {
+        return cnpj != null && motivo(cnpj, 0, cnpj.length()) == CnpjMotivo.VALIDO;
+    }
+
+    /**
+     * Valida o CNPJ contido em {@code cnpj[inicio, fim)}.
+     *
+     * @param cnpj texto de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return true se o CNPJ é válido
+     */
+    public static boolean isValid(CharSequence cnpj, int inicio, int fim) {
+        return motivo(cnpj, inicio, fim) == CnpjMotivo.VALIDO;
+    }
+
+    /**
+     * Valida o CNPJ contido em {@code dados[inicio, fim)}.
+     *
+     * @param dados bytes de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return true se o CNPJ é válido
+     */
+    public static boolean isValid(byte[] dados, int inicio, int fim) {
+        return motivo(dados, inicio, fim) == CnpjMotivo.VALIDO;
+    }
+
+    /**
+     * Valida o CNPJ contido em {@code buffer[inicio, fim)}, com acesso absoluto
+     * (posição e limite do buffer não são alterados).
+     *
+     * @param buffer buffer de origem (heap ou direto)
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return true se o CNPJ é válido
+     */
+    public static boolean isValid(ByteBuffer buffer, int inicio, int fim) {
+        return motivo(buffer, inicio, fim) == CnpjMotivo.VALIDO;
+    }
+
+    /**
+     * Diagnostica o CNPJ contido em {@code cnpj[inicio, fim)}.
+     *
+     * @param cnpj texto de origem (null resulta em {@link CnpjMotivo#NULO})
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return motivo do resultado, igual ao de {@link CnpjValidacao#motivo(String)}
+     */
+    public static CnpjMotivo motivo(CharSequence cnpj, int inicio, int fim) {
+        if (cnpj == null) {
+            return CnpjMotivo.NULO;
+        }
+        while (inicio < fim && cnpj.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && cnpj.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+
+        long estado = 0;
+        for (int i = inicio; i < fim; i++) {
+            estado = avancar(estado, cnpj.charAt(i));
+        }
+        return resultado(estado);
+    }
+
+    /**
+     * Diagnostica o CNPJ contido em {@code dados[inicio, fim)}.
+     *
+     * @param dados bytes de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return motivo do resultado
+     */
+    public static CnpjMotivo motivo(byte[] dados, int inicio, int fim) {
+        while (inicio < fim && (dados[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (dados[fim - 1] & 0xFF) <= ' ') {
+            fim--;
+        }
+
+        long estado = 0;
+        for (int i = inicio; i < fim; i++) {
+            estado = avancar(estado, dados[i] & 0xFF);
+        }
+        return resultado(estado);
+    }
+
+    /**
+     * Diagnostica o CNPJ contido em {@code buffer[inicio, fim)}, com acesso absoluto.
+     *
+     * @param buffer buffer de origem (heap ou direto)
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return motivo do resultado
+     */
+    public static CnpjMotivo motivo(ByteBuffer buffer, int inicio, int fim) {
+        while (inicio < fim && (buffer.get(inicio) & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && (buffer.get(fim - 1) & 0xFF) <= ' ') {
+            fim--;
+        }
+
+        long estado = 0;
+        for (int i = inicio; i < fim; i++) {
+            estado = avancar(estado, buffer.get(i) & 0xFF);
+        }
+        return resultado(estado);
+    }
+
+    /**
+     * Empacota a base (ver {@link CnpjPacked#packBase}) de um CNPJ válido em
+     * {@code cnpj[inicio, fim)}, ignorando a formatação.
+     *
+     * @param cnpj texto de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return base empacotada, ou {@link CnpjPacked#INVALIDO} se o CNPJ for inválido
+     */
+    public static long packBase(CharSequence cnpj, int inicio, int fim) {
+        if (motivo(cnpj, inicio, fim) != CnpjMotivo.VALIDO) {
+            return CnpjPacked.INVALIDO;
+        }
+        long base = 0;
+        int lidos = 0;
+        for (int i = inicio; lidos < TAMANHO_BASE; i++) {
+            char c = cnpj.charAt(i);
+            if (c > ' ' && !formatacao(c)) {
+                base = base * 36 + CnpjPacked.valor(c);
+                lidos++;
+            }
+        }
+        return base;
+    }
+
+    /**
+     * Empacota a base (ver {@link CnpjPacked#packBase}) de um CNPJ válido em
+     * {@code dados[inicio, fim)}, ignorando a formatação.
+     *
+     * @param dados bytes de origem
+     * @param inicio posição inicial (inclusiva)
+     * @param fim posição final (exclusiva)
+     * @return base empacotada, ou {@link CnpjPacked#INVALIDO} se o CNPJ for inválido
+     */
+    public static long packBase(byte[] dados, int inicio, int fim) {
+        if (motivo(dados, inicio, fim) != CnpjMotivo.VALIDO) {
+            return CnpjPacked.INVALIDO;
+        }
+        long base = 0;
+        int lidos = 0;
+        for (int i = inicio; lidos < TAMANHO_BASE; i++) {
+            int c = dados[i] & 0xFF;
+            if (c > ' ' && !formatacao(c)) {
+                base = base * 36 + CnpjPacked.valor((char) c);
+                lidos++;
+            }
+        }
+        return base;
+    }
+
+    /**
+     * Calcula os dígitos verificadores da base (12 caracteres, sem formatação) a partir
+     * do offset informado, sem alocar.
+     *
+     * @param base texto com a base
+     * @param offset posição do primeiro caractere da base
+     * @return DV como número de 0 a 99 (1º dígito nas dezenas), ou {@link CnpjPacked#INVALIDO}
+     *         se a base for inválida ou zerada
+     */
+    public static int calculaDV(CharSequence base, int offset) {
+        if (offset < 0 || base.length() - offset < TAMANHO_BASE) {
+            return CnpjPacked.INVALIDO;
+        }
+        long estado = 0;
+        for (int i = offset; i < offset + TAMANHO_BASE; i++) {
+            char c = base.charAt(i);
+            if (formatacao(c)) {
+                return CnpjPacked.INVALIDO;
+            }
+            estado = avancar(estado, c);
+        }
+        if ((estado & (BASE_INVALIDA | NAO_ZERADA)) != NAO_ZERADA) {
+            return CnpjPacked.INVALIDO;
+        }
+        int dv1 = digito((int) (estado & 0xFFFF));
+        int dv2 = digito((int) ((estado >>> 16) & 0xFFFF) + dv1 * 2);
+        return dv1 * 10 + dv2;
+    }
+
+    /**
+     * Calcula os DVs de várias bases de uma vez.
+     *
+     * @param bases bases com exatamente 12 caracteres, sem formatação (null é inválida)
+     * @param destino recebe o DV de cada base, como em {@link #calculaDV}, ou
+     *                {@link CnpjPacked#INVALIDO}
+     * @return quantidade de bases válidas
+     * @throws IllegalArgumentException se o destino for menor que a entrada
+     */
+    public static int calculaDVs(CharSequence[] bases, int[] destino) {
+        if (destino.length < bases.length) {
+            throw new IllegalArgumentException("Destino menor que a quantidade de bases");
+        }
+        int validas = 0;
+        for (int i = 0; i < bases.length; i++) {
+            CharSequence base = bases[i];
+            int dv = base != null && base.length() == TAMANHO_BASE ? calculaDV(base, 0) : CnpjPacked.INVALIDO;
+            destino[i] = dv;
+            if (dv != CnpjPacked.INVALIDO) {
+                validas++;
+            }
+        }
+        return validas;
+    }
+
+    /**
+     * Calcula os DVs das filiais numéricas {@code primeira} a {@code ultima} de uma raiz
+     * ({@code /0001} a {@code /9999}).
+     *
+     * <p>As somas ponderadas da raiz são calculadas uma única vez. De uma filial para a
+     * seguinte só mudam as parcelas dos dígitos da ordem que mudaram: o último dígito soma
+     * o seu peso e cada "vai um" tira nove vezes o peso do dígito que volta a zero. Em média
+     * são pouco mais de duas somas por filial, contra doze multiplicações por DV refazendo
+     * a conta inteira.</p>
+     *
+     * @param raiz 8 caracteres sem formatação (letras maiúsculas ou dígitos)
+     * @param primeira primeira ordem (1 a 9999)
+     * @param ultima última ordem (de {@code primeira} a 9999)
+     * @param destino recebe em {@code destino[i]} o DV (0 a 99) da ordem {@code primeira + i}
+     * @throws IllegalArgumentException se a raiz ou o intervalo forem inválidos, ou se o
+     *         destino for menor que o intervalo
+     */
+    public static void calculaDVsFiliais(CharSequence raiz, int primeira, int ultima, int[] destino) {
+        if (raiz == null || raiz.length() != CnpjPacked.TAMANHO_RAIZ) {
+            throw new IllegalArgumentException(String.format("Raiz de CNPJ '%s' inválida", raiz));
+        }
+        if (primeira < 1 || ultima > 9999 || primeira > ultima) {
+            throw new IllegalArgumentException("Intervalo de filiais deve estar entre 1 e 9999");
+        }
+        if (destino.length < ultima - primeira + 1) {
+            throw new IllegalArgumentException("Destino menor que o intervalo de filiais");
+        }
+
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < CnpjPacked.TAMANHO_RAIZ; i++) {
+            char c = raiz.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z'))) {
+                throw new IllegalArgumentException(String.format("Raiz de CNPJ '%s' inválida", raiz));
+            }
+            soma1 += (c - '0') * PESOS_DV1[i];
+            soma2 += (c - '0') * PESOS_DV2[i];
+        }
+
+        // dígitos da ordem, do mais significativo (posição 8 da base) ao menos
+        int[] ordem = new int[CnpjPacked.TAMANHO_ORDEM];
+        for (int j = CnpjPacked.TAMANHO_ORDEM - 1, numero = primeira; j >= 0; j--, numero /= 10) {
+            ordem[j] = numero % 10;
+            soma1 += ordem[j] * PESOS_DV1[CnpjPacked.TAMANHO_RAIZ + j];
+            soma2 += ordem[j] * PESOS_DV2[CnpjPacked.TAMANHO_RAIZ + j];
+        }
+
+        for (int i = 0, quantidade = ultima - primeira + 1; i < quantidade; i++) {
+            int dv1 = digito(soma1);
+            destino[i] = dv1 * 10 + digito(soma2 + dv1 * 2);
+
+            int j = CnpjPacked.TAMANHO_ORDEM - 1;
+            while (j >= 0 && ordem[j] == 9) {
+                ordem[j] = 0;
+                soma1 -= 9 * PESOS_DV1[CnpjPacked.TAMANHO_RAIZ + j];
+                soma2 -= 9 * PESOS_DV2[CnpjPacked.TAMANHO_RAIZ + j];
+                j--;
+            }
+            if (j >= 0) {
+                ordem[j]++;
+                soma1 += PESOS_DV1[CnpjPacked.TAMANHO_RAIZ + j];
+                soma2 += PESOS_DV2[CnpjPacked.TAMANHO_RAIZ + j];
+            }
+        }
+    }
+
+    private static boolean formatacao(int c) {
+        return c == '.' || c == '/' || c == '-';
+    }
+
+    /**
+     * Consome um caractere (já fora das pontas com espaços) e devolve o novo estado.
+     */
+    private static long avancar(long estado, int c) {
+        if (formatacao(c)) {
+            return estado;
+        }
+        long lidos = (estado >>> DESLOC_LIDOS) & MASCARA_LIDOS;
+        if (lidos < TAMANHO_BASE) {
+            if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z')) {
+                int valor = c - '0';
+                estado += valor * PESOS_DV1[(int) lidos] + ((long) (valor * PESOS_DV2[(int) lidos]) << 16);
+                if (c != '0') {
+                    estado |= NAO_ZERADA;
+                }
+            } else {
+                estado |= BASE_INVALIDA;
+            }
+        } else if (lidos < TAMANHO_CNPJ) {
+            if (c >= '0' && c <= '9') {
+                estado |= (long) (c - '0') << (DESLOC_DV + 4 * (lidos - TAMANHO_BASE));
+            } else {
+                estado |= DV_NAO_NUMERICO;
+            }
+        }
+        // satura para não transbordar nas flags com entradas enormes
+        return lidos < MASCARA_LIDOS ? estado + (1L << DESLOC_LIDOS) : estado;
+    }
+
+    /**
+     * Aplica as regras, na ordem do {@link CnpjValidacao#motivo(String)}, ao estado final.
+     */
+    private static CnpjMotivo resultado(long estado) {
+        if (((estado >>> DESLOC_LIDOS) & MASCARA_LIDOS) != TAMANHO_CNPJ) {
+            return CnpjMotivo.TAMANHO_INVALIDO;
+        }
+        if ((estado & BASE_INVALIDA) != 0) {
+            return CnpjMotivo.CARACTERE_INVALIDO;
+        }
+        if ((estado & DV_NAO_NUMERICO) != 0) {
+            return CnpjMotivo.DV_NAO_NUMERICO;
+        }
+        if ((estado & NAO_ZERADA) == 0) {
+            return CnpjMotivo.ZERADO;
+        }
+        int dv1 = digito((int) (estado & 0xFFFF));
+        int dv2 = digito((int) ((estado >>> 16) & 0xFFFF) + dv1 * 2);
+        int informado1 = (int) ((estado >>> DESLOC_DV) & 0xF);
+        int informado2 = (int) ((estado >>> (DESLOC_DV + 4)) & 0xF);
+        return dv1 == informado1 && dv2 == informado2 ? CnpjMotivo.VALIDO : CnpjMotivo.DV_INCORRETO;
+    }
+
+    private static int digito(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.validation.cnpj;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formatação e normalização de CNPJ sem alocação intermediária.
+ *
+ * <p>Os métodos escrevem diretamente em um destino fornecido pelo chamador
+ * ({@code char[]}, {@link StringBuilder} ou {@link ByteBuffer}), permitindo
+ * reaproveitar buffers em exportações de grande volume.</p>
+ *
+ * <p>Regras:</p>
+ * <ul>
+ *   <li><b>Normalizar</b>: remove espaços das pontas (mesma regra de {@link String#trim()})
+ *       e todos os caracteres de formatação ({@code .}, {@code /}, {@code -}), exatamente
+ *       como o {@link CnpjValidacao} faz antes de validar</li>
+ *   <li><b>Formatar</b>: normaliza e aplica a máscara {@code XX.XXX.XXX/XXXX-XX}; exige que
+ *       o valor normalizado tenha 14 caracteres, mas não valida os dígitos verificadores</li>
+ * </ul>
+ *
+ * <pre>
+ * char[] buffer = new char[CnpjFormatter.TAMANHO_FORMATADO];
+ * CnpjFormatter.format("12ABC34501DE35", buffer, 0); // 12.ABC.345/01DE-35
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjFormatter {
+
+    /** Tamanho do CNPJ normalizado (12 caracteres base + 2 DV). */
+    public static final int TAMANHO_NORMALIZADO = 14;
+
+    /** Tamanho do CNPJ formatado ({@code XX.XXX.XXX/XXXX-XX}). */
+    public static final int TAMANHO_FORMATADO = 18;
+
+    private CnpjFormatter() {
+    }
+
+    // -------------------------------------------------------------------------
+    // Normalização
+    // -------------------------------------------------------------------------
+
+    /**
+     * Calcula o tamanho que o CNPJ terá após a normalização, sem copiá-lo.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return quantidade de caracteres após a normalização
+     */
+    public static int normalizedLength(CharSequence cnpj) {
+        int inicio = inicioSemEspacos(cnpj);
+        int fim = fimSemEspacos(cnpj, inicio);
+        int tamanho = 0;
+        for (int i = inicio; i < fim; i++) {
+            if (!isCaracterFormatacao(cnpj.charAt(i))) {
+                tamanho++;
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Normaliza o CNPJ em um {@code char[]}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino array de destino
+     * @param offset posição inicial de escrita
+     * @return quantidade de caracteres escritos
+     * @throws IllegalArgumentException se não houver espaço suficiente no destino
+     */
+    public static int normalize(CharSequence cnpj, char[] destino, int offset) {
+        int inicio = inicioSemEspacos(cnpj);
+        int fim = fimSemEspacos(cnpj, inicio);
+        exigirEspaco(destino.length - offset, normalizedLength(cnpj));
+
+        int posicao = offset;
+        for (int i = inicio; i < fim; i++) {
+            char c = cnpj.charAt(i);
+            if (!isCaracterFormatacao(c)) {
+                destino[posicao++] = c;
+            }
+        }
+        return posicao - offset;
+    }
+
+    /**
+     * Normaliza o CNPJ, anexando o resultado ao {@link StringBuilder}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino builder de destino
+     * @return quantidade de caracteres anexados
+     */
+    public static int normalize(CharSequence cnpj, StringBuilder destino) {
+        int inicio = inicioSemEspacos(cnpj);
+        int fim = fimSemEspacos(cnpj, inicio);
+        int tamanhoInicial = destino.length();
+        for (int i = inicio; i < fim; i++) {
+            char c = cnpj.charAt(i);
+            if (!isCaracterFormatacao(c)) {
+                destino.append(c);
+            }
+        }
+        return destino.length() - tamanhoInicial;
+    }
+
+    /**
+     * Normaliza o CNPJ em um {@link ByteBuffer}, um byte por caractere.
+     * Caracteres fora do ASCII são gravados como {@code '?'}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino buffer de destino, escrito a partir da posição atual
+     * @return quantidade de bytes escritos
+     * @throws IllegalArgumentException se não houver espaço suficiente no destino
+     */
+    public static int normalize(CharSequence cnpj, ByteBuffer destino) {
+        int inicio = inicioSemEspacos(cnpj);
+        int fim = fimSemEspacos(cnpj, inicio);
+        int tamanho = normalizedLength(cnpj);
+        exigirEspaco(destino.remaining(), tamanho);
+
+        for (int i = inicio; i < fim; i++) {
+            char c = cnpj.charAt(i);
+            if (!isCaracterFormatacao(c)) {
+                destino.put(paraByte(c));
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Normaliza o CNPJ retornando uma nova {@link String}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return CNPJ normalizado
+     */
+    public static String normalize(CharSequence cnpj) {
+        StringBuilder destino = new StringBuilder(TAMANHO_NORMALIZADO);
+        normalize(cnpj, destino);
+        return destino.toString();
+    }
+
+    /**
+     * Normaliza vários CNPJs em sequência no mesmo {@code char[]}.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param destino array de destino, preenchido de forma contígua
+     * @param fins recebe, para cada entrada, a posição final (exclusiva) no destino;
+     *             a entrada {@code i} ocupa {@code [fins[i-1], fins[i])}
+     * @return total de caracteres escritos
+     * @throws IllegalArgumentException se não houver espaço suficiente no destino
+     */
+    public static int normalizeAll(CharSequence[] cnpjs, char[] destino, int[] fins) {
+        if (fins.length < cnpjs.length) {
+            throw new IllegalArgumentException("Array de fins menor que a quantidade de CNPJs");
+        }
+        int posicao = 0;
+        for (int i = 0; i < cnpjs.length; i++) {
+            posicao += normalize(cnpjs[i], destino, posicao);
+            fins[i] = posicao;
+        }
+        return posicao;
+    }
+
+    // -------------------------------------------------------------------------
+    // Formatação
+    // -------------------------------------------------------------------------
+
+    /**
+     * Formata o CNPJ como {@code XX.XXX.XXX/XXXX-XX} em um {@code char[]}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino array de destino
+     * @param offset posição inicial de escrita
+     * @return quantidade de caracteres escritos ({@value #TAMANHO_FORMATADO})
+     * @throws IllegalArgumentException se o CNPJ normalizado não tiver 14 caracteres
+     *                                  ou não houver espaço suficiente no destino
+     */
+    public static int format(CharSequence cnpj, char[] destino, int offset) {
+        int inicio = exigirTamanhoNormalizado(cnpj);
+        exigirEspaco(destino.length - offset, TAMANHO_FORMATADO);
+
+        int posicao = offset;
+        int indice = 0;
+        for (int i = inicio; indice < TAMANHO_NORMALIZADO; i++) {
+            char c = cnpj.charAt(i);
+            if (isCaracterFormatacao(c)) {
+                continue;
+            }
+            char separador = separadorAntes(indice++);
+            if (separador != 0) {
+                destino[posicao++] = separador;
+            }
+            destino[posicao++] = c;
+        }
+        return TAMANHO_FORMATADO;
+    }
+
+    /**
+     * Formata o CNPJ como {@code XX.XXX.XXX/XXXX-XX}, anexando ao {@link StringBuilder}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino builder de destino
+     * @return quantidade de caracteres anexados ({@value #TAMANHO_FORMATADO})
+     * @throws IllegalArgumentException se o CNPJ normalizado não tiver 14 caracteres
+     */
+    public static int format(CharSequence cnpj, StringBuilder destino) {
+        int inicio = exigirTamanhoNormalizado(cnpj);
+
+        int indice = 0;
+        for (int i = inicio; indice < TAMANHO_NORMALIZADO; i++) {
+            char c = cnpj.charAt(i);
+            if (isCaracterFormatacao(c)) {
+                continue;
+            }
+            char separador = separadorAntes(indice++);
+            if (separador != 0) {
+                destino.append(separador);
+            }
+            destino.append(c);
+        }
+        return TAMANHO_FORMATADO;
+    }
+
+    /**
+     * Formata o CNPJ como {@code XX.XXX.XXX/XXXX-XX} em um {@link ByteBuffer}.
+     * Caracteres fora do ASCII são gravados como {@code '?'}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param destino buffer de destino, escrito a partir da posição atual
+     * @return quantidade de bytes escritos ({@value #TAMANHO_FORMATADO})
+     * @throws IllegalArgumentException se o CNPJ normalizado não tiver 14 caracteres
+     *                                  ou não houver espaço suficiente no destino
+     */
+    public static int format(CharSequence cnpj, ByteBuffer destino) {
+        int inicio = exigirTamanhoNormalizado(cnpj);
+        exigirEspaco(destino.remaining(), TAMANHO_FORMATADO);
+
+        int indice = 0;
+        for (int i = inicio; indice < TAMANHO_NORMALIZADO; i++) {
+            char c = cnpj.charAt(i);
+            if (isCaracterFormatacao(c)) {
+                continue;
+            }
+            char separador = separadorAntes(indice++);
+            if (separador != 0) {
+                destino.put((byte) separador);
+            }
+            destino.put(paraByte(c));
+        }
+        return TAMANHO_FORMATADO;
+    }
+
+    /**
+     * Formata o CNPJ como {@code XX.XXX.XXX/XXXX-XX} retornando uma nova {@link String}.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return CNPJ formatado
+     * @throws IllegalArgumentException se o CNPJ normalizado não tiver 14 caracteres
+     */
+    public static String format(CharSequence cnpj) {
+        char[] destino = new char[TAMANHO_FORMATADO];
+        format(cnpj, destino, 0);
+        return new String(destino);
+    }
+
+    /**
+     * Formata vários CNPJs em blocos contíguos de {@value #TAMANHO_FORMATADO} caracteres.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param destino array de destino; a entrada {@code i} ocupa
+     *                {@code [i * 18, (i + 1) * 18)}
+     * @return total de caracteres escritos
+     * @throws IllegalArgumentException se algum CNPJ normalizado não tiver 14 caracteres
+     *                                  ou não houver espaço suficiente no destino
+     */
+    public static int formatAll(CharSequence[] cnpjs, char[] destino) {
+        exigirEspaco(destino.length, cnpjs.length * TAMANHO_FORMATADO);
+        int posicao = 0;
+        for (CharSequence cnpj : cnpjs) {
+            posicao += format(cnpj, destino, posicao);
+        }
+        return posicao;
+    }
+
+    /**
+     * Formata vários CNPJs em um {@link ByteBuffer}, um por linha, seguidos do separador.
+     *
+     * @param cnpjs CNPJs com ou sem formatação
+     * @param destino buffer de destino, escrito a partir da posição atual
+     * @param separador byte gravado após cada CNPJ (ex.: {@code '\n'})
+     * @return total de bytes escritos
+     * @throws IllegalArgumentException se algum CNPJ normalizado não tiver 14 caracteres
+     *                                  ou não houver espaço suficiente no destino
+     */
+    public static int formatAll(CharSequence[] cnpjs, ByteBuffer destino, byte separador) {
+        exigirEspaco(destino.remaining(), cnpjs.length * (TAMANHO_FORMATADO + 1));
+        int inicial = destino.position();
+        for (CharSequence cnpj : cnpjs) {
+            format(cnpj, destino);
+            destino.put(separador);
+        }
+        return destino.position() - inicial;
+    }
+
+    // -------------------------------------------------------------------------
+    // Auxiliares
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retorna o separador que antecede o caractere normalizado de índice informado
+     * na máscara {@code XX.XXX.XXX/XXXX-XX}, ou {@code 0} se não houver.
+     */
+    private static char separadorAntes(int indice) {
+        switch (indice) {
+            case 2:
+            case 5:
+                return '.';
+            case 8:
+                return '/';
+            case 12:
+                return '-';
+            default:
+                return 0;
+        }
+    }
+
+    private static int exigirTamanhoNormalizado(CharSequence cnpj) {
+        int tamanho = normalizedLength(cnpj);
+        if (tamanho != TAMANHO_NORMALIZADO) {
+            throw new IllegalArgumentException(
+                String.format("CNPJ '%s' não tem %d caracteres para formatação", cnpj, TAMANHO_NORMALIZADO)
+            );
+        }
+        return inicioSemEspacos(cnpj);
+    }
+
+    private static void exigirEspaco(int disponivel, int necessario) {
+        if (disponivel < necessario) {
+            throw new IllegalArgumentException(
+                String.format("Destino sem espaço suficiente: necessário %d, disponível %d", necessario, disponivel)
+            );
+        }
+    }
+
+    private static boolean isCaracterFormatacao(char c) {
+        return c == '.' || c == '/' || c == '-';
+    }
+
+    private static int inicioSemEspacos(CharSequence cnpj) {
+        int inicio = 0;
+        int tamanho = cnpj.length();
+        while (inicio < tamanho && cnpj.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        return inicio;
+    }
+
+    private static int fimSemEspacos(CharSequence cnpj, int inicio) {
+        int fim = cnpj.length();
+        while (fim > inicio && cnpj.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        return fim;
+    }
+
+    private static byte paraByte(char c) {
+        return c < 0x80 ? (byte) c : (byte) '?';
+    }
+}
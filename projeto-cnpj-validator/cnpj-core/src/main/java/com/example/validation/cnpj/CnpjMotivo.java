@@ -0,0 +1,36 @@
+package com.example.validation.cnpj;
+
+/**
+ * Motivo do resultado da validação de um CNPJ.
+ *
+ * <p>As regras são avaliadas na mesma ordem do {@link CnpjValidacao}; o motivo
+ * retornado é o da primeira regra violada.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public enum CnpjMotivo {
+
+    VALIDO("CNPJ válido"),
+    NULO("CNPJ nulo"),
+    TAMANHO_INVALIDO("CNPJ deve ter 14 caracteres após remover a formatação"),
+    CARACTERE_INVALIDO("Os 12 caracteres base devem ser letras maiúsculas (A-Z) ou dígitos (0-9)"),
+    DV_NAO_NUMERICO("Os dígitos verificadores devem ser numéricos"),
+    ZERADO("CNPJ não pode ser zerado"),
+    DV_INCORRETO("Dígitos verificadores incorretos");
+
+    private final String descricao;
+
+    CnpjMotivo(String descricao) {
+        this.descricao = descricao;
+    }
+
+    /**
+     * Descrição legível do motivo.
+     *
+     * @return descrição em português
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+}
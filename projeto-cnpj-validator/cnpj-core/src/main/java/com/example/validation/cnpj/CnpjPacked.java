@@ -0,0 +1,196 @@
+package com.example.validation.cnpj;
+
+/**
+ * Representação compacta (primitiva) das partes de um CNPJ alfanumérico.
+ *
+ * <p>Cada caractere base ({@code 0-9}, {@code A-Z}) é tratado como um dígito na base 36,
+ * com {@code '0'..'9'} valendo 0..9 e {@code 'A'..'Z'} valendo 10..35. Como essa ordem é a
+ * mesma da tabela ASCII, a ordem numérica dos valores empacotados coincide com a ordem
+ * lexicográfica dos textos.</p>
+ *
+ * <ul>
+ *   <li><b>Raiz</b> (8 caracteres, identifica a empresa): cabe em {@code long}</li>
+ *   <li><b>Ordem</b> (4 caracteres, identifica o estabelecimento): cabe em {@code int}</li>
+ *   <li><b>Base</b> (12 caracteres, raiz + ordem): cabe em {@code long} (36<sup>12</sup> &lt; 2<sup>63</sup>);
+ *       os dígitos verificadores são derivados da base e não precisam ser armazenados</li>
+ * </ul>
+ *
+ * <p>Os métodos de empacotamento esperam texto já normalizado (sem formatação) e
+ * retornam {@link #INVALIDO} quando algum caractere não pertence ao alfabeto.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjPacked {
+
+    /** Valor retornado quando o texto não pode ser empacotado. */
+    public static final int INVALIDO = -1;
+
+    public static final int TAMANHO_RAIZ = 8;
+    public static final int TAMANHO_ORDEM = 4;
+    public static final int TAMANHO_BASE = TAMANHO_RAIZ + TAMANHO_ORDEM;
+
+    /** Quantidade de ordens distintas (36<sup>4</sup>). */
+    public static final int TOTAL_ORDENS = 36 * 36 * 36 * 36;
+
+    private static final int RADIX = 36;
+    private static final char[] ALFABETO = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private CnpjPacked() {
+    }
+
+    /**
+     * Empacota a raiz (8 caracteres) a partir do offset informado.
+     *
+     * @param texto texto normalizado
+     * @param offset posição do primeiro caractere da raiz
+     * @return raiz empacotada ou {@link #INVALIDO}
+     */
+    public static long packRaiz(CharSequence texto, int offset) {
+        return pack(texto, offset, TAMANHO_RAIZ);
+    }
+
+    /**
+     * Empacota a ordem (4 caracteres) a partir do offset informado.
+     *
+     * @param texto texto normalizado
+     * @param offset posição do primeiro caractere da ordem
+     * @return ordem empacotada ou {@link #INVALIDO}
+     */
+    public static int packOrdem(CharSequence texto, int offset) {
+        return (int) pack(texto, offset, TAMANHO_ORDEM);
+    }
+
+    /**
+     * Empacota a base (12 caracteres: raiz + ordem) a partir do offset informado.
+     *
+     * @param texto texto normalizado
+     * @param offset posição do primeiro caractere da base
+     * @return base empacotada ou {@link #INVALIDO}
+     */
+    public static long packBase(CharSequence texto, int offset) {
+        return pack(texto, offset, TAMANHO_BASE);
+    }
+
+    /**
+     * Combina raiz e ordem empacotadas em uma base empacotada.
+     *
+     * @param raiz raiz empacotada
+     * @param ordem ordem empacotada
+     * @return base empacotada
+     */
+    public static long base(long raiz, int ordem) {
+        return raiz * TOTAL_ORDENS + ordem;
+    }
+
+    /**
+     * Extrai a raiz de uma base empacotada.
+     *
+     * @param base base empacotada
+     * @return raiz empacotada
+     */
+    public static long raiz(long base) {
+        return base / TOTAL_ORDENS;
+    }
+
+    /**
+     * Extrai a ordem de uma base empacotada.
+     *
+     * @param base base empacotada
+     * @return ordem empacotada
+     */
+    public static int ordem(long base) {
+        return (int) (base % TOTAL_ORDENS);
+    }
+
+    /**
+     * Empacota uma ordem numérica (ex.: 1 → {@code "0001"}).
+     *
+     * @param numero número entre 0 e 9999
+     * @return ordem empacotada
+     */
+    public static int ordemNumerica(int numero) {
+        if (numero < 0 || numero > 9999) {
+            throw new IllegalArgumentException("Ordem numérica deve estar entre 0 e 9999");
+        }
+        int valor = 0;
+        for (int divisor = 1000; divisor > 0; divisor /= 10) {
+            valor = valor * RADIX + (numero / divisor) % 10;
+        }
+        return valor;
+    }
+
+    /**
+     * Anexa a raiz desempacotada (8 caracteres) ao builder.
+     *
+     * @param raiz raiz empacotada
+     * @param destino builder de destino
+     * @return o próprio builder
+     */
+    public static StringBuilder unpackRaiz(long raiz, StringBuilder destino) {
+        return unpack(raiz, TAMANHO_RAIZ, destino);
+    }
+
+    /**
+     * Anexa a ordem desempacotada (4 caracteres) ao builder.
+     *
+     * @param ordem ordem empacotada
+     * @param destino builder de destino
+     * @return o próprio builder
+     */
+    public static StringBuilder unpackOrdem(int ordem, StringBuilder destino) {
+        return unpack(ordem, TAMANHO_ORDEM, destino);
+    }
+
+    /**
+     * Anexa a base desempacotada (12 caracteres) ao builder.
+     *
+     * @param base base empacotada
+     * @param destino builder de destino
+     * @return o próprio builder
+     */
+    public static StringBuilder unpackBase(long base, StringBuilder destino) {
+        return unpack(base, TAMANHO_BASE, destino);
+    }
+
+    /**
+     * Retorna o valor de um caractere no alfabeto base 36, ou {@link #INVALIDO}.
+     *
+     * @param c caractere
+     * @return valor entre 0 e 35, ou {@link #INVALIDO}
+     */
+    public static int valor(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        return INVALIDO;
+    }
+
+    private static long pack(CharSequence texto, int offset, int tamanho) {
+        if (offset < 0 || texto.length() - offset < tamanho) {
+            return INVALIDO;
+        }
+        long valor = 0;
+        for (int i = offset; i < offset + tamanho; i++) {
+            int digito = valor(texto.charAt(i));
+            if (digito == INVALIDO) {
+                return INVALIDO;
+            }
+            valor = valor * RADIX + digito;
+        }
+        return valor;
+    }
+
+    private static StringBuilder unpack(long valor, int tamanho, StringBuilder destino) {
+        int inicio = destino.length();
+        destino.setLength(inicio + tamanho);
+        for (int i = inicio + tamanho - 1; i >= inicio; i--) {
+            destino.setCharAt(i, ALFABETO[(int) (valor % RADIX)]);
+            valor /= RADIX;
+        }
+        return destino;
+    }
+}
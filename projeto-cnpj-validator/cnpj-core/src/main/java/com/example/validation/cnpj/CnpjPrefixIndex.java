@@ -0,0 +1,368 @@
+package com.example.validation.cnpj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Índice de busca por prefixo (autocompletar) sobre CNPJs registrados.
+ *
+ * <p>Guarda as bases empacotadas ({@link CnpjPacked}) em um {@code long[]} ordenado e sem
+ * repetições. Como a ordem numérica das bases é a ordem lexicográfica dos textos, um prefixo
+ * de {@code p} caracteres corresponde ao intervalo contíguo
+ * {@code [prefixo * 36^(12-p), (prefixo + 1) * 36^(12-p))}: a busca é uma busca binária
+ * seguida da leitura sequencial dos resultados, sem objetos por entrada (8 bytes por CNPJ).</p>
+ *
+ * <p>Inclusões novas vão para um conjunto ordenado de pendentes, lido junto com o array nas
+ * buscas. Quando os pendentes passam de 1/64 do array (mínimo {@value #PENDENTES_MINIMO}),
+ * são consolidados em um novo array publicado de uma vez, então as buscas não usam lock.</p>
+ *
+ * <p>Uma remoção tira a base dos pendentes ou, se ela já estiver no array, a marca em um
+ * conjunto de removidas que as buscas descartam; a consolidação tira as removidas do array
+ * novo. Remoções e consolidações são serializadas entre si, o que é barato porque remover é
+ * raro (um CNPJ alterado), e as inclusões continuam sem lock.</p>
+ *
+ * <p>Os dígitos verificadores não são armazenados: um prefixo com 13 ou 14 caracteres filtra
+ * a base única do intervalo pelo DV calculado.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjPrefixIndex {
+
+    /** Quantidade mínima de pendentes antes da consolidação. */
+    static final int PENDENTES_MINIMO = 4096;
+
+    /** 36<sup>k</sup> para k de 0 a 12. */
+    private static final long[] POTENCIAS = new long[CnpjPacked.TAMANHO_BASE + 1];
+
+    static {
+        POTENCIAS[0] = 1;
+        for (int k = 1; k < POTENCIAS.length; k++) {
+            POTENCIAS[k] = POTENCIAS[k - 1] * 36;
+        }
+    }
+
+    private volatile long[] bases;
+    private final ConcurrentSkipListSet<Long> pendentes = new ConcurrentSkipListSet<>();
+    private final AtomicInteger quantidadePendentes = new AtomicInteger();
+    /** Bases do array removidas depois da última consolidação; alterado só com o lock. */
+    private final ConcurrentSkipListSet<Long> removidas = new ConcurrentSkipListSet<>();
+    private final AtomicInteger quantidadeRemovidas = new AtomicInteger();
+
+    /**
+     * Cria um índice vazio.
+     */
+    public CnpjPrefixIndex() {
+        this.bases = new long[0];
+    }
+
+    private CnpjPrefixIndex(long[] ordenadas) {
+        this.bases = ordenadas;
+    }
+
+    /**
+     * Cria um índice com as bases informadas, em qualquer ordem e com repetições.
+     *
+     * @param bases bases empacotadas (o array não é alterado)
+     * @param quantidade quantidade de posições usadas de {@code bases}
+     * @return índice com as bases distintas
+     */
+    public static CnpjPrefixIndex de(long[] bases, int quantidade) {
+        long[] ordenadas = Arrays.copyOf(bases, quantidade);
+        Arrays.sort(ordenadas);
+        int distintas = 0;
+        for (int i = 0; i < ordenadas.length; i++) {
+            if (distintas == 0 || ordenadas[i] != ordenadas[distintas - 1]) {
+                ordenadas[distintas++] = ordenadas[i];
+            }
+        }
+        return new CnpjPrefixIndex(distintas == ordenadas.length ? ordenadas : Arrays.copyOf(ordenadas, distintas));
+    }
+
+    /**
+     * Cria um índice com todos os estabelecimentos de uma base de situação cadastral.
+     *
+     * @param indice base aberta (já ordenada e sem repetições)
+     * @return índice com as bases da situação cadastral
+     * @throws IllegalArgumentException se a base tiver mais estabelecimentos que cabem em um array
+     */
+    public static CnpjPrefixIndex de(SituacaoCadastralIndex indice) {
+        if (indice.quantidade() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Base de situação cadastral grande demais para o índice de prefixos");
+        }
+        long[] ordenadas = new long[(int) indice.quantidade()];
+        for (int i = 0; i < ordenadas.length; i++) {
+            ordenadas[i] = indice.base(i);
+        }
+        return new CnpjPrefixIndex(ordenadas);
+    }
+
+    /**
+     * Inclui um CNPJ no índice.
+     *
+     * @param cnpj CNPJ com ou sem formatação (os dígitos verificadores não são conferidos)
+     * @return true se o CNPJ ainda não estava no índice
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     */
+    public boolean adicionar(CharSequence cnpj) {
+        return adicionar(CnpjRaizIndex.packBase(cnpj));
+    }
+
+    /**
+     * Inclui uma base empacotada no índice.
+     *
+     * @param base base empacotada
+     * @return true se a base ainda não estava no índice
+     */
+    public boolean adicionar(long base) {
+        if (!removidas.isEmpty() && removidas.contains(base)) {
+            return readicionar(base);
+        }
+        if (Arrays.binarySearch(bases, base) >= 0 || !pendentes.add(base)) {
+            return false;
+        }
+        // uma consolidação concorrente pode ter publicado a base entre as duas verificações
+        if (Arrays.binarySearch(bases, base) >= 0) {
+            pendentes.remove(base);
+            return false;
+        }
+        if (quantidadePendentes.incrementAndGet() >= Math.max(PENDENTES_MINIMO, bases.length >>> 6)) {
+            consolidar();
+        }
+        return true;
+    }
+
+    /**
+     * Inclusão de uma base que está marcada como removida: basta desmarcar. Com o lock, a
+     * marca não some no meio; se uma consolidação já a tirou do array, é uma inclusão comum.
+     */
+    private synchronized boolean readicionar(long base) {
+        if (removidas.remove(base)) {
+            quantidadeRemovidas.decrementAndGet();
+            return true;
+        }
+        return adicionar(base);
+    }
+
+    /**
+     * Tira um CNPJ do índice.
+     *
+     * @param cnpj CNPJ com ou sem formatação (os dígitos verificadores não são conferidos)
+     * @return true se o CNPJ estava no índice
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     */
+    public boolean remover(CharSequence cnpj) {
+        return remover(CnpjRaizIndex.packBase(cnpj));
+    }
+
+    /**
+     * Tira uma base empacotada do índice.
+     *
+     * @param base base empacotada
+     * @return true se a base estava no índice
+     */
+    public synchronized boolean remover(long base) {
+        boolean removida = false;
+        if (pendentes.remove(base)) {
+            quantidadePendentes.decrementAndGet();
+            removida = true;
+        }
+        if (Arrays.binarySearch(bases, base) >= 0 && removidas.add(base)) {
+            if (quantidadeRemovidas.incrementAndGet() >= Math.max(PENDENTES_MINIMO, bases.length >>> 6)) {
+                consolidar();
+            }
+            removida = true;
+        }
+        return removida;
+    }
+
+    /**
+     * Diz se uma base empacotada está no índice.
+     *
+     * @param base base empacotada
+     * @return true se a base foi incluída
+     */
+    public boolean contem(long base) {
+        while (true) {
+            long[] ordenadas = bases;
+            boolean contem = Arrays.binarySearch(ordenadas, base) >= 0 && !removidas.contains(base)
+                || pendentes.contains(base);
+            // a consolidação desmarca as removidas depois de publicar o array sem elas
+            if (ordenadas == bases) {
+                return contem;
+            }
+        }
+    }
+
+    /**
+     * Intercala os pendentes no array ordenado, tira as bases removidas e publica o novo array.
+     */
+    public synchronized void consolidar() {
+        long[] atuais = bases;
+        // em ordem crescente, como o conjunto; estável enquanto o lock estiver com este método
+        long[] excluidas = removidas.stream().mapToLong(Long::longValue).toArray();
+        long[] novos = new long[atuais.length + quantidadePendentes.get()];
+        int escritos = 0;
+        int i = 0;
+        int e = 0;
+        List<Long> consolidados = new ArrayList<>();
+        Iterator<Long> recentes = pendentes.iterator();
+        while (true) {
+            // as bases empacotadas são menores que Long.MAX_VALUE: o sentinela copia o resto do array
+            long pendente = recentes.hasNext() ? recentes.next() : Long.MAX_VALUE;
+            while (i < atuais.length && atuais[i] < pendente) {
+                long atual = atuais[i++];
+                while (e < excluidas.length && excluidas[e] < atual) {
+                    e++;
+                }
+                if (e < excluidas.length && excluidas[e] == atual) {
+                    continue;
+                }
+                novos = garantir(novos, escritos);
+                novos[escritos++] = atual;
+            }
+            if (pendente == Long.MAX_VALUE) {
+                break;
+            }
+            if (i == atuais.length || atuais[i] != pendente) {
+                novos = garantir(novos, escritos);
+                novos[escritos++] = pendente;
+            }
+            consolidados.add(pendente);
+        }
+        bases = escritos == novos.length ? novos : Arrays.copyOf(novos, escritos);
+
+        // só depois de publicado o array; buscas que leram o array antigo refazem a leitura
+        pendentes.removeAll(consolidados);
+        quantidadePendentes.addAndGet(-consolidados.size());
+        for (long excluida : excluidas) {
+            removidas.remove(excluida);
+        }
+        quantidadeRemovidas.addAndGet(-excluidas.length);
+    }
+
+    /**
+     * Lista os CNPJs (com DV) que começam com o prefixo, em ordem crescente.
+     *
+     * <p>O prefixo pode vir formatado ou parcial ({@code "12.ABC.3"}); letras minúsculas
+     * são aceitas e tratadas como maiúsculas.</p>
+     *
+     * @param prefixo de 0 a 14 caracteres após a normalização
+     * @param limite quantidade máxima de resultados
+     * @return CNPJs sem formatação
+     * @throws IllegalArgumentException se o prefixo tiver caracteres fora do alfabeto,
+     *         letras na posição dos dígitos verificadores ou mais de 14 caracteres
+     */
+    public List<String> buscar(CharSequence prefixo, int limite) {
+        String normalizado = normalizarPrefixo(prefixo);
+        int tamanhoBase = Math.min(normalizado.length(), CnpjPacked.TAMANHO_BASE);
+
+        long valor = 0;
+        for (int i = 0; i < tamanhoBase; i++) {
+            valor = valor * 36 + CnpjPacked.valor(normalizado.charAt(i));
+        }
+        long inicio = valor * POTENCIAS[CnpjPacked.TAMANHO_BASE - tamanhoBase];
+        long fim = inicio + POTENCIAS[CnpjPacked.TAMANHO_BASE - tamanhoBase];
+        String prefixoDV = normalizado.substring(tamanhoBase);
+
+        while (true) {
+            long[] ordenadas = bases;
+            List<String> cnpjs = buscar(ordenadas, inicio, fim, prefixoDV, limite);
+            // se uma consolidação publicou outro array no meio da busca, pendentes já
+            // consolidados podem ter sumido dos dois lados: refaz com o array novo
+            if (ordenadas == bases) {
+                return cnpjs;
+            }
+        }
+    }
+
+    private List<String> buscar(long[] ordenadas, long inicio, long fim, String prefixoDV, int limite) {
+        int posicao = Arrays.binarySearch(ordenadas, inicio);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        Iterator<Long> recentes = pendentes.subSet(inicio, fim).iterator();
+        long recente = recentes.hasNext() ? recentes.next() : Long.MAX_VALUE;
+
+        List<String> cnpjs = new ArrayList<>(Math.min(limite, 64));
+        StringBuilder cnpj = new StringBuilder(CnpjFormatter.TAMANHO_NORMALIZADO);
+        long anterior = -1;
+        while (cnpjs.size() < limite) {
+            long base;
+            if (posicao < ordenadas.length && ordenadas[posicao] < fim && ordenadas[posicao] <= recente) {
+                base = ordenadas[posicao++];
+            } else if (recente != Long.MAX_VALUE) {
+                base = recente;
+                recente = recentes.hasNext() ? recentes.next() : Long.MAX_VALUE;
+            } else {
+                break;
+            }
+            if (base == anterior || !removidas.isEmpty() && removidas.contains(base)) {
+                continue;
+            }
+            anterior = base;
+
+            cnpj.setLength(0);
+            CnpjPacked.unpackBase(base, cnpj);
+            int dv = CnpjFastValidator.calculaDV(cnpj, 0);
+            if (dv == CnpjPacked.INVALIDO) {
+                continue;
+            }
+            cnpj.append((char) ('0' + dv / 10)).append((char) ('0' + dv % 10));
+            if (prefixoDV.isEmpty() || cnpj.indexOf(prefixoDV, CnpjPacked.TAMANHO_BASE) == CnpjPacked.TAMANHO_BASE) {
+                cnpjs.add(cnpj.toString());
+            }
+        }
+        return cnpjs;
+    }
+
+    /**
+     * Normaliza um prefixo de busca: remove a formatação e converte letras para maiúsculas.
+     *
+     * @param prefixo prefixo com ou sem formatação
+     * @return prefixo normalizado
+     * @throws IllegalArgumentException se o prefixo for inválido (ver {@link #buscar})
+     */
+    public static String normalizarPrefixo(CharSequence prefixo) {
+        StringBuilder normalizado = new StringBuilder(CnpjFormatter.TAMANHO_NORMALIZADO);
+        CnpjFormatter.normalize(prefixo, normalizado);
+        if (normalizado.length() > CnpjFormatter.TAMANHO_NORMALIZADO) {
+            throw new IllegalArgumentException(String.format("Prefixo '%s' maior que um CNPJ", prefixo));
+        }
+        for (int i = 0; i < normalizado.length(); i++) {
+            char c = normalizado.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c = (char) (c - 'a' + 'A');
+            }
+            boolean valido = i < CnpjPacked.TAMANHO_BASE
+                ? CnpjPacked.valor(c) != CnpjPacked.INVALIDO
+                : c >= '0' && c <= '9';
+            if (!valido) {
+                throw new IllegalArgumentException(String.format(
+                    "Prefixo '%s' inválido: caractere '%c' não permitido na posição %d", prefixo, c, i + 1));
+            }
+            normalizado.setCharAt(i, c);
+        }
+        return normalizado.toString();
+    }
+
+    /**
+     * Quantidade de CNPJs no índice.
+     *
+     * @return número de bases distintas (pode contar a mais por instantes durante a consolidação)
+     */
+    public long quantidade() {
+        return (long) bases.length + quantidadePendentes.get() - quantidadeRemovidas.get();
+    }
+
+    private static long[] garantir(long[] destino, int escritos) {
+        // os pendentes podem crescer durante a consolidação
+        return escritos < destino.length ? destino : Arrays.copyOf(destino, destino.length + destino.length / 8 + 16);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.validation.cnpj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice de estabelecimentos (filiais) agrupados pela raiz do CNPJ.
+ *
+ * <p>Os 8 primeiros caracteres do CNPJ identificam a empresa (raiz) e os 4 seguintes
+ * o estabelecimento (ordem; {@code 0001} é normalmente a matriz). O índice guarda, para cada
+ * raiz empacotada, um {@code int[]} ordenado com as ordens empacotadas (ver {@link CnpjPacked}).
+ * Os arrays são imutáveis e substituídos por cópia a cada alteração, então as consultas
+ * não usam lock.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjRaizIndex {
+
+    private static final int[] VAZIO = new int[0];
+
+    private final ConcurrentHashMap<Long, int[]> ordensPorRaiz = new ConcurrentHashMap<>();
+    private final AtomicLong totalEstabelecimentos = new AtomicLong();
+
+    /**
+     * Registra um CNPJ no índice.
+     *
+     * @param cnpj CNPJ com ou sem formatação (os dígitos verificadores não são conferidos)
+     * @return true se o estabelecimento ainda não estava registrado
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     */
+    public boolean registrar(CharSequence cnpj) {
+        long base = packBase(cnpj);
+        return registrar(CnpjPacked.raiz(base), CnpjPacked.ordem(base));
+    }
+
+    /**
+     * Registra um estabelecimento já empacotado.
+     *
+     * @param raiz raiz empacotada
+     * @param ordem ordem empacotada
+     * @return true se o estabelecimento ainda não estava registrado
+     */
+    public boolean registrar(long raiz, int ordem) {
+        boolean[] inserido = new boolean[1];
+
+        ordensPorRaiz.compute(raiz, (chave, ordens) -> {
+            int[] atuais = ordens == null ? VAZIO : ordens;
+            int posicao = Arrays.binarySearch(atuais, ordem);
+            if (posicao >= 0) {
+                return atuais;
+            }
+            int insercao = -posicao - 1;
+            int[] novas = new int[atuais.length + 1];
+            System.arraycopy(atuais, 0, novas, 0, insercao);
+            novas[insercao] = ordem;
+            System.arraycopy(atuais, insercao, novas, insercao + 1, atuais.length - insercao);
+            inserido[0] = true;
+            return novas;
+        });
+
+        if (inserido[0]) {
+            totalEstabelecimentos.incrementAndGet();
+        }
+        return inserido[0];
+    }
+
+    /**
+     * Remove um CNPJ do índice.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return true se o estabelecimento estava registrado
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     */
+    public boolean remover(CharSequence cnpj) {
+        long base = packBase(cnpj);
+        return remover(CnpjPacked.raiz(base), CnpjPacked.ordem(base));
+    }
+
+    /**
+     * Remove um estabelecimento já empacotado.
+     *
+     * @param raiz raiz empacotada
+     * @param ordem ordem empacotada
+     * @return true se o estabelecimento estava registrado
+     */
+    public boolean remover(long raiz, int ordem) {
+        boolean[] removido = new boolean[1];
+
+        ordensPorRaiz.computeIfPresent(raiz, (chave, atuais) -> {
+            int posicao = Arrays.binarySearch(atuais, ordem);
+            if (posicao < 0) {
+                return atuais;
+            }
+            removido[0] = true;
+            if (atuais.length == 1) {
+                return null;
+            }
+            int[] novas = new int[atuais.length - 1];
+            System.arraycopy(atuais, 0, novas, 0, posicao);
+            System.arraycopy(atuais, posicao + 1, novas, posicao, atuais.length - posicao - 1);
+            return novas;
+        });
+
+        if (removido[0]) {
+            totalEstabelecimentos.decrementAndGet();
+        }
+        return removido[0];
+    }
+
+    /**
+     * Retorna as raízes presentes no índice (cópia, em ordem arbitrária).
+     *
+     * @return raízes empacotadas
+     */
+    public long[] raizes() {
+        return ordensPorRaiz.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Retorna as ordens registradas para a raiz, em ordem crescente.
+     *
+     * @param raiz raiz empacotada (ver {@link CnpjPacked#packRaiz})
+     * @return cópia das ordens empacotadas
+     */
+    public int[] ordens(long raiz) {
+        return ordensPorRaiz.getOrDefault(raiz, VAZIO).clone();
+    }
+
+    /**
+     * Lista os CNPJs completos (com DV) de todos os estabelecimentos de uma raiz.
+     *
+     * @param raiz raiz com 8 caracteres, com ou sem formatação
+     * @return CNPJs sem formatação, em ordem crescente de ordem
+     * @throws IllegalArgumentException se a raiz for inválida
+     */
+    public List<String> filiais(CharSequence raiz) {
+        long raizEmpacotada = packRaiz(raiz);
+        int[] ordens = ordensPorRaiz.getOrDefault(raizEmpacotada, VAZIO);
+
+        List<String> cnpjs = new ArrayList<>(ordens.length);
+        for (int ordem : ordens) {
+            cnpjs.add(cnpjCompleto(raizEmpacotada, ordem));
+        }
+        return cnpjs;
+    }
+
+    /**
+     * Calcula a menor ordem livre (maior que zero) para a raiz.
+     *
+     * @param raiz raiz empacotada
+     * @param somenteNumerica true para considerar apenas ordens {@code 0001..9999}
+     * @return ordem empacotada livre, ou {@link CnpjPacked#INVALIDO} se todas estiverem ocupadas
+     */
+    public int proximaOrdemLivre(long raiz, boolean somenteNumerica) {
+        int[] ordens = ordensPorRaiz.getOrDefault(raiz, VAZIO);
+
+        if (somenteNumerica) {
+            for (int numero = 1; numero <= 9999; numero++) {
+                int candidata = CnpjPacked.ordemNumerica(numero);
+                if (Arrays.binarySearch(ordens, candidata) < 0) {
+                    return candidata;
+                }
+            }
+            return CnpjPacked.INVALIDO;
+        }
+
+        int candidata = 1;
+        for (int ordem : ordens) {
+            if (ordem < candidata) {
+                continue;
+            }
+            if (ordem > candidata) {
+                break;
+            }
+            candidata++;
+        }
+        return candidata < CnpjPacked.TOTAL_ORDENS ? candidata : CnpjPacked.INVALIDO;
+    }
+
+    /**
+     * Monta o CNPJ completo (com DV) a partir da raiz e da ordem empacotadas.
+     *
+     * @param raiz raiz empacotada
+     * @param ordem ordem empacotada
+     * @return CNPJ sem formatação
+     */
+    public static String cnpjCompleto(long raiz, int ordem) {
+        StringBuilder base = CnpjPacked.unpackBase(CnpjPacked.base(raiz, ordem), new StringBuilder(14));
+        return base.append(CnpjValidacao.calculaDV(base.toString())).toString();
+    }
+
+    /**
+     * Empacota uma raiz informada com ou sem formatação.
+     *
+     * @param raiz raiz com 8 caracteres
+     * @return raiz empacotada
+     * @throws IllegalArgumentException se a raiz for inválida
+     */
+    public static long packRaiz(CharSequence raiz) {
+        String normalizada = CnpjFormatter.normalize(raiz);
+        long valor = normalizada.length() == CnpjPacked.TAMANHO_RAIZ
+            ? CnpjPacked.packRaiz(normalizada, 0)
+            : CnpjPacked.INVALIDO;
+        if (valor == CnpjPacked.INVALIDO) {
+            throw new IllegalArgumentException(String.format("Raiz de CNPJ '%s' inválida", raiz));
+        }
+        return valor;
+    }
+
+    /**
+     * Quantidade de raízes distintas no índice.
+     *
+     * @return número de raízes
+     */
+    public int quantidadeRaizes() {
+        return ordensPorRaiz.size();
+    }
+
+    /**
+     * Quantidade total de estabelecimentos no índice.
+     *
+     * @return número de estabelecimentos
+     */
+    public long quantidadeEstabelecimentos() {
+        return totalEstabelecimentos.get();
+    }
+
+    /**
+     * Empacota a base de um CNPJ informado com ou sem formatação (o DV não é conferido).
+     *
+     * @param cnpj CNPJ com ao menos os 12 caracteres da base
+     * @return base empacotada
+     * @throws IllegalArgumentException se a base for inválida
+     */
+    public static long packBase(CharSequence cnpj) {
+        String normalizado = CnpjFormatter.normalize(cnpj);
+        long base = normalizado.length() >= CnpjPacked.TAMANHO_BASE
+            ? CnpjPacked.packBase(normalizado, 0)
+            : CnpjPacked.INVALIDO;
+        if (base == CnpjPacked.INVALIDO) {
+            throw new IllegalArgumentException(String.format("CNPJ '%s' inválido para indexação", cnpj));
+        }
+        return base;
+    }
+}
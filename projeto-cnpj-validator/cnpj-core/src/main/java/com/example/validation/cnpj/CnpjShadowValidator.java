@@ -0,0 +1,331 @@
+package com.example.validation.cnpj;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Comparação em modo sombra entre o motor de validação ativo e um candidato.
+ *
+ * <p>Antes de trocar a implementação usada pelo {@code CNPJValidator}, o candidato roda em
+ * paralelo sobre uma amostra do tráfego real: a thread da requisição só sorteia a amostra e
+ * enfileira o CNPJ com o resultado que já calculou; uma thread à parte roda os dois motores,
+ * mede a latência de cada um e compara os resultados. A resposta nunca depende do candidato
+ * e, com a fila cheia, a amostra é descartada em vez de segurar a requisição.</p>
+ *
+ * <p>Cada divergência (resultado diferente ou exceção no candidato) vai para um registro
+ * circular com as últimas ocorrências e para o log ({@link System.Logger}); contadores e
+ * tempos acumulados alimentam as métricas. Sem divergências e com latência menor em um volume
+ * representativo, o candidato pode ser promovido.</p>
+ *
+ * <p>O {@code CNPJValidator} usa a instância registrada em {@link #definirPadrao}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjShadowValidator implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(CnpjShadowValidator.class.getName());
+
+    /** Entradas maiores que isso são truncadas no registro de divergências. */
+    static final int TAMANHO_MAXIMO_ENTRADA = 40;
+
+    private static volatile CnpjShadowValidator padrao;
+
+    /**
+     * Implementação de validação comparável.
+     */
+    @FunctionalInterface
+    public interface Motor {
+
+        /**
+         * @param cnpj CNPJ com ou sem formatação (pode ser null)
+         * @return true se o CNPJ é válido
+         */
+        boolean isValid(String cnpj);
+    }
+
+    /**
+     * Divergência entre os motores.
+     *
+     * @param instante momento da comparação
+     * @param cnpj entrada comparada (truncada em 40 caracteres)
+     * @param ativo resultado do motor ativo
+     * @param candidato resultado do candidato, ou null se ele lançou exceção
+     * @param erro exceção do candidato, ou null
+     * @param motivo diagnóstico da entrada pelo {@link CnpjFastValidator}
+     */
+    public record Divergencia(Instant instante, String cnpj, boolean ativo, Boolean candidato,
+                              String erro, CnpjMotivo motivo) {
+    }
+
+    private final Motor ativo;
+    private final Motor candidato;
+    private final double amostragem;
+    private final Executor executor;
+    private final ThreadPoolExecutor executorProprio;
+
+    private final LongAdder amostradas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder iguais = new LongAdder();
+    private final LongAdder divergentes = new LongAdder();
+    private final LongAdder nanosAtivo = new LongAdder();
+    private final LongAdder nanosCandidato = new LongAdder();
+
+    private final int divergenciasMaximas;
+    private final ArrayDeque<Divergencia> divergencias;
+
+    /**
+     * Cria a comparação com uma thread própria e fila limitada.
+     *
+     * @param ativo motor em uso
+     * @param candidato motor avaliado
+     * @param amostragem fração das validações comparadas (0 a 1)
+     * @param fila amostras aguardando comparação; além disso são descartadas
+     * @param divergenciasMaximas divergências mantidas no registro
+     * @throws IllegalArgumentException se a amostragem estiver fora de 0 a 1 ou a fila e o
+     *         registro não forem positivos
+     */
+    public CnpjShadowValidator(Motor ativo, Motor candidato, double amostragem, int fila, int divergenciasMaximas) {
+        this(ativo, candidato, amostragem, divergenciasMaximas, criarExecutor(fila), true);
+    }
+
+    /**
+     * Cria a comparação sobre um executor externo (que não é encerrado pelo {@link #close}).
+     *
+     * @param ativo motor em uso
+     * @param candidato motor avaliado
+     * @param amostragem fração das validações comparadas (0 a 1)
+     * @param divergenciasMaximas divergências mantidas no registro
+     * @param executor executor das comparações; rejeições contam como descartadas
+     * @throws IllegalArgumentException se a amostragem estiver fora de 0 a 1 ou o registro
+     *         não for positivo
+     */
+    public CnpjShadowValidator(Motor ativo, Motor candidato, double amostragem, int divergenciasMaximas,
+                               Executor executor) {
+        this(ativo, candidato, amostragem, divergenciasMaximas, executor, false);
+    }
+
+    private CnpjShadowValidator(Motor ativo, Motor candidato, double amostragem, int divergenciasMaximas,
+                                Executor executor, boolean proprio) {
+        if (!(amostragem >= 0 && amostragem <= 1)) {
+            throw new IllegalArgumentException("Amostragem deve estar entre 0 e 1");
+        }
+        if (divergenciasMaximas < 1) {
+            throw new IllegalArgumentException("Registro de divergências deve ter pelo menos uma posição");
+        }
+        this.ativo = ativo;
+        this.candidato = candidato;
+        this.amostragem = amostragem;
+        this.divergenciasMaximas = divergenciasMaximas;
+        this.divergencias = new ArrayDeque<>(divergenciasMaximas);
+        this.executor = executor;
+        this.executorProprio = proprio ? (ThreadPoolExecutor) executor : null;
+    }
+
+    /**
+     * Motor pelo nome usado na configuração.
+     *
+     * @param nome {@code validacao} ({@link CnpjValidacao}, o motor do {@code CNPJValidator})
+     *             ou {@code fast} ({@link CnpjFastValidator})
+     * @return motor
+     * @throws IllegalArgumentException se o nome não for conhecido
+     */
+    public static Motor motor(String nome) {
+        return switch (nome) {
+            case "validacao" -> CnpjValidacao::isValid;
+            case "fast" -> cnpj -> cnpj != null && CnpjFastValidator.isValid(cnpj, 0, cnpj.length());
+            default -> throw new IllegalArgumentException(String.format("Motor de validação '%s' desconhecido", nome));
+        };
+    }
+
+    /**
+     * Sorteia a validação para a amostra e, se sorteada, agenda a comparação. Chamado na
+     * thread da requisição, depois do motor ativo: não bloqueia nem lança exceção.
+     *
+     * @param cnpj entrada validada
+     * @param valido resultado do motor ativo
+     */
+    public void observar(String cnpj, boolean valido) {
+        if (amostragem < 1 && ThreadLocalRandom.current().nextDouble() >= amostragem) {
+            return;
+        }
+        amostradas.increment();
+        try {
+            executor.execute(() -> comparar(cnpj, valido));
+        } catch (RejectedExecutionException e) {
+            descartadas.increment();
+        }
+    }
+
+    private void comparar(String cnpj, boolean valido) {
+        long inicio = System.nanoTime();
+        try {
+            ativo.isValid(cnpj);
+        } catch (RuntimeException e) {
+            // só interessa o tempo: o resultado que vale é o da requisição
+        }
+        long meio = System.nanoTime();
+        Boolean resultado = null;
+        String erro = null;
+        try {
+            resultado = candidato.isValid(cnpj);
+        } catch (RuntimeException e) {
+            erro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        long fim = System.nanoTime();
+        nanosAtivo.add(meio - inicio);
+        nanosCandidato.add(fim - meio);
+
+        // compara com o resultado da requisição, não com a nova execução do ativo
+        if (resultado != null && resultado == valido) {
+            iguais.increment();
+            return;
+        }
+        divergentes.increment();
+
+        String entrada = cnpj == null || cnpj.length() <= TAMANHO_MAXIMO_ENTRADA
+            ? cnpj : cnpj.substring(0, TAMANHO_MAXIMO_ENTRADA);
+        CnpjMotivo motivo = cnpj == null ? CnpjMotivo.NULO : CnpjFastValidator.motivo(cnpj, 0, cnpj.length());
+        Divergencia divergencia = new Divergencia(Instant.now(), entrada, valido, resultado, erro, motivo);
+        long total;
+        synchronized (divergencias) {
+            if (divergencias.size() == divergenciasMaximas) {
+                divergencias.removeFirst();
+            }
+            divergencias.addLast(divergencia);
+            total = divergentes.sum();
+        }
+        // as primeiras vão todas para o log; depois, uma a cada volta do registro
+        if (total <= divergenciasMaximas || total % divergenciasMaximas == 0) {
+            LOG.log(System.Logger.Level.WARNING, "Divergência no modo sombra (nº {0}): cnpj=''{1}'' ativo={2} "
+                + "candidato={3} motivo={4}", total, entrada, valido, erro != null ? erro : resultado, motivo);
+        }
+    }
+
+    /**
+     * @return últimas divergências, da mais antiga para a mais recente
+     */
+    public List<Divergencia> getDivergencias() {
+        synchronized (divergencias) {
+            return new ArrayList<>(divergencias);
+        }
+    }
+
+    /**
+     * @return fração das validações comparadas
+     */
+    public double getAmostragem() {
+        return amostragem;
+    }
+
+    /**
+     * @return validações sorteadas para a amostra
+     */
+    public long getAmostradas() {
+        return amostradas.sum();
+    }
+
+    /**
+     * @return amostras descartadas com a fila cheia
+     */
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    /**
+     * @return comparações com o mesmo resultado
+     */
+    public long getIguais() {
+        return iguais.sum();
+    }
+
+    /**
+     * @return comparações com resultado diferente ou exceção no candidato
+     */
+    public long getDivergentes() {
+        return divergentes.sum();
+    }
+
+    /**
+     * @return comparações concluídas
+     */
+    public long getComparadas() {
+        return iguais.sum() + divergentes.sum();
+    }
+
+    /**
+     * @return tempo total do motor ativo nas comparações, em nanossegundos
+     */
+    public long getNanosAtivo() {
+        return nanosAtivo.sum();
+    }
+
+    /**
+     * @return tempo total do candidato nas comparações, em nanossegundos
+     */
+    public long getNanosCandidato() {
+        return nanosCandidato.sum();
+    }
+
+    /**
+     * Encerra a thread própria (descartando a fila) e deixa de ser a instância padrão.
+     */
+    @Override
+    public void close() {
+        if (padrao == this) {
+            padrao = null;
+        }
+        if (executorProprio != null) {
+            executorProprio.shutdownNow();
+        }
+    }
+
+    /**
+     * Registra a comparação usada pelo {@code CNPJValidator}.
+     *
+     * @param sombra comparação configurada, ou null para desligar
+     */
+    public static void definirPadrao(CnpjShadowValidator sombra) {
+        padrao = sombra;
+    }
+
+    /**
+     * @return comparação registrada em {@link #definirPadrao}, ou null
+     */
+    public static CnpjShadowValidator getPadrao() {
+        return padrao;
+    }
+
+    private static ThreadPoolExecutor criarExecutor(int fila) {
+        if (fila < 1) {
+            throw new IllegalArgumentException("Fila deve ter pelo menos uma posição");
+        }
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(fila), new FabricaSombra(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Thread daemon de baixa prioridade: a comparação nunca disputa CPU com as requisições. */
+    private static final class FabricaSombra implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarefa) {
+            Thread thread = new Thread(tarefa, "cnpj-sombra-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.validation.cnpj;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Sugestões de correção para um CNPJ com erro de digitação.
+ *
+ * <p>Dado um CNPJ de 14 caracteres rejeitado pela validação, lista os CNPJs válidos que
+ * diferem dele por <b>um caractere trocado</b> (substituição) ou por <b>dois caracteres
+ * vizinhos invertidos</b> (transposição).</p>
+ *
+ * <p>Os candidatos não são gerados por força bruta (36 caracteres × 14 posições revalidados
+ * um a um). Com {@code PESOS_DV} e somas módulo 11:</p>
+ * <ul>
+ *   <li>trocar o caractere de valor {@code v} por {@code x} na posição {@code i} da base soma
+ *       {@code (x - v) * peso} às somas dos dois DVs;</li>
+ *   <li>o 1º DV informado só é aceito por um resto (dois, se for 0) da soma do 1º DV;</li>
+ *   <li>como todo peso é primo com 11, cada resto aceito fixa {@code x mod 11}, o que deixa
+ *       no máximo 4 caracteres por resto, conferidos em seguida contra o 2º DV;</li>
+ *   <li>uma transposição de {@code i} e {@code i+1} soma
+ *       {@code (v[i+1] - v[i]) * (peso[i] - peso[i+1])}, conferida direto nos dois DVs.</li>
+ * </ul>
+ *
+ * <p>Se a entrada tiver um único caractere fora do alfabeto (ex.: {@code #} ou uma letra
+ * minúscula), só são sugeridas substituições nessa posição. As sugestões podem ser
+ * ordenadas pela presença em um registro conhecido (CNPJs cadastrados ou base da Receita).</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjSugestoes {
+
+    /** Tipo de erro de digitação corrigido pela sugestão. */
+    public enum Tipo {
+        SUBSTITUICAO,
+        TRANSPOSICAO
+    }
+
+    /**
+     * Um CNPJ válido sugerido.
+     *
+     * @param cnpj CNPJ sem formatação
+     * @param tipo erro de digitação corrigido
+     * @param posicao posição (1 a 14) do caractere alterado; na transposição, a do primeiro
+     * @param registrado true se o CNPJ consta no registro informado a {@link #sugerir}
+     */
+    public record Sugestao(String cnpj, Tipo tipo, int posicao, boolean registrado) {
+    }
+
+    private static final int TAMANHO_BASE = 12;
+    private static final int TAMANHO_CNPJ = 14;
+    private static final int POSICAO_DV1 = 12;
+    private static final int POSICAO_DV2 = 13;
+
+    /** Mesmos pesos do {@link CnpjValidacao}: o 1º DV usa {@code [1..12]}, o 2º usa {@code [0..12]}. */
+    private static final int[] PESOS_DV = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    /** Caracteres do alfabeto agrupados pelo resto do seu valor ({@code c - '0'}) por 11. */
+    private static final char[][] POR_RESTO = new char[11][];
+
+    /** Inverso multiplicativo módulo 11. */
+    private static final int[] INVERSO = new int[11];
+
+    static {
+        String alfabeto = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        StringBuilder[] grupos = new StringBuilder[11];
+        for (int r = 0; r < 11; r++) {
+            grupos[r] = new StringBuilder();
+        }
+        for (int i = 0; i < alfabeto.length(); i++) {
+            grupos[(alfabeto.charAt(i) - '0') % 11].append(alfabeto.charAt(i));
+        }
+        for (int r = 0; r < 11; r++) {
+            POR_RESTO[r] = grupos[r].toString().toCharArray();
+        }
+        for (int a = 1; a < 11; a++) {
+            for (int b = 1; b < 11; b++) {
+                if (a * b % 11 == 1) {
+                    INVERSO[a] = b;
+                }
+            }
+        }
+    }
+
+    private CnpjSugestoes() {
+    }
+
+    /**
+     * Sugere correções para um CNPJ inválido.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return sugestões, por posição; vazia se o CNPJ for válido, não tiver 14 caracteres
+     *         ou tiver mais de um caractere fora do alfabeto
+     */
+    public static List<Sugestao> sugerir(CharSequence cnpj) {
+        return sugerir(cnpj, base -> false);
+    }
+
+    /**
+     * Sugere correções para um CNPJ inválido, com as registradas primeiro.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @param registrado diz se uma base empacotada ({@link CnpjPacked#packBase}) consta no registro
+     * @return sugestões registradas primeiro e, dentro de cada grupo, por posição
+     */
+    public static List<Sugestao> sugerir(CharSequence cnpj, LongPredicate registrado) {
+        String normalizado = CnpjFormatter.normalize(cnpj);
+        if (normalizado.length() != TAMANHO_CNPJ) {
+            return List.of();
+        }
+
+        int[] valores = new int[TAMANHO_CNPJ];
+        int foraDoAlfabeto = -1;
+        for (int i = 0; i < TAMANHO_CNPJ; i++) {
+            char c = normalizado.charAt(i);
+            if (CnpjPacked.valor(c) == CnpjPacked.INVALIDO) {
+                if (foraDoAlfabeto >= 0) {
+                    return List.of();
+                }
+                // fica com valor 0 nas somas; só essa posição pode ser corrigida
+                foraDoAlfabeto = i;
+            } else {
+                valores[i] = c - '0';
+            }
+        }
+        if (foraDoAlfabeto < 0 && CnpjFastValidator.isValid(normalizado)) {
+            return List.of();
+        }
+
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < TAMANHO_BASE; i++) {
+            soma1 += valores[i] * PESOS_DV[i + 1];
+            soma2 += valores[i] * PESOS_DV[i];
+        }
+        int dv1 = foraDoAlfabeto == POSICAO_DV1 ? -1 : digitoInformado(valores[POSICAO_DV1]);
+        int dv2 = foraDoAlfabeto == POSICAO_DV2 ? -1 : digitoInformado(valores[POSICAO_DV2]);
+
+        List<Sugestao> sugestoes = new ArrayList<>();
+
+        // substituições na base: o resto aceito pelo 1º DV fixa o novo valor módulo 11
+        if (dv1 >= 0 && dv2 >= 0) {
+            for (int i = 0; i < TAMANHO_BASE; i++) {
+                if (foraDoAlfabeto >= 0 && i != foraDoAlfabeto) {
+                    continue;
+                }
+                int peso1 = PESOS_DV[i + 1];
+                for (int resto : restosAceitos(dv1)) {
+                    int deslocamento = Math.floorMod(resto - soma1, 11) * INVERSO[peso1] % 11;
+                    for (char c : POR_RESTO[(valores[i] + deslocamento) % 11]) {
+                        int diferenca = (c - '0') - valores[i];
+                        if (diferenca == 0 && i != foraDoAlfabeto) {
+                            continue;
+                        }
+                        if (confere(soma1 + diferenca * peso1, soma2 + diferenca * PESOS_DV[i], dv1, dv2)) {
+                            adicionar(sugestoes, trocar(normalizado, i, c), Tipo.SUBSTITUICAO, i, registrado);
+                        }
+                    }
+                }
+            }
+        }
+
+        // substituições nos DVs: o DV certo é o calculado
+        if (foraDoAlfabeto < 0 || foraDoAlfabeto == POSICAO_DV1) {
+            int calculado1 = digito(soma1);
+            if (calculado1 != dv1 && dv2 >= 0 && digito(soma2 + calculado1 * 2) == dv2) {
+                adicionar(sugestoes, trocar(normalizado, POSICAO_DV1, (char) ('0' + calculado1)),
+                    Tipo.SUBSTITUICAO, POSICAO_DV1, registrado);
+            }
+        }
+        if ((foraDoAlfabeto < 0 || foraDoAlfabeto == POSICAO_DV2) && dv1 >= 0 && digito(soma1) == dv1) {
+            int calculado2 = digito(soma2 + dv1 * 2);
+            if (calculado2 != dv2) {
+                adicionar(sugestoes, trocar(normalizado, POSICAO_DV2, (char) ('0' + calculado2)),
+                    Tipo.SUBSTITUICAO, POSICAO_DV2, registrado);
+            }
+        }
+
+        if (foraDoAlfabeto < 0) {
+            transposicoes(sugestoes, normalizado, valores, soma1, soma2, dv1, dv2, registrado);
+        }
+
+        sugestoes.sort(Comparator.comparing((Sugestao s) -> !s.registrado()));
+        return sugestoes;
+    }
+
+    private static void transposicoes(List<Sugestao> sugestoes, String normalizado, int[] valores,
+                                      int soma1, int soma2, int dv1, int dv2, LongPredicate registrado) {
+        for (int i = 0; i < TAMANHO_CNPJ - 1; i++) {
+            int diferenca = valores[i + 1] - valores[i];
+            if (diferenca == 0) {
+                continue;
+            }
+            boolean confere;
+            if (i < TAMANHO_BASE - 1) {
+                confere = confere(soma1 + diferenca * (PESOS_DV[i + 1] - PESOS_DV[i + 2]),
+                    soma2 + diferenca * (PESOS_DV[i] - PESOS_DV[i + 1]), dv1, dv2);
+            } else if (i == TAMANHO_BASE - 1) {
+                // último caractere da base troca de lugar com o 1º DV
+                confere = confere(soma1 + diferenca * PESOS_DV[i + 1], soma2 + diferenca * PESOS_DV[i],
+                    digitoInformado(valores[i]), dv2);
+            } else {
+                confere = confere(soma1, soma2, dv2, dv1);
+            }
+            if (confere) {
+                char[] invertido = normalizado.toCharArray();
+                invertido[i] = normalizado.charAt(i + 1);
+                invertido[i + 1] = normalizado.charAt(i);
+                adicionar(sugestoes, new String(invertido), Tipo.TRANSPOSICAO, i, registrado);
+            }
+        }
+    }
+
+    private static String trocar(String normalizado, int posicao, char c) {
+        char[] candidato = normalizado.toCharArray();
+        candidato[posicao] = c;
+        return new String(candidato);
+    }
+
+    private static void adicionar(List<Sugestao> sugestoes, String cnpj, Tipo tipo, int posicao,
+                                  LongPredicate registrado) {
+        // descarta a base zerada, que as somas não enxergam
+        if (CnpjFastValidator.isValid(cnpj)) {
+            sugestoes.add(new Sugestao(cnpj, tipo, posicao + 1, registrado.test(CnpjPacked.packBase(cnpj, 0))));
+        }
+    }
+
+    private static boolean confere(int soma1, int soma2, int dv1, int dv2) {
+        return dv1 >= 0 && dv2 >= 0 && digito(soma1) == dv1 && digito(soma2 + dv1 * 2) == dv2;
+    }
+
+    /**
+     * Restos da soma do 1º DV que produzem o dígito informado.
+     */
+    private static int[] restosAceitos(int dv) {
+        if (dv == 0) {
+            return new int[] { 0, 1 };
+        }
+        return dv == 1 ? new int[] { 10 } : new int[] { 11 - dv };
+    }
+
+    private static int digitoInformado(int valor) {
+        return valor >= 0 && valor <= 9 ? valor : -1;
+    }
+
+    private static int digito(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.validation.cnpj;
+
+import com.example.validation.cnpj.jfr.CnpjCalculoDVEvent;
+import com.example.validation.cnpj.jfr.CnpjNormalizacaoEvent;
+import com.example.validation.cnpj.jfr.CnpjValidacaoEvent;
+
+/**
+ * Regras de validação de CNPJ, sem dependências além do JDK.
+ * 
+ * <p>Implementa a lógica de validação de CNPJ alfanumérico conforme as regras
+ * da Receita Federal do Brasil para o novo formato de CNPJ. É o motor usado pelo
+ * {@code CNPJValidator} do módulo de Bean Validation e pode ser chamado direto por
+ * jobs, funções e ferramentas de linha de comando que só dependem do {@code cnpj-core}.</p>
+ * 
+ * <p>Regras de validação:</p>
+ * <ul>
+ *   <li>12 caracteres base: letras maiúsculas (A-Z) ou dígitos (0-9)</li>
+ *   <li>2 dígitos verificadores: apenas números (0-9)</li>
+ *   <li>Não aceita CNPJ com todos os caracteres zerados</li>
+ *   <li>Remove automaticamente caracteres de formatação (., /, -)</li>
+ *   <li>Valida os dígitos verificadores através de algoritmo específico</li>
+ * </ul>
+ * 
+ * <p>Cada etapa emite eventos do Java Flight Recorder (pacote {@code jfr}); com a
+ * gravação desligada o custo é desprezível.</p>
+ * 
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class CnpjValidacao {
+
+    private static final int TAMANHO_CNPJ_SEM_DV = 12;
+    private static final String REGEX_CARACTERES_FORMATACAO = "[./-]";
+    private static final String REGEX_FORMACAO_BASE_CNPJ = "[A-Z\\d]{12}";
+    private static final String REGEX_FORMACAO_DV = "[\\d]{2}";
+    private static final String REGEX_VALOR_ZERADO = "^[0]+$";
+    
+    private static final int VALOR_BASE = (int) '0';
+    private static final int[] PESOS_DV = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    private CnpjValidacao() {
+    }
+
+    /**
+     * Valida se o CNPJ informado é válido.
+     * 
+     * @param cnpj o CNPJ a ser validado, com ou sem formatação (null é inválido)
+     * @return true se o CNPJ é válido, false caso contrário
+     * @throws IllegalArgumentException para base zerada com DV numérico (ex.: {@code 00000000000012})
+     */
+    public static boolean isValid(String cnpj) {
+        if (cnpj == null) {
+            return false;
+        }
+
+        CnpjValidacaoEvent evento = new CnpjValidacaoEvent();
+        evento.begin();
+
+        boolean valido = validar(cnpj);
+
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.tamanhoEntrada = cnpj.length();
+            evento.valido = valido;
+            evento.motivo = motivo(cnpj).name();
+            evento.commit();
+        }
+        return valido;
+    }
+
+    /**
+     * Identifica o motivo pelo qual um CNPJ é válido ou inválido.
+     * 
+     * <p>Aplica as mesmas regras de {@link #isValid}, na mesma ordem, retornando
+     * a primeira regra violada.</p>
+     * 
+     * @param cnpj o CNPJ a ser diagnosticado, com ou sem formatação
+     * @return motivo do resultado ({@link CnpjMotivo#VALIDO} se o CNPJ é válido)
+     */
+    public static CnpjMotivo motivo(String cnpj) {
+        if (cnpj == null) {
+            return CnpjMotivo.NULO;
+        }
+
+        cnpj = removeCaracteresFormatacao(cnpj);
+
+        if (cnpj.length() != TAMANHO_CNPJ_SEM_DV + 2) {
+            return CnpjMotivo.TAMANHO_INVALIDO;
+        }
+        String base = cnpj.substring(0, TAMANHO_CNPJ_SEM_DV);
+        if (!base.matches(REGEX_FORMACAO_BASE_CNPJ)) {
+            return CnpjMotivo.CARACTERE_INVALIDO;
+        }
+        String dvInformado = cnpj.substring(TAMANHO_CNPJ_SEM_DV);
+        if (!dvInformado.matches(REGEX_FORMACAO_DV)) {
+            return CnpjMotivo.DV_NAO_NUMERICO;
+        }
+        if (base.matches(REGEX_VALOR_ZERADO)) {
+            // Base zerada não admite cálculo de DV, independentemente do DV informado
+            return CnpjMotivo.ZERADO;
+        }
+        return calculaDVSemEvento(base).equals(dvInformado) ? CnpjMotivo.VALIDO : CnpjMotivo.DV_INCORRETO;
+    }
+
+    /**
+     * Aplica as regras de validação a um CNPJ não nulo.
+     * 
+     * @param cnpj o CNPJ a ser validado
+     * @return true se o CNPJ é válido
+     */
+    private static boolean validar(String cnpj) {
+        // Remove espaços e caracteres de formatação
+        CnpjNormalizacaoEvent normalizacao = new CnpjNormalizacaoEvent();
+        normalizacao.begin();
+        String normalizado = removeCaracteresFormatacao(cnpj);
+        normalizacao.end();
+        if (normalizacao.shouldCommit()) {
+            normalizacao.tamanhoEntrada = cnpj.length();
+            normalizacao.tamanhoNormalizado = normalizado.length();
+            normalizacao.commit();
+        }
+
+        // Valida formato e estrutura
+        if (!isCnpjFormacaoValidaComDV(normalizado)) {
+            return false;
+        }
+
+        // Extrai e valida os dígitos verificadores
+        String dvInformado = normalizado.substring(TAMANHO_CNPJ_SEM_DV);
+        String dvCalculado = calculaDV(normalizado.substring(0, TAMANHO_CNPJ_SEM_DV));
+        
+        return dvCalculado.equals(dvInformado);
+    }
+
+    /**
+     * Calcula os dígitos verificadores (DV) de um CNPJ.
+     * 
+     * @param baseCnpj os 12 primeiros caracteres do CNPJ (sem DV)
+     * @return os 2 dígitos verificadores calculados
+     * @throws IllegalArgumentException se a base do CNPJ for inválida
+     */
+    public static String calculaDV(String baseCnpj) {
+        CnpjCalculoDVEvent evento = new CnpjCalculoDVEvent();
+        evento.begin();
+        try {
+            String dv = calculaDVSemEvento(baseCnpj);
+            evento.baseValida = true;
+            return dv;
+        } finally {
+            evento.commit();
+        }
+    }
+
+    /**
+     * Cálculo dos dígitos verificadores sem emissão de evento JFR.
+     * 
+     * @param baseCnpj os 12 primeiros caracteres do CNPJ (sem DV)
+     * @return os 2 dígitos verificadores calculados
+     * @throws IllegalArgumentException se a base do CNPJ for inválida
+     */
+    private static String calculaDVSemEvento(String baseCnpj) {
+        if (baseCnpj == null) {
+            throw new IllegalArgumentException("Base do CNPJ não pode ser nula");
+        }
+
+        baseCnpj = removeCaracteresFormatacao(baseCnpj);
+
+        if (!isCnpjFormacaoValidaSemDV(baseCnpj)) {
+            throw new IllegalArgumentException(
+                String.format("CNPJ '%s' não é válido para o cálculo do DV", baseCnpj)
+            );
+        }
+
+        String dv1 = String.format("%d", calculaDigito(baseCnpj));
+        String dv2 = String.format("%d", calculaDigito(baseCnpj.concat(dv1)));
+        
+        return dv1.concat(dv2);
+    }
+
+    /**
+     * Calcula um dígito verificador individual.
+     * 
+     * @param cnpj CNPJ parcial para cálculo do dígito
+     * @return dígito verificador calculado (0-9)
+     */
+    private static int calculaDigito(String cnpj) {
+        int soma = 0;
+        
+        for (int indice = cnpj.length() - 1; indice >= 0; indice--) {
+            int valorCaracter = (int) cnpj.charAt(indice) - VALOR_BASE;
+            soma += valorCaracter * PESOS_DV[PESOS_DV.length - cnpj.length() + indice];
+        }
+        
+        return soma % 11 < 2 ? 0 : 11 - (soma % 11);
+    }
+
+    /**
+     * Remove caracteres de formatação do CNPJ.
+     * 
+     * @param cnpj CNPJ com ou sem formatação
+     * @return CNPJ sem caracteres de formatação
+     */
+    private static String removeCaracteresFormatacao(String cnpj) {
+        return cnpj.trim().replaceAll(REGEX_CARACTERES_FORMATACAO, "");
+    }
+
+    /**
+     * Valida se o CNPJ tem formação válida sem os dígitos verificadores.
+     * 
+     * @param cnpj CNPJ sem DV (12 caracteres)
+     * @return true se a formação é válida
+     */
+    private static boolean isCnpjFormacaoValidaSemDV(String cnpj) {
+        return cnpj.matches(REGEX_FORMACAO_BASE_CNPJ) && !cnpj.matches(REGEX_VALOR_ZERADO);
+    }
+
+    /**
+     * Valida se o CNPJ tem formação válida com os dígitos verificadores.
+     * 
+     * @param cnpj CNPJ completo (14 caracteres)
+     * @return true se a formação é válida
+     */
+    private static boolean isCnpjFormacaoValidaComDV(String cnpj) {
+        return cnpj.matches(REGEX_FORMACAO_BASE_CNPJ.concat(REGEX_FORMACAO_DV)) 
+            && !cnpj.matches(REGEX_VALOR_ZERADO);
+    }
+}
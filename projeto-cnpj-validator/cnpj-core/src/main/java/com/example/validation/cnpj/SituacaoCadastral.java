@@ -0,0 +1,57 @@
+package com.example.validation.cnpj;
+
+/**
+ * Situação cadastral de um estabelecimento, com os códigos usados pela Receita Federal
+ * nos dados abertos do CNPJ.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public enum SituacaoCadastral {
+
+    NULA(1, "Nula"),
+    ATIVA(2, "Ativa"),
+    SUSPENSA(3, "Suspensa"),
+    INAPTA(4, "Inapta"),
+    BAIXADA(8, "Baixada");
+
+    private static final SituacaoCadastral[] POR_CODIGO = new SituacaoCadastral[9];
+
+    static {
+        for (SituacaoCadastral situacao : values()) {
+            POR_CODIGO[situacao.codigo] = situacao;
+        }
+    }
+
+    private final int codigo;
+    private final String descricao;
+
+    SituacaoCadastral(int codigo, String descricao) {
+        this.codigo = codigo;
+        this.descricao = descricao;
+    }
+
+    /**
+     * @return código da Receita (ex.: 2 para ativa)
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @return descrição legível da situação
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Converte o código da Receita na situação correspondente.
+     *
+     * @param codigo código numérico
+     * @return situação, ou null se o código não for conhecido
+     */
+    public static SituacaoCadastral deCodigo(int codigo) {
+        return codigo >= 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+}
@@ -0,0 +1,398 @@
+package com.example.validation.cnpj;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Consulta da situação cadastral sobre um arquivo binário ordenado, mapeado em memória.
+ *
+ * <p>O arquivo é gerado pelo {@code SituacaoCadastralLoader} a partir dos dados abertos da
+ * Receita e tem o formato:</p>
+ * <pre>
+ * cabeçalho (32 bytes)  "CNPJSIT1" | versão (i32) | bloco (i32) | quantidade (i64) | data de referência (i64, epoch day)
+ * registros (12 bytes)  base empacotada (i64, ver {@link CnpjPacked}) | info (i32), em ordem crescente de base
+ * cercas (8 bytes)      base do primeiro registro de cada bloco
+ * </pre>
+ *
+ * <p>O {@code info} guarda o código da situação nos 8 bits altos (de 0 a 127, então o info
+ * nunca é negativo) e, nos 24 baixos, os dias desde 01/01/1900 da data da situação mais um
+ * (0 quando a data não foi informada).</p>
+ *
+ * <p>Só as cercas (uma base a cada {@value #BLOCO_PADRAO} registros, cerca de 0,3% do
+ * arquivo) ficam no heap. A consulta faz a busca binária nas cercas e depois dentro de um
+ * único bloco de 3 KB do mapeamento, sem alocar: com as páginas em cache leva bem menos de
+ * um microssegundo, e dezenas de milhões de estabelecimentos ficam fora do heap, no cache
+ * de páginas do sistema operacional.</p>
+ *
+ * <p>O {@code CNPJValidator} usa a instância registrada em {@link #definirPadrao} para
+ * atender {@code @ValidCNPJ(situacao = ...)}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class SituacaoCadastralIndex implements Closeable {
+
+    /** Retorno de {@link #consultar} quando o CNPJ não está na base. */
+    public static final int NAO_ENCONTRADO = -1;
+
+    /** Registros por cerca. */
+    public static final int BLOCO_PADRAO = 256;
+
+    static final byte[] MAGICO = "CNPJSIT1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 32;
+    static final int TAMANHO_REGISTRO = Long.BYTES + Integer.BYTES;
+
+    private static final long EPOCA = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final int MASCARA_DATA = 0xFFFFFF;
+
+    /** Cada segmento precisa caber em um único mapeamento (até 2 GB). */
+    private static final int BITS_SEGMENTO = 27;
+    private static final long MASCARA_SEGMENTO = (1L << BITS_SEGMENTO) - 1;
+
+    private static volatile SituacaoCadastralIndex padrao;
+
+    private final MappedByteBuffer[] segmentos;
+    private final long[] cercas;
+    private final int bloco;
+    private final long quantidade;
+    private final LocalDate dataReferencia;
+
+    private SituacaoCadastralIndex(MappedByteBuffer[] segmentos, long[] cercas, int bloco,
+                                   long quantidade, LocalDate dataReferencia) {
+        this.segmentos = segmentos;
+        this.cercas = cercas;
+        this.bloco = bloco;
+        this.quantidade = quantidade;
+        this.dataReferencia = dataReferencia;
+    }
+
+    /**
+     * Mapeia um arquivo gerado pelo {@code SituacaoCadastralLoader}.
+     *
+     * @param arquivo arquivo binário de situação cadastral
+     * @return índice pronto para consulta
+     * @throws IOException em falha de leitura ou se o arquivo não estiver no formato esperado
+     */
+    public static SituacaoCadastralIndex abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            while (cabecalho.hasRemaining() && canal.read(cabecalho) >= 0) {
+                // lê até completar o cabeçalho
+            }
+            cabecalho.flip();
+            if (cabecalho.remaining() < TAMANHO_CABECALHO) {
+                throw new IOException(String.format("Arquivo '%s' não é uma base de situação cadastral", arquivo));
+            }
+            byte[] magico = new byte[MAGICO.length];
+            cabecalho.get(magico);
+            int versao = cabecalho.getInt();
+            int bloco = cabecalho.getInt();
+            long quantidade = cabecalho.getLong();
+            long diaReferencia = cabecalho.getLong();
+            if (!Arrays.equals(magico, MAGICO) || versao != VERSAO || bloco <= 0 || quantidade < 0) {
+                throw new IOException(String.format("Arquivo '%s' não é uma base de situação cadastral", arquivo));
+            }
+
+            long totalCercas = (quantidade + bloco - 1) / bloco;
+            long inicioCercas = TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO;
+            if (canal.size() != inicioCercas + totalCercas * Long.BYTES) {
+                throw new IOException(String.format("Arquivo '%s' truncado ou corrompido", arquivo));
+            }
+
+            long[] cercas = new long[Math.toIntExact(totalCercas)];
+            ByteBuffer leitura = ByteBuffer.allocate(64 * 1024);
+            canal.position(inicioCercas);
+            int lidas = 0;
+            while (lidas < cercas.length) {
+                leitura.clear();
+                leitura.limit((int) Math.min(leitura.capacity(), (long) (cercas.length - lidas) * Long.BYTES));
+                while (leitura.hasRemaining()) {
+                    if (canal.read(leitura) < 0) {
+                        throw new IOException(String.format("Arquivo '%s' truncado", arquivo));
+                    }
+                }
+                leitura.flip();
+                while (leitura.hasRemaining()) {
+                    cercas[lidas++] = leitura.getLong();
+                }
+            }
+
+            long porSegmento = 1L << BITS_SEGMENTO;
+            MappedByteBuffer[] segmentos = new MappedByteBuffer[(int) ((quantidade + porSegmento - 1) / porSegmento)];
+            for (int i = 0; i < segmentos.length; i++) {
+                long registros = Math.min(porSegmento, quantidade - i * porSegmento);
+                segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY,
+                    TAMANHO_CABECALHO + i * porSegmento * TAMANHO_REGISTRO, registros * TAMANHO_REGISTRO);
+            }
+            LocalDate referencia = diaReferencia == 0 ? null : LocalDate.ofEpochDay(diaReferencia);
+            return new SituacaoCadastralIndex(segmentos, cercas, bloco, quantidade, referencia);
+        }
+    }
+
+    /**
+     * Consulta a situação de uma base empacotada.
+     *
+     * @param base base empacotada ({@link CnpjPacked#packBase})
+     * @return info do registro (ver {@link #situacao(int)} e {@link #data(int)}),
+     *         ou {@link #NAO_ENCONTRADO}
+     */
+    public int consultar(long base) {
+        int cerca = Arrays.binarySearch(cercas, base);
+        if (cerca >= 0) {
+            return info((long) cerca * bloco);
+        }
+        cerca = -cerca - 2;
+        if (cerca < 0) {
+            return NAO_ENCONTRADO;
+        }
+        long baixo = (long) cerca * bloco + 1;
+        long alto = Math.min(baixo - 1 + bloco, quantidade) - 1;
+        while (baixo <= alto) {
+            long meio = (baixo + alto) >>> 1;
+            long chave = chave(meio);
+            if (chave < base) {
+                baixo = meio + 1;
+            } else if (chave > base) {
+                alto = meio - 1;
+            } else {
+                return info(meio);
+            }
+        }
+        return NAO_ENCONTRADO;
+    }
+
+    /**
+     * Consulta a situação de um CNPJ com ou sem formatação, sem alocar.
+     *
+     * @param cnpj CNPJ completo
+     * @return info do registro, ou {@link #NAO_ENCONTRADO} se o CNPJ for inválido ou
+     *         não estiver na base
+     */
+    public int consultar(CharSequence cnpj) {
+        long base = cnpj == null ? CnpjPacked.INVALIDO : CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+        return base == CnpjPacked.INVALIDO ? NAO_ENCONTRADO : consultar(base);
+    }
+
+    /**
+     * Base empacotada do registro na posição informada (os registros estão em ordem crescente
+     * de base).
+     *
+     * @param posicao posição entre 0 e {@link #quantidade()} - 1
+     * @return base empacotada
+     */
+    public long base(long posicao) {
+        Objects.checkIndex(posicao, quantidade);
+        return chave(posicao);
+    }
+
+    private long chave(long registro) {
+        return segmentos[(int) (registro >>> BITS_SEGMENTO)]
+            .getLong((int) (registro & MASCARA_SEGMENTO) * TAMANHO_REGISTRO);
+    }
+
+    private int info(long registro) {
+        return segmentos[(int) (registro >>> BITS_SEGMENTO)]
+            .getInt((int) (registro & MASCARA_SEGMENTO) * TAMANHO_REGISTRO + Long.BYTES);
+    }
+
+    /**
+     * @return quantidade de estabelecimentos na base
+     */
+    public long quantidade() {
+        return quantidade;
+    }
+
+    /**
+     * @return data de referência dos dados abertos usados na carga, ou null se não informada
+     */
+    public LocalDate getDataReferencia() {
+        return dataReferencia;
+    }
+
+    /**
+     * Deixa de ser o índice padrão, se for o caso. Os mapeamentos continuam válidos até o GC
+     * coletar o índice: uma validação que já obteve o índice por {@link #getPadrao()} pode
+     * terminar a consulta depois do {@code close} sem encontrar o mapeamento liberado.
+     */
+    @Override
+    public void close() {
+        synchronized (SituacaoCadastralIndex.class) {
+            if (padrao == this) {
+                padrao = null;
+            }
+        }
+    }
+
+    /**
+     * Monta o info de um registro.
+     *
+     * @param codigo código da situação (0 a 127, para o info nunca ser negativo)
+     * @param data data da situação, ou null
+     * @return info no formato gravado no arquivo
+     * @throws IllegalArgumentException se o código ou a data estiverem fora da faixa
+     */
+    public static int info(int codigo, LocalDate data) {
+        if (codigo < 0 || codigo > 0x7F) {
+            throw new IllegalArgumentException(String.format("Código de situação '%d' fora da faixa", codigo));
+        }
+        long dias = data == null ? 0 : data.toEpochDay() - EPOCA + 1;
+        if (data != null && (dias < 1 || dias > MASCARA_DATA)) {
+            throw new IllegalArgumentException(String.format("Data de situação '%s' fora da faixa", data));
+        }
+        return codigo << 24 | (int) dias;
+    }
+
+    /**
+     * @param info info retornado por {@link #consultar}
+     * @return código da situação
+     */
+    public static int codigo(int info) {
+        return info >>> 24;
+    }
+
+    /**
+     * @param info info retornado por {@link #consultar}
+     * @return situação, ou null se o código não for conhecido
+     */
+    public static SituacaoCadastral situacao(int info) {
+        return SituacaoCadastral.deCodigo(codigo(info));
+    }
+
+    /**
+     * @param info info retornado por {@link #consultar}
+     * @return data da situação, ou null se não informada
+     */
+    public static LocalDate data(int info) {
+        int dias = info & MASCARA_DATA;
+        return dias == 0 ? null : LocalDate.ofEpochDay(EPOCA + dias - 1);
+    }
+
+    /**
+     * Registra o índice usado pelo {@code CNPJValidator} nas validações com situação.
+     *
+     * @param indice índice carregado, ou null para remover
+     */
+    public static synchronized void definirPadrao(SituacaoCadastralIndex indice) {
+        padrao = indice;
+    }
+
+    /**
+     * @return índice registrado em {@link #definirPadrao}, ou null
+     */
+    public static SituacaoCadastralIndex getPadrao() {
+        return padrao;
+    }
+
+    /**
+     * Grava um arquivo no formato lido por {@link #abrir}. As bases devem chegar em ordem
+     * estritamente crescente.
+     */
+    public static final class Escritor implements Closeable {
+
+        private final FileChannel canal;
+        private final ByteBuffer bloco = ByteBuffer.allocateDirect(64 * 1024);
+        private final int registrosPorCerca;
+        private final LocalDate dataReferencia;
+        private long[] cercas = new long[1024];
+        private long quantidade;
+        private long ultima = Long.MIN_VALUE;
+
+        /**
+         * Cria (ou sobrescreve) o arquivo.
+         *
+         * @param arquivo arquivo de destino
+         * @param dataReferencia data dos dados abertos, ou null
+         * @throws IOException em falha de escrita
+         */
+        public Escritor(Path arquivo, LocalDate dataReferencia) throws IOException {
+            this(arquivo, dataReferencia, BLOCO_PADRAO);
+        }
+
+        Escritor(Path arquivo, LocalDate dataReferencia, int registrosPorCerca) throws IOException {
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            this.registrosPorCerca = registrosPorCerca;
+            this.dataReferencia = dataReferencia;
+            // o cabeçalho definitivo é gravado no close, quando a quantidade é conhecida
+            canal.position(TAMANHO_CABECALHO);
+        }
+
+        /**
+         * Acrescenta um registro.
+         *
+         * @param base base empacotada
+         * @param info info (ver {@link SituacaoCadastralIndex#info(int, LocalDate)})
+         * @throws IOException em falha de escrita
+         * @throws IllegalArgumentException se a base não for maior que a anterior
+         */
+        public void adicionar(long base, int info) throws IOException {
+            if (base <= ultima) {
+                throw new IllegalArgumentException("Registros devem estar em ordem crescente de base, sem repetição");
+            }
+            if (quantidade % registrosPorCerca == 0) {
+                int indice = (int) (quantidade / registrosPorCerca);
+                if (indice == cercas.length) {
+                    cercas = Arrays.copyOf(cercas, cercas.length * 2);
+                }
+                cercas[indice] = base;
+            }
+            if (bloco.remaining() < TAMANHO_REGISTRO) {
+                escreverTudo();
+            }
+            bloco.putLong(base).putInt(info);
+            ultima = base;
+            quantidade++;
+        }
+
+        /**
+         * @return registros gravados até agora
+         */
+        public long quantidade() {
+            return quantidade;
+        }
+
+        /**
+         * Grava as cercas e o cabeçalho e fecha o arquivo.
+         *
+         * @throws IOException em falha de escrita
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                int totalCercas = (int) ((quantidade + registrosPorCerca - 1) / registrosPorCerca);
+                for (int i = 0; i < totalCercas; i++) {
+                    if (bloco.remaining() < Long.BYTES) {
+                        escreverTudo();
+                    }
+                    bloco.putLong(cercas[i]);
+                }
+                escreverTudo();
+
+                bloco.put(MAGICO).putInt(VERSAO).putInt(registrosPorCerca).putLong(quantidade)
+                    .putLong(dataReferencia == null ? 0 : dataReferencia.toEpochDay());
+                canal.position(0);
+                escreverTudo();
+            } finally {
+                canal.close();
+            }
+        }
+
+        private void escreverTudo() throws IOException {
+            bloco.flip();
+            while (bloco.hasRemaining()) {
+                canal.write(bloco);
+            }
+            bloco.clear();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.validation.cnpj.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR do cálculo dos dígitos verificadores de um CNPJ.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Name(CnpjCalculoDVEvent.NOME)
+@Label("Cálculo de DV do CNPJ")
+@Category({"CNPJ", "Validação"})
+@Description("Cálculo dos dois dígitos verificadores a partir da base de 12 caracteres")
+@StackTrace(false)
+public class CnpjCalculoDVEvent extends Event {
+
+    public static final String NOME = "com.example.cnpj.CalculoDV";
+
+    @Label("Base Válida")
+    @Description("false quando a base é rejeitada antes do cálculo")
+    public boolean baseValida;
+}
@@ -0,0 +1,30 @@
+package com.example.validation.cnpj.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da remoção de espaços e caracteres de formatação de um CNPJ.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Name(CnpjNormalizacaoEvent.NOME)
+@Label("Normalização de CNPJ")
+@Category({"CNPJ", "Validação"})
+@Description("Remoção de espaços e caracteres de formatação (., /, -)")
+@StackTrace(false)
+public class CnpjNormalizacaoEvent extends Event {
+
+    public static final String NOME = "com.example.cnpj.Normalizacao";
+
+    @Label("Tamanho da Entrada")
+    public int tamanhoEntrada;
+
+    @Label("Tamanho Normalizado")
+    public int tamanhoNormalizado;
+}
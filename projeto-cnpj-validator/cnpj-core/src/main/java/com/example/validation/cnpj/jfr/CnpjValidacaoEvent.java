@@ -0,0 +1,34 @@
+package com.example.validation.cnpj.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma validação completa de CNPJ ({@code CnpjValidacao.isValid}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Name(CnpjValidacaoEvent.NOME)
+@Label("Validação de CNPJ")
+@Category({"CNPJ", "Validação"})
+@Description("Validação completa de um CNPJ: normalização, formato e dígitos verificadores")
+@StackTrace(false)
+public class CnpjValidacaoEvent extends Event {
+
+    public static final String NOME = "com.example.cnpj.Validacao";
+
+    @Label("Tamanho da Entrada")
+    public int tamanhoEntrada;
+
+    @Label("Válido")
+    public boolean valido;
+
+    @Label("Motivo")
+    @Description("Nome do CnpjMotivo do resultado")
+    public String motivo;
+}
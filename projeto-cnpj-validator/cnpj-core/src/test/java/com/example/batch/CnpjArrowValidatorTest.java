@@ -0,0 +1,294 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjMotivo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da validação colunar no layout Arrow ({@link CnpjArrowValidator} e {@link ArrowIpc}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjArrowValidator - Validação Colunar Arrow")
+class CnpjArrowValidatorTest {
+
+    private static final String[] CNPJS = {"12.ABC.345/01DE-35", null, "12ABC34501DE00", "", "90021382000122",
+        "00000000000000", "abc", " 12ABC34501DE35 ", "90021382000122"};
+
+    private static final CnpjMotivo[] MOTIVOS = {CnpjMotivo.VALIDO, CnpjMotivo.NULO, CnpjMotivo.DV_INCORRETO,
+        CnpjMotivo.TAMANHO_INVALIDO, CnpjMotivo.VALIDO, CnpjMotivo.ZERADO, CnpjMotivo.TAMANHO_INVALIDO,
+        CnpjMotivo.VALIDO, CnpjMotivo.VALIDO};
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve validar colunas de tamanho variável e fixo direto nos buffers")
+    void deveValidarBuffers() {
+        // dados com prefixo de 5 bytes: o primeiro offset não é zero
+        ByteBuffer[] coluna = varChar(CNPJS, 5);
+        ByteBuffer resultado = ByteBuffer.allocate(2);
+        ByteBuffer motivos = ByteBuffer.allocate(CNPJS.length);
+
+        assertEquals(4, CnpjArrowValidator.validarVarChar(coluna[0], coluna[1], coluna[2], CNPJS.length,
+            resultado, motivos));
+        assertArrayEquals(codigos(MOTIVOS), motivos.array());
+        // linhas 0, 4 e 7 no primeiro byte, linha 8 no segundo
+        assertArrayEquals(new byte[] {(byte) 0b1001_0001, 0b1}, resultado.array());
+
+        byte[] fixos = new byte[4 * 18];
+        byte[] valores = ("12ABC34501DE35\0\0\0\0" + "12.ABC.345/01DE-35" + "12ABC34501DE00    ")
+            .getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(valores, 0, fixos, 0, valores.length);
+        ByteBuffer validade = ByteBuffer.wrap(new byte[] {0b0111});
+        assertEquals(2, CnpjArrowValidator.validarFixedSizeBinary(validade, ByteBuffer.wrap(fixos), 18, 4,
+            resultado, motivos));
+        assertEquals(0b0011, resultado.get(0));
+        assertArrayEquals(codigos(CnpjMotivo.VALIDO, CnpjMotivo.VALIDO, CnpjMotivo.DV_INCORRETO, CnpjMotivo.NULO),
+            Arrays.copyOf(motivos.array(), 4));
+    }
+
+    @Test
+    @DisplayName("Deve validar arquivo e stream IPC mantendo a coluna e anexando válido e motivo")
+    void deveValidarArquivoEStream() throws IOException {
+        Path arquivo = diretorio.resolve("parceiros.arrow");
+        try (OutputStream out = Files.newOutputStream(arquivo)) {
+            gravarEntrada(out, true);
+        }
+
+        Path stream = diretorio.resolve("resultado.arrows");
+        CnpjArrowValidator.Resultado resultado = CnpjArrowValidator.validar(arquivo, CnpjArrowValidator.Modo.ARQUIVO,
+            null, stream, CnpjArrowValidator.Modo.STREAM);
+        assertEquals(new CnpjArrowValidator.Resultado(12, 5, 6, 1, 2, "cnpj_parceiro"), resultado);
+        byte[] bytes = Files.readAllBytes(stream);
+        assertArrayEquals(new byte[] {-1, -1, -1, -1, 0, 0, 0, 0}, Arrays.copyOfRange(bytes, bytes.length - 8, bytes.length));
+        try (ArrowIpc.Leitor leitor = ArrowIpc.lerStream(new ByteArrayInputStream(bytes))) {
+            conferirSaida(leitor);
+        }
+
+        // stream na entrada, arquivo na saída
+        ByteArrayOutputStream entrada = new ByteArrayOutputStream();
+        gravarEntrada(entrada, false);
+        Path saida = diretorio.resolve("resultado.arrow");
+        try (OutputStream out = Files.newOutputStream(saida)) {
+            assertEquals(resultado, CnpjArrowValidator.validar(new ByteArrayInputStream(entrada.toByteArray()),
+                "cnpj_parceiro", out, CnpjArrowValidator.Modo.ARQUIVO));
+        }
+        bytes = Files.readAllBytes(saida);
+        assertEquals("ARROW1", new String(bytes, 0, 6, StandardCharsets.US_ASCII));
+        assertEquals("ARROW1", new String(bytes, bytes.length - 6, 6, StandardCharsets.US_ASCII));
+        try (ArrowIpc.Leitor leitor = ArrowIpc.lerArquivo(saida)) {
+            conferirSaida(leitor);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar coluna ausente ou de outro tipo e arquivo que não é Arrow")
+    void deveRejeitarEntradaInvalida() throws IOException {
+        Path arquivo = diretorio.resolve("parceiros.arrow");
+        try (OutputStream out = Files.newOutputStream(arquivo)) {
+            gravarEntrada(out, true);
+        }
+        Path saida = diretorio.resolve("saida.arrow");
+
+        assertThrows(IllegalArgumentException.class, () -> CnpjArrowValidator.validar(arquivo,
+            CnpjArrowValidator.Modo.ARQUIVO, "id", saida, CnpjArrowValidator.Modo.ARQUIVO));
+        assertThrows(IllegalArgumentException.class, () -> CnpjArrowValidator.validar(arquivo,
+            CnpjArrowValidator.Modo.ARQUIVO, "cnpj", saida, CnpjArrowValidator.Modo.ARQUIVO));
+
+        Path texto = diretorio.resolve("parceiros.csv");
+        Files.writeString(texto, "cnpj\n12ABC34501DE35\n12ABC34501DE35\n");
+        assertThrows(IOException.class, () -> CnpjArrowValidator.validar(texto,
+            CnpjArrowValidator.Modo.ARQUIVO, null, saida, CnpjArrowValidator.Modo.ARQUIVO));
+    }
+
+    @Test
+    @DisplayName("Deve validar arquivo e stream de referência gerados fora do ArrowIpc")
+    void deveValidarArquivosDeReferencia() throws Exception {
+        // id (Int32), cnpj (Utf8 com nulos) e cnpj_fixo (FixedSizeBinary(14) com nulos), em
+        // lotes de 5 e 3 linhas; ver src/test/resources/arrow/gerar_fixtures.py
+        Path saida = diretorio.resolve("fixo.arrows");
+        assertEquals(new CnpjArrowValidator.Resultado(8, 4, 3, 1, 2, "cnpj_fixo"), CnpjArrowValidator.validar(
+            recurso("parceiros.arrow"), CnpjArrowValidator.Modo.ARQUIVO, "cnpj_fixo", saida, CnpjArrowValidator.Modo.STREAM));
+        try (ArrowIpc.Leitor leitor = ArrowIpc.lerStream(new ByteArrayInputStream(Files.readAllBytes(saida)))) {
+            assertEquals(ArrowIpc.TIPO_FIXED_SIZE_BINARY, leitor.schema().get(0).tipo());
+            assertEquals(14, leitor.schema().get(0).largura());
+            ArrowIpc.Lote lote = leitor.proximo();
+            assertEquals(1, lote.nulosNo(0));
+            assertEquals(ByteBuffer.wrap("90021382000122".getBytes(StandardCharsets.US_ASCII)), lote.buffer(1).slice(42, 14));
+            assertEquals(ByteBuffer.wrap(codigos(CnpjMotivo.VALIDO, CnpjMotivo.NULO, CnpjMotivo.DV_INCORRETO,
+                CnpjMotivo.VALIDO, CnpjMotivo.VALIDO)), lote.buffer(5));
+            assertEquals(0b11001, lote.buffer(3).get(0));
+            lote = leitor.proximo();
+            assertEquals(ByteBuffer.wrap(codigos(CnpjMotivo.VALIDO, CnpjMotivo.ZERADO, CnpjMotivo.DV_INCORRETO)),
+                lote.buffer(5));
+            assertNull(leitor.proximo());
+        }
+
+        // coluna detectada pelo nome: a primeira de texto com "cnpj"
+        ByteArrayOutputStream resultado = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(recurso("parceiros.arrows"))) {
+            assertEquals(new CnpjArrowValidator.Resultado(8, 3, 3, 2, 2, "cnpj"),
+                CnpjArrowValidator.validar(in, null, resultado, CnpjArrowValidator.Modo.ARQUIVO));
+        }
+        Path arquivo = Files.write(diretorio.resolve("texto.arrow"), resultado.toByteArray());
+        try (ArrowIpc.Leitor leitor = ArrowIpc.lerArquivo(arquivo)) {
+            ArrowIpc.Lote lote = leitor.proximo();
+            assertEquals(2, lote.nulosNo(0));
+            assertEquals(ByteBuffer.wrap(codigos(CnpjMotivo.VALIDO, CnpjMotivo.NULO, CnpjMotivo.DV_INCORRETO,
+                CnpjMotivo.VALIDO, CnpjMotivo.NULO)), lote.buffer(6));
+            lote = leitor.proximo();
+            assertEquals(0, lote.nulosNo(0));
+            assertEquals(ByteBuffer.wrap(codigos(CnpjMotivo.VALIDO, CnpjMotivo.TAMANHO_INVALIDO, CnpjMotivo.ZERADO)),
+                lote.buffer(6));
+        }
+    }
+
+    @Test
+    @DisplayName("Metadados corrompidos devem resultar em IOException, nunca em exceção não verificada")
+    void deveRecusarMetadadosCorrompidos() throws Exception {
+        byte[] stream = Files.readAllBytes(recurso("parceiros.arrows"));
+        byte[] arquivo = Files.readAllBytes(recurso("parceiros.arrow"));
+        Path corrompido = diretorio.resolve("corrompido.arrow");
+        Path saida = diretorio.resolve("saida.arrow");
+        for (byte valor : new byte[] {(byte) 0xFF, 0x7F, 0x00}) {
+            for (int i = 0; i < stream.length; i++) {
+                byte[] bytes = stream.clone();
+                bytes[i] = valor;
+                assertFalhaVerificada(() -> CnpjArrowValidator.validar(new ByteArrayInputStream(bytes), null,
+                    OutputStream.nullOutputStream(), CnpjArrowValidator.Modo.STREAM), "stream, byte " + i);
+            }
+            for (int i = 0; i < arquivo.length; i++) {
+                byte[] bytes = arquivo.clone();
+                bytes[i] = valor;
+                Files.write(corrompido, bytes);
+                assertFalhaVerificada(() -> CnpjArrowValidator.validar(corrompido, CnpjArrowValidator.Modo.ARQUIVO,
+                    "cnpj_fixo", saida, CnpjArrowValidator.Modo.ARQUIVO), "arquivo, byte " + i);
+            }
+        }
+    }
+
+    /** Aceita sucesso, IOException ou a IllegalArgumentException documentada de coluna ausente. */
+    private static void assertFalhaVerificada(Executavel execucao, String contexto) {
+        try {
+            execucao.executar();
+        } catch (IOException | IllegalArgumentException e) {
+            // esperado para entrada corrompida
+        } catch (RuntimeException e) {
+            fail("Exceção não verificada com " + contexto, e);
+        }
+    }
+
+    private interface Executavel {
+        void executar() throws IOException;
+    }
+
+    private static Path recurso(String nome) throws Exception {
+        return Path.of(CnpjArrowValidatorTest.class.getResource("/arrow/" + nome).toURI());
+    }
+
+    /** Dois lotes com id (Int32), razão social e CNPJ (Utf8); a coluna de CNPJ é a terceira. */
+    private static void gravarEntrada(OutputStream out, boolean arquivo) throws IOException {
+        List<ArrowIpc.Campo> campos = List.of(
+            ArrowIpc.Campo.simples("id", false, ArrowIpc.TIPO_INT, 32),
+            ArrowIpc.Campo.simples("razao_social", true, ArrowIpc.TIPO_UTF8, 0),
+            ArrowIpc.Campo.simples("cnpj_parceiro", true, ArrowIpc.TIPO_UTF8, 0));
+        try (ArrowIpc.Escritor escritor = new ArrowIpc.Escritor(out, arquivo, campos)) {
+            String[][] lotes = {Arrays.copyOf(CNPJS, 9), {"R55231B3000757", "R55231B3000700", "ABC"}};
+            int id = 0;
+            for (String[] cnpjs : lotes) {
+                ByteBuffer ids = ByteBuffer.allocate(4 * cnpjs.length).order(ByteOrder.LITTLE_ENDIAN);
+                String[] razoes = new String[cnpjs.length];
+                int nulos = 0;
+                for (int i = 0; i < cnpjs.length; i++) {
+                    ids.putInt(4 * i, ++id);
+                    razoes[i] = "Empresa " + id;
+                    nulos += cnpjs[i] == null ? 1 : 0;
+                }
+                ByteBuffer[] razao = varChar(razoes, 0);
+                ByteBuffer[] cnpj = varChar(cnpjs, 0);
+                escritor.escrever(cnpjs.length, new long[] {cnpjs.length, 0, cnpjs.length, 0, cnpjs.length, nulos},
+                    ByteBuffer.allocate(0), ids, ByteBuffer.allocate(0), razao[1], razao[2], cnpj[0], cnpj[1], cnpj[2]);
+            }
+        }
+    }
+
+    private static void conferirSaida(ArrowIpc.Leitor leitor) throws IOException {
+        List<ArrowIpc.Campo> campos = leitor.schema();
+        assertEquals(List.of("cnpj_parceiro", "valido", "motivo"), campos.stream().map(ArrowIpc.Campo::nome).toList());
+        assertEquals(List.of(ArrowIpc.TIPO_UTF8, ArrowIpc.TIPO_BOOL, ArrowIpc.TIPO_INT),
+            campos.stream().map(ArrowIpc.Campo::tipo).toList());
+        assertEquals(8, campos.get(2).largura());
+
+        ArrowIpc.Lote primeiro = leitor.proximo();
+        assertEquals(9, primeiro.linhas());
+        assertEquals(1, primeiro.nulosNo(0));
+        assertEquals(ByteBuffer.wrap(CNPJS[7].getBytes(StandardCharsets.US_ASCII)), valor(primeiro, 7));
+        assertEquals((byte) 0b1001_0001, primeiro.buffer(4).get(0));
+        assertEquals(ByteBuffer.wrap(codigos(MOTIVOS)), primeiro.buffer(6));
+
+        ArrowIpc.Lote segundo = leitor.proximo();
+        assertEquals(3, segundo.linhas());
+        assertEquals(0b001, segundo.buffer(4).get(0));
+        assertEquals(ByteBuffer.wrap(codigos(CnpjMotivo.VALIDO, CnpjMotivo.DV_INCORRETO, CnpjMotivo.TAMANHO_INVALIDO)),
+            segundo.buffer(6));
+        assertNull(leitor.proximo());
+    }
+
+    private static ByteBuffer valor(ArrowIpc.Lote lote, int linha) throws IOException {
+        ByteBuffer offsets = lote.buffer(1);
+        int inicio = offsets.getInt(4 * linha);
+        return lote.buffer(2).slice(inicio, offsets.getInt(4 * (linha + 1)) - inicio);
+    }
+
+    /** Validade, offsets e dados de uma coluna Utf8, com {@code prefixo} bytes antes do primeiro valor. */
+    private static ByteBuffer[] varChar(String[] valores, int prefixo) {
+        ByteBuffer validade = ByteBuffer.allocate((valores.length + 7) / 8);
+        ByteBuffer offsets = ByteBuffer.allocate(4 * (valores.length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        List<Byte> dados = new ArrayList<>();
+        for (int i = 0; i < prefixo; i++) {
+            dados.add((byte) 'x');
+        }
+        offsets.putInt(0, prefixo);
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null) {
+                validade.put(i / 8, (byte) (validade.get(i / 8) | 1 << (i % 8)));
+                for (byte b : valores[i].getBytes(StandardCharsets.UTF_8)) {
+                    dados.add(b);
+                }
+            }
+            offsets.putInt(4 * (i + 1), dados.size());
+        }
+        byte[] bytes = new byte[dados.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = dados.get(i);
+        }
+        return new ByteBuffer[] {validade, offsets, ByteBuffer.wrap(bytes)};
+    }
+
+    private static byte[] codigos(CnpjMotivo... motivos) {
+        byte[] codigos = new byte[motivos.length];
+        for (int i = 0; i < motivos.length; i++) {
+            codigos[i] = (byte) motivos[i].ordinal();
+        }
+        return codigos;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.CnpjPacked;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das estatísticas de fluxos de CNPJ ({@link CnpjEstatisticas} e {@link HyperLogLog}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjEstatisticas - Cardinalidade e Qualidade")
+class CnpjEstatisticasTest {
+
+    @Test
+    @DisplayName("Deve estimar distintos com erro próximo do teórico em qualquer cardinalidade")
+    void deveEstimarDistintos() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        HyperLogLog hll = new HyperLogLog(CnpjEstatisticas.PRECISAO_PADRAO);
+        long[] marcos = {10, 1_000, 50_000, 1_000_000};
+        long inseridos = 0;
+        for (long marco : marcos) {
+            for (; inseridos < marco; inseridos++) {
+                long valor = aleatorio.nextLong();
+                hll.adicionar(valor);
+                hll.adicionar(valor);       // repetições não contam
+            }
+            // erro padrão de ~0,8%: 3% é mais de 3 desvios
+            assertEquals(marco, hll.estimar(), Math.max(1, marco * 0.03), "cardinalidade " + marco);
+        }
+
+        HyperLogLog outro = new HyperLogLog(CnpjEstatisticas.PRECISAO_PADRAO);
+        for (int i = 0; i < 500_000; i++) {
+            outro.adicionar(aleatorio.nextLong());
+        }
+        hll.mesclar(outro);
+        assertEquals(1_500_000, hll.estimar(), 1_500_000 * 0.03);
+
+        assertThrows(IllegalArgumentException.class, () -> hll.mesclar(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+
+    @Test
+    @DisplayName("Deve contar CNPJs, raízes e a proporção de alfanuméricos")
+    void deveContarCnpjsERaizes() {
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+        // 2.000 raízes (metade numérica) x 10 filiais, cada CNPJ duas vezes
+        for (int repeticao = 0; repeticao < 2; repeticao++) {
+            for (int raiz = 0; raiz < 2_000; raiz++) {
+                long raizEmpacotada = raiz % 2 == 0 ? numerica(raiz + 1) : 36L * 36 * 36 * 36 * 10 + raiz;
+                for (int filial = 1; filial <= 10; filial++) {
+                    String cnpj = cnpj(CnpjPacked.base(raizEmpacotada, CnpjPacked.ordemNumerica(filial)));
+                    assertEquals(CnpjMotivo.VALIDO, estatisticas.registrar(cnpj));
+                }
+            }
+        }
+
+        CnpjEstatisticas.Resumo resumo = estatisticas.resumo();
+        assertEquals(40_000, resumo.total());
+        assertEquals(40_000, resumo.validos());
+        assertEquals(20_000, resumo.cnpjsDistintos(), 20_000 * 0.03);
+        assertEquals(2_000, resumo.raizesDistintas(), 2_000 * 0.03);
+        assertEquals(20_000, resumo.alfanumericos());
+        assertEquals(20_000, resumo.numericos());
+        assertEquals(50.0, resumo.percentualAlfanumerico());
+        assertEquals(0, resumo.invalidos());
+    }
+
+    @Test
+    @DisplayName("Deve detalhar rejeições e manter os inválidos mais repetidos")
+    void deveDetalharRejeicoes() {
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas(CnpjEstatisticas.PRECISAO_PADRAO, 2);
+        for (int i = 0; i < 50; i++) {
+            estatisticas.registrar("00.000.000/0000-00");
+        }
+        for (int i = 0; i < 30; i++) {
+            byte[] linha = "  12ABC34501DE00\r".getBytes(StandardCharsets.US_ASCII);
+            assertEquals(CnpjPacked.INVALIDO, estatisticas.registrarBase(linha, 0, linha.length));
+        }
+        // ruído: cada valor uma vez, mais valores que contadores
+        for (int i = 0; i < 100; i++) {
+            estatisticas.registrar("lixo-" + i);
+        }
+        estatisticas.registrar(null);
+        byte[] valido = "12.ABC.345/01DE-35".getBytes(StandardCharsets.US_ASCII);
+        assertNotEquals(CnpjPacked.INVALIDO, estatisticas.registrarBase(valido, 0, valido.length));
+
+        CnpjEstatisticas.Resumo resumo = estatisticas.resumo();
+        assertEquals(182, resumo.total());
+        assertEquals(181, resumo.invalidos());
+        assertEquals(50, resumo.rejeicoes().get(CnpjMotivo.ZERADO));
+        assertEquals(30, resumo.rejeicoes().get(CnpjMotivo.DV_INCORRETO));
+        assertEquals(100, resumo.rejeicoes().get(CnpjMotivo.TAMANHO_INVALIDO));
+        assertEquals(1, resumo.rejeicoes().get(CnpjMotivo.NULO));
+        assertEquals(0, resumo.rejeicoes().get(CnpjMotivo.CARACTERE_INVALIDO));
+        assertFalse(resumo.rejeicoes().containsKey(CnpjMotivo.VALIDO));
+
+        List<CnpjEstatisticas.Frequente> frequentes = resumo.frequentes();
+        assertEquals(List.of("00.000.000/0000-00", "12ABC34501DE00"),
+            frequentes.stream().map(CnpjEstatisticas.Frequente::valor).toList());
+        assertEquals(50, frequentes.get(0).ocorrencias() - frequentes.get(0).erroMaximo());
+        assertTrue(frequentes.get(1).ocorrencias() >= 30);
+        assertTrue(resumo.formatar().contains("ZERADO=50"));
+    }
+
+    @Test
+    @DisplayName("Deve mesclar estatísticas parciais")
+    void deveMesclarParciais() {
+        CnpjEstatisticas primeira = new CnpjEstatisticas();
+        CnpjEstatisticas segunda = new CnpjEstatisticas();
+        for (int i = 1; i <= 1_000; i++) {
+            String cnpj = cnpj(CnpjPacked.base(numerica(i), CnpjPacked.ordemNumerica(1)));
+            (i <= 600 ? primeira : segunda).registrar(cnpj);
+            if (i > 400) {
+                segunda.registrar(cnpj);
+            }
+        }
+        primeira.registrar("123");
+        segunda.registrar("123");
+        segunda.registrar("abc");
+
+        primeira.mesclar(segunda);
+        CnpjEstatisticas.Resumo resumo = primeira.resumo();
+        assertEquals(1_603, resumo.total());
+        assertEquals(1_000, resumo.cnpjsDistintos(), 30);
+        // "abc" apareceu uma vez só
+        assertEquals(List.of(new CnpjEstatisticas.Frequente("123", 2, 0)), resumo.frequentes());
+
+        assertThrows(IllegalArgumentException.class, () -> primeira.mesclar(primeira));
+        assertThrows(IllegalArgumentException.class, () -> primeira.mesclar(new CnpjEstatisticas(10, 1)));
+    }
+
+    @Test
+    @DisplayName("Deve registrar de vários threads em parciais e combiná-las na leitura")
+    void deveRegistrarEmParciais() throws InterruptedException {
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas(CnpjEstatisticas.PRECISAO_PADRAO, 5, 4);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int primeiro = t * 1_000;
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 1_000; i++) {
+                    estatisticas.registrar(cnpj(CnpjPacked.base(numerica(primeiro + i), CnpjPacked.ordemNumerica(1))));
+                    if (i % 10 == 0) {
+                        estatisticas.registrar("00000000000000");
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CnpjEstatisticas.Resumo resumo = estatisticas.resumo();
+        assertEquals(8_800, resumo.total());
+        assertEquals(8_000, resumo.validos());
+        assertEquals(8_000, resumo.cnpjsDistintos(), 240);
+        assertEquals(800, estatisticas.quantidade(CnpjMotivo.ZERADO));
+        assertEquals(List.of(new CnpjEstatisticas.Frequente("00000000000000", 800, 0)), resumo.frequentes());
+
+        assertThrows(IllegalArgumentException.class, () -> new CnpjEstatisticas(14, 5, 0));
+    }
+
+    /** Raiz numérica com o número informado, como no CNPJ atual. */
+    private static long numerica(int numero) {
+        return CnpjPacked.packRaiz(String.format("%08d", numero), 0);
+    }
+
+    private static String cnpj(long base) {
+        StringBuilder texto = CnpjPacked.unpackBase(base, new StringBuilder());
+        int dv = CnpjFastValidator.calculaDV(texto, 0);
+        return texto.append(dv / 10).append(dv % 10).toString();
+    }
+}
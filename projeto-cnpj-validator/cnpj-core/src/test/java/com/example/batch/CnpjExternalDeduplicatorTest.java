@@ -0,0 +1,192 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjCodec;
+import com.example.validation.cnpj.CnpjMotivo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da ordenação externa com deduplicação ({@link CnpjExternalDeduplicator}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjExternalDeduplicator - Ordenação Externa")
+class CnpjExternalDeduplicatorTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gerar saída ordenada, única e com contagem de repetidos")
+    void deveGerarSaidaOrdenadaUnicaComRepetidos() throws Exception {
+        Path entrada1 = Files.write(diretorio.resolve("parceiro1.txt"), List.of(
+            "R55231B3000757",
+            "90.021.382/0001-22",
+            "12ABC34501DE00",        // DV incorreto
+            "",
+            "12.ABC.345/01DE-35"
+        ));
+        Path entrada2 = Files.write(diretorio.resolve("parceiro2.txt"), List.of(
+            "90021382000122",
+            "12ABC34501DE35",
+            "1345C3A5000106",
+            "90.021.382/0001-22",
+            "abc"                    // Inválido
+        ));
+        Path saida = diretorio.resolve("saida.txt");
+        Path repetidos = diretorio.resolve("repetidos.csv");
+
+        // 16 chaves por run: força vários runs com os dados abaixo
+        List<Path> entradas = new ArrayList<>(List.of(entrada1, entrada2));
+        Path volume = diretorio.resolve("volume.txt");
+        List<String> linhas = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            linhas.add("1345C3A5000106");
+        }
+        Files.write(volume, linhas);
+        entradas.add(volume);
+
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+        CnpjExternalDeduplicator.Resultado resultado = new CnpjExternalDeduplicator(16 * Long.BYTES, diretorio)
+            .deduplicar(entradas, saida, repetidos, estatisticas);
+
+        assertEquals(List.of(
+            "12ABC34501DE35",
+            "1345C3A5000106",
+            "90021382000122",
+            "R55231B3000757"
+        ), Files.readAllLines(saida));
+        assertEquals(List.of(
+            "12ABC34501DE35;2",
+            "1345C3A5000106;41",
+            "90021382000122;3"
+        ), Files.readAllLines(repetidos));
+
+        assertEquals(49, resultado.linhasLidas());
+        assertEquals(2, resultado.invalidos());
+        assertEquals(4, resultado.unicos());
+        assertEquals(3, resultado.repetidos());
+        assertEquals(43, resultado.ocorrenciasExcedentes());
+        assertEquals(3, resultado.runs());
+
+        CnpjEstatisticas.Resumo resumo = estatisticas.resumo();
+        assertEquals(49, resumo.total());
+        assertEquals(4, resumo.cnpjsDistintos());
+        assertEquals(4, resumo.raizesDistintas());
+        assertEquals(44, resumo.alfanumericos());
+        assertEquals(3, resumo.numericos());
+        assertEquals(1, resumo.rejeicoes().get(CnpjMotivo.DV_INCORRETO));
+        assertEquals(1, resumo.rejeicoes().get(CnpjMotivo.TAMANHO_INVALIDO));
+
+        try (var arquivos = Files.list(diretorio)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().startsWith("cnpj-run-")),
+                "Runs temporários deveriam ser apagados");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve crescer o buffer de chaves até o limite sem gravar runs a mais")
+    void deveCrescerBufferAteOLimite() throws Exception {
+        // 150 mil chaves: o buffer dobra algumas vezes e tudo cabe num run só
+        String[] cnpjs = {"R55231B3000757", "90021382000122", "12ABC34501DE35"};
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < 150_000; i++) {
+            texto.append(cnpjs[i % cnpjs.length]).append('\n');
+        }
+        Path entrada = Files.writeString(diretorio.resolve("volume.txt"), texto);
+        Path saida = diretorio.resolve("saida.txt");
+
+        CnpjExternalDeduplicator.Resultado resultado = new CnpjExternalDeduplicator(200_000L * Long.BYTES, diretorio)
+            .deduplicar(List.of(entrada), saida, null);
+
+        assertEquals(1, resultado.runs());
+        assertEquals(150_000, resultado.linhasLidas());
+        assertEquals(List.of("12ABC34501DE35", "90021382000122", "R55231B3000757"), Files.readAllLines(saida));
+
+        // com o limite abaixo da entrada, o buffer para de crescer e a entrada vira vários runs
+        resultado = new CnpjExternalDeduplicator(100_000L * Long.BYTES, diretorio)
+            .deduplicar(List.of(entrada), saida, null);
+        assertEquals(2, resultado.runs());
+        assertEquals(3, resultado.unicos());
+    }
+
+    @Test
+    @DisplayName("Deve gerar saída vazia quando não há CNPJs válidos")
+    void deveGerarSaidaVazia() throws Exception {
+        Path entrada = Files.write(diretorio.resolve("entrada.txt"), List.of("123", "abc"));
+        Path saida = diretorio.resolve("saida.txt");
+
+        CnpjExternalDeduplicator.Resultado resultado =
+            new CnpjExternalDeduplicator(CnpjExternalDeduplicator.MEMORIA_PADRAO, diretorio)
+                .deduplicar(List.of(entrada), saida, null);
+
+        assertTrue(Files.readAllLines(saida).isEmpty());
+        assertEquals(0, resultado.runs());
+        assertEquals(2, resultado.invalidos());
+    }
+
+    @Test
+    @DisplayName("Deve ler CRLF, última linha sem quebra e linhas maiores que o buffer")
+    void deveLerBytesBrutos() throws Exception {
+        String longa = "9".repeat(LinhasReader.TAMANHO_BUFFER * 2);
+        String conteudo = "90.021.382/0001-22\r\n" + longa + "\n \t\r\n12ABC34501DE35";
+        Path entrada = Files.writeString(diretorio.resolve("bruto.txt"), conteudo);
+        Path saida = diretorio.resolve("saida.txt");
+
+        CnpjExternalDeduplicator.Resultado resultado =
+            new CnpjExternalDeduplicator(CnpjExternalDeduplicator.MEMORIA_PADRAO, diretorio)
+                .deduplicar(List.of(entrada), saida, null);
+
+        assertEquals(List.of("12ABC34501DE35", "90021382000122"), Files.readAllLines(saida));
+        assertEquals(3, resultado.linhasLidas());
+        assertEquals(1, resultado.invalidos());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a saída no formato binário do CnpjCodec")
+    void deveGravarSaidaBinaria() throws Exception {
+        Path entrada = Files.write(diretorio.resolve("entrada.txt"),
+            List.of("90.021.382/0001-22", "12ABC34501DE35", "abc", "12.ABC.345/01DE-35"));
+        Path saida = diretorio.resolve("saida.bin");
+
+        CnpjExternalDeduplicator.Resultado resultado =
+            new CnpjExternalDeduplicator(CnpjExternalDeduplicator.MEMORIA_PADRAO, diretorio, true)
+                .deduplicar(List.of(entrada), saida, null);
+
+        ByteBuffer conteudo = ByteBuffer.wrap(Files.readAllBytes(saida));
+        assertEquals(CnpjCodec.CABECALHO.length + 2 * CnpjCodec.TAMANHO_COMPACTO, conteudo.remaining());
+        byte[] cabecalho = new byte[CnpjCodec.CABECALHO.length];
+        conteudo.get(cabecalho);
+        assertArrayEquals(CnpjCodec.CABECALHO, cabecalho);
+
+        String[] cnpjs = new String[4];
+        assertEquals(2, CnpjCodec.lerTodos(conteudo, cnpjs));
+        assertEquals("12ABC34501DE35", cnpjs[0]);
+        assertEquals("90021382000122", cnpjs[1]);
+        assertEquals(2, resultado.unicos());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar memória abaixo do mínimo")
+    void deveRejeitarMemoriaAbaixoDoMinimo() {
+        assertThrows(IllegalArgumentException.class, () -> new CnpjExternalDeduplicator(8, diretorio));
+    }
+
+    @Test
+    @DisplayName("Deve interpretar tamanhos com sufixo")
+    void deveInterpretarTamanhos() {
+        assertEquals(512L * 1024, CnpjExternalDeduplicator.parseTamanho("512k"));
+        assertEquals(256L * 1024 * 1024, CnpjExternalDeduplicator.parseTamanho("256M"));
+        assertEquals(1000L, CnpjExternalDeduplicator.parseTamanho("1000"));
+    }
+}
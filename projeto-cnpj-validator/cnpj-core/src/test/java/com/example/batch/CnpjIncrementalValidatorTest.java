@@ -0,0 +1,138 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjValidacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da revalidação incremental ({@link CnpjIncrementalValidator}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjIncrementalValidator - Revalidação Incremental")
+class CnpjIncrementalValidatorTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private List<String> linhas;
+    private CnpjIncrementalValidator validator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        linhas = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String base = String.format("%08d0001", 10_000_000 + i * 7919);
+            linhas.add(i % 500 == 7 ? "12ABC34501DE00" : base + CnpjValidacao.calculaDV(base));
+        }
+        arquivo = Files.write(diretorio.resolve("cnpjs.txt"), linhas);
+        // Blocos pequenos para o teste: fronteira a cada ~16 linhas, entre 256 B e 4 KB
+        validator = new CnpjIncrementalValidator(256, 4096, 0xF);
+    }
+
+    @Test
+    @DisplayName("Deve validar tudo na primeira execução e nada na segunda")
+    void deveReaproveitarManifestoSemAlteracoes() throws Exception {
+        CnpjIncrementalValidator.Resultado primeira = validator.validar(arquivo, null);
+        CnpjIncrementalValidator.Resultado segunda = validator.validar(arquivo, null);
+
+        assertEquals(5_000, primeira.linhas());
+        assertEquals(10, primeira.invalidos());
+        assertEquals(primeira.blocos(), primeira.blocosReprocessados());
+        assertTrue(primeira.blocos() > 10, "Arquivo deveria ser dividido em vários blocos");
+
+        assertEquals(primeira.linhas(), segunda.linhas());
+        assertEquals(primeira.invalidos(), segunda.invalidos());
+        assertEquals(0, segunda.blocosReprocessados());
+        assertTrue(Files.exists(CnpjIncrementalValidator.manifestoPadrao(arquivo)));
+    }
+
+    @Test
+    @DisplayName("Deve reprocessar apenas os blocos alterados")
+    void deveReprocessarApenasBlocosAlterados() throws Exception {
+        CnpjIncrementalValidator.Resultado primeira = validator.validar(arquivo, null);
+
+        linhas.set(2_500, "90025108000101");       // Passa a ser inválido
+        linhas.add(1_000, "1345c3A5000106");        // Inserção de linha inválida
+        Files.write(arquivo, linhas);
+        Path relatorio = diretorio.resolve("invalidos.csv");
+
+        CnpjIncrementalValidator.Resultado segunda = validator.validar(arquivo, relatorio);
+
+        assertEquals(5_001, segunda.linhas());
+        assertEquals(12, segunda.invalidos());
+        assertTrue(segunda.blocosReprocessados() <= 4,
+            "Apenas os blocos vizinhos às alterações deveriam ser reprocessados, foram "
+                + segunda.blocosReprocessados() + " de " + segunda.blocos());
+        assertTrue(segunda.bytesReprocessados() < Files.size(arquivo) / 10);
+
+        List<String> invalidos = Files.readAllLines(relatorio);
+        assertEquals(12, invalidos.size());
+        assertTrue(invalidos.contains("1001;1345c3A5000106"));
+        assertTrue(invalidos.contains("2502;90025108000101"));
+        assertTrue(invalidos.contains("8;12ABC34501DE00"));
+        assertTrue(primeira.blocos() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve revalidar tudo quando o manifesto é de outra versão")
+    void deveIgnorarManifestoDeOutraVersao() throws Exception {
+        validator.validar(arquivo, null);
+        Files.write(CnpjIncrementalValidator.manifestoPadrao(arquivo), new byte[]{0, 0, 0, 0});
+
+        CnpjIncrementalValidator.Resultado resultado = validator.validar(arquivo, null);
+
+        assertEquals(resultado.blocos(), resultado.blocosReprocessados());
+    }
+
+    @Test
+    @DisplayName("Deve revalidar tudo quando o manifesto está corrompido ou truncado")
+    void deveIgnorarManifestoCorrompido() throws Exception {
+        CnpjIncrementalValidator.Resultado primeira = validator.validar(arquivo, null);
+        Path manifesto = CnpjIncrementalValidator.manifestoPadrao(arquivo);
+        byte[] original = Files.readAllBytes(manifesto);
+
+        for (int invalidas : new int[]{-1, Integer.MAX_VALUE}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write(original, 0, 16);              // cabeçalho e quantidade de blocos
+            out.write(original, 16, 16);             // chave e linhas do primeiro bloco
+            out.writeInt(invalidas);
+            Files.write(manifesto, bytes.toByteArray());
+
+            CnpjIncrementalValidator.Resultado resultado = validator.validar(arquivo, null);
+            assertEquals(resultado.blocos(), resultado.blocosReprocessados());
+            assertEquals(primeira.invalidos(), resultado.invalidos());
+        }
+
+        Files.write(manifesto, Arrays.copyOf(original, original.length / 2));
+        CnpjIncrementalValidator.Resultado truncado = validator.validar(arquivo, null);
+        assertEquals(truncado.blocos(), truncado.blocosReprocessados());
+        assertEquals(primeira.invalidos(), truncado.invalidos());
+    }
+
+    @Test
+    @DisplayName("Deve contar a última linha sem quebra de linha")
+    void deveContarUltimaLinhaSemQuebra() throws Exception {
+        Path semQuebra = Files.writeString(diretorio.resolve("sem-quebra.txt"), "12ABC34501DE35\n\n123");
+
+        CnpjIncrementalValidator.Resultado resultado = validator.validar(semQuebra, null);
+
+        assertEquals(3, resultado.linhas());
+        assertEquals(1, resultado.invalidos());
+    }
+}
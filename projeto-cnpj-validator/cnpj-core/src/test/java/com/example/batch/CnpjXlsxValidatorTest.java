@@ -0,0 +1,156 @@
+package com.example.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da validação de planilhas ({@link CnpjXlsxValidator}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjXlsxValidator - Validação de Planilhas")
+class CnpjXlsxValidatorTest {
+
+    private static final String MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELACOES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve validar a coluna de CNPJ do cabeçalho com strings compartilhadas, números e texto inline")
+    void deveValidarColunaDoCabecalho() throws IOException {
+        Path planilha = planilha(List.of("Parceiros"), Map.of(
+            "xl/sharedStrings.xml", "<sst xmlns=\"" + MAIN + "\">"
+                + "<si><t>Razão Social</t></si>"
+                + "<si><t>CNPJ do parceiro</t></si>"
+                // texto rico com fonética, como o Excel grava
+                + "<si><r><t>12.ABC.345/</t></r><r><t>01DE-35</t></r><rPh><t>ignorar</t></rPh></si>"
+                + "<si><t>Tech</t></si>"
+                + "</sst>",
+            "xl/worksheets/sheet1.xml", aba(
+                "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>"
+                    + "<row r=\"2\"><c r=\"A2\" t=\"s\"><v>3</v></c><c r=\"B2\" t=\"s\"><v>2</v></c></row>"
+                    // número sem os zeros à esquerda e em notação científica
+                    + "<row r=\"3\"><c r=\"B3\"><v>191</v></c></row>"
+                    + "<row r=\"5\"><c r=\"B5\" t=\"n\"><v>9.0021382000122E13</v></c></row>"
+                    + "<row r=\"6\"><c r=\"A6\" t=\"s\"><v>3</v></c></row>"
+                    + "<row r=\"7\"><c r=\"A7\"><v>1</v></c><c r=\"B7\" t=\"inlineStr\"><is><t>12ABC34501DE36</t></is></c></row>")));
+
+        Path relatorio = diretorio.resolve("relatorio.ndjson");
+        CnpjXlsxValidator.Resultado resultado = new CnpjXlsxValidator(diretorio)
+            .validar(planilha, null, null, relatorio, CnpjXlsxValidator.Formato.NDJSON);
+
+        assertEquals(new CnpjXlsxValidator.Resultado(4, 3, 1, 1, "B", true), resultado);
+        assertEquals(List.of(
+            "{\"linha\":2,\"cnpj\":\"12.ABC.345/01DE-35\",\"valido\":true,\"formatado\":\"12.ABC.345/01DE-35\",\"motivo\":\"VALIDO\"}",
+            "{\"linha\":3,\"cnpj\":\"00000000000191\",\"valido\":true,\"formatado\":\"00.000.000/0001-91\",\"motivo\":\"VALIDO\"}",
+            "{\"linha\":5,\"cnpj\":\"90021382000122\",\"valido\":true,\"formatado\":\"90.021.382/0001-22\",\"motivo\":\"VALIDO\"}",
+            "{\"linha\":7,\"cnpj\":\"12ABC34501DE36\",\"valido\":false,\"motivo\":\"DV_INCORRETO\"}"),
+            Files.readAllLines(relatorio));
+        // os arquivos temporários da tabela de strings são removidos
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(2, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar a planilha de resultado e lê-la de volta")
+    void deveGravarPlanilhaDeResultado() throws IOException {
+        Path planilha = planilha(List.of("Primeira", "Segunda"), Map.of(
+            "xl/worksheets/sheet1.xml", aba("<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>outra aba</t></is></c></row>"),
+            // coluna pela letra e sem cabeçalho: a primeira linha já é dado
+            "xl/worksheets/sheet2.xml", aba(
+                "<row r=\"1\"><c r=\"C1\" t=\"inlineStr\"><is><t>90.021.382/0001-22</t></is></c></row>"
+                    + "<row r=\"2\"><c r=\"C2\" t=\"inlineStr\"><is><t>&lt;12ABC&gt;</t></is></c></row>")));
+
+        Path resultadoXlsx = diretorio.resolve("resultado.xlsx");
+        CnpjXlsxValidator validador = new CnpjXlsxValidator(diretorio);
+        CnpjXlsxValidator.Resultado resultado = validador
+            .validar(planilha, "Segunda", "c", resultadoXlsx, CnpjXlsxValidator.Formato.XLSX);
+        assertEquals(new CnpjXlsxValidator.Resultado(2, 1, 1, 0, "C", false), resultado);
+
+        Path relatorio = diretorio.resolve("relido.ndjson");
+        assertEquals(new CnpjXlsxValidator.Resultado(2, 1, 1, 0, "B", true),
+            validador.validar(resultadoXlsx, null, "CNPJ", relatorio, CnpjXlsxValidator.Formato.NDJSON));
+        List<String> linhas = Files.readAllLines(relatorio);
+        assertTrue(linhas.get(0).startsWith("{\"linha\":2,\"cnpj\":\"90.021.382/0001-22\",\"valido\":true"));
+        assertTrue(linhas.get(1).startsWith("{\"linha\":3,\"cnpj\":\"<12ABC>\",\"valido\":false"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar aba e coluna inexistentes")
+    void deveRejeitarAbaEColunaInexistentes() throws IOException {
+        Path planilha = planilha(List.of("Parceiros"), Map.of(
+            "xl/worksheets/sheet1.xml", aba("<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>CNPJ</t></is></c></row>")));
+        CnpjXlsxValidator validador = new CnpjXlsxValidator(diretorio);
+        Path relatorio = diretorio.resolve("relatorio.ndjson");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> validador.validar(planilha, "Outra", null, relatorio, CnpjXlsxValidator.Formato.NDJSON));
+        assertThrows(IllegalArgumentException.class,
+            () -> validador.validar(planilha, null, "Documento", relatorio, CnpjXlsxValidator.Formato.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Deve converter referências de coluna")
+    void deveConverterColunas() {
+        assertEquals(0, CnpjXlsxValidator.indiceColuna("A1"));
+        assertEquals(27, CnpjXlsxValidator.indiceColuna("AB1048576"));
+        assertEquals("AB", CnpjXlsxValidator.letraColuna(27));
+        assertEquals("XFD", CnpjXlsxValidator.letraColuna(CnpjXlsxValidator.indiceColuna("XFD")));
+        assertEquals("00000000000191", CnpjXlsxValidator.numero("191"));
+        assertEquals("1.5", CnpjXlsxValidator.numero("1.5"));
+    }
+
+    private static String aba(String linhas) {
+        return "<worksheet xmlns=\"" + MAIN + "\"><sheetData>" + linhas + "</sheetData></worksheet>";
+    }
+
+    private Path planilha(List<String> abas, Map<String, String> partes) throws IOException {
+        StringBuilder folhas = new StringBuilder();
+        StringBuilder relacoes = new StringBuilder();
+        for (int i = 1; i <= abas.size(); i++) {
+            folhas.append("<sheet name=\"").append(abas.get(i - 1)).append("\" sheetId=\"").append(i)
+                .append("\" r:id=\"rId").append(i).append("\"/>");
+            relacoes.append("<Relationship Id=\"rId").append(i)
+                .append("\" Type=\"").append(RELACOES).append("/worksheet\" Target=\"worksheets/sheet")
+                .append(i).append(".xml\"/>");
+        }
+        relacoes.append("<Relationship Id=\"rIdS\" Type=\"").append(RELACOES)
+            .append("/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+
+        Map<String, String> entradas = new LinkedHashMap<>();
+        entradas.put("xl/workbook.xml", "<workbook xmlns=\"" + MAIN + "\" xmlns:r=\"" + RELACOES + "\"><sheets>"
+            + folhas + "</sheets></workbook>");
+        entradas.put("xl/_rels/workbook.xml.rels",
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + relacoes + "</Relationships>");
+        entradas.putAll(partes);
+
+        Path arquivo = diretorio.resolve("planilha.xlsx");
+        try (OutputStream out = Files.newOutputStream(arquivo); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entrada : entradas.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entrada.getKey()));
+                zip.write(entrada.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return arquivo;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.batch;
+
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.SituacaoCadastral;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da carga da base de situação cadastral ({@link SituacaoCadastralLoader}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("SituacaoCadastralLoader - Carga da Situação Cadastral")
+class SituacaoCadastralLoaderTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve gerar a base ordenada a partir de CSV e ZIP no layout da Receita")
+    void deveGerarBaseOrdenada() throws Exception {
+        Path csv = Files.write(diretorio.resolve("Estabelecimentos0.csv"), List.of(
+            linha("90021382", "0001", "22", "02", "20051103"),
+            linha("12ABC345", "01DE", "35", "08", "20200115"),
+            linha("12ABC345", "01DE", "00", "02", "20200115"),   // DV incorreto
+            "\"12345678\";\"0001\"",                             // colunas faltando
+            "",
+            linha("R55231B3", "0007", "57", "04", "00000000")
+        ), StandardCharsets.ISO_8859_1);
+
+        Path zip = diretorio.resolve("Estabelecimentos1.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("K3241.K03200Y1.D61012.ESTABELE"));
+            escrever(out, linha("12ABC345", "01DE", "35", "02", "20240301") + "\r\n");   // mais recente
+            escrever(out, linha("1345C3A5", "0001", "06", "03", "19990230") + "\r\n");   // data inválida
+            out.closeEntry();
+        }
+
+        Path saida = diretorio.resolve("situacao.bin");
+        SituacaoCadastralLoader.Resultado resultado = new SituacaoCadastralLoader(16 * 12, diretorio)
+            .carregar(List.of(csv, zip), saida, LocalDate.of(2026, 10, 12));
+
+        assertEquals(7, resultado.linhasLidas());
+        assertEquals(2, resultado.invalidos());
+        assertEquals(4, resultado.registros());
+        assertEquals(1, resultado.repetidos());
+
+        try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(saida)) {
+            assertEquals(4, indice.quantidade());
+            assertEquals(LocalDate.of(2026, 10, 12), indice.getDataReferencia());
+
+            int info = indice.consultar("90.021.382/0001-22");
+            assertEquals(SituacaoCadastral.ATIVA, SituacaoCadastralIndex.situacao(info));
+            assertEquals(LocalDate.of(2005, 11, 3), SituacaoCadastralIndex.data(info));
+
+            info = indice.consultar("12ABC34501DE35");
+            assertEquals(SituacaoCadastral.ATIVA, SituacaoCadastralIndex.situacao(info));
+            assertEquals(LocalDate.of(2024, 3, 1), SituacaoCadastralIndex.data(info));
+
+            info = indice.consultar("R55231B3000757");
+            assertEquals(SituacaoCadastral.INAPTA, SituacaoCadastralIndex.situacao(info));
+            assertNull(SituacaoCadastralIndex.data(info));
+
+            info = indice.consultar("1345C3A5000106");
+            assertEquals(SituacaoCadastral.SUSPENSA, SituacaoCadastralIndex.situacao(info));
+            assertNull(SituacaoCadastralIndex.data(info));
+        }
+
+        try (var arquivos = Files.list(diretorio)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().startsWith("cnpj-situacao-")),
+                "Runs temporários deveriam ser apagados");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve encontrar todos os estabelecimentos carregados em vários runs")
+    void deveEncontrarTodosOsEstabelecimentos() throws Exception {
+        Map<String, Integer> esperado = new HashMap<>();
+        List<String> linhas = new ArrayList<>();
+        int[] codigos = {1, 2, 3, 4, 8};
+        for (int i = 0; i < 5_000; i++) {
+            String raiz = String.format("%08d", (i * 7_919L) % 100_000_000);
+            String ordem = String.format("%04d", 1 + i % 3);
+            String cnpj = raiz + ordem + CnpjValidacao.calculaDV(raiz + ordem);
+            int codigo = codigos[i % codigos.length];
+            esperado.put(cnpj, codigo);
+            linhas.add(linha(raiz, ordem, cnpj.substring(12), String.format("%02d", codigo), "20100101"));
+        }
+        Path csv = Files.write(diretorio.resolve("estabelecimentos.csv"), linhas, StandardCharsets.ISO_8859_1);
+        Path saida = diretorio.resolve("situacao.bin");
+
+        SituacaoCadastralLoader.Resultado resultado =
+            new SituacaoCadastralLoader(1_000 * 12, diretorio).carregar(List.of(csv), saida, null);
+        assertEquals(5, resultado.runs());
+        assertEquals(esperado.size(), resultado.registros());
+
+        try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(saida)) {
+            assertNull(indice.getDataReferencia());
+            esperado.forEach((cnpj, codigo) ->
+                assertEquals(codigo, SituacaoCadastralIndex.codigo(indice.consultar(cnpj)), cnpj));
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar("12ABC34501DE35"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ordenar os pares base/info juntos")
+    void deveOrdenarPares() {
+        long[] bases = {50, 10, 40, 20, 30};
+        int[] infos = {5, 1, 4, 2, 3};
+
+        SituacaoCadastralLoader.ordenar(bases, infos, bases.length);
+
+        assertArrayEquals(new long[]{10, 20, 30, 40, 50}, bases);
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, infos);
+    }
+
+    /**
+     * Linha no layout de estabelecimentos da Receita, com as colunas seguintes às usadas.
+     */
+    private static String linha(String raiz, String ordem, String dv, String situacao, String data) {
+        return String.join(";", "\"" + raiz + "\"", "\"" + ordem + "\"", "\"" + dv + "\"", "\"1\"",
+            "\"EMPRESA LTDA\"", "\"" + situacao + "\"", "\"" + data + "\"", "\"00\"", "\"\"", "\"\"");
+    }
+
+    private static void escrever(OutputStream out, String texto) throws Exception {
+        out.write(texto.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
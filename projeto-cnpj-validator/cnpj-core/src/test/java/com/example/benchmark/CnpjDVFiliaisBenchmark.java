@@ -0,0 +1,59 @@
+package com.example.benchmark;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark da expansão de filiais do {@link CnpjFastValidator}: soma ponderada incremental
+ * ({@code calculaDVsFiliais}) contra um {@code calculaDV} completo por filial.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn -pl cnpj-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.CnpjDVFiliaisBenchmark -Dexec.args="1000"
+ * </pre>
+ *
+ * <p>Argumento: raízes aleatórias por rodada, cada uma expandida de /0001 a /9999.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjDVFiliaisBenchmark {
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String[] raizes = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            raizes[i] = CnpjPacked.unpackRaiz(aleatorio.nextLong(1, 2_821_109_907_456L), new StringBuilder()).toString();
+        }
+        int[] dvs = new int[9999];
+        StringBuilder base = new StringBuilder(12);
+
+        for (int rodada = 0; rodada < 3; rodada++) {
+            long verificacao = 0;
+            long inicio = System.nanoTime();
+            for (String raiz : raizes) {
+                CnpjFastValidator.calculaDVsFiliais(raiz, 1, 9999, dvs);
+                verificacao += dvs[aleatorio.nextInt(9999)];
+            }
+            long meio = System.nanoTime();
+            for (String raiz : raizes) {
+                for (int ordem = 1; ordem <= 9999; ordem++) {
+                    base.setLength(0);
+                    base.append(raiz).append((char) ('0' + ordem / 1000)).append((char) ('0' + ordem / 100 % 10))
+                        .append((char) ('0' + ordem / 10 % 10)).append((char) ('0' + ordem % 10));
+                    dvs[ordem - 1] = CnpjFastValidator.calculaDV(base, 0);
+                }
+                verificacao += dvs[aleatorio.nextInt(9999)];
+            }
+            long fim = System.nanoTime();
+            long filiais = 9999L * quantidade;
+            System.out.printf("Rodada %d: incremental %,.1f ns/filial, completo %,.1f ns/filial (%d)%n",
+                rodada + 1, (double) (meio - inicio) / filiais, (double) (fim - meio) / filiais, verificacao % 10);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.benchmark;
+
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark da busca por prefixo (autocompletar) do {@link CnpjPrefixIndex}.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn -pl cnpj-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.CnpjPrefixBenchmark -Dexec.args="20000000 200000 20"
+ * </pre>
+ *
+ * <p>Argumentos: CNPJs no índice, buscas por rodada e limite de resultados. As bases são
+ * sorteadas em todo o espaço de raízes numéricas; cada busca usa um prefixo de 2 a 10
+ * caracteres de um CNPJ do índice, então prefixos curtos sempre enchem o limite.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjPrefixBenchmark {
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int buscas = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int limite = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long[] bases = new long[quantidade];
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            texto.setLength(0);
+            texto.append(String.format("%08d", aleatorio.nextInt(100_000_000)))
+                .append(String.format("%04d", aleatorio.nextInt(1, 10)));
+            bases[i] = CnpjPacked.packBase(texto, 0);
+        }
+
+        long inicio = System.nanoTime();
+        CnpjPrefixIndex indice = CnpjPrefixIndex.de(bases, bases.length);
+        System.out.printf("Índice montado: %,d CNPJs, %,d MB em %,d ms%n", indice.quantidade(),
+            indice.quantidade() * Long.BYTES >> 20, (System.nanoTime() - inicio) / 1_000_000);
+
+        String[] prefixos = new String[buscas];
+        for (int i = 0; i < buscas; i++) {
+            String cnpj = CnpjPacked.unpackBase(bases[aleatorio.nextInt(quantidade)], new StringBuilder()).toString();
+            prefixos[i] = cnpj.substring(0, aleatorio.nextInt(2, 11));
+        }
+
+        for (int rodada = 0; rodada < 3; rodada++) {
+            long resultados = 0;
+            inicio = System.nanoTime();
+            for (String prefixo : prefixos) {
+                resultados += indice.buscar(prefixo, limite).size();
+            }
+            double micros = (System.nanoTime() - inicio) / 1_000.0 / buscas;
+            System.out.printf("Rodada %d: %,.2f µs/busca (%,.1f resultados em média)%n",
+                rodada + 1, micros, (double) resultados / buscas);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.benchmark;
+
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.CnpjSugestoes;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark das sugestões de correção do {@link CnpjSugestoes}.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn -pl cnpj-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.CnpjSugestoesBenchmark -Dexec.args="200000"
+ * </pre>
+ *
+ * <p>Argumento: CNPJs por rodada. Cada entrada é um CNPJ válido aleatório com um caractere
+ * trocado ou dois vizinhos invertidos, como um erro de digitação real.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjSugestoesBenchmark {
+
+    private static final String ALFABETO = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        String[] digitados = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            char[] cnpj = CnpjRaizIndex.cnpjCompleto(aleatorio.nextLong(1, 2_821_109_907_456L), 1).toCharArray();
+            int posicao = aleatorio.nextInt(13);
+            if (aleatorio.nextBoolean()) {
+                char c = cnpj[posicao];
+                cnpj[posicao] = cnpj[posicao + 1];
+                cnpj[posicao + 1] = c;
+            } else {
+                cnpj[posicao] = ALFABETO.charAt(aleatorio.nextInt(posicao < 12 ? 36 : 10));
+            }
+            digitados[i] = new String(cnpj);
+        }
+
+        for (int rodada = 0; rodada < 3; rodada++) {
+            long sugestoes = 0;
+            long inicio = System.nanoTime();
+            for (String cnpj : digitados) {
+                sugestoes += CnpjSugestoes.sugerir(cnpj).size();
+            }
+            double micros = (System.nanoTime() - inicio) / 1_000.0 / quantidade;
+            System.out.printf("Rodada %d: %,.2f µs/CNPJ (%,.1f sugestões em média)%n",
+                rodada + 1, micros, (double) sugestoes / quantidade);
+        }
+    }
+}
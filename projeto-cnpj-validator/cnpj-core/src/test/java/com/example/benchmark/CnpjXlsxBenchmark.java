@@ -0,0 +1,103 @@
+package com.example.benchmark;
+
+import com.example.batch.CnpjXlsxValidator;
+import com.example.validation.cnpj.CnpjValidacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Benchmark da validação de planilhas do {@link CnpjXlsxValidator}.
+ *
+ * <p>Não é executado pelo Surefire. Para conferir que o heap não cresce com a planilha,
+ * rode com heap pequeno fora do Maven:</p>
+ * <pre>
+ * mvn -pl cnpj-core test-compile
+ * java -Xmx32m -cp cnpj-core/target/classes:cnpj-core/target/test-classes \
+ *     com.example.benchmark.CnpjXlsxBenchmark 1000000
+ * </pre>
+ *
+ * <p>Argumento: linhas da planilha gerada. Cada linha tem razão social e CNPJ (formatado,
+ * 1% inválidos) como strings compartilhadas distintas, o pior caso para a tabela de strings.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjXlsxBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path diretorio = Files.createTempDirectory("cnpj-xlsx-benchmark");
+        Path planilha = diretorio.resolve("parceiros.xlsx");
+        gerar(planilha, linhas);
+        System.out.printf("Planilha: %,d linhas, %,d KB%n", linhas, Files.size(planilha) >> 10);
+
+        CnpjXlsxValidator validador = new CnpjXlsxValidator(diretorio);
+        for (CnpjXlsxValidator.Formato formato : CnpjXlsxValidator.Formato.values()) {
+            Path relatorio = diretorio.resolve("relatorio." + formato.name().toLowerCase());
+            long inicio = System.nanoTime();
+            CnpjXlsxValidator.Resultado resultado = validador.validar(planilha, null, null, relatorio, formato);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            Runtime runtime = Runtime.getRuntime();
+            System.out.printf("%s: %,d linhas (%,d inválidas) em %.2f s, %,.0f linhas/s | relatório %,d KB | "
+                    + "heap usado %,d MB de %,d MB%n",
+                formato, resultado.linhas(), resultado.invalidos(), segundos, resultado.linhas() / segundos,
+                Files.size(relatorio) >> 10, (runtime.totalMemory() - runtime.freeMemory()) >> 20,
+                runtime.maxMemory() >> 20);
+            Files.delete(relatorio);
+        }
+        Files.delete(planilha);
+        Files.delete(diretorio);
+    }
+
+    private static void gerar(Path planilha, int linhas) throws IOException {
+        String main = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+        String relacoes = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(planilha))) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+            out.write("<workbook xmlns=\"" + main + "\" xmlns:r=\"" + relacoes + "\"><sheets>"
+                + "<sheet name=\"Parceiros\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            out.flush();
+            zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+            out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + relacoes + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "<Relationship Id=\"rId2\" Type=\"" + relacoes + "/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+                + "</Relationships>");
+            out.flush();
+
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            out.write("<sst xmlns=\"" + main + "\"><si><t>Razão Social</t></si><si><t>CNPJ</t></si>");
+            for (int i = 0; i < linhas; i++) {
+                String base = String.format("%08d%04d", aleatorio.nextInt(100_000_000), aleatorio.nextInt(1, 10));
+                String dv = i % 100 == 0 ? "00" : CnpjValidacao.calculaDV(base);
+                out.write("<si><t>Empresa " + i + " Ltda</t></si><si><t>" + base.substring(0, 2) + "."
+                    + base.substring(2, 5) + "." + base.substring(5, 8) + "/" + base.substring(8) + "-" + dv
+                    + "</t></si>");
+            }
+            out.write("</sst>");
+            out.flush();
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            out.write("<worksheet xmlns=\"" + main + "\"><sheetData>"
+                + "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>");
+            for (int i = 0; i < linhas; i++) {
+                int r = i + 2;
+                out.write("<row r=\"" + r + "\"><c r=\"A" + r + "\" t=\"s\"><v>" + (2 + 2 * i) + "</v></c><c r=\"B" + r
+                    + "\" t=\"s\"><v>" + (3 + 2 * i) + "</v></c></row>");
+            }
+            out.write("</sheetData></worksheet>");
+            out.flush();
+            zip.closeEntry();
+        }
+    }
+}
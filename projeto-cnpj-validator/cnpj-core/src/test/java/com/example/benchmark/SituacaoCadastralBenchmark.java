@@ -0,0 +1,75 @@
+package com.example.benchmark;
+
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark da consulta de situação cadastral sobre a base mapeada em memória.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.SituacaoCadastralBenchmark -Dexec.args="20000000 5000000"
+ * </pre>
+ *
+ * <p>Argumentos: estabelecimentos na base sintética e consultas por rodada. A base é gravada
+ * em um arquivo temporário (12 bytes por estabelecimento), com bases espaçadas para que
+ * metade das consultas não encontre o CNPJ. O tempo medido é o de páginas já em cache; a
+ * primeira rodada aquece o cache e o JIT.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class SituacaoCadastralBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int estabelecimentos = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        Path arquivo = Files.createTempFile("cnpj-situacao-bench-", ".bin");
+        try {
+            long inicio = System.nanoTime();
+            try (SituacaoCadastralIndex.Escritor escritor =
+                     new SituacaoCadastralIndex.Escritor(arquivo, LocalDate.now())) {
+                for (long i = 0; i < estabelecimentos; i++) {
+                    escritor.adicionar(base(i * 2), SituacaoCadastralIndex.info((int) (i % 5) + 1, LocalDate.now()));
+                }
+            }
+            System.out.printf("Base gravada: %,d estabelecimentos, %,d MB em %,d ms%n", estabelecimentos,
+                Files.size(arquivo) >> 20, (System.nanoTime() - inicio) / 1_000_000);
+
+            try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo)) {
+                System.out.printf("Cercas no heap: %,d KB%n",
+                    estabelecimentos / SituacaoCadastralIndex.BLOCO_PADRAO * Long.BYTES >> 10);
+
+                long[] chaves = new long[consultas];
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                for (int i = 0; i < consultas; i++) {
+                    chaves[i] = base(aleatorio.nextLong(2L * estabelecimentos));
+                }
+                for (int rodada = 0; rodada < 3; rodada++) {
+                    long encontrados = 0;
+                    inicio = System.nanoTime();
+                    for (long chave : chaves) {
+                        if (indice.consultar(chave) != SituacaoCadastralIndex.NAO_ENCONTRADO) {
+                            encontrados++;
+                        }
+                    }
+                    double nanos = (double) (System.nanoTime() - inicio) / consultas;
+                    System.out.printf("Rodada %d: %,.0f ns/consulta (%,d encontrados)%n", rodada + 1, nanos, encontrados);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /** Espalha as bases, mantendo a ordem. */
+    private static long base(long i) {
+        return i * 37 + 1;
+    }
+}
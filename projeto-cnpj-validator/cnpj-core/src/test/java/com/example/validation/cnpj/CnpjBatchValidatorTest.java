@@ -0,0 +1,73 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjBatchValidator}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjBatchValidator - Validação Paralela")
+class CnpjBatchValidatorTest {
+
+    private static final String[] AMOSTRAS = {
+        "12ABC34501DE35",       // Válido
+        "90.021.382/0001-22",   // Válido
+        "R55231B3000700",       // DV incorreto
+        null,                   // Nulo
+        "1345c3A5000106",       // Minúsculas
+        "1345C3A5000106",       // Válido
+        "00000000000000"        // Zerado
+    };
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado da validação sequencial")
+    void deveProduzirMesmoResultadoDaValidacaoSequencial() {
+        String[] cnpjs = new String[10_007];
+        for (int i = 0; i < cnpjs.length; i++) {
+            cnpjs[i] = AMOSTRAS[i % AMOSTRAS.length];
+        }
+
+        BitSet resultado = CnpjBatchValidator.validateAll(cnpjs, ForkJoinPool.commonPool(), 100);
+
+        for (int i = 0; i < cnpjs.length; i++) {
+            boolean esperado = CnpjValidacao.isValid(cnpjs[i]);
+            assertEquals(esperado, resultado.get(i), "Resultado incorreto na posição " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aceitar lista como entrada")
+    void deveAceitarListaComoEntrada() {
+        List<String> cnpjs = Arrays.asList(AMOSTRAS);
+
+        BitSet resultado = CnpjBatchValidator.validateAll(cnpjs);
+
+        assertEquals(3, resultado.cardinality());
+        assertTrue(resultado.get(0));
+        assertTrue(resultado.get(1));
+        assertTrue(resultado.get(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar BitSet vazio para entrada vazia")
+    void deveRetornarVazioParaEntradaVazia() {
+        assertTrue(CnpjBatchValidator.validateAll(new String[0]).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tamanho de folha inválido")
+    void deveRejeitarTamanhoDeFolhaInvalido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CnpjBatchValidator.validateAll(AMOSTRAS, ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjCodec}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjCodec - Codificação Binária")
+class CnpjCodecTest {
+
+    @Test
+    @DisplayName("Deve gravar CNPJ válido em 8 bytes e recuperar sem formatação")
+    void deveCodificarCnpjValido() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        assertEquals(8, CnpjCodec.escrever("12.ABC.345/01DE-35", buffer));
+        assertEquals(8, CnpjCodec.escrever("90021382000122", buffer));
+        buffer.flip();
+
+        assertEquals("12ABC34501DE35", CnpjCodec.ler(buffer));
+        assertEquals(CnpjPacked.packBase("900213820001", 0), CnpjCodec.lerBase(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Deve gravar CNPJ com DV divergente em 9 bytes preservando o DV")
+    void deveCodificarDvDivergente() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        assertEquals(9, CnpjCodec.escrever("12ABC34501DE36", buffer));
+        assertEquals(9, CnpjCodec.escrever("00000000000000", buffer));
+        buffer.flip();
+
+        assertEquals("12ABC34501DE36", CnpjCodec.ler(buffer));
+        assertEquals("00000000000000", CnpjCodec.ler(buffer));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o que não é representável")
+    void deveRejeitarNaoRepresentavel() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        assertThrows(IllegalArgumentException.class, () -> CnpjCodec.escrever("12ABC34501DE3A", buffer));
+        assertThrows(IllegalArgumentException.class, () -> CnpjCodec.escrever("12abc34501DE35", buffer));
+        assertThrows(IllegalArgumentException.class, () -> CnpjCodec.escrever(null, buffer));
+        assertEquals(0, buffer.position());
+
+        assertThrows(IllegalArgumentException.class, () -> CnpjCodec.ler(ByteBuffer.allocate(8).putLong(0, -1L)));
+        assertThrows(IllegalArgumentException.class, () -> CnpjCodec.ler(ByteBuffer.allocate(8)));
+        assertThrows(BufferUnderflowException.class, () -> CnpjCodec.ler(ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler lotes")
+    void deveCodificarLotes() {
+        String[] cnpjs = { "12ABC34501DE35", "90.021.382/0001-22", "12ABC34501DE36" };
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        assertEquals(8 + 8 + 9, CnpjCodec.escreverTodos(cnpjs, buffer));
+        buffer.flip();
+
+        String[] lidos = new String[5];
+        assertEquals(3, CnpjCodec.lerTodos(buffer, lidos));
+        assertArrayEquals(new String[] { "12ABC34501DE35", "90021382000122", "12ABC34501DE36", null, null }, lidos);
+    }
+
+    @Test
+    @DisplayName("Deve gravar textos UTF-8 com prefixo de tamanho e null")
+    void deveCodificarTextos() {
+        String longo = "Ç".repeat(100);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        assertEquals(CnpjCodec.tamanhoTexto("Tech Inovação"), CnpjCodec.escreverTexto("Tech Inovação", buffer));
+        assertEquals(1, CnpjCodec.escreverTexto(null, buffer));
+        assertEquals(1, CnpjCodec.escreverTexto("", buffer));
+        assertEquals(202, CnpjCodec.escreverTexto(longo, buffer));
+        assertEquals(202, CnpjCodec.tamanhoTexto(longo));
+        buffer.flip();
+
+        assertEquals("Tech Inovação", CnpjCodec.lerTexto(buffer));
+        assertNull(CnpjCodec.lerTexto(buffer));
+        assertEquals("", CnpjCodec.lerTexto(buffer));
+        assertEquals(longo, CnpjCodec.lerTexto(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link CnpjFastValidator}: o resultado deve ser idêntico ao do
+ * {@link CnpjValidacao} para qualquer origem (texto, bytes, buffer heap ou direto).
+ */
+@DisplayName("Testes do CnpjFastValidator")
+class CnpjFastValidatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "12ABC34501DE35", "12.ABC.345/01DE-35", "  12ABC34501DE35\t", "90.021.382/0001-22",
+        "12ABC34501DE36", "12abc34501de35", "12ABC34501DEAB", "12ABC34501DE3", "12ABC34501DE355",
+        "00000000000000", "00.000.000/0000-00", "000000000000AB", "12ABC 34501DE35", "12ABC34501DE35\r",
+        "", "   ", "...///---", "R55231B3000757", "12ABÇ34501DE35", "1-2-A-B-C-3-4-5-0-1-D-E-3-5"
+    })
+    @DisplayName("Deve retornar o mesmo motivo do CnpjValidacao em todas as origens")
+    void deveConcordarComCnpjValidator(String cnpj) {
+        CnpjMotivo esperado = CnpjValidacao.motivo(cnpj);
+
+        assertEquals(esperado, CnpjFastValidator.motivo(cnpj, 0, cnpj.length()), "CharSequence");
+
+        // com lixo antes e depois, para exercitar os offsets
+        byte[] bytes = ("lixo" + cnpj + "lixo").getBytes(StandardCharsets.ISO_8859_1);
+        int inicio = 4;
+        int fim = bytes.length - 4;
+        assertEquals(esperado, CnpjFastValidator.motivo(bytes, inicio, fim), "byte[]");
+        assertEquals(esperado, CnpjFastValidator.motivo(ByteBuffer.wrap(bytes), inicio, fim), "heap");
+
+        ByteBuffer direto = ByteBuffer.allocateDirect(bytes.length);
+        direto.put(bytes).flip();
+        assertEquals(esperado, CnpjFastValidator.motivo(direto, inicio, fim), "direto");
+        assertEquals(0, direto.position(), "acesso absoluto não move a posição");
+
+        assertEquals(esperado == CnpjMotivo.VALIDO, CnpjFastValidator.isValid(cnpj));
+    }
+
+    @Test
+    @DisplayName("Deve concordar com o CnpjValidacao para CNPJs gerados")
+    void deveConcordarParaCnpjsGerados() {
+        for (int i = 1; i < 5_000; i++) {
+            String base = String.format("%08d%04d", i * 7919, i % 37);
+            String cnpj = base + CnpjValidacao.calculaDV(base);
+            assertTrue(CnpjFastValidator.isValid(cnpj), cnpj);
+
+            // troca um dígito do DV: ambos devem rejeitar
+            char ultimo = cnpj.charAt(13);
+            String errado = cnpj.substring(0, 13) + (char) (ultimo == '9' ? '0' : ultimo + 1);
+            assertEquals(CnpjValidacao.isValid(errado), CnpjFastValidator.isValid(errado), errado);
+        }
+    }
+
+    @Test
+    @DisplayName("Base zerada deve ser inválida sem lançar exceção")
+    void baseZeradaDeveSerInvalida() {
+        assertEquals(CnpjMotivo.ZERADO, CnpjFastValidator.motivo("00000000000012", 0, 14));
+        assertFalse(CnpjFastValidator.isValid("00000000000012"));
+        assertFalse(CnpjFastValidator.isValid(null));
+        assertEquals(CnpjMotivo.NULO, CnpjFastValidator.motivo((CharSequence) null, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Deve calcular o DV sem alocar e rejeitar bases inválidas")
+    void deveCalcularDV() {
+        assertEquals(35, CnpjFastValidator.calculaDV("12ABC34501DE", 0));
+        assertEquals(22, CnpjFastValidator.calculaDV("xx900213820001", 2));
+        assertEquals(CnpjPacked.INVALIDO, CnpjFastValidator.calculaDV("000000000000", 0));
+        assertEquals(CnpjPacked.INVALIDO, CnpjFastValidator.calculaDV("12abc34501de", 0));
+        assertEquals(CnpjPacked.INVALIDO, CnpjFastValidator.calculaDV("12ABC", 0));
+    }
+
+    @Test
+    @DisplayName("Deve calcular os DVs de um lote de bases")
+    void deveCalcularDVsEmLote() {
+        CharSequence[] bases = {"12ABC34501DE", "900213820001", "000000000000", null, "12.ABC.345/01DE", "R55231B30007"};
+        int[] dvs = new int[bases.length];
+
+        assertEquals(3, CnpjFastValidator.calculaDVs(bases, dvs));
+        assertArrayEquals(new int[] {35, 22, CnpjPacked.INVALIDO, CnpjPacked.INVALIDO, CnpjPacked.INVALIDO, 57}, dvs);
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVs(bases, new int[2]));
+    }
+
+    @Test
+    @DisplayName("A expansão incremental das filiais deve concordar com o cálculo completo")
+    void deveExpandirFiliais() {
+        for (String raiz : new String[] {"12ABC345", "90021382", "00000000", "ZZZZZZZZ"}) {
+            int[] dvs = new int[9999];
+            CnpjFastValidator.calculaDVsFiliais(raiz, 1, 9999, dvs);
+            for (int ordem = 1; ordem <= 9999; ordem++) {
+                String base = raiz + String.format("%04d", ordem);
+                assertEquals(CnpjFastValidator.calculaDV(base, 0), dvs[ordem - 1], base);
+            }
+        }
+
+        // bloco pré-alocado no meio da faixa, atravessando "vai um" em vários dígitos
+        int[] bloco = new int[3];
+        CnpjFastValidator.calculaDVsFiliais("90021382", 999, 1001, bloco);
+        assertArrayEquals(new int[] {CnpjFastValidator.calculaDV("900213820999", 0),
+            CnpjFastValidator.calculaDV("900213821000", 0), CnpjFastValidator.calculaDV("900213821001", 0)}, bloco);
+
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVsFiliais("12abc345", 1, 1, bloco));
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVsFiliais("12ABC", 1, 1, bloco));
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVsFiliais("12ABC345", 0, 2, bloco));
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVsFiliais("12ABC345", 9998, 10000, bloco));
+        assertThrows(IllegalArgumentException.class, () -> CnpjFastValidator.calculaDVsFiliais("12ABC345", 1, 4, bloco));
+    }
+
+    @Test
+    @DisplayName("Deve empacotar a base direto dos bytes formatados")
+    void deveEmpacotarBase() {
+        byte[] formatado = " 12.ABC.345/01DE-35 ".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(CnpjPacked.packBase("12ABC34501DE", 0),
+            CnpjFastValidator.packBase(formatado, 0, formatado.length));
+
+        byte[] invalido = "12ABC34501DE36".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(CnpjPacked.INVALIDO, CnpjFastValidator.packBase(invalido, 0, invalido.length));
+    }
+}
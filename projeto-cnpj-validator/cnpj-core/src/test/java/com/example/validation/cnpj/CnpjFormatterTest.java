@@ -0,0 +1,133 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjFormatter}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjFormatter - Formatação e Normalização")
+class CnpjFormatterTest {
+
+    @Nested
+    @DisplayName("Normalização")
+    class Normalizacao {
+
+        @ParameterizedTest
+        @DisplayName("Deve remover espaços das pontas e caracteres de formatação")
+        @CsvSource(delimiter = '|', value = {
+            "12.ABC.345/01DE-35|12ABC34501DE35",
+            "'  90.021.382/0001-22  '|90021382000122",
+            "12ABC34501DE35|12ABC34501DE35",
+            "'1 2'|'1 2'",
+            "'  '|''"
+        })
+        void deveNormalizar(String entrada, String esperado) {
+            assertEquals(esperado, CnpjFormatter.normalize(entrada));
+            assertEquals(esperado.length(), CnpjFormatter.normalizedLength(entrada));
+        }
+
+        @Test
+        @DisplayName("Deve normalizar em char[] a partir do offset")
+        void deveNormalizarEmCharArray() {
+            char[] destino = new char[20];
+            int escritos = CnpjFormatter.normalize("90.021.382/0001-22", destino, 3);
+
+            assertEquals(14, escritos);
+            assertEquals("90021382000122", new String(destino, 3, escritos));
+        }
+
+        @Test
+        @DisplayName("Deve normalizar em ByteBuffer")
+        void deveNormalizarEmByteBuffer() {
+            ByteBuffer destino = ByteBuffer.allocate(14);
+            CnpjFormatter.normalize("12.ABC.345/01DE-35", destino);
+
+            assertEquals("12ABC34501DE35", new String(destino.array(), StandardCharsets.US_ASCII));
+        }
+
+        @Test
+        @DisplayName("Deve normalizar vários CNPJs de forma contígua")
+        void deveNormalizarVariosCNPJs() {
+            CharSequence[] cnpjs = {"12.ABC.345/01DE-35", "123", "90.021.382/0001-22"};
+            char[] destino = new char[64];
+            int[] fins = new int[3];
+
+            int total = CnpjFormatter.normalizeAll(cnpjs, destino, fins);
+
+            assertEquals(31, total);
+            assertArrayEquals(new int[]{14, 17, 31}, fins);
+            assertEquals("123", new String(destino, 14, 3));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando o destino não comporta o resultado")
+        void deveLancarExcecaoSemEspaco() {
+            assertThrows(IllegalArgumentException.class,
+                () -> CnpjFormatter.normalize("12ABC34501DE35", new char[10], 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Formatação")
+    class Formatacao {
+
+        @ParameterizedTest
+        @DisplayName("Deve aplicar a máscara XX.XXX.XXX/XXXX-XX")
+        @CsvSource(delimiter = '|', value = {
+            "12ABC34501DE35|12.ABC.345/01DE-35",
+            "90.021.382/0001-22|90.021.382/0001-22",
+            "' 9002138200/0122 '|90.021.382/0001-22"
+        })
+        void deveFormatar(String entrada, String esperado) {
+            assertEquals(esperado, CnpjFormatter.format(entrada));
+
+            StringBuilder builder = new StringBuilder("x");
+            assertEquals(18, CnpjFormatter.format(entrada, builder));
+            assertEquals("x" + esperado, builder.toString());
+
+            ByteBuffer buffer = ByteBuffer.allocate(18);
+            CnpjFormatter.format(entrada, buffer);
+            assertEquals(esperado, new String(buffer.array(), StandardCharsets.US_ASCII));
+        }
+
+        @Test
+        @DisplayName("Deve formatar vários CNPJs em blocos de 18 caracteres")
+        void deveFormatarVariosCNPJs() {
+            CharSequence[] cnpjs = {"12ABC34501DE35", "90021382000122"};
+            char[] destino = new char[36];
+
+            assertEquals(36, CnpjFormatter.formatAll(cnpjs, destino));
+            assertEquals("12.ABC.345/01DE-3590.021.382/0001-22", new String(destino));
+        }
+
+        @Test
+        @DisplayName("Deve formatar vários CNPJs em linhas de um ByteBuffer")
+        void deveFormatarVariosCNPJsEmByteBuffer() {
+            CharSequence[] cnpjs = {"12ABC34501DE35", "90021382000122"};
+            ByteBuffer destino = ByteBuffer.allocate(38);
+
+            assertEquals(38, CnpjFormatter.formatAll(cnpjs, destino, (byte) '\n'));
+            assertEquals("12.ABC.345/01DE-35\n90.021.382/0001-22\n",
+                new String(destino.array(), StandardCharsets.US_ASCII));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção para CNPJ com tamanho inválido")
+        void deveLancarExcecaoParaTamanhoInvalido() {
+            assertThrows(IllegalArgumentException.class, () -> CnpjFormatter.format("12ABC34501DE"));
+            assertThrows(IllegalArgumentException.class, () -> CnpjFormatter.format("12ABC34501DE3500"));
+        }
+    }
+}
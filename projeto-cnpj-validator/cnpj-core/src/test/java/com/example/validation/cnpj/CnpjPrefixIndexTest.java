@@ -0,0 +1,172 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjPrefixIndex}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjPrefixIndex - Busca por Prefixo")
+class CnpjPrefixIndexTest {
+
+    private static final String FILIAL = "12ABC34501DE35";
+
+    @Test
+    @DisplayName("Deve listar em ordem os CNPJs com o prefixo, com DV")
+    void deveListarPorPrefixo() {
+        CnpjPrefixIndex indice = new CnpjPrefixIndex();
+        indice.adicionar(FILIAL);
+        indice.adicionar("12.ABC.345/0001-88");
+        indice.adicionar("12ABD0000001");
+        indice.adicionar("90021382000203");
+
+        assertEquals(List.of("12ABC345000188", FILIAL), indice.buscar("12ABC", 20));
+        assertEquals(List.of("12ABC345000188", FILIAL, cnpj("12ABD0000001")), indice.buscar("12AB", 20));
+        assertEquals(List.of("12ABC345000188"), indice.buscar("12ABC", 1));
+        assertEquals(4, indice.buscar("", 20).size());
+        assertTrue(indice.buscar("13", 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve normalizar prefixo formatado e minúsculo")
+    void deveNormalizarPrefixo() {
+        CnpjPrefixIndex indice = new CnpjPrefixIndex();
+        indice.adicionar(FILIAL);
+
+        assertEquals(List.of(FILIAL), indice.buscar("12.abc.345/01", 20));
+        assertEquals("12ABC34501", CnpjPrefixIndex.normalizarPrefixo(" 12.abc.345/01 "));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar pelo DV quando o prefixo passar da base")
+    void deveFiltrarPeloDV() {
+        CnpjPrefixIndex indice = new CnpjPrefixIndex();
+        indice.adicionar(FILIAL);
+
+        assertEquals(List.of(FILIAL), indice.buscar("12ABC34501DE3", 20));
+        assertEquals(List.of(FILIAL), indice.buscar("12.ABC.345/01DE-35", 20));
+        assertTrue(indice.buscar("12ABC34501DE4", 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixos inválidos")
+    void deveRejeitarPrefixosInvalidos() {
+        CnpjPrefixIndex indice = new CnpjPrefixIndex();
+
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("12#", 20));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("12ABC34501DEA", 20));
+        assertThrows(IllegalArgumentException.class, () -> indice.buscar("12ABC34501DE350", 20));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar repetições e combinar array consolidado com pendentes")
+    void deveCombinarConsolidadosEPendentes() {
+        TreeSet<String> esperados = new TreeSet<>();
+        long[] iniciais = new long[100];
+        for (int i = 0; i < iniciais.length; i++) {
+            iniciais[i] = CnpjPacked.base(CnpjPacked.packRaiz("12ABC345", 0), i * 2 + 1);
+            esperados.add(CnpjRaizIndex.cnpjCompleto(CnpjPacked.raiz(iniciais[i]), CnpjPacked.ordem(iniciais[i])));
+        }
+        CnpjPrefixIndex indice = CnpjPrefixIndex.de(iniciais, iniciais.length);
+
+        // metade repetida, metade nova; o total passa do mínimo e força uma consolidação
+        List<String> incluidos = new ArrayList<>();
+        for (int i = 0; i < CnpjPrefixIndex.PENDENTES_MINIMO + 200; i++) {
+            long base = CnpjPacked.base(CnpjPacked.packRaiz("12ABC345", 0), i);
+            String cnpj = CnpjRaizIndex.cnpjCompleto(CnpjPacked.raiz(base), CnpjPacked.ordem(base));
+            if (indice.adicionar(base)) {
+                incluidos.add(cnpj);
+            }
+            esperados.add(cnpj);
+        }
+
+        assertEquals(esperados.size() - iniciais.length, incluidos.size());
+        assertEquals(esperados.size(), indice.quantidade());
+        assertEquals(new ArrayList<>(esperados), indice.buscar("12ABC345", Integer.MAX_VALUE));
+        assertFalse(indice.adicionar(FILIAL.substring(0, 12) + "00"));
+        assertTrue(indice.contem(iniciais[0]));
+        assertFalse(indice.contem(CnpjPacked.packBase("900213820001", 0)));
+    }
+
+    @Test
+    @DisplayName("Deve remover CNPJs pendentes e consolidados")
+    void deveRemover() {
+        CnpjPrefixIndex indice = CnpjPrefixIndex.de(new long[] {CnpjPacked.packBase(FILIAL, 0)}, 1);
+        indice.adicionar("12.ABC.345/0001-88");
+
+        assertTrue(indice.remover("12.ABC.345/01DE-35"));
+        assertTrue(indice.remover("12ABC345000188"));
+        assertFalse(indice.remover(FILIAL));
+        assertEquals(0, indice.quantidade());
+        assertTrue(indice.buscar("12ABC", 20).isEmpty());
+        assertFalse(indice.contem(CnpjPacked.packBase(FILIAL, 0)));
+
+        // a base removida do array volta sem passar pelos pendentes
+        assertTrue(indice.adicionar(FILIAL));
+        assertFalse(indice.adicionar(FILIAL));
+        assertEquals(List.of(FILIAL), indice.buscar("12ABC", 20));
+        assertEquals(1, indice.quantidade());
+        assertThrows(IllegalArgumentException.class, () -> indice.remover("12.ABC"));
+    }
+
+    @Test
+    @DisplayName("Deve tirar as removidas do array na consolidação")
+    void deveConsolidarRemovidas() {
+        long raiz = CnpjPacked.packRaiz("12ABC345", 0);
+        long[] iniciais = new long[CnpjPrefixIndex.PENDENTES_MINIMO * 2];
+        for (int i = 0; i < iniciais.length; i++) {
+            iniciais[i] = CnpjPacked.base(raiz, i + 1);
+        }
+        CnpjPrefixIndex indice = CnpjPrefixIndex.de(iniciais, iniciais.length);
+        indice.adicionar(CnpjPacked.base(raiz, iniciais.length + 1));
+
+        // remove as ordens pares; a remoção de número PENDENTES_MINIMO consolida
+        for (int i = 1; i < iniciais.length; i += 2) {
+            assertTrue(indice.remover(iniciais[i]));
+        }
+        indice.consolidar();
+
+        assertEquals(CnpjPrefixIndex.PENDENTES_MINIMO + 1, indice.quantidade());
+        List<String> encontrados = indice.buscar("12ABC345", Integer.MAX_VALUE);
+        assertEquals(CnpjPrefixIndex.PENDENTES_MINIMO + 1, encontrados.size());
+        for (int i = 0; i < iniciais.length; i++) {
+            assertEquals(i % 2 == 0, indice.contem(iniciais[i]), "ordem " + (i + 1));
+        }
+        assertTrue(indice.contem(CnpjPacked.base(raiz, iniciais.length + 1)));
+        assertTrue(indice.adicionar(iniciais[1]));
+        assertEquals(CnpjPrefixIndex.PENDENTES_MINIMO + 2, indice.quantidade());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os estabelecimentos da base de situação cadastral")
+    void deveCarregarDaSituacaoCadastral(@TempDir Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve("situacao.bin");
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(arquivo, null)) {
+            escritor.adicionar(CnpjPacked.packBase("12ABC3450001", 0), SituacaoCadastralIndex.info(2, null));
+            escritor.adicionar(CnpjPacked.packBase(FILIAL, 0), SituacaoCadastralIndex.info(8, null));
+        }
+        try (SituacaoCadastralIndex situacao = SituacaoCadastralIndex.abrir(arquivo)) {
+            CnpjPrefixIndex indice = CnpjPrefixIndex.de(situacao);
+
+            assertEquals(2, indice.quantidade());
+            assertEquals(List.of("12ABC345000188", FILIAL), indice.buscar("12ABC", 20));
+        }
+    }
+
+    private static String cnpj(String base) {
+        long empacotada = CnpjPacked.packBase(base, 0);
+        return CnpjRaizIndex.cnpjCompleto(CnpjPacked.raiz(empacotada), CnpjPacked.ordem(empacotada));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjRaizIndex} e o empacotamento de {@link CnpjPacked}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjRaizIndex - Índice por Raiz")
+class CnpjRaizIndexTest {
+
+    private CnpjRaizIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CnpjRaizIndex();
+    }
+
+    @Nested
+    @DisplayName("Empacotamento")
+    class Empacotamento {
+
+        @Test
+        @DisplayName("Deve empacotar e desempacotar preservando o texto")
+        void deveEmpacotarEDesempacotar() {
+            long base = CnpjPacked.packBase("12ABC34501DE", 0);
+
+            assertEquals("12ABC34501DE", CnpjPacked.unpackBase(base, new StringBuilder()).toString());
+            assertEquals("12ABC345", CnpjPacked.unpackRaiz(CnpjPacked.raiz(base), new StringBuilder()).toString());
+            assertEquals("01DE", CnpjPacked.unpackOrdem(CnpjPacked.ordem(base), new StringBuilder()).toString());
+        }
+
+        @Test
+        @DisplayName("Deve preservar a ordem lexicográfica")
+        void devePreservarOrdemLexicografica() {
+            assertTrue(CnpjPacked.packBase("ZZZZZZZZZZZZ", 0) > CnpjPacked.packBase("900213820001", 0));
+            assertTrue(CnpjPacked.packBase("12ABC3450001", 0) < CnpjPacked.packBase("12ABC34501DE", 0));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar caracteres fora do alfabeto")
+        void deveRejeitarCaracteresInvalidos() {
+            assertEquals(CnpjPacked.INVALIDO, CnpjPacked.packRaiz("12abc345", 0));
+            assertEquals(CnpjPacked.INVALIDO, CnpjPacked.packOrdem("01", 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar filiais da raiz em ordem com DV")
+    void deveListarFiliaisDaRaiz() {
+        assertTrue(index.registrar("12.ABC.345/01DE-35"));
+        assertTrue(index.registrar("12ABC345000188"));
+        assertFalse(index.registrar("12ABC34501DE35"), "Registro duplicado não deveria ser inserido");
+        index.registrar("90021382000122");
+
+        List<String> filiais = index.filiais("12.ABC.345");
+
+        assertEquals(List.of("12ABC345000188", "12ABC34501DE35"), filiais);
+        assertEquals(2, index.quantidadeRaizes());
+        assertEquals(3, index.quantidadeEstabelecimentos());
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia para raiz sem registros")
+    void deveRetornarVazioParaRaizSemRegistros() {
+        assertTrue(index.filiais("90021382").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve calcular a próxima ordem livre preenchendo lacunas")
+    void deveCalcularProximaOrdemLivre() {
+        long raiz = CnpjRaizIndex.packRaiz("90021382");
+
+        assertEquals(CnpjPacked.ordemNumerica(1), index.proximaOrdemLivre(raiz, true));
+
+        index.registrar("900213820001");
+        index.registrar("900213820002");
+        index.registrar("900213820004");
+        assertEquals(CnpjPacked.ordemNumerica(3), index.proximaOrdemLivre(raiz, true));
+
+        index.registrar("900213820003");
+        for (int ordem = 5; ordem <= 9; ordem++) {
+            index.registrar("90021382000" + ordem);
+        }
+        assertEquals(CnpjPacked.ordemNumerica(10), index.proximaOrdemLivre(raiz, true));
+        assertEquals("000A", CnpjPacked.unpackOrdem(index.proximaOrdemLivre(raiz, false), new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("Deve remover estabelecimentos e liberar a ordem")
+    void deveRemoverEstabelecimentos() {
+        index.registrar("12ABC34501DE35");
+
+        assertTrue(index.remover("12ABC34501DE35"));
+        assertFalse(index.remover("12ABC34501DE35"));
+        assertEquals(0, index.quantidadeRaizes());
+        assertEquals(0, index.quantidadeEstabelecimentos());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para raiz inválida")
+    void deveLancarExcecaoParaRaizInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> index.filiais("12ABC"));
+        assertThrows(IllegalArgumentException.class, () -> index.registrar("12ab"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da comparação em modo sombra ({@link CnpjShadowValidator}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjShadowValidator - Modo Sombra")
+class CnpjShadowValidatorTest {
+
+    @Test
+    @DisplayName("Motores conhecidos devem concordar e medir a latência")
+    void motoresConhecidosDevemConcordar() {
+        CnpjShadowValidator sombra = new CnpjShadowValidator(CnpjShadowValidator.motor("validacao"),
+            CnpjShadowValidator.motor("fast"), 1.0, 10, Runnable::run);
+        for (String cnpj : new String[] {"12ABC34501DE35", "12.ABC.345/01DE-35", "12ABC34501DE00",
+                "90021382000122", "1345c3A5000106", "abc", "00000000000000", null}) {
+            sombra.observar(cnpj, CnpjValidacao.isValid(cnpj));
+        }
+
+        assertEquals(8, sombra.getAmostradas());
+        assertEquals(8, sombra.getIguais());
+        assertEquals(0, sombra.getDivergentes());
+        assertTrue(sombra.getNanosAtivo() > 0);
+        assertTrue(sombra.getNanosCandidato() > 0);
+        assertThrows(IllegalArgumentException.class, () -> CnpjShadowValidator.motor("simd"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar divergências e exceções do candidato, mantendo só as últimas")
+    void deveRegistrarDivergencias() {
+        CnpjShadowValidator.Motor candidato = cnpj -> {
+            if (cnpj.startsWith("R")) {
+                throw new IllegalStateException("tabela não carregada");
+            }
+            return !CnpjValidacao.isValid(cnpj);
+        };
+        CnpjShadowValidator sombra = new CnpjShadowValidator(CnpjShadowValidator.motor("validacao"),
+            candidato, 1.0, 2, Runnable::run);
+
+        sombra.observar("12ABC34501DE35", true);
+        sombra.observar("12ABC34501DE00", false);
+        sombra.observar("R55231B3000757", true);
+
+        assertEquals(3, sombra.getDivergentes());
+        List<CnpjShadowValidator.Divergencia> divergencias = sombra.getDivergencias();
+        assertEquals(2, divergencias.size());
+        assertEquals("12ABC34501DE00", divergencias.get(0).cnpj());
+        assertEquals(CnpjMotivo.DV_INCORRETO, divergencias.get(0).motivo());
+        assertTrue(divergencias.get(0).candidato());
+        assertNull(divergencias.get(1).candidato());
+        assertEquals("IllegalStateException: tabela não carregada", divergencias.get(1).erro());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar a amostragem e descartar com a fila cheia sem bloquear")
+    void deveDescartarComFilaCheia() throws InterruptedException {
+        CnpjShadowValidator desligada = new CnpjShadowValidator(cnpj -> true, cnpj -> true, 0.0, 10, Runnable::run);
+        desligada.observar("12ABC34501DE35", true);
+        assertEquals(0, desligada.getAmostradas());
+
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CnpjShadowValidator.Motor lento = cnpj -> {
+            iniciou.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        };
+        try (CnpjShadowValidator sombra = new CnpjShadowValidator(cnpj -> true, lento, 1.0, 1, 10)) {
+            sombra.observar("a", true);
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+            sombra.observar("b", true);     // ocupa a fila
+            sombra.observar("c", true);     // descartada
+
+            assertEquals(3, sombra.getAmostradas());
+            assertEquals(1, sombra.getDescartadas());
+            liberar.countDown();
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new CnpjShadowValidator(cnpj -> true, cnpj -> true, 1.5, 10, Runnable::run));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o {@link CnpjSugestoes}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjSugestoes - Correção de Digitação")
+class CnpjSugestoesTest {
+
+    private static final String ALFABETO = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Test
+    @DisplayName("Deve sugerir o CNPJ original para um caractere trocado")
+    void deveSugerirSubstituicao() {
+        List<CnpjSugestoes.Sugestao> sugestoes = CnpjSugestoes.sugerir("12.ABC.345/01DF-35");
+
+        assertTrue(sugestoes.contains(
+            new CnpjSugestoes.Sugestao("12ABC34501DE35", CnpjSugestoes.Tipo.SUBSTITUICAO, 12, false)));
+        sugestoes.forEach(s -> assertTrue(CnpjFastValidator.isValid(s.cnpj())));
+    }
+
+    @Test
+    @DisplayName("Deve sugerir o CNPJ original para vizinhos invertidos")
+    void deveSugerirTransposicao() {
+        List<CnpjSugestoes.Sugestao> sugestoes = CnpjSugestoes.sugerir("12ABC34510DE35");
+
+        assertTrue(sugestoes.contains(
+            new CnpjSugestoes.Sugestao("12ABC34501DE35", CnpjSugestoes.Tipo.TRANSPOSICAO, 9, false)));
+    }
+
+    @Test
+    @DisplayName("Deve corrigir só a posição do caractere fora do alfabeto")
+    void deveCorrigirCaractereForaDoAlfabeto() {
+        List<CnpjSugestoes.Sugestao> sugestoes = CnpjSugestoes.sugerir("12ABc34501DE35");
+
+        assertFalse(sugestoes.isEmpty());
+        assertTrue(sugestoes.stream().allMatch(s -> s.posicao() == 5));
+        assertTrue(sugestoes.stream().anyMatch(s -> s.cnpj().equals("12ABC34501DE35")));
+    }
+
+    @Test
+    @DisplayName("Não deve sugerir nada para CNPJ válido ou de tamanho errado")
+    void naoDeveSugerirSemErroCorrigivel() {
+        assertTrue(CnpjSugestoes.sugerir("12ABC34501DE35").isEmpty());
+        assertTrue(CnpjSugestoes.sugerir("12ABC34501DE3").isEmpty());
+        assertTrue(CnpjSugestoes.sugerir("12#BC34501DE#5").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve listar primeiro as sugestões registradas")
+    void deveOrdenarPorRegistro() {
+        long registrada = CnpjPacked.packBase("12ABC34501DE", 0);
+        List<CnpjSugestoes.Sugestao> sugestoes = CnpjSugestoes.sugerir("12ABC34501DF35", base -> base == registrada);
+
+        assertEquals("12ABC34501DE35", sugestoes.get(0).cnpj());
+        assertTrue(sugestoes.get(0).registrado());
+        assertTrue(sugestoes.stream().skip(1).noneMatch(CnpjSugestoes.Sugestao::registrado));
+    }
+
+    @Test
+    @DisplayName("Deve achar exatamente os mesmos candidatos que a força bruta")
+    void deveCoincidirComForcaBruta() {
+        Random aleatorio = new Random(43);
+        for (int rodada = 0; rodada < 2_000; rodada++) {
+            char[] cnpj = new char[14];
+            for (int i = 0; i < 12; i++) {
+                cnpj[i] = ALFABETO.charAt(aleatorio.nextInt(rodada % 2 == 0 ? 10 : 36));
+            }
+            cnpj[12] = (char) ('0' + aleatorio.nextInt(10));
+            cnpj[13] = (char) ('0' + aleatorio.nextInt(10));
+            String texto = new String(cnpj);
+            if (CnpjFastValidator.isValid(texto)) {
+                continue;
+            }
+
+            Set<String> sugeridos = CnpjSugestoes.sugerir(texto).stream()
+                .map(CnpjSugestoes.Sugestao::cnpj)
+                .collect(Collectors.toSet());
+            assertEquals(forcaBruta(texto), sugeridos, texto);
+        }
+    }
+
+    private static Set<String> forcaBruta(String cnpj) {
+        Set<String> validos = new HashSet<>();
+        for (int i = 0; i < cnpj.length(); i++) {
+            for (char c : ALFABETO.toCharArray()) {
+                char[] candidato = cnpj.toCharArray();
+                candidato[i] = c;
+                if (CnpjFastValidator.isValid(new String(candidato))) {
+                    validos.add(new String(candidato));
+                }
+            }
+            if (i + 1 < cnpj.length()) {
+                char[] candidato = cnpj.toCharArray();
+                candidato[i] = cnpj.charAt(i + 1);
+                candidato[i + 1] = cnpj.charAt(i);
+                if (CnpjFastValidator.isValid(new String(candidato))) {
+                    validos.add(new String(candidato));
+                }
+            }
+        }
+        return validos;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.validation.cnpj;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da base de situação cadastral mapeada em memória ({@link SituacaoCadastralIndex}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("SituacaoCadastralIndex - Consulta da Situação Cadastral")
+class SituacaoCadastralIndexTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve encontrar cada base gravada e nenhuma entre elas")
+    void deveEncontrarBasesGravadas() throws IOException {
+        Path arquivo = diretorio.resolve("situacao.bin");
+        // cercas a cada 7 registros: exercita a busca nas cercas e dentro dos blocos
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(arquivo, null, 7)) {
+            for (long base = 10; base <= 1_000; base += 10) {
+                escritor.adicionar(base, SituacaoCadastralIndex.info((int) (base / 10 % 9), null));
+            }
+        }
+
+        try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo)) {
+            assertEquals(100, indice.quantidade());
+            for (long base = 10; base <= 1_000; base += 10) {
+                assertEquals(base / 10 % 9, SituacaoCadastralIndex.codigo(indice.consultar(base)), "base " + base);
+                assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar(base + 5));
+            }
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar(0));
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar(Long.MAX_VALUE));
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar("abc"));
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar((CharSequence) null));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aceitar base vazia")
+    void deveAceitarBaseVazia() throws IOException {
+        Path arquivo = diretorio.resolve("vazia.bin");
+        new SituacaoCadastralIndex.Escritor(arquivo, LocalDate.of(2026, 10, 12)).close();
+
+        try (SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo)) {
+            assertEquals(0, indice.quantidade());
+            assertEquals(LocalDate.of(2026, 10, 12), indice.getDataReferencia());
+            assertEquals(SituacaoCadastralIndex.NAO_ENCONTRADO, indice.consultar("12ABC34501DE35"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar bases fora de ordem e arquivos em outro formato")
+    void deveRejeitarEntradasInvalidas() throws IOException {
+        try (SituacaoCadastralIndex.Escritor escritor =
+                 new SituacaoCadastralIndex.Escritor(diretorio.resolve("a.bin"), null)) {
+            escritor.adicionar(20, 0);
+            assertThrows(IllegalArgumentException.class, () -> escritor.adicionar(20, 0));
+            assertThrows(IllegalArgumentException.class, () -> escritor.adicionar(10, 0));
+        }
+
+        Path outro = Files.writeString(diretorio.resolve("outro.bin"), "12ABC34501DE35\n".repeat(4));
+        assertThrows(IOException.class, () -> SituacaoCadastralIndex.abrir(outro));
+
+        Path valido = diretorio.resolve("truncado.bin");
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(valido, null)) {
+            escritor.adicionar(1, 0);
+            escritor.adicionar(2, 0);
+        }
+        byte[] bytes = Files.readAllBytes(valido);
+        Files.write(valido, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> SituacaoCadastralIndex.abrir(valido));
+    }
+
+    @Test
+    @DisplayName("Deve codificar código e data no info")
+    void deveCodificarInfo() {
+        int info = SituacaoCadastralIndex.info(8, LocalDate.of(1900, 1, 1));
+        assertEquals(8, SituacaoCadastralIndex.codigo(info));
+        assertEquals(SituacaoCadastral.BAIXADA, SituacaoCadastralIndex.situacao(info));
+        assertEquals(LocalDate.of(1900, 1, 1), SituacaoCadastralIndex.data(info));
+
+        info = SituacaoCadastralIndex.info(99, null);
+        assertNull(SituacaoCadastralIndex.situacao(info));
+        assertNull(SituacaoCadastralIndex.data(info));
+
+        assertThrows(IllegalArgumentException.class, () -> SituacaoCadastralIndex.info(128, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> SituacaoCadastralIndex.info(2, LocalDate.of(1899, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("Deve continuar consultando o índice padrão fechado durante a consulta")
+    void deveConsultarDuranteClose() throws Exception {
+        Path arquivo = diretorio.resolve("padrao.bin");
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(arquivo, null, 7)) {
+            for (long base = 1; base <= 100; base++) {
+                escritor.adicionar(base, SituacaoCadastralIndex.info(2, null));
+            }
+        }
+
+        for (int rodada = 0; rodada < 20; rodada++) {
+            SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo);
+            SituacaoCadastralIndex.definirPadrao(indice);
+            CountDownLatch largada = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Integer>> consultas = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    consultas.add(executor.submit(() -> {
+                        largada.await();
+                        int encontrados = 0;
+                        SituacaoCadastralIndex atual;
+                        while ((atual = SituacaoCadastralIndex.getPadrao()) != null) {
+                            for (long base = 1; base <= 100; base++) {
+                                if (atual.consultar(base) != SituacaoCadastralIndex.NAO_ENCONTRADO) {
+                                    encontrados++;
+                                }
+                            }
+                        }
+                        return encontrados;
+                    }));
+                }
+                largada.countDown();
+                indice.close();
+                for (Future<Integer> consulta : consultas) {
+                    assertEquals(0, consulta.get(10, TimeUnit.SECONDS) % 100, "consulta interrompida pelo close");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertNull(SituacaoCadastralIndex.getPadrao());
+            assertEquals(2, SituacaoCadastralIndex.codigo(indice.consultar(50)), "mapeamento liberado no close");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.validation.cnpj.jfr;
+
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.CnpjValidacao;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos eventos JFR emitidos pelo {@link CnpjValidacao}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("Eventos JFR da Validação de CNPJ")
+class CnpjJfrEventsTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve emitir eventos de validação, normalização e cálculo de DV")
+    void deveEmitirEventos() throws Exception {
+        Path arquivo = diretorio.resolve("teste.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CnpjValidacaoEvent.NOME).withoutThreshold();
+            recording.enable(CnpjNormalizacaoEvent.NOME).withoutThreshold();
+            recording.enable(CnpjCalculoDVEvent.NOME).withoutThreshold();
+            recording.start();
+
+            CnpjValidacao.isValid("12.ABC.345/01DE-35");
+            CnpjValidacao.isValid("12ABC34501DE00");
+
+            recording.stop();
+            recording.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+        List<RecordedEvent> validacoes = eventos.stream()
+            .filter(e -> e.getEventType().getName().equals(CnpjValidacaoEvent.NOME))
+            .toList();
+
+        assertEquals(2, validacoes.size());
+        assertTrue(validacoes.get(0).getBoolean("valido"));
+        assertEquals("VALIDO", validacoes.get(0).getString("motivo"));
+        assertEquals(18, validacoes.get(0).getInt("tamanhoEntrada"));
+        assertFalse(validacoes.get(1).getBoolean("valido"));
+        assertEquals("DV_INCORRETO", validacoes.get(1).getString("motivo"));
+
+        assertEquals(2, eventos.stream()
+            .filter(e -> e.getEventType().getName().equals(CnpjNormalizacaoEvent.NOME)).count());
+        assertEquals(2, eventos.stream()
+            .filter(e -> e.getEventType().getName().equals(CnpjCalculoDVEvent.NOME)).count());
+    }
+}
@@ -0,0 +1,249 @@
+#!/usr/bin/env python3
+"""Gera parceiros.arrow e parceiros.arrows para o CnpjArrowValidatorTest.
+
+Os bytes seguem a especificação do Arrow IPC (Message.fbs, Schema.fbs, File.fbs) e são
+montados aqui, sem passar pelo ArrowIpc.Escritor: o FlatBuffer é construído de trás para
+frente como no builder oficial (vtables antes das tabelas, campos com valor padrão omitidos),
+e o corpo tem os buffers alinhados a 64 bytes, como recomenda a especificação. Com pyarrow
+disponível, o mesmo conteúdo pode ser conferido com pyarrow.ipc.open_file/open_stream.
+
+Colunas: id (Int32, sem nulos), cnpj (Utf8 com nulos) e cnpj_fixo (FixedSizeBinary(14) com
+nulos), em dois lotes de 5 e 3 linhas; o segundo lote não tem nulos em cnpj nem em cnpj_fixo.
+"""
+
+import os
+import struct
+
+# Union Type
+TIPO_INT, TIPO_UTF8, TIPO_FSB = 2, 5, 15
+# Union MessageHeader
+SCHEMA, RECORD_BATCH = 1, 3
+V5 = 4
+
+
+class Builder:
+    """FlatBuffer montado de trás para frente; deslocamentos contados a partir do fim."""
+
+    def __init__(self):
+        self.buf = bytearray()
+        self.campos = None
+        self.inicio = 0
+
+    def pos(self):
+        return len(self.buf)
+
+    def prep(self, alinhamento, adicional):
+        self.buf[0:0] = bytes((-(len(self.buf) + adicional)) % alinhamento)
+
+    def prepend(self, dados):
+        self.buf[0:0] = dados
+
+    def texto(self, valor):
+        dados = valor.encode()
+        self.prep(4, len(dados) + 1)
+        self.prepend(dados + b'\0')
+        self.prep(4, 4)
+        self.prepend(struct.pack('<I', len(dados)))
+        return self.pos()
+
+    def vetor_tabelas(self, tabelas):
+        self.prep(4, 4 * len(tabelas))
+        for tabela in reversed(tabelas):
+            self.prep(4, 4)
+            self.prepend(struct.pack('<I', self.pos() + 4 - tabela))
+        self.prepend(struct.pack('<I', len(tabelas)))
+        return self.pos()
+
+    def vetor_estruturas(self, estruturas, tamanho):
+        self.prep(8, len(estruturas))
+        self.prepend(estruturas)
+        self.prep(4, 4)
+        self.prepend(struct.pack('<I', len(estruturas) // tamanho))
+        return self.pos()
+
+    def iniciar(self):
+        self.campos = {}
+        self.inicio = self.pos()
+
+    def escalar(self, campo, formato, valor, padrao=0):
+        if valor == padrao:
+            return
+        tamanho = struct.calcsize('<' + formato)
+        self.prep(tamanho, tamanho)
+        self.prepend(struct.pack('<' + formato, valor))
+        self.campos[campo] = self.pos()
+
+    def referencia(self, campo, alvo):
+        self.prep(4, 4)
+        self.prepend(struct.pack('<I', self.pos() + 4 - alvo))
+        self.campos[campo] = self.pos()
+
+    def terminar(self):
+        self.prep(4, 4)
+        self.prepend(struct.pack('<i', 0))
+        tabela = self.pos()
+        quantidade = max(self.campos) + 1 if self.campos else 0
+        vtable = [4 + 2 * quantidade, tabela - self.inicio]
+        for campo in range(quantidade):
+            vtable.append(tabela - self.campos[campo] if campo in self.campos else 0)
+        self.prepend(struct.pack('<%dH' % len(vtable), *vtable))
+        # soffset da tabela: posição da tabela menos a da vtable
+        deslocamento = len(self.buf) - tabela
+        self.buf[deslocamento:deslocamento + 4] = struct.pack('<i', self.pos() - tabela)
+        return tabela
+
+    def finalizar(self, raiz):
+        self.prep(8, 4)
+        self.prepend(struct.pack('<I', self.pos() + 4 - raiz))
+        return bytes(self.buf)
+
+
+def tabela_vazia(b):
+    b.iniciar()
+    return b.terminar()
+
+
+def campo(b, nome, anulavel, tipo, largura=None):
+    if tipo == TIPO_INT:
+        b.iniciar()
+        b.escalar(0, 'i', largura)
+        b.escalar(1, 'B', 1)
+        detalhe = b.terminar()
+    elif tipo == TIPO_FSB:
+        b.iniciar()
+        b.escalar(0, 'i', largura)
+        detalhe = b.terminar()
+    else:
+        detalhe = tabela_vazia(b)
+    filhos = b.vetor_tabelas([])
+    texto = b.texto(nome)
+    b.iniciar()
+    b.referencia(0, texto)
+    b.escalar(1, 'B', 1 if anulavel else 0)
+    b.escalar(2, 'B', tipo)
+    b.referencia(3, detalhe)
+    b.referencia(5, filhos)
+    return b.terminar()
+
+
+def schema(b):
+    campos = [campo(b, 'id', False, TIPO_INT, 32), campo(b, 'cnpj', True, TIPO_UTF8),
+              campo(b, 'cnpj_fixo', True, TIPO_FSB, 14)]
+    chave, valor = b.texto('origem'), b.texto('fixture')
+    b.iniciar()
+    b.referencia(0, chave)
+    b.referencia(1, valor)
+    metadados = b.vetor_tabelas([b.terminar()])
+    vetor = b.vetor_tabelas(campos)
+    b.iniciar()
+    b.referencia(1, vetor)
+    b.referencia(2, metadados)
+    return b.terminar()
+
+
+def mensagem(tipo, cabecalho, corpo):
+    b = Builder()
+    tabela = cabecalho(b)
+    b.iniciar()
+    b.escalar(3, 'q', corpo)
+    b.referencia(2, tabela)
+    b.escalar(0, 'h', V5)
+    b.escalar(1, 'B', tipo)
+    return b.finalizar(b.terminar())
+
+
+def encapsular(metadados):
+    tamanho = len(metadados) + (-(8 + len(metadados)) % 8)
+    return struct.pack('<Ii', 0xFFFFFFFF, tamanho) + metadados.ljust(tamanho, b'\0')
+
+
+def bitmap(valores):
+    bits = bytearray((len(valores) + 7) // 8)
+    for i, valor in enumerate(valores):
+        if valor is not None:
+            bits[i // 8] |= 1 << (i % 8)
+    return bytes(bits)
+
+
+def lote(ids, cnpjs, fixos):
+    buffers = []
+    nos = []
+
+    nos.append((len(ids), 0))
+    buffers += [b'', struct.pack('<%di' % len(ids), *ids)]
+
+    nulos = cnpjs.count(None)
+    offsets, dados = [0], b''
+    for valor in cnpjs:
+        dados += (valor or '').encode()
+        offsets.append(len(dados))
+    nos.append((len(cnpjs), nulos))
+    buffers += [bitmap(cnpjs) if nulos else b'', struct.pack('<%di' % len(offsets), *offsets), dados]
+
+    nulos = fixos.count(None)
+    nos.append((len(fixos), nulos))
+    buffers += [bitmap(fixos) if nulos else b'', b''.join((v or '').encode().ljust(14, b'\0') for v in fixos)]
+
+    corpo, estruturas = b'', b''
+    for buffer in buffers:
+        estruturas += struct.pack('<qq', len(corpo), len(buffer))
+        corpo += buffer.ljust(len(buffer) + (-len(buffer) % 64), b'\0')
+
+    def cabecalho(b):
+        vetor_buffers = b.vetor_estruturas(estruturas, 16)
+        vetor_nos = b.vetor_estruturas(b''.join(struct.pack('<qq', *no) for no in nos), 16)
+        b.iniciar()
+        b.escalar(0, 'q', len(ids))
+        b.referencia(1, vetor_nos)
+        b.referencia(2, vetor_buffers)
+        return b.terminar()
+
+    return encapsular(mensagem(RECORD_BATCH, cabecalho, len(corpo))), corpo
+
+
+LOTES = [
+    ([1, 2, 3, 4, 5],
+     ['12.ABC.345/01DE-35', None, '12ABC34501DE00', '90021382000122', None],
+     ['R55231B3000757', None, '12ABC34501DE00', '90021382000122', '1345C3A5000106']),
+    ([6, 7, 8],
+     ['R55231B3000757', 'abc', '00000000000000'],
+     ['12ABC34501DE35', '00000000000000', 'R55231B3000700']),
+]
+
+
+def main():
+    diretorio = os.path.dirname(os.path.abspath(__file__))
+    inicio = encapsular(mensagem(SCHEMA, schema, 0))
+    fim = struct.pack('<Ii', 0xFFFFFFFF, 0)
+
+    stream = inicio
+    arquivo = b'ARROW1\0\0' + inicio
+    blocos = []
+    for ids, cnpjs, fixos in LOTES:
+        metadados, corpo = lote(ids, cnpjs, fixos)
+        stream += metadados + corpo
+        blocos.append(struct.pack('<qiiq', len(arquivo), len(metadados), 0, len(corpo)))
+        arquivo += metadados + corpo
+    stream += fim
+    arquivo += fim
+
+    b = Builder()
+    tabela_schema = schema(b)
+    registros = b.vetor_estruturas(b''.join(blocos), 24)
+    dicionarios = b.vetor_estruturas(b'', 24)
+    b.iniciar()
+    b.referencia(1, tabela_schema)
+    b.referencia(2, dicionarios)
+    b.referencia(3, registros)
+    b.escalar(0, 'h', V5)
+    rodape = b.finalizar(b.terminar())
+    arquivo += rodape + struct.pack('<i', len(rodape)) + b'ARROW1'
+
+    with open(os.path.join(diretorio, 'parceiros.arrows'), 'wb') as saida:
+        saida.write(stream)
+    with open(os.path.join(diretorio, 'parceiros.arrow'), 'wb') as saida:
+        saida.write(arquivo)
+
+
+if __name__ == '__main__':
+    main()
@@ -19,7 +19,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * <p>Endpoints disponíveis:</p>
  * <ul>
  *   <li>POST /api/empresas - Cadastrar empresa</li>
- *   <li>PUT /api/empresas/{id} - Atualizar empresa</li>
+ *   <li>GET /api/empresas/{id} - Consultar empresa (com ETag da versão)</li>
+ *   <li>PUT /api/empresas/{id} - Atualizar empresa (If-Match opcional)</li>
+ *   <li>GET /api/cnpj/{cnpj} - Consultar CNPJ (resposta cacheável)</li>
+ *   <li>GET /api/cnpj/raiz/{raiz}/filiais - Listar filiais da raiz</li>
+ *   <li>GET /api/cnpj/raiz/{raiz}/proxima-filial - Próxima filial livre</li>
+ *   <li>GET /api/cluster - Estado do nó no registro particionado</li>
+ *   <li>PUT /api/cluster/membros - Atualizar membros e rebalancear</li>
  * </ul>
  * 
  * @author Sistema de Validação
@@ -47,7 +53,13 @@ public class CnpjValidatorApplication {
             "║                                                              ║\n" +
             "║     Endpoints disponíveis:                                   ║\n" +
             "║     POST   /api/empresas                                     ║\n" +
+            "║     GET    /api/empresas/{id}                                ║\n" +
             "║     PUT    /api/empresas/{id}                                ║\n" +
+            "║     GET    /api/cnpj/{cnpj}                                  ║\n" +
+            "║     GET    /api/cnpj/raiz/{raiz}/filiais                     ║\n" +
+            "║     GET    /api/cnpj/raiz/{raiz}/proxima-filial              ║\n" +
+            "║     GET    /api/cluster                                      ║\n" +
+            "║     PUT    /api/cluster/membros                              ║\n" +
             "║                                                              ║\n" +
             "╚══════════════════════════════════════════════════════════════╝\n");
     }
@@ -0,0 +1,177 @@
+package com.example.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controle de admissão na frente dos controllers de {@code /api/**}.
+ *
+ * <p>Cada requisição consome um token do bucket do cliente (identificado pelo cabeçalho
+ * de API key ou, na falta dele, pelo IP) e ocupa uma vaga do limite de concorrência.
+ * Recusas respondem {@code 429} com {@code Retry-After} direto do filtro, sem passar pelo
+ * Spring MVC nem ler o corpo da requisição.</p>
+ *
+ * <p>Endpoints em lote cobram o restante do custo com {@link #cobrarItens(int)} depois de
+ * conhecer a quantidade de itens; se não houver saldo, a requisição termina em {@code 429}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String ATRIBUTO_CLIENTE = AdmissionControlFilter.class.getName() + ".cliente";
+    private static final String ATRIBUTO_FILTRO = AdmissionControlFilter.class.getName() + ".filtro";
+
+    /** Tamanho máximo da chave guardada por cliente (limita a memória do mapa de buckets). */
+    private static final int TAMANHO_MAXIMO_CHAVE = 128;
+
+    private static final byte[] CORPO_TAXA =
+        "{\"erro\":\"Limite de requisições excedido para o cliente\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CORPO_CONCORRENCIA =
+        "{\"erro\":\"Servidor sobrecarregado, tente novamente\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ClientRateLimiter taxa;
+    private final ConcurrencyLimiter concorrencia;
+    private final String cabecalhoChave;
+
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder recusadasTaxa = new LongAdder();
+    private final LongAdder recusadasConcorrencia = new LongAdder();
+
+    /**
+     * @param taxa limitador de taxa por cliente
+     * @param concorrencia limite de requisições simultâneas
+     * @param cabecalhoChave cabeçalho com a API key (ex.: {@code X-API-Key})
+     */
+    public AdmissionControlFilter(ClientRateLimiter taxa, ConcurrencyLimiter concorrencia, String cabecalhoChave) {
+        this.taxa = taxa;
+        this.concorrencia = concorrencia;
+        this.cabecalhoChave = cabecalhoChave;
+    }
+
+    /**
+     * Cobra do cliente da requisição corrente o custo de uma operação em lote.
+     *
+     * <p>O primeiro item já foi cobrado na admissão; aqui são cobrados os demais, decidindo
+     * pelo saldo anterior à admissão: um cliente com o bucket cheio passa um lote maior que
+     * a rajada e fica em débito. Sem efeito fora de uma requisição ou com o controle de
+     * admissão desligado.</p>
+     *
+     * @param itens quantidade de itens do lote
+     * @throws LimiteExcedidoException se o cliente não tiver saldo
+     */
+    public static void cobrarItens(int itens) {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null || itens <= 1) {
+            return;
+        }
+        Object filtro = atributos.getAttribute(ATRIBUTO_FILTRO, RequestAttributes.SCOPE_REQUEST);
+        Object cliente = atributos.getAttribute(ATRIBUTO_CLIENTE, RequestAttributes.SCOPE_REQUEST);
+        if (filtro instanceof AdmissionControlFilter admissao && cliente instanceof String chave) {
+            admissao.cobrar(chave, itens);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String cliente = identificarCliente(request);
+
+        long espera = taxa.tentarConsumir(cliente, 1);
+        if (espera > 0) {
+            recusadasTaxa.increment();
+            recusar(response, espera, CORPO_TAXA);
+            return;
+        }
+        if (!concorrencia.tentarAdquirir()) {
+            taxa.devolver(cliente, 1);
+            recusadasConcorrencia.increment();
+            recusar(response, TimeUnit.SECONDS.toNanos(1), CORPO_CONCORRENCIA);
+            return;
+        }
+
+        admitidas.increment();
+        request.setAttribute(ATRIBUTO_FILTRO, this);
+        request.setAttribute(ATRIBUTO_CLIENTE, cliente);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concorrencia.liberar();
+        }
+    }
+
+    /**
+     * Identifica o cliente pela API key ou, na falta dela, pelo IP remoto.
+     *
+     * <p>Atrás de um proxy reverso, configure {@code server.forward-headers-strategy}
+     * para que o IP remoto seja o do cliente.</p>
+     *
+     * @param request requisição HTTP
+     * @return chave do bucket do cliente
+     */
+    String identificarCliente(HttpServletRequest request) {
+        String chave = request.getHeader(cabecalhoChave);
+        if (chave != null && !chave.isBlank()) {
+            return "chave:" + (chave.length() > TAMANHO_MAXIMO_CHAVE ? chave.substring(0, TAMANHO_MAXIMO_CHAVE) : chave);
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void cobrar(String cliente, int itens) {
+        long espera = taxa.tentarComplementar(cliente, 1, itens);
+        if (espera > 0) {
+            recusadasTaxa.increment();
+            throw new LimiteExcedidoException(segundos(espera));
+        }
+    }
+
+    private static void recusar(HttpServletResponse response, long esperaNanos, byte[] corpo) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos(esperaNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    public long getAdmitidas() {
+        return admitidas.sum();
+    }
+
+    public long getRecusadasTaxa() {
+        return recusadasTaxa.sum();
+    }
+
+    public long getRecusadasConcorrencia() {
+        return recusadasConcorrencia.sum();
+    }
+
+    public ClientRateLimiter getTaxa() {
+        return taxa;
+    }
+
+    public ConcurrencyLimiter getConcorrencia() {
+        return concorrencia;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por cliente, com um {@link TokenBucket} por chave (API key ou IP).
+ *
+ * <p>Buckets cheios são equivalentes a buckets novos, então podem ser descartados sem
+ * perder informação. Quando o mapa passa de {@code maxClientes}, os buckets cheios são
+ * removidos (no máximo uma varredura por segundo); se mesmo assim não houver espaço,
+ * clientes novos dividem um bucket compartilhado até a próxima varredura. Assim a memória
+ * fica limitada mesmo sob uma enxurrada de IPs distintos.</p>
+ *
+ * <p>Thread-safe e sem lock no caminho de consumo.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ClientRateLimiter {
+
+    /** Chave do bucket compartilhado pelos clientes que não couberam no mapa. */
+    public static final String CLIENTE_EXCEDENTE = "*";
+
+    private static final long INTERVALO_LIMPEZA = TimeUnit.SECONDS.toNanos(1);
+
+    private final double taxaPorSegundo;
+    private final int capacidade;
+    private final int maxClientes;
+    private final LongSupplier relogio;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket excedente;
+    private final AtomicLong ultimaLimpeza;
+
+    /**
+     * Cria um limitador usando {@link System#nanoTime()}.
+     *
+     * @param taxaPorSegundo tokens repostos por segundo, por cliente
+     * @param capacidade rajada máxima por cliente
+     * @param maxClientes quantidade máxima de buckets individuais
+     */
+    public ClientRateLimiter(double taxaPorSegundo, int capacidade, int maxClientes) {
+        this(taxaPorSegundo, capacidade, maxClientes, System::nanoTime);
+    }
+
+    ClientRateLimiter(double taxaPorSegundo, int capacidade, int maxClientes, LongSupplier relogio) {
+        if (maxClientes <= 0) {
+            throw new IllegalArgumentException("Quantidade máxima de clientes deve ser positiva");
+        }
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.capacidade = capacidade;
+        this.maxClientes = maxClientes;
+        this.relogio = relogio;
+        long agora = relogio.getAsLong();
+        this.excedente = new TokenBucket(taxaPorSegundo, capacidade, agora);
+        this.ultimaLimpeza = new AtomicLong(agora);
+    }
+
+    /**
+     * Tenta consumir tokens do bucket do cliente.
+     *
+     * @param cliente chave do cliente
+     * @param tokens custo da requisição
+     * @return 0 se aceito; caso contrário, nanossegundos sugeridos de espera
+     */
+    public long tentarConsumir(String cliente, int tokens) {
+        long agora = relogio.getAsLong();
+        return bucket(cliente, agora).tentarConsumir(tokens, agora);
+    }
+
+    /**
+     * Completa um consumo já feito pelo cliente até um custo maior.
+     *
+     * @param cliente chave do cliente
+     * @param pagos tokens já consumidos pela requisição
+     * @param total custo total da requisição
+     * @return 0 se aceito; caso contrário, nanossegundos sugeridos de espera
+     * @see TokenBucket#tentarComplementar(int, int, long)
+     */
+    public long tentarComplementar(String cliente, int pagos, int total) {
+        long agora = relogio.getAsLong();
+        return bucket(cliente, agora).tentarComplementar(pagos, total, agora);
+    }
+
+    /**
+     * Devolve tokens ao bucket do cliente, se ele ainda existir.
+     *
+     * @param cliente chave do cliente
+     * @param tokens quantidade de tokens
+     */
+    public void devolver(String cliente, int tokens) {
+        TokenBucket bucket = buckets.get(cliente);
+        (bucket != null ? bucket : excedente).devolver(tokens);
+    }
+
+    /**
+     * Saldo atual de tokens do cliente.
+     *
+     * @param cliente chave do cliente
+     * @return tokens disponíveis (a capacidade, se o cliente não tiver bucket)
+     */
+    public long disponiveis(String cliente) {
+        TokenBucket bucket = buckets.get(cliente);
+        return bucket != null ? bucket.disponiveis(relogio.getAsLong()) : capacidade;
+    }
+
+    /**
+     * Remove os buckets cheios.
+     *
+     * @return quantidade de buckets removidos
+     */
+    public int limparOciosos() {
+        long agora = relogio.getAsLong();
+        ultimaLimpeza.set(agora);
+        int antes = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.cheio(agora));
+        return Math.max(0, antes - buckets.size());
+    }
+
+    /**
+     * Quantidade de clientes com bucket individual.
+     *
+     * @return número de buckets no mapa
+     */
+    public int quantidadeClientes() {
+        return buckets.size();
+    }
+
+    public int getMaxClientes() {
+        return maxClientes;
+    }
+
+    public double getTaxaPorSegundo() {
+        return taxaPorSegundo;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    private TokenBucket bucket(String cliente, long agora) {
+        TokenBucket bucket = buckets.get(cliente);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClientes) {
+            long anterior = ultimaLimpeza.get();
+            if (agora - anterior >= INTERVALO_LIMPEZA && ultimaLimpeza.compareAndSet(anterior, agora)) {
+                buckets.values().removeIf(b -> b.cheio(agora));
+            }
+            if (buckets.size() >= maxClientes) {
+                return excedente;
+            }
+        }
+        return buckets.computeIfAbsent(cliente, c -> new TokenBucket(taxaPorSegundo, capacidade, agora));
+    }
+}
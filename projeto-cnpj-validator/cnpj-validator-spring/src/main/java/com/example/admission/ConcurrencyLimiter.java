@@ -0,0 +1,59 @@
+package com.example.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas em processamento, sem fila.
+ *
+ * <p>Quando o limite é atingido a requisição é recusada na hora, em vez de esperar por uma
+ * thread do Tomcat: esperar só aumentaria a latência de todos sem aumentar a vazão.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ConcurrencyLimiter {
+
+    private final int maximo;
+    private final AtomicInteger emUso = new AtomicInteger();
+
+    /**
+     * @param maximo quantidade máxima de requisições simultâneas
+     */
+    public ConcurrencyLimiter(int maximo) {
+        if (maximo <= 0) {
+            throw new IllegalArgumentException("Concorrência máxima deve ser positiva");
+        }
+        this.maximo = maximo;
+    }
+
+    /**
+     * Tenta ocupar uma vaga.
+     *
+     * @return true se a vaga foi ocupada (e deve ser liberada com {@link #liberar()})
+     */
+    public boolean tentarAdquirir() {
+        int atual;
+        do {
+            atual = emUso.get();
+            if (atual >= maximo) {
+                return false;
+            }
+        } while (!emUso.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    /** Libera uma vaga ocupada por {@link #tentarAdquirir()}. */
+    public void liberar() {
+        emUso.decrementAndGet();
+    }
+
+    public int getEmUso() {
+        return emUso.get();
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lançada quando o custo adicional de uma requisição em lote excede o saldo do cliente.
+ *
+ * <p>Resulta em {@code 429 Too Many Requests} com o cabeçalho {@code Retry-After}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class LimiteExcedidoException extends ResponseStatusException {
+
+    private final long retryAfterSegundos;
+
+    /**
+     * @param retryAfterSegundos segundos sugeridos de espera
+     */
+    public LimiteExcedidoException(long retryAfterSegundos) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido para o cliente");
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSegundos));
+        return headers;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, implementado como GCRA (<i>generic cell rate algorithm</i>).
+ *
+ * <p>Em vez de guardar a quantidade de tokens e o instante da última recarga (dois campos
+ * que precisariam ser atualizados juntos), o bucket guarda um único {@code long}: o instante
+ * teórico em que ele estará cheio de novo. Consumir {@code n} tokens empurra esse instante
+ * {@code n * intervalo} para frente; a requisição é aceita enquanto ele não passar de
+ * {@code agora + capacidade * intervalo}. A atualização é um único {@code compareAndSet}.</p>
+ *
+ * <p>Um bucket cheio aceita qualquer custo, mesmo maior que a capacidade, e fica "devendo":
+ * um lote grande passa uma vez e as requisições seguintes do mesmo cliente esperam até
+ * a dívida ser paga. Sem isso, lotes maiores que a rajada nunca seriam aceitos. Quando
+ * parte do custo já foi paga (ex.: o token da admissão), {@link #tentarComplementar}
+ * decide pelo estado anterior a ela.</p>
+ *
+ * <p>Os instantes estão na escala de {@link System#nanoTime()}. Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class TokenBucket {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    /**
+     * Cria um bucket cheio.
+     *
+     * @param taxaPorSegundo tokens repostos por segundo
+     * @param capacidade tamanho máximo da rajada
+     * @param agora instante atual, em nanossegundos
+     */
+    public TokenBucket(double taxaPorSegundo, int capacidade, long agora) {
+        if (taxaPorSegundo <= 0 || capacidade <= 0) {
+            throw new IllegalArgumentException("Taxa e capacidade devem ser positivas");
+        }
+        this.intervaloNanos = Math.max(1, (long) (1_000_000_000L / taxaPorSegundo));
+        this.toleranciaNanos = intervaloNanos * capacidade;
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /**
+     * Tenta consumir tokens.
+     *
+     * @param tokens quantidade de tokens (custo da requisição)
+     * @param agora instante atual, em nanossegundos
+     * @return 0 se os tokens foram consumidos; caso contrário, nanossegundos até haver saldo
+     */
+    public long tentarConsumir(int tokens, long agora) {
+        return tentarComplementar(0, tokens, agora);
+    }
+
+    /**
+     * Completa um consumo já feito até um custo maior, como se os tokens já pagos não
+     * tivessem sido consumidos: um bucket que estava cheio antes deles aceita o custo total
+     * em débito. Recusado, o consumo anterior continua valendo.
+     *
+     * @param pagos tokens já consumidos pela mesma requisição
+     * @param total custo total da requisição, incluindo os já pagos
+     * @param agora instante atual, em nanossegundos
+     * @return 0 se o restante foi consumido; caso contrário, nanossegundos até haver saldo
+     */
+    public long tentarComplementar(int pagos, int total, long agora) {
+        long pago = pagos * intervaloNanos;
+        long custo = total * intervaloNanos;
+        while (true) {
+            long atual = cheioEm.get();
+            long antes = atual - pago;
+            long inicio = antes - agora > 0 ? antes : agora;
+            long novo = inicio + custo;
+            long espera = novo - toleranciaNanos - agora;
+            if (espera > 0 && antes - agora > 0) {
+                // nem cabe no saldo, nem o bucket estava cheio para aceitar em débito
+                return Math.min(espera, antes - agora);
+            }
+            if (cheioEm.compareAndSet(atual, Math.max(novo, atual))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devolve tokens consumidos (ex.: requisição recusada por outro limite).
+     *
+     * @param tokens quantidade de tokens
+     */
+    public void devolver(int tokens) {
+        cheioEm.addAndGet(-tokens * intervaloNanos);
+    }
+
+    /**
+     * Tokens disponíveis no instante informado (negativo se o bucket estiver em débito).
+     *
+     * @param agora instante atual, em nanossegundos
+     * @return saldo de tokens
+     */
+    public long disponiveis(long agora) {
+        long ocupado = Math.max(0, cheioEm.get() - agora);
+        return (toleranciaNanos - ocupado) / intervaloNanos;
+    }
+
+    /**
+     * Indica se o bucket está cheio, ou seja, equivalente a um bucket recém-criado.
+     *
+     * @param agora instante atual, em nanossegundos
+     * @return true se o bucket pode ser descartado sem perda de estado
+     */
+    public boolean cheio(long agora) {
+        return cheioEm.get() - agora <= 0;
+    }
+}
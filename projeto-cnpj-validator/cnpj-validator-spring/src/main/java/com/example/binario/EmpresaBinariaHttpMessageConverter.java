@@ -0,0 +1,62 @@
+package com.example.binario;
+
+import com.example.dto.EmpresaDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Conversor HTTP de {@link EmpresaDTO} no formato do {@link EmpresaCodec}.
+ *
+ * <p>Lê corpos com {@code Content-Type: }{@value #MEDIA_TYPE} e escreve respostas dos
+ * endpoints que declaram esse tipo em {@code produces}, escolhidas pelo {@code Accept}; o JSON
+ * continua sendo o padrão. Bytes inválidos ou truncados no corpo resultam em {@code 400}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class EmpresaBinariaHttpMessageConverter extends AbstractHttpMessageConverter<EmpresaDTO> {
+
+    /** Tipo de mídia do formato binário de empresa. */
+    public static final String MEDIA_TYPE = "application/x-cnpj-empresa";
+
+    /** {@link #MEDIA_TYPE} como {@link MediaType}. */
+    public static final MediaType TIPO = MediaType.parseMediaType(MEDIA_TYPE);
+
+    public EmpresaBinariaHttpMessageConverter() {
+        super(TIPO);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmpresaDTO.class == clazz;
+    }
+
+    @Override
+    protected EmpresaDTO readInternal(Class<? extends EmpresaDTO> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        ByteBuffer corpo = ByteBuffer.wrap(inputMessage.getBody().readAllBytes());
+        try {
+            EmpresaDTO empresa = EmpresaCodec.ler(corpo);
+            if (corpo.hasRemaining()) {
+                throw new IllegalArgumentException("Bytes sobrando após a empresa");
+            }
+            return empresa;
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new HttpMessageNotReadableException("Empresa binária inválida: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(EmpresaDTO empresa, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer corpo = ByteBuffer.allocate(EmpresaCodec.tamanho(empresa));
+        EmpresaCodec.escrever(empresa, corpo);
+        outputMessage.getBody().write(corpo.array(), 0, corpo.position());
+    }
+}
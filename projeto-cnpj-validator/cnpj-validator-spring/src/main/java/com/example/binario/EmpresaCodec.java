@@ -0,0 +1,95 @@
+package com.example.binario;
+
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificação binária de {@link EmpresaDTO}, sobre o {@link CnpjCodec}.
+ *
+ * <p>Cada empresa é gravada como o CNPJ (8 ou 9 bytes) seguido da razão social e do nome
+ * fantasia, em UTF-8 com prefixo de tamanho. Uma empresa típica ocupa cerca de metade do
+ * JSON equivalente, e a leitura não passa por parser de texto. O CNPJ volta sem
+ * formatação.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class EmpresaCodec {
+
+    private EmpresaCodec() {
+    }
+
+    /**
+     * Bytes que {@link #escrever} vai gravar para a empresa.
+     *
+     * @param empresa empresa
+     * @return tamanho codificado (o CNPJ é contado com 9 bytes)
+     */
+    public static int tamanho(EmpresaDTO empresa) {
+        return CnpjCodec.TAMANHO_MAXIMO
+            + CnpjCodec.tamanhoTexto(empresa.getRazaoSocial())
+            + CnpjCodec.tamanhoTexto(empresa.getNomeFantasia());
+    }
+
+    /**
+     * Grava uma empresa.
+     *
+     * @param empresa empresa com CNPJ representável
+     * @param destino buffer de destino
+     * @return bytes gravados
+     * @throws IllegalArgumentException se o CNPJ não puder ser codificado
+     */
+    public static int escrever(EmpresaDTO empresa, ByteBuffer destino) {
+        return CnpjCodec.escrever(empresa.getCnpj(), destino)
+            + CnpjCodec.escreverTexto(empresa.getRazaoSocial(), destino)
+            + CnpjCodec.escreverTexto(empresa.getNomeFantasia(), destino);
+    }
+
+    /**
+     * Lê uma empresa gravada por {@link #escrever}.
+     *
+     * @param origem buffer posicionado no início da empresa
+     * @return empresa lida
+     * @throws IllegalArgumentException se os bytes não forem uma empresa codificada
+     * @throws java.nio.BufferUnderflowException se a empresa estiver incompleta
+     */
+    public static EmpresaDTO ler(ByteBuffer origem) {
+        String cnpj = CnpjCodec.ler(origem);
+        String razaoSocial = CnpjCodec.lerTexto(origem);
+        String nomeFantasia = CnpjCodec.lerTexto(origem);
+        return new EmpresaDTO(razaoSocial, cnpj, nomeFantasia);
+    }
+
+    /**
+     * Grava várias empresas em sequência.
+     *
+     * @param empresas empresas
+     * @param destino buffer de destino
+     * @return total de bytes gravados
+     */
+    public static int escreverTodas(List<EmpresaDTO> empresas, ByteBuffer destino) {
+        int total = 0;
+        for (EmpresaDTO empresa : empresas) {
+            total += escrever(empresa, destino);
+        }
+        return total;
+    }
+
+    /**
+     * Lê empresas em sequência até esgotar o buffer.
+     *
+     * @param origem buffer com empresas codificadas
+     * @return empresas lidas
+     */
+    public static List<EmpresaDTO> lerTodas(ByteBuffer origem) {
+        List<EmpresaDTO> empresas = new ArrayList<>();
+        while (origem.hasRemaining()) {
+            empresas.add(ler(origem));
+        }
+        return empresas;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache LRU limitado, dividido em segmentos para reduzir a disputa entre threads.
+ *
+ * <p>Cada segmento é um {@link LinkedHashMap} em ordem de acesso protegido pelo próprio
+ * monitor; a chave escolhe o segmento pelo hash. A capacidade é dividida igualmente entre
+ * os segmentos, então a política é LRU por segmento (aproximadamente LRU no total).</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class LruCache<K, V> {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Segmento<K, V>[] segmentos;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    /**
+     * @param capacidade quantidade máxima de entradas
+     */
+    @SuppressWarnings("unchecked")
+    public LruCache(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva");
+        }
+        int quantidade = Math.min(SEGMENTOS, capacidade);
+        this.segmentos = new Segmento[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            int porSegmento = capacidade / quantidade + (i < capacidade % quantidade ? 1 : 0);
+            segmentos[i] = new Segmento<>(porSegmento);
+        }
+    }
+
+    /**
+     * Retorna o valor da chave, calculando-o e guardando-o se ainda não estiver no cache.
+     *
+     * <p>O cálculo é feito fora do lock; em uma corrida, duas threads podem calcular o
+     * mesmo valor e a última a terminar prevalece.</p>
+     *
+     * @param chave chave
+     * @param calculo função que produz o valor (não pode retornar null)
+     * @return valor em cache ou recém-calculado
+     */
+    public V obter(K chave, Function<? super K, ? extends V> calculo) {
+        Segmento<K, V> segmento = segmento(chave);
+        V valor;
+        synchronized (segmento) {
+            valor = segmento.get(chave);
+        }
+        if (valor != null) {
+            acertos.increment();
+            return valor;
+        }
+
+        faltas.increment();
+        valor = calculo.apply(chave);
+        synchronized (segmento) {
+            segmento.put(chave, valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Quantidade de entradas no cache.
+     *
+     * @return total de entradas em todos os segmentos
+     */
+    public int tamanho() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    private Segmento<K, V> segmento(K chave) {
+        int hash = chave.hashCode();
+        hash ^= hash >>> 16;
+        return segmentos[Math.floorMod(hash, segmentos.length)];
+    }
+
+    private static final class Segmento<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacidade;
+
+        Segmento(int capacidade) {
+            super(16, 0.75f, true);
+            this.capacidade = capacidade;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> maisAntiga) {
+            return size() > capacidade;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjPacked;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cliente do protocolo interno ({@link ClusterServer}) para um nó remoto.
+ *
+ * <p>Thread-safe: cada chamada pega uma conexão ociosa (ou abre uma nova), faz uma ida e
+ * volta e devolve a conexão. O número de conexões acompanha a concorrência de pico
+ * contra o nó. Uma conexão que falha é descartada e a falha vira
+ * {@link NoIndisponivelException}; a chamada seguinte tenta de novo com uma nova conexão.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ClusterClient implements AutoCloseable {
+
+    private static final int TIMEOUT_CONEXAO_MS = 1_000;
+    private static final int TIMEOUT_LEITURA_MS = 5_000;
+    private static final int TAMANHO_BUFFER = 8 * 1024;
+
+    private final ClusterNode no;
+    private final ConcurrentLinkedQueue<Conexao> ociosas = new ConcurrentLinkedQueue<>();
+    private volatile boolean fechado;
+
+    /**
+     * @param no nó de destino
+     */
+    public ClusterClient(ClusterNode no) {
+        this.no = no;
+    }
+
+    public ClusterNode getNo() {
+        return no;
+    }
+
+    /**
+     * Registra um estabelecimento no nó remoto.
+     *
+     * @param base base empacotada
+     * @return true se o estabelecimento ainda não estava registrado
+     */
+    public boolean registrar(long base) {
+        return executar(c -> {
+            c.out.writeByte(ClusterServer.OP_REGISTRAR);
+            c.out.writeLong(base);
+            c.out.flush();
+            return c.in.readByte() != 0;
+        });
+    }
+
+    /**
+     * Remove um estabelecimento do nó remoto.
+     *
+     * @param base base empacotada
+     * @return true se o estabelecimento estava registrado
+     */
+    public boolean remover(long base) {
+        return executar(c -> {
+            c.out.writeByte(ClusterServer.OP_REMOVER);
+            c.out.writeLong(base);
+            c.out.flush();
+            return c.in.readByte() != 0;
+        });
+    }
+
+    /**
+     * Consulta as ordens registradas para a raiz no nó remoto.
+     *
+     * @param raiz raiz empacotada
+     * @return ordens empacotadas, em ordem crescente
+     */
+    public int[] ordens(long raiz) {
+        return executar(c -> {
+            c.out.writeByte(ClusterServer.OP_ORDENS);
+            c.out.writeLong(raiz);
+            c.out.flush();
+            int quantidade = c.in.readInt();
+            if (quantidade < 0 || quantidade > CnpjPacked.TOTAL_ORDENS) {
+                throw new IOException("Resposta inválida do nó '" + no.id() + "': " + quantidade + " ordens");
+            }
+            int[] ordens = new int[quantidade];
+            for (int i = 0; i < ordens.length; i++) {
+                ordens[i] = c.in.readInt();
+            }
+            return ordens;
+        });
+    }
+
+    /**
+     * Calcula no nó remoto a menor ordem livre para a raiz.
+     *
+     * @param raiz raiz empacotada
+     * @param somenteNumerica true para considerar apenas ordens {@code 0001..9999}
+     * @return ordem livre, ou {@link com.example.validation.cnpj.CnpjPacked#INVALIDO}
+     */
+    public int proximaOrdemLivre(long raiz, boolean somenteNumerica) {
+        return executar(c -> {
+            c.out.writeByte(ClusterServer.OP_PROXIMA);
+            c.out.writeLong(raiz);
+            c.out.writeBoolean(somenteNumerica);
+            c.out.flush();
+            return c.in.readInt();
+        });
+    }
+
+    /**
+     * Envia ao nó remoto todas as ordens de uma raiz (rebalanceamento).
+     *
+     * @param raiz raiz empacotada
+     * @param ordens ordens empacotadas
+     * @return quantidade de ordens que ainda não existiam no destino
+     */
+    public int transferir(long raiz, int[] ordens) {
+        return executar(c -> {
+            c.out.writeByte(ClusterServer.OP_TRANSFERIR);
+            c.out.writeLong(raiz);
+            c.out.writeInt(ordens.length);
+            for (int ordem : ordens) {
+                c.out.writeInt(ordem);
+            }
+            c.out.flush();
+            return c.in.readInt();
+        });
+    }
+
+    @Override
+    public void close() {
+        fechado = true;
+        Conexao conexao;
+        while ((conexao = ociosas.poll()) != null) {
+            conexao.fechar();
+        }
+    }
+
+    private <T> T executar(Chamada<T> chamada) {
+        if (fechado) {
+            throw new IllegalStateException("Cliente do nó '" + no.id() + "' já foi fechado");
+        }
+        Conexao conexao = ociosas.poll();
+        try {
+            if (conexao == null) {
+                conexao = new Conexao(no);
+            }
+            T resultado = chamada.executar(conexao);
+            ociosas.offer(conexao);
+            if (fechado) {
+                close();
+            }
+            return resultado;
+        } catch (IOException e) {
+            if (conexao != null) {
+                conexao.fechar();
+            }
+            throw new NoIndisponivelException(no, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Chamada<T> {
+        T executar(Conexao conexao) throws IOException;
+    }
+
+    private static final class Conexao {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Conexao(ClusterNode no) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(TIMEOUT_LEITURA_MS);
+                socket.connect(new InetSocketAddress(no.host(), no.porta()), TIMEOUT_CONEXAO_MS);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), TAMANHO_BUFFER));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), TAMANHO_BUFFER));
+            } catch (IOException e) {
+                fechar();
+                throw e;
+            }
+        }
+
+        void fechar() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nada a fazer: a conexão já está sendo descartada
+            }
+        }
+    }
+}
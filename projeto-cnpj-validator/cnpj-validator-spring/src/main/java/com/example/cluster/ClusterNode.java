@@ -0,0 +1,58 @@
+package com.example.cluster;
+
+import java.util.Objects;
+
+/**
+ * Identificação de um nó do cluster de registro.
+ *
+ * <p>O {@code id} define a posição do nó no anel ({@link ConsistentHashRing}); host e porta
+ * são o endereço do protocolo interno ({@link ClusterServer}).</p>
+ *
+ * @param id identificador estável do nó
+ * @param host endereço do protocolo interno
+ * @param porta porta do protocolo interno
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public record ClusterNode(String id, String host, int porta) {
+
+    public ClusterNode {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(host, "host");
+        if (id.isBlank() || id.indexOf('@') >= 0) {
+            throw new IllegalArgumentException(String.format("Id de nó '%s' inválido", id));
+        }
+        if (porta < 0 || porta > 65535) {
+            throw new IllegalArgumentException(String.format("Porta %d inválida para o nó '%s'", porta, id));
+        }
+    }
+
+    /**
+     * Lê um nó no formato {@code id@host:porta}.
+     *
+     * @param texto descrição do nó
+     * @return nó correspondente
+     * @throws IllegalArgumentException se o formato for inválido
+     */
+    public static ClusterNode parse(String texto) {
+        String valor = texto.trim();
+        int arroba = valor.indexOf('@');
+        int doisPontos = valor.lastIndexOf(':');
+        if (arroba <= 0 || doisPontos < arroba + 2 || doisPontos == valor.length() - 1) {
+            throw new IllegalArgumentException(
+                String.format("Nó '%s' inválido: use o formato id@host:porta", texto));
+        }
+        try {
+            return new ClusterNode(valor.substring(0, arroba), valor.substring(arroba + 1, doisPontos),
+                Integer.parseInt(valor.substring(doisPontos + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                String.format("Nó '%s' inválido: use o formato id@host:porta", texto), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return id + "@" + host + ":" + porta;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor do protocolo interno do cluster: atende, sobre o {@link CnpjRaizIndex} local,
+ * as requisições encaminhadas pelos outros nós.
+ *
+ * <p>Protocolo binário de requisição/resposta sobre TCP, em big-endian. Cada requisição
+ * começa com um byte de operação; a conexão é persistente e reaproveitada pelo
+ * {@link ClusterClient}:</p>
+ * <pre>
+ * OP_REGISTRAR  (1)  base:i64                     -&gt; inserido:u8
+ * OP_REMOVER    (2)  base:i64                     -&gt; removido:u8
+ * OP_ORDENS     (3)  raiz:i64                     -&gt; n:i32 ordem:i32 * n
+ * OP_PROXIMA    (4)  raiz:i64 numerica:u8         -&gt; ordem:i32 (ou INVALIDO)
+ * OP_TRANSFERIR (5)  raiz:i64 n:i32 ordem:i32 * n -&gt; inseridos:i32
+ * </pre>
+ *
+ * <p>Um registro cabe em 9 bytes de ida e 1 de volta: a base empacotada
+ * ({@link CnpjPacked#packBase}) dispensa texto e o DV é recalculado por quem precisar.
+ * O servidor nunca reencaminha: quem envia já escolheu o dono pelo seu anel. Operação
+ * desconhecida, ou com base, raiz ou ordem fora da faixa empacotada, encerra a conexão.</p>
+ *
+ * <p>O protocolo não tem autenticação: o servidor escuta por padrão só na interface de
+ * loopback e, em cluster, deve ser ligado a um endereço da rede interna. Cada conexão ocupa
+ * uma thread enquanto estiver aberta (os clientes as mantêm para reaproveitar), então o
+ * número de conexões simultâneas é limitado; as que passam do limite são fechadas logo no
+ * aceite e o cliente recebe {@link NoIndisponivelException}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ClusterServer implements AutoCloseable {
+
+    public static final byte OP_REGISTRAR = 1;
+    public static final byte OP_REMOVER = 2;
+    public static final byte OP_ORDENS = 3;
+    public static final byte OP_PROXIMA = 4;
+    public static final byte OP_TRANSFERIR = 5;
+
+    /** Limite padrão de conexões simultâneas. */
+    public static final int MAX_CONEXOES_PADRAO = 256;
+
+    private static final int TAMANHO_BUFFER = 8 * 1024;
+
+    /** Quantidade de raízes distintas (36<sup>8</sup>). */
+    private static final long TOTAL_RAIZES = (long) CnpjPacked.TOTAL_ORDENS * CnpjPacked.TOTAL_ORDENS;
+
+    private final InetAddress endereco;
+    private final int portaSolicitada;
+    private final CnpjRaizIndex indice;
+    private final int maxConexoes;
+    private final Set<Socket> conexoes = ConcurrentHashMap.newKeySet();
+    private final LongAdder recusadas = new LongAdder();
+
+    private ServerSocket serverSocket;
+    private ExecutorService atendimento;
+    private volatile boolean executando;
+
+    /**
+     * Cria o servidor na interface de loopback, com o limite padrão de conexões.
+     *
+     * @param porta porta TCP (0 para porta efêmera)
+     * @param indice índice local atendido
+     */
+    public ClusterServer(int porta, CnpjRaizIndex indice) {
+        this(InetAddress.getLoopbackAddress(), porta, indice, MAX_CONEXOES_PADRAO);
+    }
+
+    /**
+     * Cria o servidor.
+     *
+     * @param endereco interface em que escutar (a rede interna do cluster)
+     * @param porta porta TCP (0 para porta efêmera)
+     * @param indice índice local atendido
+     * @param maxConexoes conexões atendidas ao mesmo tempo
+     * @throws IllegalArgumentException se {@code maxConexoes} não for positivo
+     */
+    public ClusterServer(InetAddress endereco, int porta, CnpjRaizIndex indice, int maxConexoes) {
+        if (maxConexoes <= 0) {
+            throw new IllegalArgumentException("maxConexoes deve ser positivo: " + maxConexoes);
+        }
+        this.endereco = Objects.requireNonNull(endereco, "endereco");
+        this.portaSolicitada = porta;
+        this.indice = indice;
+        this.maxConexoes = maxConexoes;
+    }
+
+    /**
+     * Abre a porta e inicia a thread de aceite.
+     *
+     * @return esta instância
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public synchronized ClusterServer start() throws IOException {
+        if (executando) {
+            throw new IllegalStateException("Servidor já iniciado");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(endereco, portaSolicitada));
+
+        AtomicInteger sequencia = new AtomicInteger();
+        // uma thread por conexão aceita; a fila só segura a conexão aceita enquanto a thread
+        // de outra que acabou de fechar volta para o pool
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConexoes, maxConexoes, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), tarefa -> {
+                Thread thread = new Thread(tarefa, "cnpj-cluster-" + sequencia.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        atendimento = executor;
+        executando = true;
+        Thread aceite = new Thread(this::aceitar, "cnpj-cluster-aceite");
+        aceite.setDaemon(true);
+        aceite.start();
+        return this;
+    }
+
+    /**
+     * Retorna a porta efetivamente aberta.
+     *
+     * @return porta local
+     */
+    public int getPorta() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retorna a interface em que o servidor escuta.
+     *
+     * @return endereço local
+     */
+    public InetAddress getEndereco() {
+        return serverSocket.getInetAddress();
+    }
+
+    /**
+     * @return conexões fechadas no aceite por excederem o limite
+     */
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!executando) {
+            return;
+        }
+        executando = false;
+        serverSocket.close();
+        for (Socket socket : conexoes) {
+            socket.close();
+        }
+        atendimento.shutdownNow();
+    }
+
+    private void aceitar() {
+        while (executando) {
+            try {
+                Socket socket = serverSocket.accept();
+                // só esta thread inclui conexões, então o tamanho não passa do limite
+                if (conexoes.size() >= maxConexoes) {
+                    recusadas.increment();
+                    socket.close();
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                conexoes.add(socket);
+                atendimento.execute(() -> atender(socket));
+            } catch (IOException e) {
+                // porta fechada em close(); qualquer outra falha de aceite é transitória
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), TAMANHO_BUFFER));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), TAMANHO_BUFFER))) {
+            int op;
+            while ((op = in.read()) >= 0) {
+                if (!executar(op, in, out)) {
+                    return;
+                }
+                out.flush();
+            }
+        } catch (EOFException | SocketException e) {
+            // conexão encerrada pelo cliente ou pelo close()
+        } catch (IOException e) {
+            // conexão descartada; o cliente abre outra na próxima chamada
+        } finally {
+            conexoes.remove(socket);
+        }
+    }
+
+    private boolean executar(int op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case OP_REGISTRAR -> {
+                long base = in.readLong();
+                if (!baseValida(base)) {
+                    return false;
+                }
+                out.writeByte(indice.registrar(CnpjPacked.raiz(base), CnpjPacked.ordem(base)) ? 1 : 0);
+            }
+            case OP_REMOVER -> {
+                long base = in.readLong();
+                if (!baseValida(base)) {
+                    return false;
+                }
+                out.writeByte(indice.remover(CnpjPacked.raiz(base), CnpjPacked.ordem(base)) ? 1 : 0);
+            }
+            case OP_ORDENS -> {
+                long raiz = in.readLong();
+                if (!raizValida(raiz)) {
+                    return false;
+                }
+                int[] ordens = indice.ordens(raiz);
+                out.writeInt(ordens.length);
+                for (int ordem : ordens) {
+                    out.writeInt(ordem);
+                }
+            }
+            case OP_PROXIMA -> {
+                long raiz = in.readLong();
+                boolean somenteNumerica = in.readBoolean();
+                if (!raizValida(raiz)) {
+                    return false;
+                }
+                out.writeInt(indice.proximaOrdemLivre(raiz, somenteNumerica));
+            }
+            case OP_TRANSFERIR -> {
+                long raiz = in.readLong();
+                int quantidade = in.readInt();
+                if (!raizValida(raiz) || quantidade < 0 || quantidade > CnpjPacked.TOTAL_ORDENS) {
+                    return false;
+                }
+                // lidas e conferidas antes de registrar: uma transferência recusada não deixa metade
+                int[] ordens = new int[quantidade];
+                for (int i = 0; i < quantidade; i++) {
+                    ordens[i] = in.readInt();
+                    if (!ordemValida(ordens[i])) {
+                        return false;
+                    }
+                }
+                int inseridos = 0;
+                for (int ordem : ordens) {
+                    if (indice.registrar(raiz, ordem)) {
+                        inseridos++;
+                    }
+                }
+                out.writeInt(inseridos);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean raizValida(long raiz) {
+        return raiz >= 0 && raiz < TOTAL_RAIZES;
+    }
+
+    private static boolean ordemValida(int ordem) {
+        return ordem >= 0 && ordem < CnpjPacked.TOTAL_ORDENS;
+    }
+
+    private static boolean baseValida(long base) {
+        return base >= 0 && raizValida(CnpjPacked.raiz(base));
+    }
+}
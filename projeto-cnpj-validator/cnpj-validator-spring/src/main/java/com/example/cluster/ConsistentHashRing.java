@@ -0,0 +1,132 @@
+package com.example.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anel de hash consistente que atribui cada raiz de CNPJ a um nó.
+ *
+ * <p>Cada nó ocupa {@code virtuais} posições no anel, derivadas apenas do seu id; uma chave
+ * pertence ao nó da primeira posição igual ou maior que o hash dela (com volta ao início).
+ * Assim, a entrada ou saída de um nó só move as chaves dos arcos que ele ganha ou perde,
+ * cerca de {@code 1/n} do total.</p>
+ *
+ * <p>A chave é a raiz empacotada ({@link com.example.validation.cnpj.CnpjPacked#raiz}): matriz
+ * e filiais de uma empresa ficam no mesmo nó e a listagem de filiais não precisa de fan-out.</p>
+ *
+ * <p>Imutável; uma mudança de membros cria um novo anel.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public final class ConsistentHashRing {
+
+    /** Posições por nó: com 128, o desvio de carga entre nós fica em torno de 10%. */
+    public static final int VIRTUAIS_PADRAO = 128;
+
+    private final List<ClusterNode> nos;
+    private final long[] posicoes;
+    private final ClusterNode[] donos;
+
+    /**
+     * Monta o anel.
+     *
+     * @param nos membros do cluster (ids únicos)
+     * @param virtuais posições por nó
+     * @throws IllegalArgumentException se não houver nós ou houver ids repetidos
+     */
+    public ConsistentHashRing(Collection<ClusterNode> nos, int virtuais) {
+        if (nos.isEmpty()) {
+            throw new IllegalArgumentException("O anel precisa de ao menos um nó");
+        }
+        if (virtuais <= 0) {
+            throw new IllegalArgumentException("Quantidade de posições por nó deve ser positiva");
+        }
+        Map<String, ClusterNode> porId = new LinkedHashMap<>();
+        for (ClusterNode no : nos) {
+            if (porId.put(no.id(), no) != null) {
+                throw new IllegalArgumentException(String.format("Nó '%s' repetido", no.id()));
+            }
+        }
+        this.nos = List.copyOf(porId.values());
+
+        List<Posicao> todas = new ArrayList<>(this.nos.size() * virtuais);
+        for (ClusterNode no : this.nos) {
+            long semente = fnv1a(no.id());
+            for (int v = 0; v < virtuais; v++) {
+                todas.add(new Posicao(misturar(semente + v * 0x9E3779B97F4A7C15L), no));
+            }
+        }
+        // empate (improvável) decidido pelo id, para todos os nós montarem o mesmo anel
+        todas.sort(Comparator.comparingLong(Posicao::hash).thenComparing(p -> p.no().id()));
+
+        this.posicoes = new long[todas.size()];
+        this.donos = new ClusterNode[todas.size()];
+        for (int i = 0; i < todas.size(); i++) {
+            posicoes[i] = todas.get(i).hash();
+            donos[i] = todas.get(i).no();
+        }
+    }
+
+    /**
+     * Monta o anel com {@link #VIRTUAIS_PADRAO} posições por nó.
+     *
+     * @param nos membros do cluster
+     */
+    public ConsistentHashRing(Collection<ClusterNode> nos) {
+        this(nos, VIRTUAIS_PADRAO);
+    }
+
+    /**
+     * Retorna o nó responsável pela chave.
+     *
+     * @param raiz raiz empacotada
+     * @return nó dono
+     */
+    public ClusterNode dono(long raiz) {
+        int indice = Arrays.binarySearch(posicoes, misturar(raiz));
+        if (indice < 0) {
+            indice = -indice - 1;
+        }
+        return donos[indice == posicoes.length ? 0 : indice];
+    }
+
+    /**
+     * @return membros do anel, na ordem em que foram informados
+     */
+    public List<ClusterNode> getNos() {
+        return nos;
+    }
+
+    /**
+     * Finalizador do MurmurHash3 (fmix64): espalha chaves próximas (raízes sequenciais)
+     * pelo anel inteiro.
+     */
+    static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xFF51AFD7ED558CCDL;
+        valor ^= valor >>> 33;
+        valor *= 0xC4CEB9FE1A85EC53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    /** FNV-1a de 64 bits: estável entre JVMs, ao contrário de depender de {@code hashCode}. */
+    private static long fnv1a(String texto) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : texto.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private record Posicao(long hash, ClusterNode no) {
+    }
+}
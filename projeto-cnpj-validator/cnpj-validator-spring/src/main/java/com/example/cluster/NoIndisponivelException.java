@@ -0,0 +1,31 @@
+package com.example.cluster;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lançada quando o nó dono de uma raiz não responde pelo protocolo interno.
+ *
+ * <p>Resulta em {@code 503 Service Unavailable}: a operação não foi aplicada em outro nó,
+ * então o cliente pode repeti-la.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class NoIndisponivelException extends ResponseStatusException {
+
+    private final transient ClusterNode no;
+
+    /**
+     * @param no nó que falhou
+     * @param causa falha de comunicação
+     */
+    public NoIndisponivelException(ClusterNode no, Throwable causa) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, String.format("Nó '%s' do cluster indisponível", no.id()), causa);
+        this.no = no;
+    }
+
+    public ClusterNode getNo() {
+        return no;
+    }
+}
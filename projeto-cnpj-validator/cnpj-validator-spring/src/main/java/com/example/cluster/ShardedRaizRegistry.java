@@ -0,0 +1,256 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de estabelecimentos particionado entre os nós do cluster.
+ *
+ * <p>Cada nó guarda no seu {@link CnpjRaizIndex} apenas as raízes que o
+ * {@link ConsistentHashRing} lhe atribui. As operações sobre raízes de outros nós são
+ * encaminhadas ao dono pelo protocolo interno ({@link ClusterClient}); com um único nó
+ * (configuração padrão) tudo é local e o comportamento é o do índice simples.</p>
+ *
+ * <p>Rebalanceamento: {@link #atualizarMembros} troca o anel e em seguida empurra para os
+ * novos donos as raízes locais que deixaram de ser deste nó, removendo-as daqui só depois
+ * da confirmação. Cada nó aplica a nova lista de membros por conta própria; enquanto a
+ * transferência não termina, uma leitura encaminhada ao novo dono pode não ver parte das
+ * filiais. Um nó que sai do cluster recebe uma lista sem ele e transfere tudo o que tem.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ShardedRaizRegistry implements AutoCloseable {
+
+    /**
+     * Resultado de um rebalanceamento.
+     *
+     * @param raizes raízes transferidas para outros nós
+     * @param estabelecimentos estabelecimentos transferidos
+     */
+    public record Rebalanceamento(int raizes, long estabelecimentos) {
+    }
+
+    private final ClusterNode local;
+    private final CnpjRaizIndex indice;
+    private final int virtuais;
+    private final Map<String, ClusterClient> clientes = new ConcurrentHashMap<>();
+    private final LongAdder locais = new LongAdder();
+    private final LongAdder encaminhadas = new LongAdder();
+
+    private volatile ConsistentHashRing anel;
+
+    /**
+     * Cria o registro.
+     *
+     * @param local este nó
+     * @param indice índice local (também atendido pelo {@link ClusterServer})
+     * @param membros membros do cluster; vazio para operar sozinho
+     * @param virtuais posições de cada nó no anel
+     */
+    public ShardedRaizRegistry(ClusterNode local, CnpjRaizIndex indice, List<ClusterNode> membros, int virtuais) {
+        this.local = local;
+        this.indice = indice;
+        this.virtuais = virtuais;
+        this.anel = new ConsistentHashRing(membros.isEmpty() ? List.of(local) : membros, virtuais);
+    }
+
+    /**
+     * Cria um registro de nó único, sem encaminhamento.
+     *
+     * @param indice índice local
+     * @return registro que opera apenas sobre o índice
+     */
+    public static ShardedRaizRegistry standalone(CnpjRaizIndex indice) {
+        return new ShardedRaizRegistry(new ClusterNode("local", "localhost", 0), indice, List.of(),
+            ConsistentHashRing.VIRTUAIS_PADRAO);
+    }
+
+    /**
+     * Registra um CNPJ no nó dono da sua raiz.
+     *
+     * @param cnpj CNPJ com ou sem formatação (os dígitos verificadores não são conferidos)
+     * @return true se o estabelecimento ainda não estava registrado
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     * @throws NoIndisponivelException se o dono não responder
+     */
+    public boolean registrar(CharSequence cnpj) {
+        long base = CnpjRaizIndex.packBase(cnpj);
+        long raiz = CnpjPacked.raiz(base);
+        ClusterNode dono = anel.dono(raiz);
+        if (ehLocal(dono)) {
+            locais.increment();
+            return indice.registrar(raiz, CnpjPacked.ordem(base));
+        }
+        encaminhadas.increment();
+        return cliente(dono).registrar(base);
+    }
+
+    /**
+     * Remove um CNPJ do nó dono da sua raiz.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return true se o estabelecimento estava registrado
+     * @throws IllegalArgumentException se a base do CNPJ não puder ser empacotada
+     * @throws NoIndisponivelException se o dono não responder
+     */
+    public boolean remover(CharSequence cnpj) {
+        long base = CnpjRaizIndex.packBase(cnpj);
+        long raiz = CnpjPacked.raiz(base);
+        ClusterNode dono = anel.dono(raiz);
+        if (ehLocal(dono)) {
+            locais.increment();
+            return indice.remover(raiz, CnpjPacked.ordem(base));
+        }
+        encaminhadas.increment();
+        return cliente(dono).remover(base);
+    }
+
+    /**
+     * Lista os CNPJs completos de todos os estabelecimentos de uma raiz, consultando o dono.
+     *
+     * @param raiz raiz com 8 caracteres, com ou sem formatação
+     * @return CNPJs sem formatação, em ordem crescente de ordem
+     * @throws IllegalArgumentException se a raiz for inválida
+     * @throws NoIndisponivelException se o dono não responder
+     */
+    public List<String> filiais(CharSequence raiz) {
+        long raizEmpacotada = CnpjRaizIndex.packRaiz(raiz);
+        ClusterNode dono = anel.dono(raizEmpacotada);
+        int[] ordens;
+        if (ehLocal(dono)) {
+            locais.increment();
+            ordens = indice.ordens(raizEmpacotada);
+        } else {
+            encaminhadas.increment();
+            ordens = cliente(dono).ordens(raizEmpacotada);
+        }
+
+        List<String> cnpjs = new ArrayList<>(ordens.length);
+        for (int ordem : ordens) {
+            cnpjs.add(CnpjRaizIndex.cnpjCompleto(raizEmpacotada, ordem));
+        }
+        return cnpjs;
+    }
+
+    /**
+     * Calcula, no nó dono, a menor ordem livre para a raiz.
+     *
+     * @param raiz raiz empacotada
+     * @param somenteNumerica true para considerar apenas ordens {@code 0001..9999}
+     * @return ordem empacotada livre, ou {@link CnpjPacked#INVALIDO} se todas estiverem ocupadas
+     * @throws NoIndisponivelException se o dono não responder
+     */
+    public int proximaOrdemLivre(long raiz, boolean somenteNumerica) {
+        ClusterNode dono = anel.dono(raiz);
+        if (ehLocal(dono)) {
+            locais.increment();
+            return indice.proximaOrdemLivre(raiz, somenteNumerica);
+        }
+        encaminhadas.increment();
+        return cliente(dono).proximaOrdemLivre(raiz, somenteNumerica);
+    }
+
+    /**
+     * Aplica uma nova lista de membros e transfere as raízes locais que mudaram de dono.
+     *
+     * <p>Uma raiz cuja transferência falha continua neste nó (o nó de destino pode estar
+     * subindo); chamar o método de novo com a mesma lista retoma a transferência.</p>
+     *
+     * @param membros nova lista completa de membros (pode não incluir este nó)
+     * @return raízes e estabelecimentos transferidos
+     * @throws NoIndisponivelException se algum novo dono não responder (as raízes já
+     *         transferidas não voltam)
+     */
+    public synchronized Rebalanceamento atualizarMembros(List<ClusterNode> membros) {
+        ConsistentHashRing novo = new ConsistentHashRing(membros, virtuais);
+        this.anel = novo;
+        clientes.values().removeIf(cliente -> {
+            boolean saiu = !novo.getNos().contains(cliente.getNo());
+            if (saiu) {
+                cliente.close();
+            }
+            return saiu;
+        });
+
+        int raizes = 0;
+        long estabelecimentos = 0;
+        for (long raiz : indice.raizes()) {
+            ClusterNode dono = novo.dono(raiz);
+            if (ehLocal(dono)) {
+                continue;
+            }
+            int[] ordens = indice.ordens(raiz);
+            if (ordens.length == 0) {
+                continue;
+            }
+            cliente(dono).transferir(raiz, ordens);
+            // remove só o que foi enviado: uma ordem gravada aqui no meio da transferência
+            // (encaminhada por um nó com o anel antigo) fica para o próximo rebalanceamento
+            for (int ordem : ordens) {
+                indice.remover(raiz, ordem);
+            }
+            raizes++;
+            estabelecimentos += ordens.length;
+        }
+        return new Rebalanceamento(raizes, estabelecimentos);
+    }
+
+    /**
+     * @return este nó
+     */
+    public ClusterNode getLocal() {
+        return local;
+    }
+
+    /**
+     * @return membros do anel atual
+     */
+    public List<ClusterNode> getMembros() {
+        return anel.getNos();
+    }
+
+    /**
+     * @return índice com as raízes deste nó
+     */
+    public CnpjRaizIndex getIndice() {
+        return indice;
+    }
+
+    /**
+     * @return operações atendidas no índice local desde o início
+     */
+    public long getLocais() {
+        return locais.sum();
+    }
+
+    /**
+     * @return operações encaminhadas a outros nós desde o início
+     */
+    public long getEncaminhadas() {
+        return encaminhadas.sum();
+    }
+
+    @Override
+    public void close() {
+        clientes.values().forEach(ClusterClient::close);
+        clientes.clear();
+    }
+
+    private boolean ehLocal(ClusterNode no) {
+        return no.id().equals(local.id());
+    }
+
+    private ClusterClient cliente(ClusterNode no) {
+        // atualizarMembros descarta os clientes de nós que saíram ou mudaram de endereço
+        return clientes.computeIfAbsent(no.id(), id -> new ClusterClient(no));
+    }
+}
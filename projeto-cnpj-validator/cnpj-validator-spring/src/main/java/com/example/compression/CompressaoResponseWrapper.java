@@ -0,0 +1,269 @@
+package com.example.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Resposta comprimida em streaming com a codificação negociada.
+ *
+ * <p>Os primeiros {@code minimo} bytes ficam retidos: se o corpo terminar (ou for
+ * descarregado com {@code flush}) antes disso, ele sai sem compressão, porque em corpos
+ * pequenos o cabeçalho do formato e a CPU custam mais do que economizam. Passado o
+ * limite, o compressor é aberto e o restante flui direto para a conexão. Só são
+ * comprimidos tipos textuais e respostas com corpo (não 204/304).</p>
+ *
+ * <p>Ao comprimir, o {@code ETag} vira fraco ({@code W/}), como fazem Tomcat e nginx:
+ * a representação em bytes mudou, mas a comparação fraca do {@code If-None-Match}
+ * continua reconhecendo a mesma versão. O {@code If-Match} de {@code /api/empresas} aceita a
+ * forma fraca (ver {@code EmpresaController}).</p>
+ */
+final class CompressaoResponseWrapper extends HttpServletResponseWrapper {
+
+    private final Codificacao codificacao;
+    private final int nivel;
+    private final int minimo;
+
+    private long tamanhoDeclarado = -1;
+    private SaidaComprimida saida;
+    private PrintWriter writer;
+
+    CompressaoResponseWrapper(HttpServletResponse response, Codificacao codificacao, int nivel, int minimo) {
+        super(response);
+        this.codificacao = codificacao;
+        this.nivel = nivel;
+        this.minimo = minimo;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() já foi chamado");
+        }
+        if (saida == null) {
+            saida = new SaidaComprimida();
+        }
+        return saida;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (saida != null) {
+                throw new IllegalStateException("getOutputStream() já foi chamado");
+            }
+            saida = new SaidaComprimida();
+            writer = new PrintWriter(new OutputStreamWriter(saida, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    Codificacao getCodificacao() {
+        return codificacao;
+    }
+
+    // o tamanho só é repassado se a resposta sair sem compressão
+
+    @Override
+    public void setContentLength(int len) {
+        tamanhoDeclarado = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        tamanhoDeclarado = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            tamanhoDeclarado = value == null ? -1 : Long.parseLong(value.trim());
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setHeader(name, value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (saida != null) {
+            saida.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (saida != null && saida.decidido) {
+            throw new IllegalStateException("Resposta já iniciada");
+        }
+        super.reset();
+        saida = null;
+        writer = null;
+        tamanhoDeclarado = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (saida != null && saida.decidido) {
+            throw new IllegalStateException("Resposta já iniciada");
+        }
+        super.resetBuffer();
+        if (saida != null) {
+            saida.retidos = 0;
+        }
+    }
+
+    /**
+     * Conclui a resposta: grava o que estiver retido e o final do formato comprimido.
+     * Chamado pelo filtro depois da cadeia.
+     */
+    void concluir() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (saida != null) {
+            saida.concluir();
+        } else if (tamanhoDeclarado >= 0) {
+            super.setContentLengthLong(tamanhoDeclarado);
+        }
+    }
+
+    private boolean comprimivel() {
+        int status = getStatus();
+        if (status < 200 || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED || status == SC_PARTIAL_CONTENT) {
+            return false;
+        }
+        if (tamanhoDeclarado >= 0 && tamanhoDeclarado < minimo) {
+            return false;
+        }
+        if (getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String tipo = getContentType();
+        if (tipo == null) {
+            return false;
+        }
+        tipo = tipo.toLowerCase(Locale.ROOT);
+        return tipo.startsWith("text/") || tipo.contains("json") || tipo.contains("xml")
+            || tipo.startsWith("application/x-ndjson");
+    }
+
+    private final class SaidaComprimida extends ServletOutputStream {
+
+        private final byte[] retencao = new byte[minimo];
+        private int retidos;
+        private boolean decidido;
+        private ServletOutputStream conexao;
+        private OutputStream destino;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!decidido) {
+                if (retidos < retencao.length) {
+                    retencao[retidos++] = (byte) b;
+                    return;
+                }
+                decidir(true);
+            }
+            destino.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!decidido) {
+                if (retidos + len <= retencao.length) {
+                    System.arraycopy(b, off, retencao, retidos, len);
+                    retidos += len;
+                    return;
+                }
+                decidir(true);
+            }
+            destino.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!decidido) {
+                // flush antes do limite: corpo pequeno, vai sem compressão
+                decidir(false);
+            }
+            destino.flush();
+        }
+
+        void concluir() throws IOException {
+            if (!decidido) {
+                decidir(false);
+            }
+            if (destino != conexao) {
+                destino.close();
+            } else {
+                destino.flush();
+            }
+        }
+
+        private void decidir(boolean passouDoMinimo) throws IOException {
+            decidido = true;
+            conexao = getResponse().getOutputStream();
+            if (passouDoMinimo && comprimivel()) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, codificacao.getToken());
+                String etag = response.getHeader(HttpHeaders.ETAG);
+                if (etag != null && !etag.startsWith("W/")) {
+                    response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+                }
+                destino = codificacao.compressor(conexao, nivel);
+            } else {
+                if (tamanhoDeclarado >= 0) {
+                    getResponse().setContentLengthLong(tamanhoDeclarado);
+                }
+                destino = conexao;
+            }
+            destino.write(retencao, 0, retidos);
+        }
+
+        @Override
+        public boolean isReady() {
+            return destino == null || destino != conexao || conexao.isReady();
+        }
+
+        /**
+         * Escrita não bloqueante sai sem compressão: o compressor escreveria na conexão sem
+         * respeitar o {@code isReady()}, e o corpo só termina no {@code complete()}, depois do
+         * filtro. O listener passa para o stream da conexão.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (!decidido) {
+                try {
+                    decidir(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else if (destino != conexao) {
+                throw new IllegalStateException("Resposta já comprimida: registre o WriteListener antes de escrever");
+            }
+            conexao.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compressão transparente dos corpos de {@code /api/**} com gzip ou zstd.
+ *
+ * <p>Requisições com {@code Content-Encoding: gzip} ou {@code zstd} são descomprimidas
+ * em streaming enquanto o controller lê o corpo, até {@code maxDescomprimido} bytes
+ * ({@code 413} acima disso). Outra codificação resulta em {@code 415} com a lista das
+ * aceitas em {@code Accept-Encoding} (RFC 7694).</p>
+ *
+ * <p>Respostas são comprimidas com a codificação negociada no {@code Accept-Encoding}
+ * (zstd preferido em empate) quando passam de {@code minimo} bytes; ver
+ * {@link CompressaoResponseWrapper}. Toda resposta elegível leva {@code Vary: Accept-Encoding}
+ * para que caches não entreguem a versão comprimida a quem não a pediu.</p>
+ *
+ * <p>Em requisições assíncronas ({@code Callable}, {@code DeferredResult}, emissores) a
+ * cadeia retorna antes de o corpo ser escrito: a resposta só é concluída no despacho
+ * {@code ASYNC} que encerra o processamento.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private static final byte[] CORPO_NAO_SUPORTADA =
+        "{\"erro\":\"Content-Encoding não suportado; use gzip ou zstd\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String CODIFICACOES_ACEITAS = "zstd, gzip";
+
+    private final int nivelGzip;
+    private final int nivelZstd;
+    private final int minimo;
+    private final long maxDescomprimido;
+
+    private final LongAdder requisicoesComprimidas = new LongAdder();
+    private final LongAdder respostasComprimidas = new LongAdder();
+
+    /**
+     * @param nivelGzip nível do gzip nas respostas (1 a 9)
+     * @param nivelZstd nível do zstd nas respostas (1 a 22)
+     * @param minimo tamanho mínimo da resposta para comprimir, em bytes
+     * @param maxDescomprimido tamanho máximo do corpo descomprimido da requisição, em bytes
+     */
+    public CompressionFilter(int nivelGzip, int nivelZstd, int minimo, long maxDescomprimido) {
+        this.nivelGzip = Codificacao.GZIP.ajustarNivel(nivelGzip);
+        this.nivelZstd = Codificacao.ZSTD.ajustarNivel(nivelZstd);
+        this.minimo = Math.max(0, minimo);
+        this.maxDescomprimido = maxDescomprimido;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+            // requisição e resposta já vêm embrulhadas do primeiro despacho
+            CompressaoResponseWrapper resposta = WebUtils.getNativeResponse(response, CompressaoResponseWrapper.class);
+            chain.doFilter(request, response);
+            if (resposta != null && !request.isAsyncStarted()) {
+                concluir(resposta);
+            }
+            return;
+        }
+
+        HttpServletRequest requisicao = request;
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEncoding.isBlank()
+                && !"identity".equalsIgnoreCase(contentEncoding.trim())) {
+            Codificacao codificacao = Codificacao.doCabecalho(contentEncoding);
+            if (codificacao == null) {
+                recusar(response);
+                return;
+            }
+            requisicoesComprimidas.increment();
+            requisicao = new DescompressaoRequestWrapper(request, codificacao, maxDescomprimido);
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Codificacao negociada = Codificacao.negociar(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (negociada == null) {
+            chain.doFilter(requisicao, response);
+            return;
+        }
+
+        int nivel = negociada == Codificacao.GZIP ? nivelGzip : nivelZstd;
+        CompressaoResponseWrapper resposta = new CompressaoResponseWrapper(response, negociada, nivel, minimo);
+        chain.doFilter(requisicao, resposta);
+        if (!requisicao.isAsyncStarted()) {
+            concluir(resposta);
+        }
+    }
+
+    private void concluir(CompressaoResponseWrapper resposta) throws IOException {
+        resposta.concluir();
+        if (resposta.getCodificacao().getToken().equals(resposta.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            respostasComprimidas.increment();
+        }
+    }
+
+    private static void recusar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+        response.setHeader(HttpHeaders.ACCEPT_ENCODING, CODIFICACOES_ACEITAS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(CORPO_NAO_SUPORTADA.length);
+        response.getOutputStream().write(CORPO_NAO_SUPORTADA);
+    }
+
+    public long getRequisicoesComprimidas() {
+        return requisicoesComprimidas.sum();
+    }
+
+    public long getRespostasComprimidas() {
+        return respostasComprimidas.sum();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.compression;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lançada quando o corpo descomprimido de uma requisição passa do limite configurado.
+ *
+ * <p>Protege contra "bombas" de compressão: alguns KB de gzip/zstd podem expandir para
+ * gigabytes. Resulta em {@code 413 Payload Too Large}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CorpoExcedidoException extends ResponseStatusException {
+
+    /**
+     * @param limite tamanho máximo descomprimido, em bytes
+     */
+    public CorpoExcedidoException(long limite) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE,
+            String.format("Corpo descomprimido excede o limite de %d bytes", limite));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.compression;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Requisição cujo corpo é descomprimido sob demanda, à medida que o controller lê.
+ *
+ * <p>Para quem está depois do filtro, a requisição parece não comprimida: sem
+ * {@code Content-Encoding} e com tamanho desconhecido.</p>
+ */
+final class DescompressaoRequestWrapper extends HttpServletRequestWrapper {
+
+    private final Codificacao codificacao;
+    private final long limite;
+    private ServletInputStream corpo;
+    private BufferedReader leitor;
+
+    DescompressaoRequestWrapper(HttpServletRequest request, Codificacao codificacao, long limite) {
+        super(request);
+        this.codificacao = codificacao;
+        this.limite = limite;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (leitor != null) {
+            throw new IllegalStateException("getReader() já foi chamado");
+        }
+        if (corpo == null) {
+            corpo = new CorpoDescomprimido(this, codificacao.descompressor(super.getInputStream()), limite);
+        }
+        return corpo;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (leitor == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            leitor = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return leitor;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return oculto(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return oculto(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        List<String> nomes = Collections.list(super.getHeaderNames());
+        nomes.removeIf(DescompressaoRequestWrapper::oculto);
+        return Collections.enumeration(nomes);
+    }
+
+    private static boolean oculto(String name) {
+        return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+
+    /** Corpo descomprimido com limite de bytes lidos. */
+    private static final class CorpoDescomprimido extends ServletInputStream {
+
+        private final HttpServletRequest request;
+        private final InputStream origem;
+        private final long limite;
+        private long lidos;
+        private volatile boolean fim;
+
+        CorpoDescomprimido(HttpServletRequest request, InputStream origem, long limite) {
+            this.request = request;
+            this.origem = origem;
+            this.limite = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = origem.read();
+            contar(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = origem.read(b, off, len);
+            contar(n);
+            return n;
+        }
+
+        private void contar(int n) {
+            if (n < 0) {
+                fim = true;
+                return;
+            }
+            lidos += n;
+            if (lidos > limite) {
+                throw new CorpoExcedidoException(limite);
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return fim;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Leitura não bloqueante de corpo comprimido: o descompressor não sabe parar no meio
+         * de um bloco, então o corpo é lido em modo bloqueante, numa thread do container
+         * ({@link jakarta.servlet.AsyncContext#start}), e {@link #isReady()} é sempre true.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            Objects.requireNonNull(readListener, "readListener");
+            request.getAsyncContext().start(() -> {
+                try {
+                    if (!fim) {
+                        readListener.onDataAvailable();
+                    }
+                    if (fim) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (Throwable e) {
+                    readListener.onError(e);
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            origem.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.config;
+
+import com.example.admission.AdmissionControlFilter;
+import com.example.admission.ClientRateLimiter;
+import com.example.admission.ConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do controle de admissão ({@code cnpj.admissao.*}).
+ *
+ * <p>Registra o {@link AdmissionControlFilter} logo no início da cadeia de filtros, para
+ * que requisições recusadas custem o mínimo possível, e publica o estado dos limitadores
+ * como métricas em {@code /actuator/metrics/cnpj.admissao.*}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnpj.admissao.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    /**
+     * Filtro de admissão com token bucket por cliente e limite de concorrência.
+     *
+     * @return filtro configurado
+     */
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(
+            @Value("${cnpj.admissao.taxa-por-segundo:50}") double taxaPorSegundo,
+            @Value("${cnpj.admissao.rajada:100}") int rajada,
+            @Value("${cnpj.admissao.max-clientes:100000}") int maxClientes,
+            @Value("${cnpj.admissao.max-concorrencia:64}") int maxConcorrencia,
+            @Value("${cnpj.admissao.cabecalho-chave:X-API-Key}") String cabecalhoChave) {
+        return new AdmissionControlFilter(
+            new ClientRateLimiter(taxaPorSegundo, rajada, maxClientes),
+            new ConcurrencyLimiter(maxConcorrencia),
+            cabecalhoChave);
+    }
+
+    /**
+     * Registra o filtro antes dos demais filtros da aplicação.
+     *
+     * @param filtro filtro de admissão
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter filtro) {
+        FilterRegistrationBean<AdmissionControlFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/api/*");
+        // depois do CharacterEncodingFilter (HIGHEST_PRECEDENCE), antes do restante
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+
+    /**
+     * Métricas dos limitadores.
+     *
+     * @param filtro filtro de admissão
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder admissionControlMetrics(AdmissionControlFilter filtro) {
+        return registry -> {
+            FunctionCounter.builder("cnpj.admissao.requisicoes", filtro, AdmissionControlFilter::getAdmitidas)
+                .description("Requisições por resultado da admissão")
+                .tag("resultado", "admitida")
+                .register(registry);
+            FunctionCounter.builder("cnpj.admissao.requisicoes", filtro, AdmissionControlFilter::getRecusadasTaxa)
+                .description("Requisições por resultado da admissão")
+                .tag("resultado", "taxa")
+                .register(registry);
+            FunctionCounter.builder("cnpj.admissao.requisicoes", filtro, AdmissionControlFilter::getRecusadasConcorrencia)
+                .description("Requisições por resultado da admissão")
+                .tag("resultado", "concorrencia")
+                .register(registry);
+
+            Gauge.builder("cnpj.admissao.em.uso", filtro.getConcorrencia(), ConcurrencyLimiter::getEmUso)
+                .description("Requisições em processamento")
+                .register(registry);
+            Gauge.builder("cnpj.admissao.concorrencia.maxima", filtro.getConcorrencia(), ConcurrencyLimiter::getMaximo)
+                .description("Limite de requisições simultâneas")
+                .register(registry);
+            Gauge.builder("cnpj.admissao.clientes", filtro.getTaxa(), ClientRateLimiter::quantidadeClientes)
+                .description("Clientes com token bucket ativo")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.config;
+
+import com.example.binario.EmpresaBinariaHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do formato binário da API ({@code cnpj.binario.*}).
+ *
+ * <p>O Spring Boot adiciona os beans de {@code HttpMessageConverter} aos conversores do MVC,
+ * antes dos padrão; o conversor só responde ao seu próprio tipo de mídia.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnpj.binario.enabled", havingValue = "true", matchIfMissing = true)
+public class BinarioConfig {
+
+    /**
+     * Conversor de {@code application/x-cnpj-empresa}.
+     *
+     * @return conversor registrado no MVC
+     */
+    @Bean
+    public EmpresaBinariaHttpMessageConverter empresaBinariaHttpMessageConverter() {
+        return new EmpresaBinariaHttpMessageConverter();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.config;
+
+import com.example.cluster.ClusterNode;
+import com.example.cluster.ClusterServer;
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuração do registro particionado entre nós ({@code cnpj.cluster.*}).
+ *
+ * <p>Com {@code cnpj.cluster.enabled=false} (padrão) o {@link ShardedRaizRegistry} opera
+ * sozinho sobre o {@link CnpjRaizIndex} local. Habilitado, o nó abre a porta do protocolo
+ * interno e passa a encaminhar aos demais membros as raízes que não são suas.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+public class ClusterConfig {
+
+    /**
+     * Registro de estabelecimentos usado pelos controllers.
+     *
+     * @param indice índice local
+     * @param habilitado true para participar de um cluster
+     * @param noId id deste nó (deve constar em {@code membros})
+     * @param membros membros no formato {@code id@host:porta}, separados por vírgula
+     * @param virtuais posições de cada nó no anel
+     * @return registro particionado (ou local, com o cluster desabilitado)
+     */
+    @Bean
+    public ShardedRaizRegistry shardedRaizRegistry(
+            CnpjRaizIndex indice,
+            @Value("${cnpj.cluster.enabled:false}") boolean habilitado,
+            @Value("${cnpj.cluster.no-id:no-1}") String noId,
+            @Value("${cnpj.cluster.membros:}") String membros,
+            @Value("${cnpj.cluster.virtuais:128}") int virtuais) {
+        if (!habilitado) {
+            return ShardedRaizRegistry.standalone(indice);
+        }
+        List<ClusterNode> nos = Arrays.stream(membros.split(","))
+            .filter(texto -> !texto.isBlank())
+            .map(ClusterNode::parse)
+            .toList();
+        ClusterNode local = nos.stream()
+            .filter(no -> no.id().equals(noId))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                String.format("cnpj.cluster.membros deve incluir este nó ('%s')", noId)));
+        return new ShardedRaizRegistry(local, indice, nos, virtuais);
+    }
+
+    /**
+     * Servidor do protocolo interno, atendendo os outros nós sobre o índice local.
+     *
+     * @param indice índice local
+     * @param endereco interface em que o protocolo interno escuta (sem autenticação: use a rede interna)
+     * @param porta porta do protocolo interno
+     * @param maxConexoes conexões de outros nós atendidas ao mesmo tempo
+     * @return servidor iniciado
+     * @throws IOException se a porta não puder ser aberta ou o endereço não for resolvido
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "cnpj.cluster.enabled", havingValue = "true")
+    public ClusterServer clusterServer(CnpjRaizIndex indice,
+                                       @Value("${cnpj.cluster.endereco:127.0.0.1}") String endereco,
+                                       @Value("${cnpj.cluster.porta:7171}") int porta,
+                                       @Value("${cnpj.cluster.max-conexoes:256}") int maxConexoes) throws IOException {
+        return new ClusterServer(InetAddress.getByName(endereco), porta, indice, maxConexoes).start();
+    }
+
+    /**
+     * Métricas do registro.
+     *
+     * @param registro registro particionado
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder clusterMetrics(ShardedRaizRegistry registro) {
+        return registry -> {
+            FunctionCounter.builder("cnpj.cluster.operacoes", registro, ShardedRaizRegistry::getLocais)
+                .description("Operações do registro por destino")
+                .tag("destino", "local")
+                .register(registry);
+            FunctionCounter.builder("cnpj.cluster.operacoes", registro, ShardedRaizRegistry::getEncaminhadas)
+                .description("Operações do registro por destino")
+                .tag("destino", "encaminhada")
+                .register(registry);
+            Gauge.builder("cnpj.cluster.estabelecimentos", registro.getIndice(), CnpjRaizIndex::quantidadeEstabelecimentos)
+                .description("Estabelecimentos guardados neste nó")
+                .register(registry);
+            Gauge.builder("cnpj.cluster.membros", registro, r -> r.getMembros().size())
+                .description("Nós no anel atual")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.config;
+
+import com.example.empresa.EmpresaStore;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração dos índices e repositórios em memória de CNPJs registrados.
+ *
+ * <p>Os índices são classes simples do pacote de validação; aqui elas são
+ * expostas como beans para os controllers.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+public class CnpjIndexConfig {
+
+    /**
+     * Índice de estabelecimentos agrupados pela raiz do CNPJ.
+     *
+     * @return índice vazio, alimentado pelos cadastros
+     */
+    @Bean
+    public CnpjRaizIndex cnpjRaizIndex() {
+        return new CnpjRaizIndex();
+    }
+
+    /**
+     * Índice de busca por prefixo (autocompletar) dos CNPJs registrados.
+     *
+     * @param situacao base de situação cadastral, se configurada
+     * @param incluirSituacao true para carregar no índice todos os estabelecimentos da base
+     *                        de situação cadastral ({@code cnpj.busca.incluir-situacao})
+     * @return índice alimentado pelos cadastros
+     */
+    @Bean
+    public CnpjPrefixIndex cnpjPrefixIndex(ObjectProvider<SituacaoCadastralIndex> situacao,
+                                           @Value("${cnpj.busca.incluir-situacao:false}") boolean incluirSituacao) {
+        SituacaoCadastralIndex base = incluirSituacao ? situacao.getIfAvailable() : null;
+        return base == null ? new CnpjPrefixIndex() : CnpjPrefixIndex.de(base);
+    }
+
+    /**
+     * Repositório de empresas versionadas usado pelo {@code EmpresaController}.
+     *
+     * @return repositório vazio
+     */
+    @Bean
+    public EmpresaStore empresaStore() {
+        return new EmpresaStore();
+    }
+}
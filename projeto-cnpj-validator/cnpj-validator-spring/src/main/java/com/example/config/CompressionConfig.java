@@ -0,0 +1,75 @@
+package com.example.config;
+
+import com.example.compression.CompressionFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuração da compressão dos corpos da API ({@code cnpj.compressao.*}).
+ *
+ * <p>Substitui o {@code server.compression} do Tomcat (só gzip e só respostas) pelo
+ * {@link CompressionFilter}, que também descomprime requisições e fala zstd.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnpj.compressao.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    /**
+     * Filtro de compressão de requisições e respostas.
+     *
+     * @return filtro configurado
+     */
+    @Bean
+    public CompressionFilter compressionFilter(
+            @Value("${cnpj.compressao.nivel-gzip:6}") int nivelGzip,
+            @Value("${cnpj.compressao.nivel-zstd:3}") int nivelZstd,
+            @Value("${cnpj.compressao.tamanho-minimo:1KB}") DataSize tamanhoMinimo,
+            @Value("${cnpj.compressao.max-descomprimido:64MB}") DataSize maxDescomprimido) {
+        return new CompressionFilter(nivelGzip, nivelZstd, (int) tamanhoMinimo.toBytes(), maxDescomprimido.toBytes());
+    }
+
+    /**
+     * Registra o filtro depois do controle de admissão: requisições recusadas não chegam
+     * a ser descomprimidas.
+     *
+     * @param filtro filtro de compressão
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilterRegistration(CompressionFilter filtro) {
+        FilterRegistrationBean<CompressionFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+
+    /**
+     * Métricas de uso da compressão.
+     *
+     * @param filtro filtro de compressão
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder compressionMetrics(CompressionFilter filtro) {
+        return registry -> {
+            FunctionCounter.builder("cnpj.compressao.corpos", filtro, CompressionFilter::getRequisicoesComprimidas)
+                .description("Corpos comprimidos por direção")
+                .tag("direcao", "requisicao")
+                .register(registry);
+            FunctionCounter.builder("cnpj.compressao.corpos", filtro, CompressionFilter::getRespostasComprimidas)
+                .description("Corpos comprimidos por direção")
+                .tag("direcao", "resposta")
+                .register(registry);
+        };
+    }
+}
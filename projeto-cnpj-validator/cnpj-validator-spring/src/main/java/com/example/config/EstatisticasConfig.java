@@ -0,0 +1,68 @@
+package com.example.config;
+
+import com.example.batch.CnpjEstatisticas;
+import com.example.validation.cnpj.CnpjMotivo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das estatísticas dos CNPJs consultados ({@code cnpj.estatisticas.*}).
+ *
+ * <p>A memória é fixa: por parcial, dois HyperLogLog de {@code 2^precisao} bytes e
+ * {@code 4 × frequentes} contadores de inválidos, qualquer que seja o volume de consultas.
+ * Toda consulta registra nas estatísticas; com uma parcial por processador, os threads de
+ * requisição não disputam um lock único.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+public class EstatisticasConfig {
+
+    /**
+     * Estatísticas compartilhadas pelos endpoints de validação.
+     *
+     * @param precisao bits de índice dos HyperLogLog
+     * @param frequentes inválidos mais repetidos no resumo
+     * @param particoes parciais independentes; 0 usa a quantidade de processadores
+     * @return estatísticas desde o início da aplicação
+     */
+    @Bean
+    public CnpjEstatisticas cnpjEstatisticas(
+            @Value("${cnpj.estatisticas.precisao:14}") int precisao,
+            @Value("${cnpj.estatisticas.frequentes:10}") int frequentes,
+            @Value("${cnpj.estatisticas.particoes:0}") int particoes) {
+        return new CnpjEstatisticas(precisao, frequentes,
+            particoes > 0 ? particoes : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Métricas das estatísticas.
+     *
+     * @param estatisticas estatísticas compartilhadas
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder estatisticasMetrics(CnpjEstatisticas estatisticas) {
+        return registry -> {
+            Gauge.builder("cnpj.estatisticas.distintos", estatisticas, e -> e.resumo().cnpjsDistintos())
+                .description("Estimativa de CNPJs válidos distintos")
+                .tag("tipo", "cnpj")
+                .register(registry);
+            Gauge.builder("cnpj.estatisticas.distintos", estatisticas, e -> e.resumo().raizesDistintas())
+                .description("Estimativa de CNPJs válidos distintos")
+                .tag("tipo", "raiz")
+                .register(registry);
+            for (CnpjMotivo motivo : CnpjMotivo.values()) {
+                FunctionCounter.builder("cnpj.estatisticas.validacoes", estatisticas, e -> e.quantidade(motivo))
+                    .description("CNPJs validados por motivo")
+                    .tag("motivo", motivo.name())
+                    .register(registry);
+            }
+        };
+    }
+}
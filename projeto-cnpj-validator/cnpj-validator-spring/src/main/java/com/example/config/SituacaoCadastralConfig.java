@@ -0,0 +1,55 @@
+package com.example.config;
+
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuração da base offline de situação cadastral ({@code cnpj.situacao.*}).
+ *
+ * <p>Mapeia o arquivo gerado pelo {@code SituacaoCadastralLoader} e o registra como
+ * índice padrão, usado por {@code @ValidCNPJ(situacao = ...)} e pelo
+ * {@code SituacaoCadastralController}. Sem {@code cnpj.situacao.arquivo} nada é carregado.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnpj.situacao.arquivo")
+public class SituacaoCadastralConfig {
+
+    /**
+     * Índice de situação cadastral mapeado em memória.
+     *
+     * @param arquivo arquivo binário gerado pelo loader
+     * @return índice registrado como padrão
+     * @throws IOException se o arquivo não puder ser lido ou não estiver no formato esperado
+     */
+    @Bean
+    public SituacaoCadastralIndex situacaoCadastralIndex(@Value("${cnpj.situacao.arquivo}") Path arquivo)
+            throws IOException {
+        SituacaoCadastralIndex indice = SituacaoCadastralIndex.abrir(arquivo);
+        SituacaoCadastralIndex.definirPadrao(indice);
+        return indice;
+    }
+
+    /**
+     * Métrica com o tamanho da base carregada.
+     *
+     * @param indice índice de situação cadastral
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder situacaoCadastralMetrics(SituacaoCadastralIndex indice) {
+        return registry -> Gauge.builder("cnpj.situacao.estabelecimentos", indice, SituacaoCadastralIndex::quantidade)
+            .description("Estabelecimentos na base de situação cadastral")
+            .register(registry);
+    }
+}
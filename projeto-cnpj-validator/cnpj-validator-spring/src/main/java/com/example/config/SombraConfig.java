@@ -0,0 +1,80 @@
+package com.example.config;
+
+import com.example.validation.cnpj.CnpjShadowValidator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração do modo sombra ({@code cnpj.sombra.*}).
+ *
+ * <p>Registra a comparação como padrão do {@code CNPJValidator}: as validações de
+ * {@code @ValidCNPJ}, inclusive as do {@code EmpresaController}, passam a ser amostradas e
+ * comparadas com o motor candidato. Desligado por padrão.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnpj.sombra.enabled", havingValue = "true")
+public class SombraConfig {
+
+    /**
+     * Comparação entre o motor ativo ({@code validacao}) e o candidato.
+     *
+     * @return comparação registrada como padrão e encerrada junto com o contexto
+     */
+    @Bean(destroyMethod = "close")
+    public CnpjShadowValidator cnpjShadowValidator(
+            @Value("${cnpj.sombra.motor:fast}") String motor,
+            @Value("${cnpj.sombra.amostragem:0.01}") double amostragem,
+            @Value("${cnpj.sombra.fila:1024}") int fila,
+            @Value("${cnpj.sombra.divergencias:100}") int divergencias) {
+        CnpjShadowValidator sombra = new CnpjShadowValidator(CnpjShadowValidator.motor("validacao"),
+            CnpjShadowValidator.motor(motor), amostragem, fila, divergencias);
+        CnpjShadowValidator.definirPadrao(sombra);
+        return sombra;
+    }
+
+    /**
+     * Métricas da comparação.
+     *
+     * @param sombra comparação em modo sombra
+     * @param motor nome do motor candidato, usado como tag
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder sombraMetrics(CnpjShadowValidator sombra, @Value("${cnpj.sombra.motor:fast}") String motor) {
+        return registry -> {
+            FunctionCounter.builder("cnpj.sombra.comparacoes", sombra, CnpjShadowValidator::getIguais)
+                .description("Validações comparadas com o motor candidato")
+                .tag("candidato", motor)
+                .tag("resultado", "igual")
+                .register(registry);
+            FunctionCounter.builder("cnpj.sombra.comparacoes", sombra, CnpjShadowValidator::getDivergentes)
+                .description("Validações comparadas com o motor candidato")
+                .tag("candidato", motor)
+                .tag("resultado", "divergente")
+                .register(registry);
+            FunctionCounter.builder("cnpj.sombra.descartadas", sombra, CnpjShadowValidator::getDescartadas)
+                .description("Amostras descartadas com a fila de comparação cheia")
+                .register(registry);
+            FunctionTimer.builder("cnpj.sombra.latencia", sombra, CnpjShadowValidator::getComparadas,
+                    CnpjShadowValidator::getNanosAtivo, TimeUnit.NANOSECONDS)
+                .description("Tempo de validação de cada motor nas comparações")
+                .tag("motor", "validacao")
+                .register(registry);
+            FunctionTimer.builder("cnpj.sombra.latencia", sombra, CnpjShadowValidator::getComparadas,
+                    CnpjShadowValidator::getNanosCandidato, TimeUnit.NANOSECONDS)
+                .description("Tempo de validação de cada motor nas comparações")
+                .tag("motor", motor)
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.config;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.empresa.CnpjValidationService;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração das verificações paralelas de empresas ({@code cnpj.verificacao.*}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Configuration
+public class VerificacaoConfig {
+
+    /**
+     * Serviço de verificações com executor limitado.
+     *
+     * @return serviço encerrado junto com o contexto
+     */
+    @Bean(destroyMethod = "close")
+    public CnpjValidationService cnpjValidationService(
+            Validator validator,
+            ShardedRaizRegistry registro,
+            ObjectProvider<SituacaoCadastralIndex> situacao,
+            @Value("${cnpj.verificacao.threads:16}") int threads,
+            @Value("${cnpj.verificacao.fila:256}") int fila,
+            @Value("${cnpj.verificacao.timeout:2s}") Duration timeout) {
+        return new CnpjValidationService(validator, registro, situacao, threads, fila, timeout);
+    }
+
+    /**
+     * Métricas do executor de verificações.
+     *
+     * @param servico serviço de verificações
+     * @return binder registrado automaticamente pelo Actuator
+     */
+    @Bean
+    public MeterBinder verificacaoMetrics(CnpjValidationService servico) {
+        return registry -> {
+            Gauge.builder("cnpj.verificacao.ativas", servico, CnpjValidationService::getAtivas)
+                .description("Verificações em execução")
+                .register(registry);
+            Gauge.builder("cnpj.verificacao.enfileiradas", servico, CnpjValidationService::getEnfileiradas)
+                .description("Verificações aguardando thread")
+                .register(registry);
+            FunctionCounter.builder("cnpj.verificacao.falhas", servico, CnpjValidationService::getRecusadas)
+                .description("Verificações que não chegaram ao fim")
+                .tag("motivo", "recusada")
+                .register(registry);
+            FunctionCounter.builder("cnpj.verificacao.falhas", servico, CnpjValidationService::getExpiradas)
+                .description("Verificações que não chegaram ao fim")
+                .tag("motivo", "timeout")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.controller;
+
+import com.example.cluster.ClusterNode;
+import com.example.cluster.ShardedRaizRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST de administração do registro particionado.
+ *
+ * <p>A troca de membros deve ser enviada a todos os nós (antigos e novos); cada um
+ * transfere as raízes que deixaram de ser suas.</p>
+ *
+ * <p>Só existe com {@code cnpj.cluster.enabled=true}. A troca de membros move todas as
+ * raízes do nó, então exige o token de {@code cnpj.cluster.token-admin} no cabeçalho
+ * {@value #CABECALHO_TOKEN}; sem token configurado, ela fica desabilitada.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "cnpj.cluster.enabled", havingValue = "true")
+@Tag(name = "Cluster", description = "Estado e membros do registro particionado por raiz do CNPJ")
+public class ClusterController {
+
+    /** Cabeçalho com o token de administração do cluster. */
+    public static final String CABECALHO_TOKEN = "X-Cluster-Token";
+
+    private final ShardedRaizRegistry registro;
+    private final byte[] tokenAdmin;
+
+    public ClusterController(ShardedRaizRegistry registro,
+                             @Value("${cnpj.cluster.token-admin:}") String tokenAdmin) {
+        this.registro = registro;
+        this.tokenAdmin = tokenAdmin.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Estado deste nó.
+     *
+     * @return nó local, membros e contadores
+     */
+    @GetMapping
+    @Operation(summary = "Estado do nó", description = "Retorna o nó local, os membros do anel e o volume de dados e operações deste nó.")
+    public ResponseEntity<Map<String, Object>> estado() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("no", registro.getLocal().toString());
+        response.put("membros", registro.getMembros().stream().map(ClusterNode::toString).toList());
+        response.put("raizesLocais", registro.getIndice().quantidadeRaizes());
+        response.put("estabelecimentosLocais", registro.getIndice().quantidadeEstabelecimentos());
+        response.put("operacoesLocais", registro.getLocais());
+        response.put("operacoesEncaminhadas", registro.getEncaminhadas());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Substitui os membros do anel e rebalanceia as raízes locais.
+     *
+     * @param membros nova lista completa, no formato {@code id@host:porta}
+     * @return quantidade de raízes e estabelecimentos transferidos
+     */
+    @PutMapping("/membros")
+    @Operation(
+        summary = "Atualizar membros",
+        description = "Aplica a nova lista de membros neste nó e transfere aos novos donos as raízes que mudaram de nó."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rebalanceamento concluído",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "membros": ["no-1@10.0.0.1:7171", "no-2@10.0.0.2:7171"],
+                          "raizesTransferidas": 512,
+                          "estabelecimentosTransferidos": 1830
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Lista de membros inválida", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "403", description = "Token de administração ausente, incorreto ou não configurado", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Um novo dono não respondeu; repita a chamada", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> atualizarMembros(
+            @Parameter(description = "Token de administração (cnpj.cluster.token-admin)")
+            @RequestHeader(value = CABECALHO_TOKEN, required = false) String token,
+            @Parameter(description = "Membros no formato id@host:porta", required = true)
+            @RequestBody List<String> membros) {
+
+        if (tokenAdmin.length == 0 || token == null
+                || !MessageDigest.isEqual(tokenAdmin, token.getBytes(StandardCharsets.UTF_8))) {
+            Map<String, Object> erro = new HashMap<>();
+            erro.put("erro", tokenAdmin.length == 0
+                ? "Troca de membros desabilitada: configure cnpj.cluster.token-admin"
+                : "Token de administração ausente ou incorreto");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(erro);
+        }
+        List<ClusterNode> nos = membros.stream().map(ClusterNode::parse).toList();
+        ShardedRaizRegistry.Rebalanceamento resultado = registro.atualizarMembros(nos);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("membros", registro.getMembros().stream().map(ClusterNode::toString).toList());
+        response.put("raizesTransferidas", resultado.raizes());
+        response.put("estabelecimentosTransferidos", resultado.estabelecimentos());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tratamento de lista de membros inválida.
+     *
+     * @param ex exceção lançada ao ler os nós ou montar o anel
+     * @return mapa com o erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleMembrosInvalidos(IllegalArgumentException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("membros", ex.getMessage());
+        return errors;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.controller;
+
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST de autocompletar: busca CNPJs registrados pelo prefixo digitado.
+ *
+ * <p>Usa o {@link CnpjPrefixIndex}, alimentado pelos cadastros do {@link EmpresaController}
+ * (e, com {@code cnpj.busca.incluir-situacao=true}, pela base de situação cadastral). A busca
+ * é uma busca binária sobre um array ordenado de bases empacotadas, sem consulta ao banco.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Busca de CNPJ", description = "Autocompletar CNPJs registrados pelo prefixo")
+public class CnpjBuscaController {
+
+    /** Maior quantidade de resultados por busca. */
+    static final int LIMITE_MAXIMO = 100;
+
+    private final CnpjPrefixIndex indice;
+
+    public CnpjBuscaController(CnpjPrefixIndex indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * Lista os CNPJs registrados que começam com o prefixo informado.
+     *
+     * @param prefixo início do CNPJ, com ou sem formatação
+     * @param limite quantidade máxima de resultados (1 a {@value #LIMITE_MAXIMO})
+     * @return CNPJs encontrados, em ordem crescente
+     */
+    @GetMapping("/busca")
+    @Operation(
+        summary = "Buscar CNPJs por prefixo",
+        description = """
+            Lista, em ordem crescente, os CNPJs registrados que começam com o prefixo. O prefixo
+            pode vir formatado ou parcial ("12.ABC.3") e em minúsculas; até 12 caracteres ele
+            seleciona um intervalo de bases, e os caracteres seguintes filtram pelo DV.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Busca realizada",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "prefixo": "12ABC",
+                          "quantidade": 2,
+                          "cnpjs": ["12ABC345000188", "12ABC34501DE35"],
+                          "maisResultados": false
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Prefixo ou limite inválido", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> buscar(
+            @Parameter(description = "Início do CNPJ, com ou sem formatação", required = true, example = "12ABC")
+            @RequestParam String prefixo,
+            @Parameter(description = "Quantidade máxima de resultados (1 a 100)")
+            @RequestParam(defaultValue = "20") int limite) {
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            response.put("limite", "Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        // um resultado a mais só para saber se a lista foi cortada
+        List<String> cnpjs = indice.buscar(prefixo, limite + 1);
+        boolean maisResultados = cnpjs.size() > limite;
+        if (maisResultados) {
+            cnpjs = cnpjs.subList(0, limite);
+        }
+        JfrRequestFilter.registrarItens(1);
+
+        response.put("prefixo", CnpjPrefixIndex.normalizarPrefixo(prefixo));
+        response.put("quantidade", cnpjs.size());
+        response.put("cnpjs", cnpjs);
+        response.put("maisResultados", maisResultados);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tratamento de prefixo inválido.
+     *
+     * @param ex exceção lançada pelo índice
+     * @return mapa com o erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handlePrefixoInvalido(IllegalArgumentException ex) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        errors.put("prefixo", ex.getMessage());
+        return errors;
+    }
+}
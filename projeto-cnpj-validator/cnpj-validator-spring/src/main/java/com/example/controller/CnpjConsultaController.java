@@ -0,0 +1,189 @@
+package com.example.controller;
+
+import com.example.batch.CnpjEstatisticas;
+import com.example.cache.LruCache;
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.CnpjFormatter;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.CnpjPacked;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller REST para consulta de um CNPJ individual.
+ *
+ * <p>O resultado depende apenas do valor consultado e da versão das regras, então a resposta
+ * é imutável: vai com ETag forte e {@code Cache-Control: public, max-age, immutable}, e
+ * {@code If-None-Match} recebe {@code 304}. Os bytes JSON já serializados ficam em um cache
+ * LRU limitado para os valores mais consultados.</p>
+ *
+ * <p>Toda consulta, com ou sem cache, entra nas {@link CnpjEstatisticas} publicadas em
+ * {@code /api/cnpj/estatisticas}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Consulta de CNPJ", description = "Validação e formatação de um CNPJ individual, com cache HTTP")
+public class CnpjConsultaController {
+
+    /** Versão das regras de validação; entra no ETag para invalidar caches quando mudar. */
+    static final String VERSAO_REGRAS = "1";
+
+    /** Entradas maiores que isso não vão para o cache (nenhum CNPJ formatado chega perto). */
+    private static final int TAMANHO_MAXIMO_CACHE = 32;
+
+    private final ObjectMapper objectMapper;
+    private final CnpjEstatisticas estatisticas;
+    private final LruCache<String, RespostaSerializada> cache;
+    private final CacheControl cacheControl;
+
+    public CnpjConsultaController(ObjectMapper objectMapper,
+                                  CnpjEstatisticas estatisticas,
+                                  @Value("${cnpj.consulta.cache-entradas:10000}") int entradasCache,
+                                  @Value("${cnpj.consulta.max-age:P365D}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.estatisticas = estatisticas;
+        this.cache = new LruCache<>(entradasCache);
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable();
+    }
+
+    /**
+     * Consulta um CNPJ.
+     *
+     * @param cnpj CNPJ sem formatação ou com pontos e hífen (a barra não é aceita em path)
+     * @return validade, motivo, formas normalizada e formatada e DV calculado
+     */
+    @GetMapping("/{cnpj}")
+    @Operation(
+        summary = "Consultar CNPJ",
+        description = """
+            Valida o CNPJ e retorna o motivo do resultado, as formas normalizada e formatada
+            e os dígitos verificadores calculados para a base.
+
+            A resposta é imutável: envie If-None-Match com o ETag recebido para obter 304.
+            Como a barra não pode fazer parte do path, informe o CNPJ sem formatação
+            (ex.: 12ABC34501DE35) ou apenas com pontos e hífen.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resultado da consulta (válido ou não)",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "cnpj" : "12ABC34501DE35",
+                          "valido" : true,
+                          "motivo" : "VALIDO",
+                          "descricao" : "CNPJ válido",
+                          "normalizado" : "12ABC34501DE35",
+                          "formatado" : "12.ABC.345/01DE-35",
+                          "dv" : "35"
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
+    })
+    public ResponseEntity<byte[]> consultar(
+            @Parameter(description = "CNPJ a consultar", required = true, example = "12ABC34501DE35")
+            @PathVariable String cnpj) {
+
+        JfrRequestFilter.registrarItens(1);
+        estatisticas.registrar(cnpj);
+
+        RespostaSerializada resposta = cnpj.length() <= TAMANHO_MAXIMO_CACHE
+            ? cache.obter(cnpj, this::serializar)
+            : serializar(cnpj);
+
+        // com ETag em um GET, o Spring responde 304 sozinho quando If-None-Match confere
+        return ResponseEntity.ok()
+            .eTag(resposta.etag())
+            .cacheControl(cacheControl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(resposta.corpo());
+    }
+
+    /**
+     * Monta o resultado da consulta.
+     *
+     * @param cnpj CNPJ informado
+     * @return campos da resposta, em ordem
+     */
+    static Map<String, Object> consulta(String cnpj) {
+        CnpjMotivo motivo = CnpjValidacao.motivo(cnpj);
+        String normalizado = CnpjFormatter.normalize(cnpj);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cnpj", cnpj);
+        response.put("valido", motivo == CnpjMotivo.VALIDO);
+        response.put("motivo", motivo.name());
+        response.put("descricao", motivo.getDescricao());
+        response.put("normalizado", normalizado);
+        if (normalizado.length() == CnpjFormatter.TAMANHO_NORMALIZADO) {
+            response.put("formatado", CnpjFormatter.format(normalizado));
+        }
+        if (motivo == CnpjMotivo.VALIDO || motivo == CnpjMotivo.DV_INCORRETO || motivo == CnpjMotivo.DV_NAO_NUMERICO) {
+            // base bem formada; DV_NAO_NUMERICO é apontado antes de ZERADO, então a base
+            // ainda pode ser toda zeros, caso em que não há DV a informar
+            int dv = CnpjFastValidator.calculaDV(normalizado, 0);
+            if (dv != CnpjPacked.INVALIDO) {
+                response.put("dv", String.valueOf(new char[] {(char) ('0' + dv / 10), (char) ('0' + dv % 10)}));
+            }
+        }
+        return response;
+    }
+
+    private RespostaSerializada serializar(String cnpj) {
+        try {
+            byte[] corpo = objectMapper.writeValueAsBytes(consulta(cnpj));
+            return new RespostaSerializada(corpo, etag(corpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a consulta de CNPJ", e);
+        }
+    }
+
+    private static String etag(byte[] corpo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(VERSAO_REGRAS.getBytes(StandardCharsets.UTF_8));
+            byte[] hash = sha256.digest(corpo);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record RespostaSerializada(byte[] corpo, String etag) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.controller;
+
+import com.example.admission.AdmissionControlFilter;
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para cálculo de dígitos verificadores em volume.
+ *
+ * <p>Atende sistemas que pré-alocam números de filial em blocos: o lote calcula os DVs de
+ * bases avulsas e a expansão gera os CNPJs de uma faixa de filiais da raiz com a soma
+ * ponderada atualizada de forma incremental ({@link CnpjFastValidator#calculaDVsFiliais}).</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj/dv")
+@Tag(name = "Dígitos Verificadores", description = "Cálculo de DVs em lote e expansão de filiais")
+public class CnpjDVController {
+
+    private final int loteMaximo;
+    private final int basesPorItem;
+    private final int filiaisPorItem;
+
+    /**
+     * @param loteMaximo bases aceitas por requisição em {@code /lote}
+     * @param basesPorItem bases do lote por item cobrado no controle de admissão
+     * @param filiaisPorItem filiais expandidas por item cobrado no controle de admissão
+     */
+    public CnpjDVController(@Value("${cnpj.dv.lote-maximo:10000}") int loteMaximo,
+                            @Value("${cnpj.dv.bases-por-item:100}") int basesPorItem,
+                            @Value("${cnpj.dv.filiais-por-item:100}") int filiaisPorItem) {
+        this.loteMaximo = loteMaximo;
+        this.basesPorItem = Math.max(1, basesPorItem);
+        this.filiaisPorItem = Math.max(1, filiaisPorItem);
+    }
+
+    /**
+     * Calcula os DVs de um lote de bases.
+     *
+     * @param bases bases de 12 caracteres, sem formatação
+     * @return DVs alinhados com a entrada (null para base inválida)
+     */
+    @PostMapping("/lote")
+    @Operation(
+        summary = "Calcular DVs em lote",
+        description = """
+            Calcula os dígitos verificadores de um array de bases de 12 caracteres (raiz + ordem,
+            sem formatação). A lista "dvs" segue a ordem da entrada, com null para base inválida
+            ou zerada. Cada bloco de bases (cnpj.dv.bases-por-item) conta como um item no
+            controle de admissão.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "DVs calculados",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "quantidade" : 3,
+                          "validas" : 2,
+                          "dvs" : [ "35", "22", null ]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "429", description = "Limite de itens do cliente excedido", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> calcularLote(@RequestBody String[] bases) {
+        if (bases.length == 0 || bases.length > loteMaximo) {
+            throw new IllegalArgumentException(
+                String.format("O lote deve ter de 1 a %d bases (recebidas: %d)", loteMaximo, bases.length));
+        }
+        AdmissionControlFilter.cobrarItens((bases.length + basesPorItem - 1) / basesPorItem);
+        JfrRequestFilter.registrarItens(bases.length);
+
+        int[] dvs = new int[bases.length];
+        int validas = CnpjFastValidator.calculaDVs(bases, dvs);
+        List<String> resultado = new ArrayList<>(bases.length);
+        for (int dv : dvs) {
+            resultado.add(dv == CnpjPacked.INVALIDO ? null : String.valueOf(new char[] {
+                (char) ('0' + dv / 10), (char) ('0' + dv % 10)}));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("quantidade", bases.length);
+        response.put("validas", validas);
+        response.put("dvs", resultado);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Gera os CNPJs completos de uma faixa de filiais numéricas da raiz.
+     *
+     * @param raiz 8 primeiros caracteres do CNPJ
+     * @param de primeira ordem (1 a 9999)
+     * @param ate última ordem (de {@code de} a 9999)
+     * @return CNPJs da faixa, em ordem
+     */
+    @GetMapping("/{raiz}/filiais")
+    @Operation(
+        summary = "Expandir filiais da raiz",
+        description = """
+            Gera os CNPJs das filiais /0001 a /9999 (ou da faixa de..ate) da raiz informada, com os
+            DVs calculados. Não consulta os cadastros: para a próxima ordem livre use
+            /api/cnpj/raiz/{raiz}/proxima-filial. Cada bloco de filiais (cnpj.dv.filiais-por-item)
+            conta como um item no controle de admissão.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Faixa expandida",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "raiz" : "90021382",
+                          "de" : 1,
+                          "ate" : 3,
+                          "quantidade" : 3,
+                          "cnpjs" : [ "90021382000122", "90021382000203", "90021382000384" ]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Raiz ou faixa inválida", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "429", description = "Limite de itens do cliente excedido", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> expandirFiliais(
+            @Parameter(description = "Raiz do CNPJ (8 caracteres)", required = true, example = "90021382")
+            @PathVariable String raiz,
+            @Parameter(description = "Primeira ordem (1 a 9999)")
+            @RequestParam(defaultValue = "1") int de,
+            @Parameter(description = "Última ordem (até 9999)")
+            @RequestParam(defaultValue = "9999") int ate) {
+
+        String normalizada = CnpjPacked.unpackRaiz(CnpjRaizIndex.packRaiz(raiz), new StringBuilder()).toString();
+        // antes de alocar: a faixa vem da query string e pode ter qualquer tamanho
+        if (de < 1 || ate > 9999 || de > ate) {
+            throw new IllegalArgumentException("Intervalo de filiais deve estar entre 1 e 9999");
+        }
+        int[] dvs = new int[ate - de + 1];
+        CnpjFastValidator.calculaDVsFiliais(normalizada, de, ate, dvs);
+        AdmissionControlFilter.cobrarItens((dvs.length + filiaisPorItem - 1) / filiaisPorItem);
+        JfrRequestFilter.registrarItens(dvs.length);
+
+        char[] cnpj = new char[14];
+        normalizada.getChars(0, CnpjPacked.TAMANHO_RAIZ, cnpj, 0);
+        List<String> cnpjs = new ArrayList<>(dvs.length);
+        for (int i = 0; i < dvs.length; i++) {
+            int ordem = de + i;
+            cnpj[8] = (char) ('0' + ordem / 1000);
+            cnpj[9] = (char) ('0' + ordem / 100 % 10);
+            cnpj[10] = (char) ('0' + ordem / 10 % 10);
+            cnpj[11] = (char) ('0' + ordem % 10);
+            cnpj[12] = (char) ('0' + dvs[i] / 10);
+            cnpj[13] = (char) ('0' + dvs[i] % 10);
+            cnpjs.add(new String(cnpj));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("raiz", normalizada);
+        response.put("de", de);
+        response.put("ate", ate);
+        response.put("quantidade", cnpjs.size());
+        response.put("cnpjs", cnpjs);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tratamento de lote, raiz ou faixa inválidos.
+     *
+     * @param ex exceção lançada pela validação da entrada
+     * @return mapa com o erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleEntradaInvalida(IllegalArgumentException ex) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        errors.put("erro", ex.getMessage());
+        return errors;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.controller;
+
+import com.example.batch.CnpjEstatisticas;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST das estatísticas de cardinalidade e qualidade dos CNPJs validados.
+ *
+ * <p>As contagens de distintos são estimativas do {@link CnpjEstatisticas} (erro padrão de
+ * ~0,8% com a precisão padrão); os demais contadores são exatos.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Estatísticas de CNPJ", description = "Distintos, proporção de alfanuméricos e rejeições por motivo")
+public class CnpjEstatisticasController {
+
+    private final CnpjEstatisticas estatisticas;
+
+    public CnpjEstatisticasController(CnpjEstatisticas estatisticas) {
+        this.estatisticas = estatisticas;
+    }
+
+    /**
+     * Resumo das estatísticas desde o início da aplicação.
+     *
+     * @return contadores, estimativas e inválidos mais repetidos
+     */
+    @GetMapping("/estatisticas")
+    @Operation(
+        summary = "Estatísticas dos CNPJs validados",
+        description = """
+            Resume os CNPJs recebidos pelos endpoints de validação desde o início da aplicação:
+            CNPJs e raízes distintos (estimados por HyperLogLog), proporção de alfanuméricos,
+            rejeições por motivo e os valores inválidos mais repetidos. A memória usada é fixa,
+            qualquer que seja o volume.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resumo das estatísticas",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "total" : 1520,
+                          "validos" : 1480,
+                          "invalidos" : 40,
+                          "cnpjsDistintos" : 1210,
+                          "raizesDistintas" : 830,
+                          "alfanumericos" : 370,
+                          "numericos" : 1110,
+                          "percentualAlfanumerico" : 25.0,
+                          "rejeicoes" : {
+                            "NULO" : 0,
+                            "TAMANHO_INVALIDO" : 12,
+                            "CARACTERE_INVALIDO" : 3,
+                            "DV_NAO_NUMERICO" : 0,
+                            "ZERADO" : 5,
+                            "DV_INCORRETO" : 20
+                          },
+                          "frequentes" : [ {
+                            "valor" : "00000000000000",
+                            "ocorrencias" : 5,
+                            "erroMaximo" : 0
+                          } ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    public ResponseEntity<Map<String, Object>> estatisticas() {
+        CnpjEstatisticas.Resumo resumo = estatisticas.resumo();
+
+        List<Map<String, Object>> frequentes = new ArrayList<>(resumo.frequentes().size());
+        for (CnpjEstatisticas.Frequente frequente : resumo.frequentes()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("valor", frequente.valor());
+            item.put("ocorrencias", frequente.ocorrencias());
+            item.put("erroMaximo", frequente.erroMaximo());
+            frequentes.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", resumo.total());
+        response.put("validos", resumo.validos());
+        response.put("invalidos", resumo.invalidos());
+        response.put("cnpjsDistintos", resumo.cnpjsDistintos());
+        response.put("raizesDistintas", resumo.raizesDistintas());
+        response.put("alfanumericos", resumo.alfanumericos());
+        response.put("numericos", resumo.numericos());
+        response.put("percentualAlfanumerico", resumo.percentualAlfanumerico());
+        response.put("rejeicoes", resumo.rejeicoes());
+        response.put("frequentes", frequentes);
+        return ResponseEntity.ok(response);
+    }
+}
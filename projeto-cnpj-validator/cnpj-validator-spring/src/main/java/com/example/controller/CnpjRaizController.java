@@ -0,0 +1,155 @@
+package com.example.controller;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para consultas de matriz/filiais pela raiz do CNPJ.
+ *
+ * <p>Usa o {@link ShardedRaizRegistry}, alimentado pelos cadastros do {@link EmpresaController};
+ * em cluster, a consulta é respondida pelo nó dono da raiz.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj/raiz")
+@Tag(name = "Raiz do CNPJ", description = "Consultas de estabelecimentos (matriz e filiais) pela raiz do CNPJ")
+public class CnpjRaizController {
+
+    private final ShardedRaizRegistry registro;
+
+    public CnpjRaizController(ShardedRaizRegistry registro) {
+        this.registro = registro;
+    }
+
+    /**
+     * Lista todos os estabelecimentos registrados de uma raiz.
+     *
+     * @param raiz 8 primeiros caracteres do CNPJ
+     * @return CNPJs dos estabelecimentos da raiz
+     */
+    @GetMapping("/{raiz}/filiais")
+    @Operation(
+        summary = "Listar filiais da raiz",
+        description = "Lista os CNPJs de todos os estabelecimentos registrados com a raiz informada (8 caracteres)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estabelecimentos encontrados",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "raiz": "12ABC345",
+                          "quantidade": 2,
+                          "filiais": ["12ABC345000188", "12ABC34501DE35"]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Raiz inválida", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> listarFiliais(
+            @Parameter(description = "Raiz do CNPJ (8 caracteres)", required = true, example = "12ABC345")
+            @PathVariable String raiz) {
+
+        List<String> filiais = registro.filiais(raiz);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("raiz", raizNormalizada(raiz));
+        response.put("quantidade", filiais.size());
+        response.put("filiais", filiais);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Calcula a próxima ordem de filial livre para a raiz.
+     *
+     * @param raiz 8 primeiros caracteres do CNPJ
+     * @param numerica true para considerar apenas ordens numéricas (0001 a 9999)
+     * @return próxima ordem livre e o CNPJ correspondente
+     */
+    @GetMapping("/{raiz}/proxima-filial")
+    @Operation(
+        summary = "Próxima filial livre",
+        description = "Retorna a menor ordem de estabelecimento ainda não registrada para a raiz, com o CNPJ completo."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ordem livre encontrada",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "raiz": "90021382",
+                          "ordem": "0002",
+                          "cnpj": "90021382000203"
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Raiz inválida", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "409", description = "Todas as ordens da raiz estão ocupadas", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> proximaFilial(
+            @Parameter(description = "Raiz do CNPJ (8 caracteres)", required = true, example = "90021382")
+            @PathVariable String raiz,
+            @Parameter(description = "Considerar apenas ordens numéricas (0001 a 9999)")
+            @RequestParam(defaultValue = "false") boolean numerica) {
+
+        long raizEmpacotada = CnpjRaizIndex.packRaiz(raiz);
+        int ordem = registro.proximaOrdemLivre(raizEmpacotada, numerica);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("raiz", raizNormalizada(raiz));
+        if (ordem == CnpjPacked.INVALIDO) {
+            response.put("mensagem", "Não há ordens de estabelecimento livres para a raiz");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("ordem", CnpjPacked.unpackOrdem(ordem, new StringBuilder()).toString());
+        response.put("cnpj", CnpjRaizIndex.cnpjCompleto(raizEmpacotada, ordem));
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tratamento de raiz inválida.
+     *
+     * @param ex exceção lançada pelo índice
+     * @return mapa com o erro
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleRaizInvalida(IllegalArgumentException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("raiz", ex.getMessage());
+        return errors;
+    }
+
+    private static String raizNormalizada(String raiz) {
+        return CnpjPacked.unpackRaiz(CnpjRaizIndex.packRaiz(raiz), new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.controller;
+
+import com.example.validation.cnpj.CnpjShadowValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST do resultado da comparação em modo sombra ({@link CnpjShadowValidator}).
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Modo Sombra", description = "Comparação do motor de validação ativo com um candidato")
+public class CnpjSombraController {
+
+    private final ObjectProvider<CnpjShadowValidator> sombra;
+
+    public CnpjSombraController(ObjectProvider<CnpjShadowValidator> sombra) {
+        this.sombra = sombra;
+    }
+
+    /**
+     * Contadores, latências e últimas divergências da comparação.
+     *
+     * @return resumo da comparação
+     */
+    @GetMapping("/sombra")
+    @Operation(
+        summary = "Resultado do modo sombra",
+        description = """
+            Resume a comparação entre o motor de validação ativo e o candidato sobre a
+            amostra do tráfego de @ValidCNPJ: comparações, divergências, amostras descartadas,
+            latência média de cada motor e as últimas divergências com a entrada.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resumo da comparação",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "amostragem" : 0.01,
+                          "amostradas" : 1250,
+                          "descartadas" : 0,
+                          "comparadas" : 1250,
+                          "divergentes" : 1,
+                          "nanosMedioAtivo" : 1840,
+                          "nanosMedioCandidato" : 95,
+                          "divergencias" : [ {
+                            "instante" : "2026-10-19T12:00:00Z",
+                            "cnpj" : "12ABC34501DE35",
+                            "ativo" : true,
+                            "candidato" : false,
+                            "erro" : null,
+                            "motivo" : "VALIDO"
+                          } ]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "503", description = "Modo sombra desligado", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> sombra() {
+        CnpjShadowValidator comparacao = sombra.getIfAvailable();
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (comparacao == null) {
+            response.put("mensagem", "Modo sombra desligado (configure cnpj.sombra.enabled=true)");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+
+        long comparadas = comparacao.getComparadas();
+        List<Map<String, Object>> divergencias = new ArrayList<>();
+        for (CnpjShadowValidator.Divergencia divergencia : comparacao.getDivergencias()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("instante", divergencia.instante().toString());
+            item.put("cnpj", divergencia.cnpj());
+            item.put("ativo", divergencia.ativo());
+            item.put("candidato", divergencia.candidato());
+            item.put("erro", divergencia.erro());
+            item.put("motivo", divergencia.motivo().name());
+            divergencias.add(item);
+        }
+
+        response.put("amostragem", comparacao.getAmostragem());
+        response.put("amostradas", comparacao.getAmostradas());
+        response.put("descartadas", comparacao.getDescartadas());
+        response.put("comparadas", comparadas);
+        response.put("divergentes", comparacao.getDivergentes());
+        response.put("nanosMedioAtivo", comparadas == 0 ? 0 : comparacao.getNanosAtivo() / comparadas);
+        response.put("nanosMedioCandidato", comparadas == 0 ? 0 : comparacao.getNanosCandidato() / comparadas);
+        response.put("divergencias", divergencias);
+        return ResponseEntity.ok(response);
+    }
+}
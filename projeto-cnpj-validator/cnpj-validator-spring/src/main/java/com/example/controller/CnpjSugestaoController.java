@@ -0,0 +1,125 @@
+package com.example.controller;
+
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjFormatter;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.CnpjSugestoes;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST de sugestões de correção para CNPJs digitados com erro.
+ *
+ * <p>Usa o {@link CnpjSugestoes} e marca como registradas as sugestões presentes no
+ * {@link CnpjPrefixIndex} (cadastros) ou na base de situação cadastral, quando carregada;
+ * essas vêm primeiro na resposta.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Sugestões de CNPJ", description = "Correções prováveis para CNPJs com erro de digitação")
+public class CnpjSugestaoController {
+
+    private final CnpjPrefixIndex cadastrados;
+    private final ObjectProvider<SituacaoCadastralIndex> situacao;
+
+    public CnpjSugestaoController(CnpjPrefixIndex cadastrados, ObjectProvider<SituacaoCadastralIndex> situacao) {
+        this.cadastrados = cadastrados;
+        this.situacao = situacao;
+    }
+
+    /**
+     * Sugere correções para um CNPJ inválido.
+     *
+     * @param cnpj CNPJ sem formatação ou com pontos e hífen
+     * @return motivo da rejeição e CNPJs válidos a um caractere trocado ou a uma inversão de vizinhos
+     */
+    @GetMapping("/{cnpj}/sugestoes")
+    @Operation(
+        summary = "Sugerir correções",
+        description = """
+            Para um CNPJ inválido de 14 caracteres, lista os CNPJs válidos que diferem dele por
+            um caractere trocado ou por dois caracteres vizinhos invertidos. As sugestões que
+            constam nos cadastros ou na base de situação cadastral vêm primeiro, com
+            "registrado": true. Um CNPJ válido não recebe sugestões.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Sugestões calculadas (a lista pode ser vazia)",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "cnpj" : "12ABC34510DE35",
+                          "motivo" : "DV_INCORRETO",
+                          "descricao" : "Dígitos verificadores incorretos",
+                          "quantidade" : 1,
+                          "sugestoes" : [ {
+                            "cnpj" : "12ABC34501DE35",
+                            "formatado" : "12.ABC.345/01DE-35",
+                            "tipo" : "TRANSPOSICAO",
+                            "posicao" : 9,
+                            "registrado" : true
+                          } ]
+                        }
+                        """
+                )
+            )
+        )
+    })
+    public ResponseEntity<Map<String, Object>> sugerir(
+            @Parameter(description = "CNPJ digitado", required = true, example = "12ABC34510DE35")
+            @PathVariable String cnpj) {
+
+        JfrRequestFilter.registrarItens(1);
+
+        SituacaoCadastralIndex base = situacao.getIfAvailable();
+        List<CnpjSugestoes.Sugestao> sugestoes = CnpjSugestoes.sugerir(cnpj, empacotada ->
+            cadastrados.contem(empacotada)
+                || base != null && base.consultar(empacotada) != SituacaoCadastralIndex.NAO_ENCONTRADO);
+
+        List<Map<String, Object>> itens = new ArrayList<>(sugestoes.size());
+        for (CnpjSugestoes.Sugestao sugestao : sugestoes) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("cnpj", sugestao.cnpj());
+            item.put("formatado", CnpjFormatter.format(sugestao.cnpj()));
+            item.put("tipo", sugestao.tipo().name());
+            item.put("posicao", sugestao.posicao());
+            item.put("registrado", sugestao.registrado());
+            itens.add(item);
+        }
+
+        CnpjMotivo motivo = CnpjFastValidator.motivo(cnpj, 0, cnpj.length());
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cnpj", cnpj);
+        response.put("motivo", motivo.name());
+        response.put("descricao", motivo.getDescricao());
+        response.put("quantidade", itens.size());
+        response.put("sugestoes", itens);
+        return ResponseEntity.ok(response);
+    }
+}
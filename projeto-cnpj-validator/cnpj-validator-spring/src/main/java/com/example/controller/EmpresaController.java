@@ -0,0 +1,498 @@
+package com.example.controller;
+
+import com.example.binario.EmpresaBinariaHttpMessageConverter;
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.dto.EmpresaDTO;
+import com.example.empresa.CnpjValidationService;
+import com.example.empresa.Empresa;
+import com.example.empresa.EmpresaStore;
+import com.example.empresa.RegistroEmpresas;
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.SituacaoCadastral;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Controller REST de exemplo demonstrando o uso da validação de CNPJ.
+ * 
+ * <p>Este controller mostra como a anotação {@link com.example.validation.cnpj.ValidCNPJ}
+ * é automaticamente aplicada quando usado com @Valid em endpoints REST.</p>
+ *
+ * <p>O CNPJ cadastrado é registrado no {@link ShardedRaizRegistry}; em cluster, o registro
+ * é encaminhado ao nó dono da raiz. Ele também entra no {@link CnpjPrefixIndex} local, usado
+ * pela busca por prefixo. Uma atualização que troca o CNPJ tira o anterior dos dois, se
+ * nenhuma outra empresa ainda o usar.</p>
+ *
+ * <p>As empresas são versionadas no {@link EmpresaStore}: a versão é o ETag do recurso,
+ * o {@code PUT} aceita {@code If-Match} para controle de concorrência otimista e um
+ * reenvio sem alterações responde {@code 304} sem revalidar nem gravar.</p>
+ *
+ * <p>Os passos de uma gravação correm no executor do {@link CnpjValidationService}, com o
+ * mesmo prazo: no {@code POST}, com os dados já validados pelo {@code @Valid}, a consulta da
+ * situação cadastral e o registro da raiz correm em paralelo; no {@code PUT}, a validação
+ * corre junto com a consulta e o registro vem em seguida. O registro é feito antes de gravar
+ * a empresa e desfeito se ela não for gravada, mesmo quando termina depois do prazo, a menos
+ * que outra gravação ou empresa use o mesmo estabelecimento ({@link RegistroEmpresas}). A
+ * situação cadastral, quando a base está carregada, volta na resposta.</p>
+ *
+ * <p>Além de JSON, as empresas podem ser enviadas e consultadas no formato binário
+ * {@value EmpresaBinariaHttpMessageConverter#MEDIA_TYPE}, escolhido por
+ * {@code Content-Type} e {@code Accept}.</p>
+ * 
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/empresas")
+@Tag(name = "Empresas", description = "API para gerenciamento de empresas com validação de CNPJ alfanumérico")
+public class EmpresaController {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpresaController.class);
+
+    private final CnpjPrefixIndex busca;
+    private final EmpresaStore empresas;
+    private final CnpjValidationService verificacoes;
+    private final RegistroEmpresas registros;
+
+    public EmpresaController(ShardedRaizRegistry registro, CnpjPrefixIndex busca, EmpresaStore empresas,
+                             CnpjValidationService verificacoes) {
+        this.busca = busca;
+        this.empresas = empresas;
+        this.verificacoes = verificacoes;
+        this.registros = new RegistroEmpresas(registro, empresas, verificacoes);
+    }
+
+    /**
+     * Endpoint para cadastrar uma nova empresa.
+     * 
+     * <p>A validação do CNPJ ocorre automaticamente através da anotação @Valid.</p>
+     * 
+     * @param empresaDTO dados da empresa a ser cadastrada
+     * @return resposta com os dados da empresa cadastrada
+     */
+    @PostMapping
+    @Operation(
+        summary = "Cadastrar nova empresa",
+        description = """
+            Cadastra uma nova empresa no sistema com validação automática de CNPJ.
+            
+            O CNPJ pode ser informado em qualquer um dos formatos:
+            - Alfanumérico sem formatação: 12ABC34501DE35
+            - Numérico com formatação: 90.021.382/0001-22
+            - Alfanumérico com formatação: 12.ABC.345/01DE-35
+            
+            A validação verifica:
+            - Formato correto (12 caracteres base + 2 DV)
+            - Apenas letras MAIÚSCULAS nos caracteres base
+            - Apenas números nos dígitos verificadores
+            - Cálculo correto dos dígitos verificadores
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Empresa cadastrada com sucesso",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = Map.class),
+                examples = @ExampleObject(
+                    name = "Sucesso",
+                    value = """
+                        {
+                          "mensagem": "Empresa cadastrada com sucesso!",
+                          "id": 1,
+                          "versao": 1,
+                          "situacao": "ATIVA",
+                          "empresa": {
+                            "razaoSocial": "Tech Inovação Ltda",
+                            "cnpj": "12ABC34501DE35",
+                            "nomeFantasia": "Tech Inova"
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados inválidos (CNPJ inválido, campos obrigatórios vazios, etc.)",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "CNPJ Inválido",
+                    value = """
+                        {
+                          "cnpj": "CNPJ inválido ou com dígitos verificadores incorretos"
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "503", description = "Verificações sem vaga no executor ou fora do prazo", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> cadastrarEmpresa(
+            @Parameter(
+                description = "Dados da empresa a ser cadastrada",
+                required = true,
+                schema = @Schema(implementation = EmpresaDTO.class)
+            )
+            @Valid @RequestBody EmpresaDTO empresaDTO) {
+        
+        // dados já validados pelo @Valid: a consulta da situação e o registro da raiz
+        // (remoto em cluster) não dependem um do outro
+        CompletableFuture<Integer> situacao = verificacoes.consultarSituacao(empresaDTO.getCnpj());
+        RegistroEmpresas.Reserva reserva = registros.reservar(empresaDTO.getCnpj());
+        Empresa empresa;
+        try {
+            CnpjValidationService.aguardar(CompletableFuture.allOf(situacao, reserva.registrado()));
+            busca.adicionar(empresaDTO.getCnpj());
+            empresa = empresas.criar(empresaDTO);
+        } catch (RuntimeException e) {
+            // sem a empresa, o estabelecimento registrado faria a próxima filial pular uma ordem
+            reserva.encerrar(e);
+            throw e;
+        }
+        reserva.encerrar(null);
+        JfrRequestFilter.registrarItens(1);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("mensagem", "Empresa cadastrada com sucesso!");
+        response.put("id", empresa.id());
+        response.put("versao", empresa.versao());
+        situacao(response, situacao.join());
+        response.put("empresa", empresaDTO);
+        
+        return ResponseEntity.created(URI.create("/api/empresas/" + empresa.id()))
+            .eTag(empresa.etag())
+            .body(response);
+    }
+
+    /**
+     * Endpoint para consultar uma empresa.
+     *
+     * <p>Responde com o ETag da versão atual; com {@code If-None-Match} igual a ele,
+     * a resposta é {@code 304}.</p>
+     *
+     * @param id identificador da empresa
+     * @return dados e versão da empresa
+     */
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Consultar empresa",
+        description = "Retorna os dados e a versão atual da empresa, com a versão no cabeçalho ETag."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Empresa encontrada", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "304", description = "Versão igual à do If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    public ResponseEntity<Map<String, Object>> consultarEmpresa(
+            @Parameter(description = "ID da empresa", required = true, example = "1")
+            @PathVariable Long id) {
+
+        return empresas.obter(id)
+            .map(empresa -> ResponseEntity.ok().eTag(empresa.etag()).body(corpo(empresa)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para consultar uma empresa no formato binário.
+     *
+     * <p>Selecionado por {@code Accept: }{@value EmpresaBinariaHttpMessageConverter#MEDIA_TYPE};
+     * o corpo traz só os dados, a versão vai no ETag.</p>
+     *
+     * @param id identificador da empresa
+     * @return dados da empresa codificados pelo {@link com.example.binario.EmpresaCodec}
+     */
+    @GetMapping(value = "/{id}", produces = EmpresaBinariaHttpMessageConverter.MEDIA_TYPE)
+    @Operation(
+        summary = "Consultar empresa (binário)",
+        description = """
+            Retorna os dados da empresa em application/x-cnpj-empresa: CNPJ em 8 bytes (9 se o
+            DV divergir) seguido da razão social e do nome fantasia em UTF-8 com tamanho em varint.
+            A versão vai no cabeçalho ETag.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Empresa encontrada",
+            content = @Content(mediaType = EmpresaBinariaHttpMessageConverter.MEDIA_TYPE)),
+        @ApiResponse(responseCode = "304", description = "Versão igual à do If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    public ResponseEntity<EmpresaDTO> consultarEmpresaBinaria(
+            @Parameter(description = "ID da empresa", required = true, example = "1")
+            @PathVariable Long id) {
+
+        return empresas.obter(id)
+            .map(empresa -> ResponseEntity.ok().eTag(empresa.etag()).body(empresa.dados()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para atualizar dados de uma empresa.
+     * 
+     * <p>Com {@code If-Match}, a atualização só é aplicada se a versão atual for a informada
+     * ({@code 412} caso contrário). Sem ele, a atualização é aplicada sobre a versão mais
+     * recente. Um id inexistente é criado na versão 1. Dados idênticos aos da versão atual
+     * resultam em {@code 304} sem validação nem escrita.</p>
+     * 
+     * @param id identificador da empresa
+     * @param ifMatch ETags aceitos para a versão atual (opcional)
+     * @param empresaDTO novos dados da empresa
+     * @return resposta com os dados atualizados
+     */
+    @PutMapping("/{id}")
+    @Operation(
+        summary = "Atualizar empresa",
+        description = """
+            Atualiza os dados de uma empresa existente, incluindo validação de CNPJ.
+            
+            - If-Match com o ETag lido garante que nenhuma outra atualização ocorreu no meio (412 se ocorreu);
+              o ETag fraco (W/) de uma resposta comprimida vale como a versão que ele indica
+            - Reenvio dos mesmos dados responde 304 com o ETag atual, sem revalidar nem gravar
+            - Um id ainda não cadastrado é criado (201)
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Empresa atualizada com sucesso",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "mensagem": "Empresa atualizada com sucesso!",
+                          "id": 1,
+                          "versao": 2,
+                          "empresa": {
+                            "razaoSocial": "Tech Inovação Ltda - Atualizada",
+                            "cnpj": "R55231B3000757",
+                            "nomeFantasia": "Tech Inova Plus"
+                          }
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "201", description = "Empresa criada com o id informado", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "304", description = "Dados iguais aos da versão atual; nada foi gravado"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados inválidos",
+            content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Verificações sem vaga no executor ou fora do prazo", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> atualizarEmpresa(
+            @Parameter(description = "ID da empresa", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag da versão lida (ex.: \"1\")")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Novos dados da empresa", required = true)
+            @RequestBody EmpresaDTO empresaDTO) {
+
+        // a validação fica para depois da detecção de reenvio: dados iguais aos gravados já
+        // foram validados, e clientes de sincronização reenviam registros sem mudança o tempo todo
+        while (true) {
+            Optional<Empresa> lida = empresas.obter(id);
+
+            if (lida.isEmpty()) {
+                if (ifMatch != null) {
+                    return preCondicaoFalhou(null);
+                }
+                CnpjValidationService.Verificacao verificacao = verificar(empresaDTO);
+                if (!verificacao.valida()) {
+                    return invalida(verificacao);
+                }
+                Empresa nova = Empresa.nova(id, empresaDTO);
+                if (registrarEGravar(nova.cnpj(), () -> empresas.criarSeAusente(nova))) {
+                    return gravada(nova, verificacao, HttpStatus.CREATED, "Empresa cadastrada com sucesso!");
+                }
+                continue;
+            }
+
+            Empresa atual = lida.get();
+            if (ifMatch != null && !corresponde(ifMatch, atual.etag())) {
+                return preCondicaoFalhou(atual);
+            }
+            if (atual.mesmosDados(empresaDTO)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(atual.etag()).build();
+            }
+            CnpjValidationService.Verificacao verificacao = verificar(empresaDTO);
+            if (!verificacao.valida()) {
+                return invalida(verificacao);
+            }
+            Empresa nova = atual.proximaVersao(empresaDTO);
+            if (registrarEGravar(nova.cnpj(), () -> empresas.substituir(atual, nova))) {
+                liberarAnterior(atual, nova);
+                return gravada(nova, verificacao, HttpStatus.OK, "Empresa atualizada com sucesso!");
+            }
+            // outra atualização venceu: com If-Match o próximo passo responde 412,
+            // sem ele a atualização é refeita sobre a versão nova
+        }
+    }
+
+    /**
+     * Tratamento global de exceções de validação.
+     * 
+     * <p>Captura erros de validação e retorna um mapa com os campos inválidos
+     * e suas respectivas mensagens de erro.</p>
+     * 
+     * @param ex exceção de validação
+     * @return mapa com os erros de validação
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        Map<String, String> errors = new HashMap<>();
+        
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        
+        return errors;
+    }
+
+    private ResponseEntity<Map<String, Object>> gravada(Empresa empresa, CnpjValidationService.Verificacao verificacao,
+                                                        HttpStatus status, String mensagem) {
+        busca.adicionar(empresa.cnpj());
+        JfrRequestFilter.registrarItens(1);
+
+        Map<String, Object> response = corpo(empresa);
+        response.put("mensagem", mensagem);
+        situacao(response, verificacao.situacao());
+        return ResponseEntity.status(status).eTag(empresa.etag()).body(response);
+    }
+
+    /**
+     * Validação e consulta da situação em paralelo; timeout ou executor cheio resultam em 503.
+     */
+    private CnpjValidationService.Verificacao verificar(EmpresaDTO empresaDTO) {
+        return CnpjValidationService.aguardar(verificacoes.verificar(empresaDTO));
+    }
+
+    /**
+     * Registra a raiz no executor de verificações, com o mesmo prazo (timeout ou executor
+     * cheio resultam em 503), e grava a empresa. Se ela não for gravada, o registro que esta
+     * gravação criou é desfeito quando ninguém mais usar o estabelecimento.
+     *
+     * @param gravacao compare-and-set no {@link EmpresaStore}
+     * @return resultado da gravação
+     */
+    private boolean registrarEGravar(String cnpj, BooleanSupplier gravacao) {
+        RegistroEmpresas.Reserva reserva = registros.reservar(cnpj);
+        boolean gravada;
+        try {
+            CnpjValidationService.aguardar(reserva.registrado());
+            gravada = gravacao.getAsBoolean();
+        } catch (RuntimeException e) {
+            reserva.encerrar(e);
+            throw e;
+        }
+        reserva.encerrar(null);
+        return gravada;
+    }
+
+    /**
+     * Tira do registro e da busca o CNPJ que uma atualização trocou, se nenhuma outra empresa
+     * ainda o usar. A atualização já está gravada: se o dono da raiz não responder, o
+     * estabelecimento anterior só continua registrado, sem derrubar a resposta.
+     */
+    private void liberarAnterior(Empresa anterior, Empresa nova) {
+        long base = CnpjFastValidator.packBase(anterior.cnpj(), 0, anterior.cnpj().length());
+        if (base == CnpjPacked.INVALIDO || base == CnpjFastValidator.packBase(nova.cnpj(), 0, nova.cnpj().length())
+                || empresas.emUso(base)) {
+            return;
+        }
+        busca.remover(base);
+        try {
+            registros.liberar(anterior.cnpj());
+        } catch (RuntimeException e) {
+            log.warn("CNPJ {} da empresa {} continua registrado após a troca de CNPJ", anterior.cnpj(), anterior.id(), e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalida(CnpjValidationService.Verificacao verificacao) {
+        // mesmo formato do handleValidationExceptions
+        Map<String, Object> errors = new HashMap<>();
+        verificacao.violacoes().forEach(violacao ->
+            errors.put(violacao.getPropertyPath().toString(), violacao.getMessage()));
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    private static void situacao(Map<String, Object> response, Integer info) {
+        SituacaoCadastral situacao = info == null ? null : SituacaoCadastralIndex.situacao(info);
+        if (situacao != null) {
+            response.put("situacao", situacao.name());
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> preCondicaoFalhou(Empresa atual) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("erro", "A versão informada em If-Match não é a versão atual da empresa");
+        if (atual == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+        }
+        response.put("versaoAtual", atual.versao());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(atual.etag()).body(response);
+    }
+
+    /**
+     * If-Match: {@code *} ou um dos ETags da lista, ignorando o {@code W/}.
+     *
+     * <p>A comparação forte do RFC 9110 recusaria o ETag que o cliente recebeu comprimido: o
+     * {@code CompressaoResponseWrapper} enfraquece o ETag ao aplicar gzip ou zstd, e o cliente
+     * devolve {@code W/"n"}. Aqui o ETag é a versão da empresa, a mesma em qualquer
+     * codificação da resposta, então a forma fraca identifica a versão tão bem quanto a forte.</p>
+     */
+    private static boolean corresponde(String ifMatch, String etag) {
+        for (String candidato : ifMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> corpo(Empresa empresa) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", empresa.id());
+        response.put("versao", empresa.versao());
+        response.put("empresa", empresa.dados());
+        return response;
+    }
+}
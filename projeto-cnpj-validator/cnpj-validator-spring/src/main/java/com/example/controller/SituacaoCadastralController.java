@@ -0,0 +1,135 @@
+package com.example.controller;
+
+import com.example.jfr.JfrRequestFilter;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjFormatter;
+import com.example.validation.cnpj.CnpjMotivo;
+import com.example.validation.cnpj.SituacaoCadastral;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller REST para consulta da situação cadastral de um CNPJ na base offline gerada
+ * pelo {@code SituacaoCadastralLoader} a partir dos dados abertos da Receita.
+ *
+ * <p>A base só existe com {@code cnpj.situacao.arquivo} configurado; sem ela a consulta
+ * responde {@code 503}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/cnpj")
+@Tag(name = "Situação Cadastral", description = "Situação cadastral do CNPJ na base dos dados abertos da Receita")
+public class SituacaoCadastralController {
+
+    private final ObjectProvider<SituacaoCadastralIndex> indice;
+
+    public SituacaoCadastralController(ObjectProvider<SituacaoCadastralIndex> indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * Consulta a situação cadastral de um CNPJ.
+     *
+     * @param cnpj CNPJ sem formatação ou com pontos e hífen
+     * @return situação, código da Receita, data da situação e data de referência da base
+     */
+    @GetMapping("/{cnpj}/situacao")
+    @Operation(
+        summary = "Consultar situação cadastral",
+        description = """
+            Retorna a situação cadastral (nula, ativa, suspensa, inapta ou baixada) do
+            estabelecimento na base carregada dos dados abertos da Receita, com a data da
+            situação e a data de referência da base.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "CNPJ encontrado na base",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "cnpj" : "12ABC34501DE35",
+                          "situacao" : "ATIVA",
+                          "codigo" : 2,
+                          "descricao" : "Ativa",
+                          "dataSituacao" : "2005-11-03",
+                          "dataReferencia" : "2026-10-12"
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "CNPJ inválido", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "404", description = "CNPJ não consta na base", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Base de situação cadastral não carregada", content = @Content(mediaType = "application/json"))
+    })
+    public ResponseEntity<Map<String, Object>> consultar(
+            @Parameter(description = "CNPJ a consultar", required = true, example = "12ABC34501DE35")
+            @PathVariable String cnpj) {
+
+        JfrRequestFilter.registrarItens(1);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        CnpjMotivo motivo = CnpjFastValidator.motivo(cnpj, 0, cnpj.length());
+        if (motivo != CnpjMotivo.VALIDO) {
+            response.put("cnpj", cnpj);
+            response.put("motivo", motivo.name());
+            response.put("descricao", motivo.getDescricao());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        String normalizado = CnpjFormatter.normalize(cnpj);
+        response.put("cnpj", normalizado);
+
+        SituacaoCadastralIndex base = indice.getIfAvailable();
+        if (base == null) {
+            response.put("mensagem", "Base de situação cadastral não carregada");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+
+        int info = base.consultar(normalizado);
+        if (info == SituacaoCadastralIndex.NAO_ENCONTRADO) {
+            response.put("mensagem", "CNPJ não consta na base de situação cadastral");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        SituacaoCadastral situacao = SituacaoCadastralIndex.situacao(info);
+        if (situacao != null) {
+            response.put("situacao", situacao.name());
+        }
+        response.put("codigo", SituacaoCadastralIndex.codigo(info));
+        if (situacao != null) {
+            response.put("descricao", situacao.getDescricao());
+        }
+        LocalDate data = SituacaoCadastralIndex.data(info);
+        if (data != null) {
+            response.put("dataSituacao", data.toString());
+        }
+        if (base.getDataReferencia() != null) {
+            response.put("dataReferencia", base.getDataReferencia().toString());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.empresa;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verificações de uma empresa executadas em paralelo, com resultado em {@link CompletableFuture}.
+ *
+ * <p>Ao gravar uma empresa, o {@code EmpresaController} faz passos independentes entre si:
+ * a Bean Validation dos dados, a consulta da situação cadastral do CNPJ (base mapeada em
+ * memória, sujeita a page faults) e, com os dados já válidos, o registro da raiz (em cluster,
+ * uma ida ao nó dono). Em sequência, a latência é a soma deles; aqui as consultas vão para um
+ * executor próprio enquanto o thread chamador segue com o restante, e a latência passa a ser
+ * a do passo mais lento. {@link #submeter} aceita outras verificações no mesmo executor.</p>
+ *
+ * <p>O executor é limitado (threads e fila fixas): sem vaga, a tarefa falha na hora com
+ * {@link VerificacaoIndisponivelException} em vez de acumular trabalho. Cada tarefa tem um
+ * prazo; ao estourar, ou ao ser cancelada pelo chamador, o thread que a executa é
+ * interrompido. Dados inválidos cancelam a consulta ainda em andamento.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjValidationService implements AutoCloseable {
+
+    /**
+     * Resultado das verificações de uma empresa.
+     *
+     * @param violacoes violações da Bean Validation; se houver, a consulta não é concluída
+     * @param situacao informação da base de situação cadastral ({@link SituacaoCadastralIndex#consultar}),
+     *                 ou null se a base não estiver carregada ou o CNPJ não constar nela
+     */
+    public record Verificacao(Set<ConstraintViolation<EmpresaDTO>> violacoes, Integer situacao) {
+
+        /**
+         * @return true se os dados passaram na Bean Validation
+         */
+        public boolean valida() {
+            return violacoes.isEmpty();
+        }
+    }
+
+    private final Validator validator;
+    private final ShardedRaizRegistry registro;
+    private final ObjectProvider<SituacaoCadastralIndex> situacao;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+
+    /**
+     * Cria o serviço e o seu executor.
+     *
+     * @param validator validador da Bean Validation
+     * @param registro registro de raízes (local ou particionado)
+     * @param situacao base de situação cadastral, se carregada
+     * @param threads threads do executor
+     * @param fila tarefas que podem aguardar por um thread
+     * @param timeout prazo de cada tarefa
+     */
+    public CnpjValidationService(Validator validator, ShardedRaizRegistry registro,
+                                 ObjectProvider<SituacaoCadastralIndex> situacao,
+                                 int threads, int fila, Duration timeout) {
+        if (threads < 1 || fila < 1 || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Threads, fila e timeout devem ser positivos");
+        }
+        this.validator = validator;
+        this.registro = registro;
+        this.situacao = situacao;
+        this.timeoutNanos = timeout.toNanos();
+
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(fila), tarefa -> {
+                Thread thread = new Thread(tarefa, "cnpj-verificacao-" + numero.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executa uma verificação qualquer no executor, com o prazo do serviço.
+     *
+     * <p>Cancelar o future devolvido, ou o prazo acabar, interrompe o thread da tarefa.</p>
+     *
+     * @param verificacao tarefa
+     * @param <T> tipo do resultado
+     * @return resultado; falha com {@link VerificacaoIndisponivelException} sem vaga no executor
+     *         e com {@link TimeoutException} quando o prazo acaba
+     */
+    public <T> CompletableFuture<T> submeter(Callable<T> verificacao) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        FutureTask<Void> tarefa = new FutureTask<>(() -> {
+            try {
+                resultado.complete(verificacao.call());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+            return null;
+        });
+        try {
+            executor.execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            resultado.completeExceptionally(
+                new VerificacaoIndisponivelException("Executor de verificações sem vaga", e));
+            return resultado;
+        }
+        resultado.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).whenComplete((valor, erro) -> {
+            if (erro != null) {
+                if (erro instanceof TimeoutException) {
+                    expiradas.increment();
+                }
+                // timeout ou cancelamento: libera o thread (no-op se a tarefa já terminou)
+                tarefa.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Bean Validation dos dados no executor.
+     *
+     * @param empresa dados da empresa
+     * @return violações (vazio se válidos)
+     */
+    public CompletableFuture<Set<ConstraintViolation<EmpresaDTO>>> validar(EmpresaDTO empresa) {
+        return submeter(() -> validator.validate(empresa));
+    }
+
+    /**
+     * Consulta a situação cadastral no executor.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return informação da base, ou null se a base não estiver carregada, o CNPJ for
+     *         inválido ou não constar nela
+     */
+    public CompletableFuture<Integer> consultarSituacao(String cnpj) {
+        SituacaoCadastralIndex base = situacao.getIfAvailable();
+        if (base == null || cnpj == null || !CnpjFastValidator.isValid(cnpj)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return submeter(() -> {
+            int info = base.consultar(cnpj);
+            return info == SituacaoCadastralIndex.NAO_ENCONTRADO ? null : info;
+        });
+    }
+
+    /**
+     * Registra o estabelecimento no registro de raízes, no executor.
+     *
+     * <p>Para dados já validados: em cluster, o registro é uma ida ao nó dono e pode correr
+     * junto com as consultas.</p>
+     *
+     * @param cnpj CNPJ válido, com ou sem formatação
+     * @return true se o estabelecimento ainda não estava registrado
+     */
+    public CompletableFuture<Boolean> registrar(String cnpj) {
+        return submeter(() -> registro.registrar(cnpj));
+    }
+
+    /**
+     * Faz as verificações de uma empresa antes de gravá-la.
+     *
+     * <p>A consulta da situação cadastral é disparada primeiro; a Bean Validation roda no
+     * thread chamador enquanto isso, e dados inválidos cancelam a consulta.</p>
+     *
+     * @param empresa dados da empresa
+     * @return verificações concluídas
+     */
+    public CompletableFuture<Verificacao> verificar(EmpresaDTO empresa) {
+        CompletableFuture<Integer> consulta = consultarSituacao(empresa.getCnpj());
+
+        Set<ConstraintViolation<EmpresaDTO>> violacoes = validator.validate(empresa);
+        if (!violacoes.isEmpty()) {
+            consulta.cancel(true);
+            return CompletableFuture.completedFuture(new Verificacao(violacoes, null));
+        }
+        return consulta.thenApply(info -> new Verificacao(violacoes, info));
+    }
+
+    /**
+     * Aguarda um future deste serviço, devolvendo a falha original.
+     *
+     * @param future future de uma verificação
+     * @param <T> tipo do resultado
+     * @return resultado
+     * @throws VerificacaoIndisponivelException em timeout ou sem vaga no executor
+     */
+    public static <T> T aguardar(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof TimeoutException) {
+                throw new VerificacaoIndisponivelException("Verificações não terminaram no prazo", causa);
+            }
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return tarefas em execução
+     */
+    public int getAtivas() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return tarefas aguardando thread
+     */
+    public int getEnfileiradas() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return tarefas recusadas por falta de vaga
+     */
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    /**
+     * @return tarefas que estouraram o prazo
+     */
+    public long getExpiradas() {
+        return expiradas.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
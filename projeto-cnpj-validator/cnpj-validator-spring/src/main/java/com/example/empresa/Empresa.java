@@ -0,0 +1,69 @@
+package com.example.empresa;
+
+import com.example.dto.EmpresaDTO;
+
+import java.util.Objects;
+
+/**
+ * Versão imutável de uma empresa cadastrada.
+ *
+ * <p>Cada alteração gera uma nova instância com {@code versao + 1}; a versão é o ETag do
+ * recurso e é o que o {@link EmpresaStore} compara para aplicar uma atualização.</p>
+ *
+ * @param id identificador da empresa
+ * @param versao versão atual, a partir de 1
+ * @param razaoSocial razão social
+ * @param cnpj CNPJ como informado pelo cliente
+ * @param nomeFantasia nome fantasia (opcional)
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public record Empresa(long id, long versao, String razaoSocial, String cnpj, String nomeFantasia) {
+
+    /**
+     * Cria a primeira versão a partir dos dados recebidos.
+     *
+     * @param id identificador da empresa
+     * @param dados dados já validados
+     * @return empresa na versão 1
+     */
+    public static Empresa nova(long id, EmpresaDTO dados) {
+        return new Empresa(id, 1, dados.getRazaoSocial(), dados.getCnpj(), dados.getNomeFantasia());
+    }
+
+    /**
+     * Cria a versão seguinte com os dados recebidos.
+     *
+     * @param dados dados já validados
+     * @return empresa na versão {@code versao + 1}
+     */
+    public Empresa proximaVersao(EmpresaDTO dados) {
+        return new Empresa(id, versao + 1, dados.getRazaoSocial(), dados.getCnpj(), dados.getNomeFantasia());
+    }
+
+    /**
+     * Indica se os dados recebidos são exatamente os desta versão (reenvio sem alteração).
+     *
+     * @param dados dados recebidos
+     * @return true se nenhum campo mudou
+     */
+    public boolean mesmosDados(EmpresaDTO dados) {
+        return Objects.equals(razaoSocial, dados.getRazaoSocial())
+            && Objects.equals(cnpj, dados.getCnpj())
+            && Objects.equals(nomeFantasia, dados.getNomeFantasia());
+    }
+
+    /**
+     * @return ETag forte da versão, já entre aspas (ex.: {@code "3"})
+     */
+    public String etag() {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * @return dados da empresa no formato da API
+     */
+    public EmpresaDTO dados() {
+        return new EmpresaDTO(razaoSocial, cnpj, nomeFantasia);
+    }
+}
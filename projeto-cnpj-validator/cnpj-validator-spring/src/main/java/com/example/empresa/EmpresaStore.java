@@ -0,0 +1,131 @@
+package com.example.empresa;
+
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositório em memória de empresas versionadas, com atualização por compare-and-set.
+ *
+ * <p>Não há lock por empresa: {@link #substituir} só grava se a versão guardada ainda for
+ * a que o chamador leu ({@link ConcurrentHashMap#replace(Object, Object, Object)}). Quem
+ * perde a corrida relê e decide se repete (atualização incondicional) ou recusa
+ * ({@code If-Match} com versão antiga).</p>
+ *
+ * <p>Um contador por base de CNPJ responde {@link #emUso} sem percorrer as empresas. A
+ * contagem sobe antes da gravação e só desce depois dela, então por um instante pode contar
+ * a mais (nunca a menos) uma empresa em gravação.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class EmpresaStore {
+
+    private final ConcurrentHashMap<Long, Empresa> empresas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> usos = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    /**
+     * Cadastra uma empresa com um novo id.
+     *
+     * @param dados dados já validados
+     * @return empresa na versão 1
+     */
+    public Empresa criar(EmpresaDTO dados) {
+        usar(base(dados.getCnpj()));
+        while (true) {
+            Empresa empresa = Empresa.nova(sequencia.incrementAndGet(), dados);
+            // o id pode ter sido ocupado por um PUT com id explícito
+            if (empresas.putIfAbsent(empresa.id(), empresa) == null) {
+                return empresa;
+            }
+        }
+    }
+
+    /**
+     * Cadastra uma empresa com o id informado, se ele estiver livre.
+     *
+     * @param empresa empresa na versão 1
+     * @return true se foi gravada; false se o id já existia
+     */
+    public boolean criarSeAusente(Empresa empresa) {
+        long base = base(empresa.cnpj());
+        usar(base);
+        if (empresas.putIfAbsent(empresa.id(), empresa) == null) {
+            return true;
+        }
+        liberar(base);
+        return false;
+    }
+
+    /**
+     * Busca a versão atual de uma empresa.
+     *
+     * @param id identificador da empresa
+     * @return versão atual, se existir
+     */
+    public Optional<Empresa> obter(long id) {
+        return Optional.ofNullable(empresas.get(id));
+    }
+
+    /**
+     * Grava a nova versão se a atual ainda for a esperada.
+     *
+     * @param esperada versão lida pelo chamador
+     * @param nova versão a gravar
+     * @return true se gravou; false se outra atualização chegou antes
+     */
+    public boolean substituir(Empresa esperada, Empresa nova) {
+        long anterior = base(esperada.cnpj());
+        long base = base(nova.cnpj());
+        if (anterior == base) {
+            return empresas.replace(esperada.id(), esperada, nova);
+        }
+        usar(base);
+        if (empresas.replace(esperada.id(), esperada, nova)) {
+            liberar(anterior);
+            return true;
+        }
+        liberar(base);
+        return false;
+    }
+
+    /**
+     * Indica se alguma empresa gravada tem um CNPJ com a base informada.
+     *
+     * @param base base empacotada ({@link CnpjPacked#packBase})
+     * @return true se a base é de alguma empresa gravada
+     */
+    public boolean emUso(long base) {
+        return usos.containsKey(base);
+    }
+
+    /**
+     * @return quantidade de empresas cadastradas
+     */
+    public int quantidade() {
+        return empresas.size();
+    }
+
+    private void usar(long base) {
+        if (base != CnpjPacked.INVALIDO) {
+            usos.merge(base, 1, Integer::sum);
+        }
+    }
+
+    private void liberar(long base) {
+        if (base != CnpjPacked.INVALIDO) {
+            usos.computeIfPresent(base, (chave, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+        }
+    }
+
+    private static long base(String cnpj) {
+        return cnpj == null ? CnpjPacked.INVALIDO : CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.empresa;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.validation.cnpj.CnpjFastValidator;
+import com.example.validation.cnpj.CnpjPacked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro no {@link ShardedRaizRegistry} dos estabelecimentos das empresas gravadas.
+ *
+ * <p>Cada gravação reserva a base do CNPJ antes de registrá-la e libera a reserva ao
+ * terminar, gravando ou não. O estabelecimento que uma gravação registrou só é removido
+ * quando a última reserva da base é liberada e nenhuma empresa gravada o usa: duas
+ * gravações concorrentes do mesmo CNPJ novo não desfazem o registro uma da outra, seja qual
+ * delas o tenha criado.</p>
+ *
+ * <p>O registro corre no executor do {@link CnpjValidationService}. Quando o prazo acaba, o
+ * chamador desiste, mas a tarefa pode terminar o registro depois; a reserva só é liberada
+ * quando os dois lados terminaram, então o registro tardio também é desfeito.</p>
+ *
+ * <p>Reservas e remoções da mesma base são serializadas por uma de {@value #TRAVAS} travas
+ * (escolhida pela base). O registro em si corre fora da trava; só a remoção, rara, a segura
+ * durante a chamada ao registro.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class RegistroEmpresas {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroEmpresas.class);
+
+    /** Travas por base; potência de 2. */
+    static final int TRAVAS = 64;
+
+    /** Reservas abertas de uma base; alterado só com a trava da base. */
+    private static final class Reservas {
+        int abertas;
+        boolean registrou;
+    }
+
+    private final ShardedRaizRegistry registro;
+    private final EmpresaStore empresas;
+    private final CnpjValidationService verificacoes;
+    private final Object[] travas = new Object[TRAVAS];
+    private final ConcurrentHashMap<Long, Reservas> reservas = new ConcurrentHashMap<>();
+
+    /**
+     * @param registro registro de raízes (local ou particionado)
+     * @param empresas empresas gravadas, consultadas antes de remover um registro
+     * @param verificacoes executor em que o registro corre
+     */
+    public RegistroEmpresas(ShardedRaizRegistry registro, EmpresaStore empresas, CnpjValidationService verificacoes) {
+        this.registro = registro;
+        this.empresas = empresas;
+        this.verificacoes = verificacoes;
+        for (int i = 0; i < TRAVAS; i++) {
+            travas[i] = new Object();
+        }
+    }
+
+    /**
+     * Reserva a base do CNPJ e o registra no executor de verificações.
+     *
+     * @param cnpj CNPJ válido, com ou sem formatação
+     * @return reserva, que deve ser encerrada com {@link Reserva#encerrar} em qualquer caso
+     * @throws IllegalArgumentException se o CNPJ for inválido
+     */
+    public Reserva reservar(String cnpj) {
+        long base = CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+        if (base == CnpjPacked.INVALIDO) {
+            throw new IllegalArgumentException(String.format("CNPJ '%s' inválido", cnpj));
+        }
+        Reserva reserva = new Reserva(cnpj, base);
+        reserva.registrado = verificacoes.submeter(reserva::registrar);
+        return reserva;
+    }
+
+    /**
+     * Remove o registro de um CNPJ que uma empresa deixou de usar, se nenhuma outra empresa
+     * o usar nem houver gravação em andamento com ele.
+     *
+     * @param cnpj CNPJ anterior da empresa
+     * @return true se o registro foi removido
+     * @throws RuntimeException se a remoção falhar (ex.: o dono da raiz não respondeu)
+     */
+    public boolean liberar(String cnpj) {
+        long base = CnpjFastValidator.packBase(cnpj, 0, cnpj.length());
+        if (base == CnpjPacked.INVALIDO) {
+            return false;
+        }
+        synchronized (trava(base)) {
+            if (reservas.containsKey(base) || empresas.emUso(base)) {
+                return false;
+            }
+            registro.remover(cnpj);
+            return true;
+        }
+    }
+
+    private Object trava(long base) {
+        return travas[Long.hashCode(base) & (TRAVAS - 1)];
+    }
+
+    /**
+     * Reserva de uma gravação: o registro corre no executor e a gravação a encerra ao
+     * terminar, tenha gravado a empresa ou não.
+     */
+    public final class Reserva {
+
+        private final String cnpj;
+        private final long base;
+        private CompletableFuture<Boolean> registrado;
+
+        /** Estado da tarefa e do chamador; guardado pelo monitor da reserva. */
+        private boolean iniciada;
+        private boolean terminada;
+        private boolean encerrada;
+        private boolean registrou;
+
+        private Reserva(String cnpj, long base) {
+            this.cnpj = cnpj;
+            this.base = base;
+        }
+
+        /**
+         * @return true se o estabelecimento ainda não estava registrado; falha com
+         *         {@link VerificacaoIndisponivelException} sem vaga no executor e com
+         *         {@link java.util.concurrent.TimeoutException} quando o prazo acaba
+         */
+        public CompletableFuture<Boolean> registrado() {
+            return registrado;
+        }
+
+        /**
+         * Encerra a reserva. Com a empresa gravada, ela passa a segurar o registro; sem ela,
+         * o registro criado por esta reserva é desfeito se ninguém mais usar a base (agora
+         * ou, se a tarefa ainda estiver registrando, quando ela terminar).
+         *
+         * @param falha exceção que interrompeu a gravação, que recebe a falha da remoção
+         *              (ou null, e então a falha da remoção é lançada)
+         */
+        public void encerrar(RuntimeException falha) {
+            synchronized (this) {
+                encerrada = true;
+                // sem começar (sem vaga ou cancelada na fila) a tarefa não reservou nada;
+                // ainda registrando, ela mesma libera ao terminar
+                if (!iniciada || !terminada) {
+                    return;
+                }
+            }
+            try {
+                liberar();
+            } catch (RuntimeException e) {
+                if (falha == null) {
+                    throw e;
+                }
+                falha.addSuppressed(e);
+            }
+        }
+
+        private boolean registrar() {
+            synchronized (this) {
+                if (encerrada) {
+                    // o chamador já desistiu: nem reserva nem registra
+                    return false;
+                }
+                iniciada = true;
+            }
+            synchronized (trava(base)) {
+                reservas.computeIfAbsent(base, chave -> new Reservas()).abertas++;
+            }
+            boolean criado = false;
+            try {
+                criado = registro.registrar(cnpj);
+                return criado;
+            } finally {
+                boolean liberarAgora;
+                synchronized (this) {
+                    registrou = criado;
+                    terminada = true;
+                    liberarAgora = encerrada;
+                }
+                if (liberarAgora) {
+                    try {
+                        liberar();
+                    } catch (RuntimeException e) {
+                        log.warn("Registro tardio do CNPJ {} não pôde ser desfeito", cnpj, e);
+                    }
+                }
+            }
+        }
+
+        private void liberar() {
+            synchronized (trava(base)) {
+                Reservas atual = reservas.get(base);
+                atual.registrou |= registrou;
+                if (--atual.abertas > 0) {
+                    return;
+                }
+                reservas.remove(base);
+                if (atual.registrou && !empresas.emUso(base)) {
+                    registro.remover(cnpj);
+                }
+            }
+        }
+    }
+}
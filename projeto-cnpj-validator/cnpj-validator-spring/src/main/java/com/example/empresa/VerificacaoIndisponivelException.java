@@ -0,0 +1,25 @@
+package com.example.empresa;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lançada quando as verificações de uma empresa não terminam a tempo ou não encontram
+ * vaga no executor do {@link CnpjValidationService}.
+ *
+ * <p>Resulta em {@code 503 Service Unavailable}: nada foi gravado, então o cliente pode
+ * repetir a operação.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class VerificacaoIndisponivelException extends ResponseStatusException {
+
+    /**
+     * @param mensagem motivo
+     * @param causa timeout ou recusa do executor
+     */
+    public VerificacaoIndisponivelException(String mensagem, Throwable causa) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, mensagem, causa);
+    }
+}
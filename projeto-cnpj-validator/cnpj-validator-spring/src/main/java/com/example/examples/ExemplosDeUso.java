@@ -2,6 +2,7 @@ package com.example.examples;
 
 import com.example.dto.EmpresaDTO;
 import com.example.validation.cnpj.CNPJValidator;
+import com.example.validation.cnpj.CnpjValidacao;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -44,7 +45,7 @@ public class ExemplosDeUso {
 
         for (String base : basesCNPJ) {
             try {
-                String dv = CNPJValidator.calculaDV(base);
+                String dv = CnpjValidacao.calculaDV(base);
                 System.out.printf("Base: %-20s → DV: %s%n", base, dv);
             } catch (IllegalArgumentException e) {
                 System.out.printf("Base: %-20s → Erro: %s%n", base, e.getMessage());
@@ -189,7 +190,7 @@ public class ExemplosDeUso {
 
         for (String base : basesInvalidas) {
             try {
-                String dv = CNPJValidator.calculaDV(base);
+                String dv = CnpjValidacao.calculaDV(base);
                 System.out.printf("Base: %-20s → DV: %s%n", base, dv);
             } catch (IllegalArgumentException e) {
                 System.out.printf("Base: %-20s → Erro capturado: %s%n", 
@@ -0,0 +1,88 @@
+package com.example.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Inicia uma gravação contínua do Java Flight Recorder com o perfil {@code jfr/cnpj.jfc}.
+ *
+ * <p>Ativada por {@code cnpj.jfr.enabled=true}. A gravação mantém em disco uma janela
+ * limitada por idade e tamanho, e é descarregada em {@code cnpj.jfr.destino} ao encerrar
+ * a aplicação. Com {@code jcmd <pid> JFR.dump} é possível extrair a janela a qualquer momento.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "cnpj.jfr.enabled", havingValue = "true")
+public class JfrRecordingConfig {
+
+    /** Perfil de baixo overhead distribuído junto com a aplicação. */
+    public static final String PERFIL = "jfr/cnpj.jfc";
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingConfig.class);
+
+    @Value("${cnpj.jfr.max-age:PT1H}")
+    private Duration maxAge;
+
+    @Value("${cnpj.jfr.max-size-mb:250}")
+    private long maxSizeMb;
+
+    @Value("${cnpj.jfr.destino:cnpj-validator.jfr}")
+    private Path destino;
+
+    private Recording recording;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void iniciar() throws IOException, ParseException {
+        if (recording != null) {
+            return;
+        }
+        Configuration configuracao;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(PERFIL)) {
+            if (in == null) {
+                throw new IOException("Perfil JFR não encontrado: " + PERFIL);
+            }
+            configuracao = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        recording = new Recording(configuracao);
+        recording.setName("cnpj-validator");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDestination(destino);
+        recording.start();
+
+        log.info("Gravação JFR contínua iniciada (perfil {}, janela {}, destino {})", PERFIL, maxAge, destino);
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() {
+        if (recording != null) {
+            // stop() grava a janela atual no destino. Não usamos dumpOnExit: o hook do JFR
+            // concorre com o shutdown do Spring e pode deixar o arquivo vazio.
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.close();
+            recording = null;
+        }
+    }
+}
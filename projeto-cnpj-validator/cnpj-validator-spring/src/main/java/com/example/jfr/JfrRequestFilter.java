@@ -0,0 +1,71 @@
+package com.example.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filtro que emite um {@link RequisicaoApiEvent} para cada requisição em {@code /api/**}.
+ *
+ * <p>Os controllers informam a quantidade de itens processados com {@link #registrarItens(int)}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Component
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    private static final String ATRIBUTO_ITENS = JfrRequestFilter.class.getName() + ".itens";
+
+    /**
+     * Registra a quantidade de itens processados na requisição corrente.
+     *
+     * @param itens quantidade de itens (empresas/CNPJs)
+     */
+    public static void registrarItens(int itens) {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos != null) {
+            atributos.setAttribute(ATRIBUTO_ITENS, itens, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequisicaoApiEvent evento = new RequisicaoApiEvent();
+        if (!evento.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        evento.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Object itens = request.getAttribute(ATRIBUTO_ITENS);
+                evento.metodo = request.getMethod();
+                evento.endpoint = padrao != null ? padrao.toString() : request.getRequestURI();
+                evento.status = response.getStatus();
+                evento.tamanhoPayload = request.getContentLengthLong();
+                evento.itens = itens instanceof Integer quantidade ? quantidade : 0;
+                evento.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma requisição aos endpoints da API ({@code /api/**}).
+ *
+ * <p>A duração cobre o processamento completo dentro do container (leitura do corpo,
+ * Jackson, validação e controller). Os eventos de validação de CNPJ emitidos na mesma
+ * thread permitem separar o tempo gasto na validação do restante.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@Name(RequisicaoApiEvent.NOME)
+@Label("Requisição da API")
+@Category({"CNPJ", "HTTP"})
+@Description("Processamento de uma requisição HTTP nos controllers da API")
+@StackTrace(false)
+public class RequisicaoApiEvent extends Event {
+
+    public static final String NOME = "com.example.http.Requisicao";
+
+    @Label("Método")
+    public String metodo;
+
+    @Label("Endpoint")
+    @Description("Padrão de URI do handler (ex.: /api/empresas/{id})")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Tamanho do Payload")
+    @DataAmount(DataAmount.BYTES)
+    @Description("Content-Length da requisição (-1 se desconhecido)")
+    public long tamanhoPayload;
+
+    @Label("Itens")
+    @Description("Quantidade de itens (empresas/CNPJs) processados na requisição")
+    public int itens;
+}
@@ -0,0 +1,132 @@
+package com.example.sidecar;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+/**
+ * Cliente do {@link CnpjSidecarServer}.
+ *
+ * <p>Mantém uma conexão TCP bloqueante com {@code TCP_NODELAY} e buffers diretos
+ * reaproveitados entre chamadas. Não é thread-safe: use uma instância por thread
+ * ou um pool de clientes.</p>
+ *
+ * <pre>
+ * try (CnpjSidecarClient cliente = new CnpjSidecarClient("localhost", 7070)) {
+ *     boolean valido = cliente.validar("12ABC34501DE35");
+ * }
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjSidecarClient implements AutoCloseable {
+
+    /** Quantidade de linhas enviadas antes de ler as respostas em {@link #validarLote}. */
+    private static final int JANELA_PIPELINE = 2048;
+
+    private final SocketChannel canal;
+    private final ByteBuffer envio = ByteBuffer.allocateDirect(
+        JANELA_PIPELINE * (CnpjSidecarServer.TAMANHO_MAXIMO_LINHA + 2));
+    private final ByteBuffer resposta = ByteBuffer.allocateDirect(JANELA_PIPELINE);
+
+    /**
+     * Conecta ao servidor.
+     *
+     * @param host endereço do servidor
+     * @param porta porta do servidor
+     * @throws IOException se a conexão falhar
+     */
+    public CnpjSidecarClient(String host, int porta) throws IOException {
+        this.canal = SocketChannel.open();
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        canal.connect(new InetSocketAddress(host, porta));
+    }
+
+    /**
+     * Valida um único CNPJ (uma ida e volta na rede).
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return true se o servidor respondeu {@link CnpjSidecarServer#STATUS_VALIDO}
+     * @throws IOException em falha de comunicação
+     */
+    public boolean validar(CharSequence cnpj) throws IOException {
+        return validarStatus(cnpj) == CnpjSidecarServer.STATUS_VALIDO;
+    }
+
+    /**
+     * Valida um único CNPJ retornando o byte de status bruto.
+     *
+     * @param cnpj CNPJ com ou sem formatação
+     * @return byte de status do protocolo
+     * @throws IOException em falha de comunicação
+     */
+    public byte validarStatus(CharSequence cnpj) throws IOException {
+        envio.clear();
+        escreverLinha(cnpj);
+        enviar();
+        receber(1);
+        return resposta.get(0);
+    }
+
+    /**
+     * Valida vários CNPJs usando pipelining: as linhas são enviadas em janelas
+     * de {@value #JANELA_PIPELINE} sem aguardar resposta individual.
+     *
+     * @param cnpjs CNPJs a validar
+     * @return bytes de status, na mesma ordem da entrada
+     * @throws IOException em falha de comunicação
+     */
+    public byte[] validarLote(List<? extends CharSequence> cnpjs) throws IOException {
+        byte[] status = new byte[cnpjs.size()];
+        int total = cnpjs.size();
+
+        for (int inicio = 0; inicio < total; inicio += JANELA_PIPELINE) {
+            int fim = Math.min(total, inicio + JANELA_PIPELINE);
+            envio.clear();
+            for (int i = inicio; i < fim; i++) {
+                escreverLinha(cnpjs.get(i));
+            }
+            enviar();
+            receber(fim - inicio);
+            resposta.get(0, status, inicio, fim - inicio);
+        }
+        return status;
+    }
+
+    private void escreverLinha(CharSequence cnpj) {
+        // Valores longos são truncados em MAX + 1 para o servidor ainda responder STATUS_ERRO
+        int tamanho = Math.min(cnpj.length(), CnpjSidecarServer.TAMANHO_MAXIMO_LINHA + 1);
+        for (int i = 0; i < tamanho; i++) {
+            char c = cnpj.charAt(i);
+            // '\n' dentro do valor quebraria o enquadramento: envia '?' (sempre inválido)
+            envio.put(c == '\n' || c > 0xFF ? (byte) '?' : (byte) c);
+        }
+        envio.put((byte) '\n');
+    }
+
+    private void enviar() throws IOException {
+        envio.flip();
+        while (envio.hasRemaining()) {
+            canal.write(envio);
+        }
+    }
+
+    private void receber(int quantidade) throws IOException {
+        resposta.clear().limit(quantidade);
+        while (resposta.hasRemaining()) {
+            if (canal.read(resposta) < 0) {
+                throw new EOFException("Conexão encerrada pelo servidor");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.sidecar;
+
+import com.example.validation.cnpj.CnpjFastValidator;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Servidor TCP de baixa latência para validação de CNPJ, sem Spring MVC.
+ *
+ * <p>Protocolo orientado a linhas: o cliente envia um CNPJ por linha (terminada em
+ * {@code \n}, com {@code \r} opcional) e o servidor responde um único byte de status
+ * por linha, na mesma ordem de chegada. Várias linhas podem ser enviadas sem aguardar
+ * as respostas (pipelining).</p>
+ *
+ * <p>Bytes de status:</p>
+ * <ul>
+ *   <li>{@link #STATUS_VALIDO} ({@code 'V'}): CNPJ válido</li>
+ *   <li>{@link #STATUS_INVALIDO} ({@code 'I'}): CNPJ inválido</li>
+ *   <li>{@link #STATUS_ERRO} ({@code 'E'}): linha maior que {@link #TAMANHO_MAXIMO_LINHA} bytes</li>
+ * </ul>
+ *
+ * <p>Todas as conexões são atendidas por uma única thread com {@link Selector}. No modo
+ * {@code spin} a thread faz polling com {@link Selector#selectNow()} em vez de bloquear,
+ * trocando uso de CPU por latência menor.</p>
+ *
+ * <p>Por padrão o servidor escuta só na interface de loopback, para o processo vizinho;
+ * para atender outras máquinas, informe a interface explicitamente.</p>
+ *
+ * <p>Execução standalone:</p>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.example.sidecar.CnpjSidecarServer -Dexec.args="7070 spin"
+ * </pre>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjSidecarServer implements AutoCloseable {
+
+    public static final byte STATUS_VALIDO = 'V';
+    public static final byte STATUS_INVALIDO = 'I';
+    public static final byte STATUS_ERRO = 'E';
+
+    /** Maior linha aceita (CNPJ formatado tem 18 caracteres; sobra espaço para espaços). */
+    public static final int TAMANHO_MAXIMO_LINHA = 64;
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final InetAddress endereco;
+    private final int portaSolicitada;
+    private final boolean spin;
+
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private Thread thread;
+    private volatile boolean executando;
+
+    /**
+     * Cria o servidor na interface de loopback.
+     *
+     * @param porta porta TCP (0 para porta efêmera)
+     * @param spin true para polling ativo em vez de bloquear no selector
+     */
+    public CnpjSidecarServer(int porta, boolean spin) {
+        this(InetAddress.getLoopbackAddress(), porta, spin);
+    }
+
+    /**
+     * Cria o servidor.
+     *
+     * @param endereco interface em que escutar ({@code 0.0.0.0} para todas)
+     * @param porta porta TCP (0 para porta efêmera)
+     * @param spin true para polling ativo em vez de bloquear no selector
+     */
+    public CnpjSidecarServer(InetAddress endereco, int porta, boolean spin) {
+        this.endereco = endereco;
+        this.portaSolicitada = porta;
+        this.spin = spin;
+    }
+
+    /**
+     * Abre a porta e inicia a thread de atendimento.
+     *
+     * @return esta instância
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public synchronized CnpjSidecarServer start() throws IOException {
+        if (executando) {
+            throw new IllegalStateException("Servidor já iniciado");
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(endereco, portaSolicitada));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        executando = true;
+        thread = new Thread(this::loop, "cnpj-sidecar");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Retorna a porta efetivamente aberta.
+     *
+     * @return porta local
+     */
+    public int getPorta() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Retorna a interface em que o servidor escuta.
+     *
+     * @return endereço local
+     */
+    public InetAddress getEndereco() {
+        return serverChannel.socket().getInetAddress();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!executando) {
+            return;
+        }
+        executando = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void loop() {
+        try {
+            while (executando) {
+                int prontos = spin ? selector.selectNow() : selector.select();
+                if (prontos == 0) {
+                    continue;
+                }
+                Iterator<SelectionKey> chaves = selector.selectedKeys().iterator();
+                while (chaves.hasNext()) {
+                    SelectionKey key = chaves.next();
+                    chaves.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            aceitar();
+                        } else {
+                            if (key.isWritable()) {
+                                escrever(key);
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                ler(key);
+                            }
+                        }
+                    } catch (IOException e) {
+                        fechar(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            executando = false;
+        }
+    }
+
+    private void aceitar() throws IOException {
+        SocketChannel cliente = serverChannel.accept();
+        if (cliente == null) {
+            return;
+        }
+        cliente.configureBlocking(false);
+        cliente.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        cliente.register(selector, SelectionKey.OP_READ, new Conexao());
+    }
+
+    private void ler(SelectionKey key) throws IOException {
+        SocketChannel canal = (SocketChannel) key.channel();
+        Conexao conexao = (Conexao) key.attachment();
+
+        int lidos = canal.read(conexao.entrada);
+        if (lidos < 0) {
+            fechar(key);
+            return;
+        }
+
+        conexao.entrada.flip();
+        processarLinhas(conexao);
+        conexao.entrada.compact();
+
+        escrever(key);
+    }
+
+    /**
+     * Consome todas as linhas completas do buffer de entrada, gravando um byte
+     * de status por linha no buffer de saída.
+     */
+    private void processarLinhas(Conexao conexao) {
+        ByteBuffer entrada = conexao.entrada;
+        ByteBuffer saida = conexao.saida;
+
+        int inicio = entrada.position();
+        int limite = entrada.limit();
+        for (int i = inicio; i < limite; i++) {
+            if (entrada.get(i) != '\n') {
+                continue;
+            }
+            if (!saida.hasRemaining()) {
+                // Saída cheia: as linhas restantes aguardam o próximo escrever()
+                entrada.position(inicio);
+                return;
+            }
+            int fim = i;
+            if (fim > inicio && entrada.get(fim - 1) == '\r') {
+                fim--;
+            }
+            if (conexao.descartando) {
+                saida.put(STATUS_ERRO);
+                conexao.descartando = false;
+            } else {
+                saida.put(validar(entrada, inicio, fim - inicio));
+            }
+            inicio = i + 1;
+        }
+        entrada.position(inicio);
+
+        // Linha incompleta maior que o permitido: descarta até o próximo '\n'
+        if (entrada.remaining() > TAMANHO_MAXIMO_LINHA) {
+            conexao.descartando = true;
+            entrada.position(limite);
+        }
+    }
+
+    private static byte validar(ByteBuffer entrada, int inicio, int tamanho) {
+        if (tamanho > TAMANHO_MAXIMO_LINHA) {
+            return STATUS_ERRO;
+        }
+        // direto no buffer de leitura (direto), sem copiar a linha
+        return CnpjFastValidator.isValid(entrada, inicio, inicio + tamanho) ? STATUS_VALIDO : STATUS_INVALIDO;
+    }
+
+    private void escrever(SelectionKey key) throws IOException {
+        SocketChannel canal = (SocketChannel) key.channel();
+        Conexao conexao = (Conexao) key.attachment();
+
+        conexao.saida.flip();
+        canal.write(conexao.saida);
+        boolean pendente = conexao.saida.hasRemaining();
+        conexao.saida.compact();
+
+        // Com saída pendente, para de ler até o cliente consumir as respostas
+        key.interestOps(pendente ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        if (!pendente && conexao.entrada.position() > 0) {
+            conexao.entrada.flip();
+            processarLinhas(conexao);
+            conexao.entrada.compact();
+            if (conexao.saida.position() > 0) {
+                escrever(key);
+            }
+        }
+    }
+
+    private void fechar(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Conexão já encerrada pelo cliente
+        }
+    }
+
+    /**
+     * Estado de uma conexão: buffers de entrada/saída e flag de descarte de linha longa.
+     */
+    private static final class Conexao {
+        final ByteBuffer entrada = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        final ByteBuffer saida = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        boolean descartando;
+    }
+
+    /**
+     * Inicia o servidor em modo standalone.
+     *
+     * @param args porta (padrão 7070) e, opcionalmente, {@code spin} e a interface em que
+     *             escutar (padrão: loopback)
+     * @throws Exception se o servidor não puder ser iniciado
+     */
+    public static void main(String[] args) throws Exception {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        boolean spin = false;
+        InetAddress endereco = InetAddress.getLoopbackAddress();
+        for (int i = 1; i < args.length; i++) {
+            if ("spin".equalsIgnoreCase(args[i])) {
+                spin = true;
+            } else {
+                endereco = InetAddress.getByName(args[i]);
+            }
+        }
+
+        CnpjSidecarServer server = new CnpjSidecarServer(endereco, porta, spin).start();
+        System.out.printf("Sidecar de validação de CNPJ ouvindo em %s:%d%s%n",
+            server.getEndereco().getHostAddress(), server.getPorta(), spin ? " (spin)" : "");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // Encerrando a JVM
+            }
+        }));
+        Thread.currentThread().join();
+    }
+}
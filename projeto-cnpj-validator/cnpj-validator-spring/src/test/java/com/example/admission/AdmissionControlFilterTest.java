@@ -0,0 +1,160 @@
+package com.example.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link AdmissionControlFilter} com requisições simuladas.
+ */
+@DisplayName("Testes do AdmissionControlFilter")
+class AdmissionControlFilterTest {
+
+    @AfterEach
+    void limparContexto() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static MockHttpServletRequest requisicao(String chave) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/empresas");
+        request.setRemoteAddr("10.0.0.1");
+        if (chave != null) {
+            request.addHeader("X-API-Key", chave);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 429 e Retry-After quando a rajada acaba")
+    void deveRecusarQuandoRajadaAcaba() throws Exception {
+        AdmissionControlFilter filtro = new AdmissionControlFilter(
+            new ClientRateLimiter(1, 2, 100), new ConcurrencyLimiter(10), "X-API-Key");
+        AtomicInteger chamadas = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filtro.doFilter(requisicao("cliente-a"), response,
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+                    @Override
+                    protected void service(jakarta.servlet.http.HttpServletRequest req,
+                                           jakarta.servlet.http.HttpServletResponse res) {
+                        chamadas.incrementAndGet();
+                    }
+                }));
+            if (i == 2) {
+                assertEquals(429, response.getStatus());
+                assertEquals("1", response.getHeader("Retry-After"));
+                assertTrue(response.getContentAsString().contains("erro"));
+            } else {
+                assertEquals(200, response.getStatus());
+            }
+        }
+
+        assertEquals(2, chamadas.get());
+        assertEquals(2, filtro.getAdmitidas());
+        assertEquals(1, filtro.getRecusadasTaxa());
+
+        // outra API key (mesmo IP) tem seu próprio bucket
+        MockHttpServletResponse outro = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("cliente-b"), outro, new MockFilterChain());
+        assertEquals(200, outro.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando o limite de concorrência está ocupado")
+    void deveRecusarPorConcorrencia() throws Exception {
+        ConcurrencyLimiter concorrencia = new ConcurrencyLimiter(1);
+        AdmissionControlFilter filtro = new AdmissionControlFilter(
+            new ClientRateLimiter(100, 100, 100), concorrencia, "X-API-Key");
+
+        assertTrue(concorrencia.tentarAdquirir());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao(null), response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+        assertEquals(1, filtro.getRecusadasConcorrencia());
+        assertEquals(100, filtro.getTaxa().disponiveis("ip:10.0.0.1"), "token devolvido");
+
+        concorrencia.liberar();
+        response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao(null), response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, concorrencia.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Lotes devem ser cobrados pela quantidade de itens")
+    void deveCobrarLotePorItens() throws Exception {
+        AdmissionControlFilter filtro = new AdmissionControlFilter(
+            new ClientRateLimiter(1, 10, 100), new ConcurrencyLimiter(10), "X-API-Key");
+
+        MockHttpServletRequest request = requisicao("lote");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        AdmissionControlFilter.cobrarItens(5);
+        assertEquals(5, filtro.getTaxa().disponiveis("chave:lote"));
+
+        LimiteExcedidoException ex = assertThrows(LimiteExcedidoException.class,
+            () -> AdmissionControlFilter.cobrarItens(20));
+        assertEquals(429, ex.getStatusCode().value());
+        assertTrue(ex.getRetryAfterSegundos() >= 1);
+        assertEquals("" + ex.getRetryAfterSegundos(), ex.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Bucket cheio na admissão deve aceitar um lote maior que a rajada em débito")
+    void deveAceitarLoteMaiorQueRajadaComBucketCheio() throws Exception {
+        AdmissionControlFilter filtro = new AdmissionControlFilter(
+            new ClientRateLimiter(1, 10, 100), new ConcurrencyLimiter(10), "X-API-Key");
+
+        MockHttpServletRequest request = requisicao("lote");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        AdmissionControlFilter.cobrarItens(25);
+        long saldo = filtro.getTaxa().disponiveis("chave:lote");
+        assertTrue(saldo < 0, "lote aceito em débito");
+
+        // em débito, nem a admissão nem um segundo lote passam
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("lote"), response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+        assertThrows(LimiteExcedidoException.class, () -> AdmissionControlFilter.cobrarItens(25));
+        assertTrue(filtro.getTaxa().disponiveis("chave:lote") >= saldo, "recusa não altera o saldo");
+    }
+
+    @Test
+    @DisplayName("Deve considerar o context path ao decidir quais requisições controlar")
+    void deveConsiderarContextPath() throws Exception {
+        AdmissionControlFilter filtro = new AdmissionControlFilter(
+            new ClientRateLimiter(1, 1, 100), new ConcurrencyLimiter(10), "X-API-Key");
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/empresas");
+            request.setContextPath("/app");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filtro.doFilter(request, response, new MockFilterChain());
+            assertEquals(i == 0 ? 200 : 429, response.getStatus());
+        }
+
+        MockHttpServletRequest fora = new MockHttpServletRequest("GET", "/app/actuator/health");
+        fora.setContextPath("/app");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(fora, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("cobrarItens fora de uma requisição admitida não deve ter efeito")
+    void cobrarItensSemAdmissao() {
+        assertDoesNotThrow(() -> AdmissionControlFilter.cobrarItens(1000));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link TokenBucket} e do {@link ClientRateLimiter} com relógio simulado.
+ */
+@DisplayName("Testes do TokenBucket")
+class TokenBucketTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Deve aceitar a rajada e recusar o excedente até a reposição")
+    void deveAceitarRajadaERecusarExcedente() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tentarConsumir(1, 0), "token " + i);
+        }
+        long espera = bucket.tentarConsumir(1, 0);
+        assertTrue(espera > 0 && espera <= SEGUNDO / 10, "espera " + espera);
+
+        assertEquals(0, bucket.tentarConsumir(1, SEGUNDO / 10));
+        assertTrue(bucket.tentarConsumir(1, SEGUNDO / 10) > 0);
+        assertFalse(bucket.cheio(SEGUNDO / 10));
+        assertTrue(bucket.cheio(SEGUNDO));
+        assertEquals(5, bucket.disponiveis(SEGUNDO));
+    }
+
+    @Test
+    @DisplayName("Bucket cheio deve aceitar lote maior que a capacidade e ficar em débito")
+    void deveAceitarLoteGrandeEmDebito() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        assertEquals(0, bucket.tentarConsumir(50, 0));
+        assertTrue(bucket.disponiveis(0) < 0);
+        assertTrue(bucket.tentarConsumir(1, 0) > 0);
+        // 50 tokens a 10/s: a dívida de 45 tokens leva 4,5 s para ser paga
+        assertTrue(bucket.tentarConsumir(1, 4 * SEGUNDO) > 0);
+        assertEquals(0, bucket.tentarConsumir(1, 5 * SEGUNDO));
+    }
+
+    @Test
+    @DisplayName("Lote maior que o saldo deve ser recusado se o bucket não estiver cheio")
+    void deveRecusarLoteSemSaldo() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertEquals(0, bucket.tentarConsumir(1, 0));
+
+        assertTrue(bucket.tentarConsumir(5, 0) > 0);
+        assertEquals(0, bucket.tentarConsumir(4, 0));
+    }
+
+    @Test
+    @DisplayName("Devolver tokens deve restaurar o saldo")
+    void deveDevolverTokens() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        assertEquals(0, bucket.tentarConsumir(2, 0));
+        assertTrue(bucket.tentarConsumir(1, 0) > 0);
+
+        bucket.devolver(1);
+        assertEquals(0, bucket.tentarConsumir(1, 0));
+    }
+
+    @Test
+    @DisplayName("Limitador deve isolar clientes e descartar buckets ociosos")
+    void deveIsolarClientesEDescartarOciosos() {
+        AtomicLong relogio = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 2, relogio::get);
+
+        assertEquals(0, limiter.tentarConsumir("a", 2));
+        assertTrue(limiter.tentarConsumir("a", 1) > 0);
+        assertEquals(0, limiter.tentarConsumir("b", 1), "outro cliente não é afetado");
+        assertEquals(2, limiter.quantidadeClientes());
+
+        // mapa cheio: cliente novo usa o bucket compartilhado
+        assertEquals(0, limiter.tentarConsumir("c", 2));
+        assertTrue(limiter.tentarConsumir("d", 1) > 0);
+        assertEquals(2, limiter.quantidadeClientes());
+
+        relogio.set(10 * SEGUNDO);
+        assertEquals(0, limiter.tentarConsumir("d", 1));
+        assertEquals(1, limiter.quantidadeClientes(), "buckets cheios foram descartados");
+
+        relogio.set(20 * SEGUNDO);
+        assertEquals(1, limiter.limparOciosos());
+        assertEquals(0, limiter.quantidadeClientes());
+    }
+
+    @Test
+    @DisplayName("Consumo concorrente não deve exceder a capacidade")
+    void naoDeveExcederCapacidadeSobConcorrencia() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 1000, 0);
+        AtomicLong aceitos = new AtomicLong();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tentarConsumir(1, 0) == 0) {
+                        aceitos.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, aceitos.get());
+    }
+}
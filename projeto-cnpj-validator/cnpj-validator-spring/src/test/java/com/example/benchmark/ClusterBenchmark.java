@@ -0,0 +1,74 @@
+package com.example.benchmark;
+
+import com.example.cluster.ClusterHarness;
+import com.example.validation.cnpj.CnpjValidacao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark de vazão do registro particionado com 1 a N nós em localhost.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.ClusterBenchmark -Dexec.args="4 8 500000"
+ * </pre>
+ *
+ * <p>Argumentos: número máximo de nós, threads clientes e cadastros por rodada. As threads
+ * distribuem os cadastros entre os nós (como um balanceador faria) e cada nó encaminha ao
+ * dono as raízes que não são suas. Todos os nós dividem a mesma JVM e CPU, então o
+ * resultado mede o custo do encaminhamento e da contenção, não o ganho de máquinas
+ * separadas; para isso, suba instâncias reais com {@code cnpj.cluster.*}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ClusterBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int maxNos = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int operacoes = args.length > 2 ? Integer.parseInt(args[2]) : 500_000;
+
+        String[] cnpjs = gerar(operacoes);
+        for (int nos = 1; nos <= maxNos; nos++) {
+            // uma rodada de aquecimento e uma medida, cada uma em um cluster novo
+            rodada(nos, threads, cnpjs);
+            double porSegundo = rodada(nos, threads, cnpjs);
+            System.out.printf("%d nó(s), %d threads: %,.0f cadastros/s%n", nos, threads, porSegundo);
+        }
+    }
+
+    private static double rodada(int nos, int threads, String[] cnpjs) throws InterruptedException {
+        try (ClusterHarness cluster = new ClusterHarness(nos)) {
+            List<Thread> trabalhadores = new ArrayList<>();
+            long inicio = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int deslocamento = t;
+                Thread thread = new Thread(() -> {
+                    for (int i = deslocamento; i < cnpjs.length; i += threads) {
+                        cluster.registro(i % nos).registrar(cnpjs[i]);
+                    }
+                });
+                trabalhadores.add(thread);
+                thread.start();
+            }
+            for (Thread thread : trabalhadores) {
+                thread.join();
+            }
+            return cnpjs.length / ((System.nanoTime() - inicio) / 1e9);
+        }
+    }
+
+    private static String[] gerar(int quantidade) {
+        String[] cnpjs = new String[quantidade];
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < quantidade; i++) {
+            String base = String.format("%08d%04d", aleatorio.nextInt(1, 100_000_000), aleatorio.nextInt(1, 10));
+            cnpjs[i] = base + CnpjValidacao.calculaDV(base);
+        }
+        return cnpjs;
+    }
+}
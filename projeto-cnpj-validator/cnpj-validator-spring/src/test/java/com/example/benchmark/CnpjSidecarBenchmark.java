@@ -0,0 +1,72 @@
+package com.example.benchmark;
+
+import com.example.sidecar.CnpjSidecarClient;
+import com.example.sidecar.CnpjSidecarServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark de latência do {@link CnpjSidecarServer} em localhost.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.CnpjSidecarBenchmark -Dexec.args="200000 spin"
+ * </pre>
+ *
+ * <p>Mede a latência de ida e volta de uma requisição por vez (p50, p99, p99.9)
+ * e a vazão com pipelining em lotes.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CnpjSidecarBenchmark {
+
+    private static final String[] AMOSTRAS = {
+        "12ABC34501DE35", "90.021.382/0001-22", "R55231B3000700", "1345C3A5000106"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int iteracoes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        boolean spin = args.length > 1 && "spin".equalsIgnoreCase(args[1]);
+
+        try (CnpjSidecarServer server = new CnpjSidecarServer(0, spin).start();
+             CnpjSidecarClient cliente = new CnpjSidecarClient("localhost", server.getPorta())) {
+
+            // Aquecimento do JIT e da pilha TCP
+            for (int i = 0; i < 50_000; i++) {
+                cliente.validarStatus(AMOSTRAS[i & 3]);
+            }
+
+            long[] latencias = new long[iteracoes];
+            for (int i = 0; i < iteracoes; i++) {
+                long inicio = System.nanoTime();
+                cliente.validarStatus(AMOSTRAS[i & 3]);
+                latencias[i] = System.nanoTime() - inicio;
+            }
+            Arrays.sort(latencias);
+
+            System.out.printf("Ida e volta (%d req, spin=%s):%n", iteracoes, spin);
+            System.out.printf("  p50   = %6.2f us%n", percentil(latencias, 0.50));
+            System.out.printf("  p99   = %6.2f us%n", percentil(latencias, 0.99));
+            System.out.printf("  p99.9 = %6.2f us%n", percentil(latencias, 0.999));
+
+            List<String> lote = new ArrayList<>();
+            for (int i = 0; i < 1_000_000; i++) {
+                lote.add(AMOSTRAS[i & 3]);
+            }
+            cliente.validarLote(lote);
+            long inicio = System.nanoTime();
+            cliente.validarLote(lote);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.printf("Pipelining: %,.0f CNPJs/s%n", lote.size() / segundos);
+        }
+    }
+
+    private static double percentil(long[] ordenado, double p) {
+        int indice = (int) Math.min(ordenado.length - 1, Math.round(p * (ordenado.length - 1)));
+        return ordenado[indice] / 1_000.0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.benchmark;
+
+import com.example.compression.Codificacao;
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.CnpjFormatter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark de bytes na rede e custo de CPU por nível de gzip e zstd.
+ *
+ * <p>Não é executado pelo Surefire. Rode com:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.benchmark.CompressionBenchmark -Dexec.args="200000"
+ * </pre>
+ *
+ * <p>Usa dois corpos típicos de carga em lote (CNPJs um por linha, metade formatados, e um
+ * array JSON de empresas) e mede, para cada nível, o tamanho comprimido e o tempo de CPU
+ * da thread (não o tempo de parede) para comprimir e descomprimir cada MB de entrada.
+ * Ajuda a escolher {@code cnpj.compressao.nivel-gzip} e {@code nivel-zstd}.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class CompressionBenchmark {
+
+    private static final int[] NIVEIS_GZIP = { 1, 3, 6, 9 };
+    private static final int[] NIVEIS_ZSTD = { 1, 3, 6, 9, 12, 19 };
+    private static final int REPETICOES = 5;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        int registros = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Map<String, byte[]> corpos = new LinkedHashMap<>();
+        corpos.put("linhas", linhas(registros));
+        corpos.put("json", json(registros / 4));
+
+        for (Map.Entry<String, byte[]> corpo : corpos.entrySet()) {
+            byte[] dados = corpo.getValue();
+            System.out.printf("%nCorpo '%s': %,d bytes%n", corpo.getKey(), dados.length);
+            System.out.printf("%-6s %5s %12s %7s %14s %14s%n",
+                "codec", "nível", "bytes", "razão", "comp. ms/MB", "desc. ms/MB");
+            for (int nivel : NIVEIS_GZIP) {
+                medir(Codificacao.GZIP, nivel, dados);
+            }
+            for (int nivel : NIVEIS_ZSTD) {
+                medir(Codificacao.ZSTD, nivel, dados);
+            }
+        }
+    }
+
+    private static void medir(Codificacao codificacao, int nivel, byte[] dados) throws IOException {
+        byte[] comprimido = comprimir(codificacao, nivel, dados);
+        descomprimir(codificacao, comprimido);
+
+        long cpuCompressao = 0;
+        long cpuDescompressao = 0;
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = THREADS.getCurrentThreadCpuTime();
+            comprimir(codificacao, nivel, dados);
+            long meio = THREADS.getCurrentThreadCpuTime();
+            descomprimir(codificacao, comprimido);
+            cpuCompressao += meio - inicio;
+            cpuDescompressao += THREADS.getCurrentThreadCpuTime() - meio;
+        }
+
+        double megabytes = dados.length / (1024.0 * 1024.0) * REPETICOES;
+        System.out.printf("%-6s %5d %,12d %6.1fx %14.2f %14.2f%n",
+            codificacao.getToken(), nivel, comprimido.length, (double) dados.length / comprimido.length,
+            cpuCompressao / 1e6 / megabytes, cpuDescompressao / 1e6 / megabytes);
+    }
+
+    private static byte[] comprimir(Codificacao codificacao, int nivel, byte[] dados) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream(dados.length / 4);
+        try (OutputStream out = codificacao.compressor(destino, nivel)) {
+            out.write(dados);
+        }
+        return destino.toByteArray();
+    }
+
+    private static void descomprimir(Codificacao codificacao, byte[] comprimido) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = codificacao.descompressor(new ByteArrayInputStream(comprimido))) {
+            while (in.read(buffer) >= 0) {
+                // descarta: só o custo interessa
+            }
+        }
+    }
+
+    private static byte[] linhas(int quantidade) {
+        Random aleatorio = new Random(42);
+        StringBuilder texto = new StringBuilder(quantidade * 20);
+        for (int i = 0; i < quantidade; i++) {
+            String cnpj = cnpj(aleatorio);
+            texto.append(i % 2 == 0 ? cnpj : CnpjFormatter.format(cnpj)).append('\n');
+        }
+        return texto.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] json(int quantidade) {
+        Random aleatorio = new Random(7);
+        StringBuilder texto = new StringBuilder(quantidade * 100).append('[');
+        for (int i = 0; i < quantidade; i++) {
+            if (i > 0) {
+                texto.append(',');
+            }
+            texto.append("{\"razaoSocial\":\"Empresa ").append(aleatorio.nextInt(1_000_000))
+                .append(" Comércio e Serviços Ltda\",\"cnpj\":\"").append(cnpj(aleatorio))
+                .append("\",\"nomeFantasia\":\"Loja ").append(aleatorio.nextInt(10_000)).append("\"}");
+        }
+        return texto.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String cnpj(Random aleatorio) {
+        String base = String.format("%08d%04d", aleatorio.nextInt(100_000_000), 1 + aleatorio.nextInt(20));
+        return base + CnpjValidacao.calculaDV(base);
+    }
+}
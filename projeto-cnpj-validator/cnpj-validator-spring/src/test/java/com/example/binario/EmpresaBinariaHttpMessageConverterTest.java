@@ -0,0 +1,96 @@
+package com.example.binario;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.controller.EmpresaController;
+import com.example.dto.EmpresaDTO;
+import com.example.empresa.CnpjValidationService;
+import com.example.empresa.EmpresaStore;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link EmpresaBinariaHttpMessageConverter} com o {@link EmpresaController}.
+ */
+@DisplayName("Testes do EmpresaBinariaHttpMessageConverter")
+class EmpresaBinariaHttpMessageConverterTest {
+
+    private MockMvc mockMvc;
+    private CnpjValidationService verificacoes;
+
+    @BeforeEach
+    void setUp() {
+        ShardedRaizRegistry registro = ShardedRaizRegistry.standalone(new CnpjRaizIndex());
+        verificacoes = new CnpjValidationService(Validation.buildDefaultValidatorFactory().getValidator(), registro,
+            new StaticListableBeanFactory().getBeanProvider(SituacaoCadastralIndex.class), 2, 8, Duration.ofSeconds(5));
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new EmpresaController(registro, new CnpjPrefixIndex(), new EmpresaStore(), verificacoes))
+            .setMessageConverters(new EmpresaBinariaHttpMessageConverter(), new MappingJackson2HttpMessageConverter())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verificacoes.close();
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar em binário e consultar em binário ou JSON conforme o Accept")
+    void deveNegociarFormato() throws Exception {
+        mockMvc.perform(post("/api/empresas")
+                .contentType(EmpresaBinariaHttpMessageConverter.TIPO)
+                .content(codificar(new EmpresaDTO("Tech Inovação Ltda", "12.ABC.345/01DE-35", "Tech Inova"))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.empresa.cnpj").value("12ABC34501DE35"));
+
+        byte[] corpo = mockMvc.perform(get("/api/empresas/1").accept(EmpresaBinariaHttpMessageConverter.TIPO))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1\""))
+            .andExpect(content().contentType(EmpresaBinariaHttpMessageConverter.TIPO))
+            .andReturn().getResponse().getContentAsByteArray();
+        EmpresaDTO lida = EmpresaCodec.ler(ByteBuffer.wrap(corpo));
+        assertEquals("12ABC34501DE35", lida.getCnpj());
+        assertEquals("Tech Inovação Ltda", lida.getRazaoSocial());
+
+        mockMvc.perform(get("/api/empresas/1"))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.versao").value(1));
+        mockMvc.perform(get("/api/empresas/1").accept(MediaType.ALL))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 a corpo binário truncado")
+    void deveRejeitarCorpoInvalido() throws Exception {
+        byte[] corpo = codificar(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE35", null));
+        mockMvc.perform(post("/api/empresas")
+                .contentType(EmpresaBinariaHttpMessageConverter.TIPO)
+                .content(Arrays.copyOf(corpo, corpo.length - 3)))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] codificar(EmpresaDTO empresa) {
+        ByteBuffer buffer = ByteBuffer.allocate(EmpresaCodec.tamanho(empresa));
+        EmpresaCodec.escrever(empresa, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.binario;
+
+import com.example.dto.EmpresaDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link EmpresaCodec}.
+ */
+@DisplayName("Testes do EmpresaCodec")
+class EmpresaCodecTest {
+
+    @Test
+    @DisplayName("Deve ler de volta as empresas gravadas, com o CNPJ sem formatação")
+    void deveCodificarEmpresas() {
+        List<EmpresaDTO> empresas = List.of(
+            new EmpresaDTO("Tech Inovação Ltda", "12.ABC.345/01DE-35", "Tech Inova"),
+            new EmpresaDTO("Comércio Numérico S.A.", "90021382000122", null));
+
+        int tamanho = empresas.stream().mapToInt(EmpresaCodec::tamanho).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        int gravados = EmpresaCodec.escreverTodas(empresas, buffer);
+        buffer.flip();
+
+        // 8 bytes de CNPJ + (1 + 20) + (1 + 10)
+        assertEquals(40, EmpresaCodec.escrever(empresas.get(0), ByteBuffer.allocate(tamanho)));
+        assertEquals(gravados, buffer.remaining());
+        assertTrue(gravados < "{\"razaoSocial\":\"Tech Inovação Ltda\",\"cnpj\":\"12ABC34501DE35\",\"nomeFantasia\":\"Tech Inova\"}"
+            .getBytes(StandardCharsets.UTF_8).length);
+
+        List<EmpresaDTO> lidas = EmpresaCodec.lerTodas(buffer);
+        assertEquals(2, lidas.size());
+        assertEquals("12ABC34501DE35", lidas.get(0).getCnpj());
+        assertEquals("Tech Inovação Ltda", lidas.get(0).getRazaoSocial());
+        assertEquals("Tech Inova", lidas.get(0).getNomeFantasia());
+        assertEquals("90021382000122", lidas.get(1).getCnpj());
+        assertNull(lidas.get(1).getNomeFantasia());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar empresa com CNPJ não representável")
+    void deveRejeitarCnpjNaoRepresentavel() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        assertThrows(IllegalArgumentException.class,
+            () -> EmpresaCodec.escrever(new EmpresaDTO("Empresa", "12ABC", null), buffer));
+        assertThrows(IllegalArgumentException.class,
+            () -> EmpresaCodec.escrever(new EmpresaDTO("Empresa", null, null), buffer));
+    }
+}
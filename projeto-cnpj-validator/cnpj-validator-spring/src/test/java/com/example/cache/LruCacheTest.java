@@ -0,0 +1,50 @@
+package com.example.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link LruCache}.
+ */
+@DisplayName("Testes do LruCache")
+class LruCacheTest {
+
+    @Test
+    @DisplayName("Deve calcular uma vez e reaproveitar o valor")
+    void deveReaproveitarValor() {
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        assertEquals(3, cache.obter("abc", chave -> { calculos.incrementAndGet(); return chave.length(); }));
+        assertEquals(3, cache.obter("abc", chave -> { calculos.incrementAndGet(); return -1; }));
+
+        assertEquals(1, calculos.get());
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.getFaltas());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar a capacidade descartando as entradas menos usadas")
+    void deveRespeitarCapacidade() {
+        LruCache<Integer, Integer> cache = new LruCache<>(32);
+        for (int i = 0; i < 1000; i++) {
+            cache.obter(i, chave -> chave);
+        }
+        assertEquals(32, cache.tamanho());
+
+        // a entrada mais recente continua no cache
+        AtomicInteger calculos = new AtomicInteger();
+        cache.obter(999, chave -> { calculos.incrementAndGet(); return chave; });
+        assertEquals(0, calculos.get());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar capacidade não positiva")
+    void deveRejeitarCapacidadeInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0));
+    }
+}
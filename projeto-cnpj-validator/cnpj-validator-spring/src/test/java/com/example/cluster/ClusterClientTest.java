@@ -0,0 +1,44 @@
+package com.example.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ClusterClient} contra um nó que responde fora do protocolo.
+ */
+@DisplayName("Testes do ClusterClient")
+class ClusterClientTest {
+
+    @Test
+    @DisplayName("Deve tratar quantidade de ordens fora da faixa como nó indisponível")
+    void deveRecusarQuantidadeDeOrdensInvalida() throws Exception {
+        try (ServerSocket servidor = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            CompletableFuture<Void> resposta = CompletableFuture.runAsync(() -> {
+                try (Socket socket = servidor.accept()) {
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    in.readByte();
+                    in.readLong();
+                    new DataOutputStream(socket.getOutputStream()).writeInt(Integer.MAX_VALUE);
+                    in.read();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            ClusterNode no = new ClusterNode("falso", "localhost", servidor.getLocalPort());
+            try (ClusterClient cliente = new ClusterClient(no)) {
+                assertThrows(NoIndisponivelException.class, () -> cliente.ordens(0));
+            }
+            resposta.join();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjRaizIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster de registro com vários nós na mesma JVM, cada um com seu {@link CnpjRaizIndex},
+ * {@link ClusterServer} em uma porta efêmera de localhost e {@link ShardedRaizRegistry}.
+ *
+ * <p>Usado pelos testes de particionamento e pelo {@code ClusterBenchmark}. Entrada e
+ * saída de nós seguem o procedimento de produção: a nova lista de membros é aplicada em
+ * todos os nós e cada um transfere as raízes que deixaram de ser suas.</p>
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+public class ClusterHarness implements AutoCloseable {
+
+    /** Um nó em execução. */
+    public record Instancia(ClusterNode no, ClusterServer server, ShardedRaizRegistry registro) {
+    }
+
+    private final List<Instancia> instancias = new ArrayList<>();
+    private int sequencia;
+
+    /**
+     * Sobe o cluster.
+     *
+     * @param quantidade número de nós iniciais
+     */
+    public ClusterHarness(int quantidade) {
+        List<CnpjRaizIndex> indices = new ArrayList<>();
+        List<ClusterServer> servers = new ArrayList<>();
+        List<ClusterNode> nos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            CnpjRaizIndex indice = new CnpjRaizIndex();
+            ClusterServer server = iniciar(indice);
+            indices.add(indice);
+            servers.add(server);
+            nos.add(new ClusterNode("no-" + (++sequencia), "localhost", server.getPorta()));
+        }
+        for (int i = 0; i < quantidade; i++) {
+            instancias.add(new Instancia(nos.get(i), servers.get(i),
+                new ShardedRaizRegistry(nos.get(i), indices.get(i), nos, ConsistentHashRing.VIRTUAIS_PADRAO)));
+        }
+    }
+
+    /**
+     * @param indice posição do nó
+     * @return registro do nó
+     */
+    public ShardedRaizRegistry registro(int indice) {
+        return instancias.get(indice).registro();
+    }
+
+    /**
+     * @return nós em execução
+     */
+    public List<Instancia> getInstancias() {
+        return List.copyOf(instancias);
+    }
+
+    /**
+     * @return membros atuais
+     */
+    public List<ClusterNode> membros() {
+        return instancias.stream().map(Instancia::no).toList();
+    }
+
+    /**
+     * Sobe um novo nó e rebalanceia o cluster.
+     *
+     * @return estabelecimentos transferidos para o novo nó
+     */
+    public long adicionarNo() {
+        CnpjRaizIndex indice = new CnpjRaizIndex();
+        ClusterServer server = iniciar(indice);
+        ClusterNode no = new ClusterNode("no-" + (++sequencia), "localhost", server.getPorta());
+
+        List<ClusterNode> membros = new ArrayList<>(membros());
+        membros.add(no);
+        instancias.add(new Instancia(no, server,
+            new ShardedRaizRegistry(no, indice, membros, ConsistentHashRing.VIRTUAIS_PADRAO)));
+
+        long transferidos = 0;
+        for (Instancia instancia : instancias) {
+            transferidos += instancia.registro().atualizarMembros(membros).estabelecimentos();
+        }
+        return transferidos;
+    }
+
+    /**
+     * Retira um nó do cluster: os demais deixam de encaminhar para ele, ele transfere
+     * todas as suas raízes e é desligado.
+     *
+     * @param indice posição do nó
+     * @return estabelecimentos transferidos pelo nó que saiu
+     */
+    public long removerNo(int indice) {
+        Instancia saindo = instancias.remove(indice);
+        List<ClusterNode> membros = membros();
+        for (Instancia instancia : instancias) {
+            instancia.registro().atualizarMembros(membros);
+        }
+        long transferidos = saindo.registro().atualizarMembros(membros).estabelecimentos();
+        fechar(saindo);
+        return transferidos;
+    }
+
+    /**
+     * @return soma dos estabelecimentos guardados em todos os nós
+     */
+    public long totalEstabelecimentos() {
+        return instancias.stream().mapToLong(i -> i.registro().getIndice().quantidadeEstabelecimentos()).sum();
+    }
+
+    @Override
+    public void close() {
+        instancias.forEach(ClusterHarness::fechar);
+        instancias.clear();
+    }
+
+    private static ClusterServer iniciar(CnpjRaizIndex indice) {
+        try {
+            return new ClusterServer(0, indice).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void fechar(Instancia instancia) {
+        instancia.registro().close();
+        try {
+            instancia.server().close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
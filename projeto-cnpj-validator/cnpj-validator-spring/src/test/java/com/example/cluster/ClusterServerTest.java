@@ -0,0 +1,113 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ClusterServer}: interface de escuta e limite de conexões.
+ */
+@DisplayName("Testes do ClusterServer")
+class ClusterServerTest {
+
+    private static final long BASE = CnpjPacked.packBase("12ABC34501DE", 0);
+
+    @Test
+    @DisplayName("Deve escutar só na interface de loopback por padrão")
+    void deveEscutarEmLoopback() throws IOException {
+        try (ClusterServer server = new ClusterServer(0, new CnpjRaizIndex()).start()) {
+            assertTrue(server.getEndereco().isLoopbackAddress());
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new ClusterServer(InetAddress.getLoopbackAddress(), 0, new CnpjRaizIndex(), 0));
+    }
+
+    @Test
+    @DisplayName("Deve fechar as conexões acima do limite e aceitar de novo quando uma fecha")
+    void deveLimitarConexoes() throws Exception {
+        CnpjRaizIndex indice = new CnpjRaizIndex();
+        try (ClusterServer server = new ClusterServer(InetAddress.getLoopbackAddress(), 0, indice, 2).start();
+             Socket primeira = conectar(server);
+             Socket segunda = conectar(server)) {
+            assertEquals(1, registrar(primeira));
+            assertEquals(0, registrar(segunda));
+
+            try (Socket excedente = conectar(server)) {
+                assertEquals(-1, registrar(excedente), "conexão acima do limite deve ser fechada");
+            }
+            assertEquals(1, server.getRecusadas());
+
+            primeira.close();
+            long prazo = System.nanoTime() + 5_000_000_000L;
+            int resposta;
+            do {
+                try (Socket nova = conectar(server)) {
+                    resposta = registrar(nova);
+                }
+            } while (resposta < 0 && System.nanoTime() < prazo);
+            assertEquals(0, resposta, "a vaga da conexão fechada deve ser liberada");
+            assertEquals(1, indice.quantidadeEstabelecimentos());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve fechar a conexão que envia base, raiz ou ordem fora da faixa")
+    void deveRecusarValoresForaDaFaixa() throws Exception {
+        CnpjRaizIndex indice = new CnpjRaizIndex();
+        try (ClusterServer server = new ClusterServer(0, indice).start()) {
+            for (long base : new long[]{-1, Long.MAX_VALUE}) {
+                try (Socket socket = conectar(server)) {
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                    out.writeByte(ClusterServer.OP_REMOVER);
+                    out.writeLong(base);
+                    out.flush();
+                    assertEquals(-1, socket.getInputStream().read());
+                }
+            }
+            try (Socket socket = conectar(server)) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeByte(ClusterServer.OP_TRANSFERIR);
+                out.writeLong(CnpjPacked.raiz(BASE));
+                out.writeInt(2);
+                out.writeInt(CnpjPacked.ordem(BASE));
+                out.writeInt(CnpjPacked.TOTAL_ORDENS);
+                out.flush();
+                assertEquals(-1, socket.getInputStream().read());
+            }
+            try (Socket socket = conectar(server)) {
+                assertEquals(1, registrar(socket), "conexões válidas continuam atendidas");
+            }
+        }
+    }
+
+    private static Socket conectar(ClusterServer server) throws IOException {
+        Socket socket = new Socket(server.getEndereco(), server.getPorta());
+        socket.setSoTimeout(5_000);
+        return socket;
+    }
+
+    /**
+     * @return resposta do OP_REGISTRAR, ou -1 se o servidor fechou a conexão
+     */
+    private static int registrar(Socket socket) throws IOException {
+        try {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeByte(ClusterServer.OP_REGISTRAR);
+            out.writeLong(BASE);
+            out.flush();
+            return new DataInputStream(socket.getInputStream()).read();
+        } catch (IOException e) {
+            // conexão recusada pode aparecer como reset em vez de fim de stream
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ConsistentHashRing}.
+ */
+@DisplayName("Testes do ConsistentHashRing")
+class ConsistentHashRingTest {
+
+    private static final int CHAVES = 100_000;
+
+    @Test
+    @DisplayName("Deve atribuir o mesmo dono independentemente da ordem e do endereço dos membros")
+    void deveSerDeterministico() {
+        ConsistentHashRing anel = new ConsistentHashRing(nos(4));
+        List<ClusterNode> invertidos = new ArrayList<>(nos(4));
+        Collections.reverse(invertidos);
+        ConsistentHashRing outro = new ConsistentHashRing(invertidos);
+
+        for (long raiz = 0; raiz < 10_000; raiz++) {
+            assertEquals(anel.dono(raiz).id(), outro.dono(raiz).id());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve distribuir raízes sequenciais de forma equilibrada")
+    void deveEquilibrarCarga() {
+        ConsistentHashRing anel = new ConsistentHashRing(nos(4));
+        Map<String, Integer> carga = new HashMap<>();
+        for (long raiz = 0; raiz < CHAVES; raiz++) {
+            carga.merge(anel.dono(raiz).id(), 1, Integer::sum);
+        }
+
+        assertEquals(4, carga.size());
+        carga.values().forEach(quantidade ->
+            assertTrue(quantidade > CHAVES * 0.18 && quantidade < CHAVES * 0.32, carga.toString()));
+    }
+
+    @Test
+    @DisplayName("Entrada de um nó deve mover só as chaves que passam a ser dele")
+    void deveMoverPoucasChaves() {
+        ConsistentHashRing antes = new ConsistentHashRing(nos(4));
+        ConsistentHashRing depois = new ConsistentHashRing(nos(5));
+
+        int movidas = 0;
+        for (long raiz = 0; raiz < CHAVES; raiz++) {
+            ClusterNode novoDono = depois.dono(raiz);
+            if (!novoDono.equals(antes.dono(raiz))) {
+                assertEquals("no-5", novoDono.id(), "só o novo nó recebe chaves");
+                movidas++;
+            }
+        }
+        // esperado ~1/5
+        assertTrue(movidas > CHAVES * 0.12 && movidas < CHAVES * 0.28, "movidas=" + movidas);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar anel vazio e ids repetidos")
+    void deveRejeitarMembrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of()));
+        ClusterNode no = new ClusterNode("no-1", "localhost", 7171);
+        ClusterNode mesmoId = new ClusterNode("no-1", "outro", 7172);
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(no, mesmoId)));
+    }
+
+    @Test
+    @DisplayName("Deve ler nós no formato id@host:porta")
+    void deveLerNos() {
+        assertEquals(new ClusterNode("no-1", "10.0.0.1", 7171), ClusterNode.parse(" no-1@10.0.0.1:7171 "));
+        assertEquals("no-1@10.0.0.1:7171", ClusterNode.parse("no-1@10.0.0.1:7171").toString());
+        assertThrows(IllegalArgumentException.class, () -> ClusterNode.parse("no-1:7171"));
+        assertThrows(IllegalArgumentException.class, () -> ClusterNode.parse("no-1@host:abc"));
+        assertThrows(IllegalArgumentException.class, () -> ClusterNode.parse("no-1@host:"));
+    }
+
+    private static List<ClusterNode> nos(int quantidade) {
+        List<ClusterNode> nos = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            nos.add(new ClusterNode("no-" + i, "localhost", 7170 + i));
+        }
+        return nos;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.cluster;
+
+import com.example.validation.cnpj.CnpjValidacao;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link ShardedRaizRegistry} sobre um cluster local ({@link ClusterHarness}).
+ */
+@DisplayName("Testes do ShardedRaizRegistry")
+class ShardedRaizRegistryTest {
+
+    private static final int RAIZES = 2_000;
+    private static final int FILIAIS = 3;
+
+    private ClusterHarness cluster;
+
+    @AfterEach
+    void encerrar() {
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve guardar cada raiz só no dono e responder por qualquer nó")
+    void deveParticionarPorRaiz() {
+        cluster = new ClusterHarness(3);
+        registrarTodos();
+
+        assertEquals((long) RAIZES * FILIAIS, cluster.totalEstabelecimentos());
+        verificarDonos();
+        verificarConsultas();
+        assertTrue(cluster.registro(0).getEncaminhadas() > 0);
+        assertTrue(cluster.registro(0).getLocais() > 0);
+
+        // registro repetido por outro nó não duplica
+        assertFalse(cluster.registro(2).registrar(cnpj(0, 1)));
+        assertEquals((long) RAIZES * FILIAIS, cluster.totalEstabelecimentos());
+    }
+
+    @Test
+    @DisplayName("Entrada de nó deve transferir só parte das raízes sem perder dados")
+    void deveRebalancearNaEntrada() {
+        cluster = new ClusterHarness(3);
+        registrarTodos();
+
+        long transferidos = cluster.adicionarNo();
+
+        long total = (long) RAIZES * FILIAIS;
+        assertEquals(total, cluster.totalEstabelecimentos());
+        assertEquals(transferidos, cluster.registro(3).getIndice().quantidadeEstabelecimentos());
+        assertTrue(transferidos > total / 8 && transferidos < total / 2, "transferidos=" + transferidos);
+        verificarDonos();
+        verificarConsultas();
+    }
+
+    @Test
+    @DisplayName("Saída de nó deve entregar todas as suas raízes aos demais")
+    void deveRebalancearNaSaida() {
+        cluster = new ClusterHarness(4);
+        registrarTodos();
+        long doQueSai = cluster.registro(1).getIndice().quantidadeEstabelecimentos();
+
+        assertEquals(doQueSai, cluster.removerNo(1));
+
+        assertEquals(3, cluster.getInstancias().size());
+        assertEquals((long) RAIZES * FILIAIS, cluster.totalEstabelecimentos());
+        verificarDonos();
+        verificarConsultas();
+    }
+
+    @Test
+    @DisplayName("Deve calcular a próxima filial livre no dono da raiz")
+    void deveCalcularProximaFilialNoDono() {
+        cluster = new ClusterHarness(3);
+        registrarTodos();
+
+        for (int i = 0; i < 50; i++) {
+            long raiz = CnpjRaizIndex.packRaiz(raiz(i));
+            for (int no = 0; no < 3; no++) {
+                assertEquals(CnpjPacked.ordemNumerica(FILIAIS + 1),
+                    cluster.registro(no).proximaOrdemLivre(raiz, true));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Dono fora do ar deve resultar em NoIndisponivelException")
+    void deveFalharComDonoIndisponivel() throws Exception {
+        cluster = new ClusterHarness(2);
+        ClusterHarness.Instancia segundo = cluster.getInstancias().get(1);
+        segundo.server().close();
+
+        String remoto = null;
+        for (int i = 0; remoto == null; i++) {
+            long raiz = CnpjRaizIndex.packRaiz(raiz(i));
+            if (new ConsistentHashRing(cluster.membros()).dono(raiz).equals(segundo.no())) {
+                remoto = cnpj(i, 1);
+            }
+        }
+        String cnpjRemoto = remoto;
+        NoIndisponivelException ex = assertThrows(NoIndisponivelException.class,
+            () -> cluster.registro(0).registrar(cnpjRemoto));
+        assertEquals(segundo.no(), ex.getNo());
+    }
+
+    @Test
+    @DisplayName("Registro standalone deve operar só sobre o índice local")
+    void deveOperarSozinho() {
+        CnpjRaizIndex indice = new CnpjRaizIndex();
+        try (ShardedRaizRegistry registro = ShardedRaizRegistry.standalone(indice)) {
+            assertTrue(registro.registrar("12.ABC.345/01DE-35"));
+            assertEquals(List.of("12ABC34501DE35"), registro.filiais("12ABC345"));
+            assertEquals(1, indice.quantidadeEstabelecimentos());
+            assertEquals(0, registro.getEncaminhadas());
+        }
+    }
+
+    private void registrarTodos() {
+        for (int i = 0; i < RAIZES; i++) {
+            for (int ordem = 1; ordem <= FILIAIS; ordem++) {
+                // cada cadastro entra por um nó diferente
+                assertTrue(cluster.registro((i + ordem) % cluster.getInstancias().size()).registrar(cnpj(i, ordem)));
+            }
+        }
+    }
+
+    private void verificarDonos() {
+        ConsistentHashRing anel = new ConsistentHashRing(cluster.membros());
+        for (ClusterHarness.Instancia instancia : cluster.getInstancias()) {
+            for (long raiz : instancia.registro().getIndice().raizes()) {
+                assertEquals(instancia.no(), anel.dono(raiz), "raiz fora do dono");
+            }
+        }
+    }
+
+    private void verificarConsultas() {
+        int nos = cluster.getInstancias().size();
+        for (int i = 0; i < RAIZES; i += 7) {
+            List<String> esperadas = new ArrayList<>();
+            for (int ordem = 1; ordem <= FILIAIS; ordem++) {
+                esperadas.add(cnpj(i, ordem));
+            }
+            assertEquals(esperadas, cluster.registro(i % nos).filiais(raiz(i)));
+        }
+    }
+
+    private static String raiz(int i) {
+        return String.format("%08d", (i * 7919L) % 100_000_000L + 1);
+    }
+
+    private static String cnpj(int i, int ordem) {
+        String base = raiz(i) + String.format("%04d", ordem);
+        return base + CnpjValidacao.calculaDV(base);
+    }
+}
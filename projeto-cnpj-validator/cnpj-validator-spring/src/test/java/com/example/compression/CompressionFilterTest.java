@@ -0,0 +1,248 @@
+package com.example.compression;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link CompressionFilter} e da negociação de {@link Codificacao}.
+ */
+@DisplayName("Testes do CompressionFilter")
+class CompressionFilterTest {
+
+    private static final String LOTE = "12ABC34501DE35\n90.021.382/0001-22\n".repeat(2_000);
+
+    private final CompressionFilter filtro = new CompressionFilter(6, 3, 1024, 1024 * 1024);
+
+    @ParameterizedTest
+    @EnumSource(Codificacao.class)
+    @DisplayName("Deve descomprimir o corpo da requisição em streaming")
+    void deveDescomprimirRequisicao(Codificacao codificacao) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cnpj/lote");
+        request.addHeader("Content-Encoding", codificacao.getToken());
+        request.setContent(comprimir(codificacao, LOTE.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> lido = new AtomicReference<>();
+
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                assertNull(req.getHeader("Content-Encoding"));
+                assertEquals(-1, req.getContentLengthLong());
+                lido.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }));
+
+        assertEquals(LOTE, lido.get());
+        assertEquals(1, filtro.getRequisicoesComprimidas());
+    }
+
+    @Test
+    @DisplayName("Deve recusar Content-Encoding não suportado com 415")
+    void deveRecusarCodificacaoDesconhecida() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/empresas");
+        request.addHeader("Content-Encoding", "br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(415, response.getStatus());
+        assertEquals("zstd, gzip", response.getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    @DisplayName("Deve interromper com 413 corpo que expande além do limite")
+    void deveLimitarCorpoDescomprimido() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cnpj/lote");
+        request.addHeader("Content-Encoding", "gzip");
+        byte[] bomba = comprimir(Codificacao.GZIP, new byte[8 * 1024 * 1024]);
+        assertTrue(bomba.length < 64 * 1024);
+        request.setContent(bomba);
+
+        CorpoExcedidoException ex = assertThrows(CorpoExcedidoException.class, () ->
+            filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                    req.getInputStream().readAllBytes();
+                }
+            })));
+        assertEquals(413, ex.getStatusCode().value());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Codificacao.class)
+    @DisplayName("Deve comprimir respostas grandes com a codificação negociada")
+    void deveComprimirResposta(Codificacao codificacao) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cnpj/lote");
+        request.addHeader("Accept-Encoding", codificacao.getToken());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, responder(LOTE, "\"abc\""));
+
+        assertEquals(codificacao.getToken(), response.getHeader("Content-Encoding"));
+        assertEquals("W/\"abc\"", response.getHeader("ETag"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertNull(response.getHeader("Content-Length"));
+        byte[] corpo = response.getContentAsByteArray();
+        assertTrue(corpo.length < LOTE.length() / 10, "tamanho comprimido: " + corpo.length);
+        assertEquals(LOTE, new String(descomprimir(codificacao, corpo), StandardCharsets.UTF_8));
+        assertEquals(1, filtro.getRespostasComprimidas());
+    }
+
+    @Test
+    @DisplayName("Resposta pequena ou sem Accept-Encoding deve sair sem compressão")
+    void naoDeveComprimirRespostaPequena() throws Exception {
+        String pequena = "{\"valido\":true}";
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cnpj/12ABC34501DE35");
+        request.addHeader("Accept-Encoding", "gzip, zstd");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, responder(pequena, "\"abc\""));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("\"abc\"", response.getHeader("ETag"), "ETag forte preservado");
+        assertEquals(pequena.length(), response.getContentLength());
+        assertEquals(pequena, response.getContentAsString());
+
+        MockHttpServletResponse semAccept = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/cnpj/lote"), semAccept, responder(LOTE, null));
+        assertNull(semAccept.getHeader("Content-Encoding"));
+        assertEquals(LOTE, semAccept.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Resposta assíncrona deve ser concluída só no despacho ASYNC")
+    void deveConcluirRespostaAssincronaNoDespachoAsync() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cnpj/lote");
+        request.setAsyncSupported(true);
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                req.startAsync(req, res);
+            }
+        }));
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        // o resultado fica pronto depois e o container despacha de novo, com a resposta embrulhada
+        AsyncContext contexto = request.getAsyncContext();
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filtro.doFilter(request, contexto.getResponse(), responder(LOTE, null));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(LOTE, new String(descomprimir(Codificacao.GZIP, response.getContentAsByteArray()),
+            StandardCharsets.UTF_8));
+        assertEquals(1, filtro.getRespostasComprimidas());
+    }
+
+    @Test
+    @DisplayName("Leitura não bloqueante deve receber o corpo descomprimido")
+    void deveDescomprimirComReadListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cnpj/lote");
+        request.setAsyncSupported(true);
+        request.addHeader("Content-Encoding", "zstd");
+        request.setContent(comprimir(Codificacao.ZSTD, LOTE.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream lido = new ByteArrayOutputStream();
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        AtomicBoolean concluido = new AtomicBoolean();
+
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                req.startAsync(req, res);
+                ServletInputStream in = req.getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        byte[] buffer = new byte[4096];
+                        int n;
+                        while (in.isReady() && (n = in.read(buffer)) >= 0) {
+                            lido.write(buffer, 0, n);
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        concluido.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        erro.set(t);
+                    }
+                });
+            }
+        }));
+
+        assertNull(erro.get());
+        assertTrue(concluido.get());
+        assertEquals(LOTE, lido.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve negociar pelo maior q, com zstd preferido em empate")
+    void deveNegociar() {
+        assertEquals(Codificacao.ZSTD, Codificacao.negociar("gzip, deflate, br, zstd"));
+        assertEquals(Codificacao.GZIP, Codificacao.negociar("gzip;q=1.0, zstd;q=0.5"));
+        assertEquals(Codificacao.GZIP, Codificacao.negociar("zstd;q=0, *"));
+        assertEquals(Codificacao.ZSTD, Codificacao.negociar("*;q=0.1"));
+        assertNull(Codificacao.negociar("br, deflate"));
+        assertNull(Codificacao.negociar("gzip;q=0"));
+        assertNull(Codificacao.negociar(null));
+    }
+
+    private static MockFilterChain responder(String corpo, String etag) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+                res.setContentType("application/json");
+                if (etag != null) {
+                    res.setHeader("ETag", etag);
+                }
+                res.setContentLength(bytes.length);
+                res.getOutputStream().write(bytes);
+                res.getOutputStream().flush();
+            }
+        });
+    }
+
+    private static byte[] comprimir(Codificacao codificacao, byte[] dados) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        try (OutputStream out = codificacao.compressor(destino, 3)) {
+            out.write(dados);
+        }
+        return destino.toByteArray();
+    }
+
+    private static byte[] descomprimir(Codificacao codificacao, byte[] dados) throws IOException {
+        try (InputStream in = codificacao.descompressor(new ByteArrayInputStream(dados))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.controller;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link ClusterController}: troca de membros protegida por token.
+ */
+@DisplayName("Testes do ClusterController")
+class ClusterControllerTest {
+
+    private static final String OUTRO_NO = "[\"x@10.9.9.9:7171\"]";
+
+    @Test
+    @DisplayName("Deve recusar a troca de membros sem o token de administração")
+    void deveExigirToken() throws Exception {
+        ShardedRaizRegistry registro = ShardedRaizRegistry.standalone(new CnpjRaizIndex());
+        registro.registrar("12ABC34501DE35");
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ClusterController(registro, "segredo")).build();
+
+        mockMvc.perform(put("/api/cluster/membros").contentType(MediaType.APPLICATION_JSON).content(OUTRO_NO))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/cluster/membros").contentType(MediaType.APPLICATION_JSON).content(OUTRO_NO)
+                .header(ClusterController.CABECALHO_TOKEN, "errado"))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.erro").exists());
+
+        // nada foi transferido nem redirecionado
+        assertEquals(List.of(registro.getLocal()), registro.getMembros());
+        assertEquals(1, registro.getIndice().quantidadeEstabelecimentos());
+
+        mockMvc.perform(put("/api/cluster/membros").contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + registro.getLocal() + "\"]")
+                .header(ClusterController.CABECALHO_TOKEN, "segredo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.raizesTransferidas").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve manter a troca de membros desabilitada sem token configurado")
+    void deveDesabilitarSemTokenConfigurado() throws Exception {
+        ShardedRaizRegistry registro = ShardedRaizRegistry.standalone(new CnpjRaizIndex());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ClusterController(registro, "")).build();
+
+        mockMvc.perform(put("/api/cluster/membros").contentType(MediaType.APPLICATION_JSON).content(OUTRO_NO)
+                .header(ClusterController.CABECALHO_TOKEN, ""))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.erro").value("Troca de membros desabilitada: configure cnpj.cluster.token-admin"));
+        assertEquals(List.of(registro.getLocal()), registro.getMembros());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.controller;
+
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjBuscaController}.
+ */
+@DisplayName("Testes do CnpjBuscaController")
+class CnpjBuscaControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CnpjPrefixIndex indice = new CnpjPrefixIndex();
+        indice.adicionar("12ABC34501DE35");
+        indice.adicionar("12ABC345000188");
+        indice.adicionar("90021382000203");
+        mockMvc = MockMvcBuilders.standaloneSetup(new CnpjBuscaController(indice)).build();
+    }
+
+    @Test
+    @DisplayName("Deve listar os CNPJs do prefixo normalizado")
+    void deveBuscarPorPrefixo() throws Exception {
+        mockMvc.perform(get("/api/cnpj/busca").param("prefixo", "12.abc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.prefixo").value("12ABC"))
+            .andExpect(jsonPath("$.quantidade").value(2))
+            .andExpect(jsonPath("$.cnpjs", contains("12ABC345000188", "12ABC34501DE35")))
+            .andExpect(jsonPath("$.maisResultados").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve indicar quando o limite cortou a lista")
+    void deveIndicarMaisResultados() throws Exception {
+        mockMvc.perform(get("/api/cnpj/busca").param("prefixo", "").param("limite", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidade").value(2))
+            .andExpect(jsonPath("$.maisResultados").value(true));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixo e limite inválidos")
+    void deveRejeitarEntradasInvalidas() throws Exception {
+        mockMvc.perform(get("/api/cnpj/busca").param("prefixo", "12#"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.prefixo").exists());
+        mockMvc.perform(get("/api/cnpj/busca").param("prefixo", "12").param("limite", "1000"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.limite").exists());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.controller;
+
+import com.example.batch.CnpjEstatisticas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjConsultaController}.
+ */
+@DisplayName("Testes do CnpjConsultaController")
+class CnpjConsultaControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new CnpjConsultaController(new ObjectMapper(), new CnpjEstatisticas(), 100,
+                Duration.ofDays(365)))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve retornar CNPJ válido com formas normalizada e formatada")
+    void deveConsultarCnpjValido() throws Exception {
+        mockMvc.perform(get("/api/cnpj/{cnpj}", "12.ABC.34501DE-35"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.valido").value(true))
+            .andExpect(jsonPath("$.motivo").value("VALIDO"))
+            .andExpect(jsonPath("$.normalizado").value("12ABC34501DE35"))
+            .andExpect(jsonPath("$.formatado").value("12.ABC.345/01DE-35"))
+            .andExpect(jsonPath("$.dv").value("35"))
+            .andExpect(header().string("Cache-Control", containsString("immutable")))
+            .andExpect(header().string("Cache-Control", containsString("public")))
+            .andExpect(header().string("Cache-Control", containsString("max-age=31536000")));
+    }
+
+    @Test
+    @DisplayName("Deve informar o motivo e o DV correto de um CNPJ inválido")
+    void deveConsultarCnpjInvalido() throws Exception {
+        mockMvc.perform(get("/api/cnpj/{cnpj}", "12ABC34501DE99"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.valido").value(false))
+            .andExpect(jsonPath("$.motivo").value("DV_INCORRETO"))
+            .andExpect(jsonPath("$.dv").value("35"));
+
+        mockMvc.perform(get("/api/cnpj/{cnpj}", "123"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.motivo").value("TAMANHO_INVALIDO"))
+            .andExpect(jsonPath("$.formatado").doesNotExist())
+            .andExpect(jsonPath("$.dv").doesNotExist());
+
+        // base zerada com DV não numérico: DV_NAO_NUMERICO vem antes de ZERADO
+        mockMvc.perform(get("/api/cnpj/{cnpj}", "000000000000AA"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.motivo").value("DV_NAO_NUMERICO"))
+            .andExpect(jsonPath("$.dv").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o ETag confere")
+    void deveResponderNaoModificado() throws Exception {
+        MvcResult primeira = mockMvc.perform(get("/api/cnpj/{cnpj}", "90021382000122"))
+            .andExpect(status().isOk())
+            .andReturn();
+        String etag = primeira.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"), "ETag deve ser forte");
+
+        mockMvc.perform(get("/api/cnpj/{cnpj}", "90021382000122").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag));
+
+        // outro CNPJ tem outro ETag
+        String outro = mockMvc.perform(get("/api/cnpj/{cnpj}", "12ABC34501DE35"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, outro);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.controller;
+
+import com.example.admission.AdmissionControlFilter;
+import com.example.admission.ClientRateLimiter;
+import com.example.admission.ConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjDVController}.
+ */
+@DisplayName("Testes do CnpjDVController")
+class CnpjDVControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CnpjDVController(3, 100, 100)).build();
+    }
+
+    @Test
+    @DisplayName("Deve calcular os DVs do lote na ordem da entrada")
+    void deveCalcularLote() throws Exception {
+        mockMvc.perform(post("/api/cnpj/dv/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"12ABC34501DE\", \"900213820001\", \"12.ABC.345/01DE\"]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidade").value(3))
+            .andExpect(jsonPath("$.validas").value(2))
+            .andExpect(jsonPath("$.dvs[0]").value("35"))
+            .andExpect(jsonPath("$.dvs[1]").value("22"))
+            .andExpect(jsonPath("$.dvs[2]").value(nullValue()));
+
+        mockMvc.perform(post("/api/cnpj/dv/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"12ABC34501DE\", \"12ABC34501DE\", \"12ABC34501DE\", \"12ABC34501DE\"]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.erro").exists());
+    }
+
+    @Test
+    @DisplayName("Deve expandir a faixa de filiais da raiz")
+    void deveExpandirFiliais() throws Exception {
+        mockMvc.perform(get("/api/cnpj/dv/{raiz}/filiais", "90.021.382").param("de", "1").param("ate", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.raiz").value("90021382"))
+            .andExpect(jsonPath("$.quantidade").value(3))
+            .andExpect(jsonPath("$.cnpjs[0]").value("90021382000122"))
+            .andExpect(jsonPath("$.cnpjs[1]").value("90021382000203"));
+
+        mockMvc.perform(get("/api/cnpj/dv/{raiz}/filiais", "12.ABC.345"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidade").value(9999))
+            .andExpect(jsonPath("$.cnpjs[9998]").value(startsWith("12ABC3459999")));
+
+        mockMvc.perform(get("/api/cnpj/dv/{raiz}/filiais", "12ABC345").param("de", "10").param("ate", "5"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/cnpj/dv/{raiz}/filiais", "12AB"))
+            .andExpect(status().isBadRequest());
+        // faixa enorme é recusada antes de alocar o destino
+        mockMvc.perform(get("/api/cnpj/dv/{raiz}/filiais", "12ABC345").param("ate", "2000000000"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.erro").exists());
+    }
+
+    @Test
+    @DisplayName("Lote máximo deve caber na rajada padrão do controle de admissão")
+    void deveAdmitirLoteMaximoNaRajada() throws Exception {
+        AdmissionControlFilter admissao = new AdmissionControlFilter(
+            new ClientRateLimiter(1, 100, 100), new ConcurrencyLimiter(10), "X-API-Key");
+        MockMvc comAdmissao = MockMvcBuilders.standaloneSetup(new CnpjDVController(10000, 100, 100))
+            .addFilters(admissao)
+            .build();
+        String lote = "[" + String.join(",", Collections.nCopies(10000, "\"12ABC34501DE\"")) + "]";
+
+        comAdmissao.perform(post("/api/cnpj/dv/lote")
+                .header("X-API-Key", "cliente")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(lote))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.validas").value(10000));
+
+        // a rajada foi toda usada pelo lote anterior
+        comAdmissao.perform(post("/api/cnpj/dv/lote")
+                .header("X-API-Key", "cliente")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(lote))
+            .andExpect(status().isTooManyRequests());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.controller;
+
+import com.example.batch.CnpjEstatisticas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjEstatisticasController}.
+ */
+@DisplayName("Testes do CnpjEstatisticasController")
+class CnpjEstatisticasControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CnpjEstatisticas estatisticas = new CnpjEstatisticas();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(
+                new CnpjConsultaController(new ObjectMapper(), estatisticas, 100, Duration.ofDays(365)),
+                new CnpjEstatisticasController(estatisticas))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve resumir as consultas, inclusive as respondidas pelo cache")
+    void deveResumirConsultas() throws Exception {
+        for (String cnpj : new String[] {"12ABC34501DE35", "12ABC34501DE35", "90021382000122",
+                "12ABC34502DE06", "00000000000000", "00000000000000", "12ABC34501DE99"}) {
+            mockMvc.perform(get("/api/cnpj/{cnpj}", cnpj)).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/cnpj/estatisticas"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(7))
+            .andExpect(jsonPath("$.validos").value(4))
+            .andExpect(jsonPath("$.invalidos").value(3))
+            .andExpect(jsonPath("$.cnpjsDistintos").value(3))
+            .andExpect(jsonPath("$.raizesDistintas").value(2))
+            .andExpect(jsonPath("$.alfanumericos").value(3))
+            .andExpect(jsonPath("$.numericos").value(1))
+            .andExpect(jsonPath("$.rejeicoes.ZERADO").value(2))
+            .andExpect(jsonPath("$.rejeicoes.DV_INCORRETO").value(1))
+            .andExpect(jsonPath("$.frequentes[0].valor").value("00000000000000"))
+            .andExpect(jsonPath("$.frequentes[0].ocorrencias").value(2));
+    }
+}
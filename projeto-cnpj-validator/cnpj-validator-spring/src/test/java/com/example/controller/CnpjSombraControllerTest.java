@@ -0,0 +1,74 @@
+package com.example.controller;
+
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjShadowValidator;
+import com.example.validation.cnpj.CnpjValidacao;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjSombraController}.
+ */
+@DisplayName("Testes do CnpjSombraController")
+class CnpjSombraControllerTest {
+
+    @AfterEach
+    void limparPadrao() {
+        CnpjShadowValidator.definirPadrao(null);
+    }
+
+    @Test
+    @DisplayName("Deve publicar a comparação das validações de empresas")
+    void devePublicarComparacao() throws Exception {
+        // candidato com o DV "esquecido": aceita qualquer base bem formada
+        CnpjShadowValidator sombra = new CnpjShadowValidator(CnpjShadowValidator.motor("validacao"),
+            cnpj -> cnpj != null && CnpjValidacao.motivo(cnpj).name().matches("VALIDO|DV_INCORRETO"),
+            1.0, 10, Runnable::run);
+        CnpjShadowValidator.definirPadrao(sombra);
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            assertTrue(validator.validate(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE35", null)).isEmpty());
+            assertFalse(validator.validate(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE00", null)).isEmpty());
+        }
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("cnpjShadowValidator", sombra);
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new CnpjSombraController(beans.getBeanProvider(CnpjShadowValidator.class)))
+            .build();
+
+        mockMvc.perform(get("/api/cnpj/sombra"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.amostradas").value(2))
+            .andExpect(jsonPath("$.comparadas").value(2))
+            .andExpect(jsonPath("$.divergentes").value(1))
+            .andExpect(jsonPath("$.divergencias[0].cnpj").value("12ABC34501DE00"))
+            .andExpect(jsonPath("$.divergencias[0].ativo").value(false))
+            .andExpect(jsonPath("$.divergencias[0].candidato").value(true))
+            .andExpect(jsonPath("$.divergencias[0].motivo").value("DV_INCORRETO"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com o modo sombra desligado")
+    void deveResponderIndisponivel() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new CnpjSombraController(
+                new StaticListableBeanFactory().getBeanProvider(CnpjShadowValidator.class)))
+            .build();
+
+        mockMvc.perform(get("/api/cnpj/sombra"))
+            .andExpect(status().isServiceUnavailable());
+    }
+}
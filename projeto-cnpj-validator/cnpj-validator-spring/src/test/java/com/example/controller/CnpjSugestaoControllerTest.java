@@ -0,0 +1,54 @@
+package com.example.controller;
+
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link CnpjSugestaoController}.
+ */
+@DisplayName("Testes do CnpjSugestaoController")
+class CnpjSugestaoControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CnpjPrefixIndex cadastrados = new CnpjPrefixIndex();
+        cadastrados.adicionar("12ABC34501DE35");
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new CnpjSugestaoController(cadastrados,
+                new StaticListableBeanFactory().getBeanProvider(SituacaoCadastralIndex.class)))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve trazer primeiro a sugestão cadastrada")
+    void deveSugerirCadastradoPrimeiro() throws Exception {
+        mockMvc.perform(get("/api/cnpj/{cnpj}/sugestoes", "12ABC34510DE35"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.motivo").value("DV_INCORRETO"))
+            .andExpect(jsonPath("$.sugestoes[0].cnpj").value("12ABC34501DE35"))
+            .andExpect(jsonPath("$.sugestoes[0].formatado").value("12.ABC.345/01DE-35"))
+            .andExpect(jsonPath("$.sugestoes[0].tipo").value("TRANSPOSICAO"))
+            .andExpect(jsonPath("$.sugestoes[0].posicao").value(9))
+            .andExpect(jsonPath("$.sugestoes[0].registrado").value(true));
+    }
+
+    @Test
+    @DisplayName("Não deve sugerir nada para CNPJ válido")
+    void naoDeveSugerirParaValido() throws Exception {
+        mockMvc.perform(get("/api/cnpj/{cnpj}/sugestoes", "12ABC34501DE35"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.motivo").value("VALIDO"))
+            .andExpect(jsonPath("$.quantidade").value(0));
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.controller;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.empresa.CnpjValidationService;
+import com.example.empresa.EmpresaStore;
+import com.example.validation.cnpj.CnpjPrefixIndex;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import jakarta.servlet.ServletException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do {@link EmpresaController}: versionamento, If-Match e reenvio sem alterações.
+ */
+@DisplayName("Testes do EmpresaController")
+class EmpresaControllerTest {
+
+    private static final String EMPRESA =
+        "{\"razaoSocial\":\"Tech Inovação Ltda\",\"cnpj\":\"12ABC34501DE35\",\"nomeFantasia\":\"Tech Inova\"}";
+    private static final String ALTERADA =
+        "{\"razaoSocial\":\"Tech Inovação S.A.\",\"cnpj\":\"12ABC34501DE35\",\"nomeFantasia\":\"Tech Inova\"}";
+
+    private MockMvc mockMvc;
+    private EmpresaStore empresas;
+    private ShardedRaizRegistry registro;
+    private CnpjPrefixIndex busca;
+    private CnpjValidationService verificacoes;
+
+    @BeforeEach
+    void setUp() {
+        empresas = new EmpresaStore();
+        registro = ShardedRaizRegistry.standalone(new CnpjRaizIndex());
+        busca = new CnpjPrefixIndex();
+        verificacoes = new CnpjValidationService(Validation.buildDefaultValidatorFactory().getValidator(), registro,
+            new StaticListableBeanFactory().getBeanProvider(SituacaoCadastralIndex.class), 2, 8, Duration.ofSeconds(5));
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new EmpresaController(registro, busca, empresas, verificacoes))
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verificacoes.close();
+    }
+
+    @Test
+    @DisplayName("Cadastro deve retornar id, versão 1 e ETag")
+    void deveCadastrarComVersao() throws Exception {
+        mockMvc.perform(post("/api/empresas").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("ETag", "\"1\""))
+            .andExpect(header().string("Location", "/api/empresas/1"))
+            .andExpect(jsonPath("$.id").value(1))
+            .andExpect(jsonPath("$.versao").value(1));
+
+        mockMvc.perform(get("/api/empresas/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1\""))
+            .andExpect(jsonPath("$.empresa.cnpj").value("12ABC34501DE35"));
+
+        mockMvc.perform(get("/api/empresas/1").header("If-None-Match", "\"1\""))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/empresas/99"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("PUT com If-Match atual deve gravar e incrementar a versão")
+    void deveAtualizarComIfMatch() throws Exception {
+        cadastrar();
+
+        mockMvc.perform(put("/api/empresas/1").header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON).content(ALTERADA))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"2\""))
+            .andExpect(jsonPath("$.versao").value(2))
+            .andExpect(jsonPath("$.empresa.razaoSocial").value("Tech Inovação S.A."));
+
+        // ETag fraco, como o cliente recebe numa resposta comprimida
+        mockMvc.perform(put("/api/empresas/1").header("If-Match", "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""));
+        mockMvc.perform(put("/api/empresas/1").header("If-Match", "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON).content(ALTERADA))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT com If-Match desatualizado deve responder 412 sem gravar")
+    void deveRecusarVersaoAntiga() throws Exception {
+        cadastrar();
+        mockMvc.perform(put("/api/empresas/1").contentType(MediaType.APPLICATION_JSON).content(ALTERADA))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/empresas/1").header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string("ETag", "\"2\""))
+            .andExpect(jsonPath("$.versaoAtual").value(2));
+
+        assertEquals("Tech Inovação S.A.", empresas.obter(1).orElseThrow().razaoSocial());
+
+        // If-Match para id inexistente também falha
+        mockMvc.perform(put("/api/empresas/7").header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Reenvio sem alterações deve responder 304 sem nova versão")
+    void deveIgnorarReenvio() throws Exception {
+        cadastrar();
+
+        mockMvc.perform(put("/api/empresas/1").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"1\""));
+        mockMvc.perform(put("/api/empresas/1").header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isNotModified());
+
+        assertEquals(1, empresas.obter(1).orElseThrow().versao());
+    }
+
+    @Test
+    @DisplayName("PUT com dados inválidos deve responder 400 no formato da validação")
+    void deveValidarAlteracao() throws Exception {
+        cadastrar();
+
+        mockMvc.perform(put("/api/empresas/1").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"razaoSocial\":\"Tech Inovação Ltda\",\"cnpj\":\"12ABC34501DE36\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.cnpj").value("CNPJ inválido ou com dígitos verificadores incorretos"));
+
+        assertEquals(1, empresas.obter(1).orElseThrow().versao());
+    }
+
+    @Test
+    @DisplayName("PUT em id inexistente sem If-Match deve criar a empresa")
+    void deveCriarComPut() throws Exception {
+        mockMvc.perform(put("/api/empresas/5").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("ETag", "\"1\""))
+            .andExpect(jsonPath("$.id").value(5));
+    }
+
+    @Test
+    @DisplayName("PUT deve registrar a raiz antes de gravar e POST que falha deve desfazer o registro")
+    void deveRegistrarSoEmpresasGravadas() throws Exception {
+        mockMvc.perform(put("/api/empresas/5").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated());
+        assertEquals(List.of("12ABC34501DE35"), registro.filiais("12ABC345"));
+
+        // índice de busca com falha: a empresa não é gravada e o registro é desfeito
+        CnpjPrefixIndex quebrado = new CnpjPrefixIndex() {
+            @Override
+            public boolean adicionar(CharSequence cnpj) {
+                throw new IllegalStateException("índice indisponível");
+            }
+        };
+        MockMvc comFalha = MockMvcBuilders
+            .standaloneSetup(new EmpresaController(registro, quebrado, empresas, verificacoes))
+            .build();
+        String outra = "{\"razaoSocial\":\"Comércio Ltda\",\"cnpj\":\"90.021.382/0001-22\"}";
+        assertThrows(ServletException.class, () -> comFalha.perform(post("/api/empresas")
+            .contentType(MediaType.APPLICATION_JSON).content(outra)));
+
+        assertEquals(List.of(), registro.filiais("90021382"));
+        assertEquals(1, empresas.quantidade());
+    }
+
+    @Test
+    @DisplayName("PUT que troca o CNPJ deve liberar o anterior quando nenhuma outra empresa o usa")
+    void deveLiberarCnpjAnterior() throws Exception {
+        mockMvc.perform(put("/api/empresas/1").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/empresas/2").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated());
+
+        String numerico = "{\"razaoSocial\":\"Tech Inovação Ltda\",\"cnpj\":\"90.021.382/0001-22\"}";
+        String formatado = "{\"razaoSocial\":\"Tech Inovação Ltda\",\"cnpj\":\"12.ABC.345/01DE-35\"}";
+
+        // a empresa 2 ainda usa o CNPJ anterior
+        mockMvc.perform(put("/api/empresas/1").contentType(MediaType.APPLICATION_JSON).content(numerico))
+            .andExpect(status().isOk());
+        assertEquals(List.of("12ABC34501DE35"), registro.filiais("12ABC345"));
+        assertEquals(List.of("12ABC34501DE35"), busca.buscar("12ABC", 20));
+
+        // só a formatação mudou: é o mesmo estabelecimento
+        mockMvc.perform(put("/api/empresas/2").contentType(MediaType.APPLICATION_JSON).content(formatado))
+            .andExpect(status().isOk());
+        assertEquals(List.of("12ABC34501DE35"), registro.filiais("12ABC345"));
+
+        mockMvc.perform(put("/api/empresas/2").contentType(MediaType.APPLICATION_JSON).content(numerico))
+            .andExpect(status().isOk());
+        assertEquals(List.of(), registro.filiais("12ABC345"));
+        assertEquals(List.of(), busca.buscar("12ABC", 20));
+        assertEquals(List.of("90021382000122"), registro.filiais("90021382"));
+        assertEquals(List.of("90021382000122"), busca.buscar("9002", 20));
+    }
+
+    private void cadastrar() throws Exception {
+        mockMvc.perform(post("/api/empresas").contentType(MediaType.APPLICATION_JSON).content(EMPRESA))
+            .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.empresa;
+
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjPacked;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.SituacaoCadastral;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link CnpjValidationService}.
+ */
+@DisplayName("Testes do CnpjValidationService")
+class CnpjValidationServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve validar os dados e trazer a situação cadastral")
+    void deveVerificarEmpresa() throws Exception {
+        Path arquivo = diretorio.resolve("situacao.bin");
+        try (SituacaoCadastralIndex.Escritor escritor = new SituacaoCadastralIndex.Escritor(arquivo, null)) {
+            escritor.adicionar(CnpjPacked.packBase("12ABC34501DE35", 0), SituacaoCadastralIndex.info(2, null));
+        }
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        try (SituacaoCadastralIndex base = SituacaoCadastralIndex.abrir(arquivo)) {
+            beans.addBean("situacao", base);
+            try (CnpjValidationService servico = servico(beans, 2, 8, Duration.ofSeconds(5))) {
+                CnpjValidationService.Verificacao valida = CnpjValidationService.aguardar(
+                    servico.verificar(new EmpresaDTO("Tech Inovação Ltda", "12.ABC.345/01DE-35", null)));
+                assertTrue(valida.valida());
+                assertEquals(SituacaoCadastral.ATIVA, SituacaoCadastralIndex.situacao(valida.situacao()));
+
+                CnpjValidationService.Verificacao invalida = CnpjValidationService.aguardar(
+                    servico.verificar(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE36", null)));
+                assertFalse(invalida.valida());
+                assertEquals("cnpj", invalida.violacoes().iterator().next().getPropertyPath().toString());
+                assertNull(invalida.situacao());
+
+                assertTrue(servico.registrar("12ABC34501DE35").get(5, TimeUnit.SECONDS));
+                assertFalse(servico.registrar("12ABC34501DE35").get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve executar as tarefas em paralelo")
+    void deveExecutarEmParalelo() throws Exception {
+        try (CnpjValidationService servico = servico(new StaticListableBeanFactory(), 2, 8, Duration.ofSeconds(5))) {
+            // cada tarefa só termina quando a outra também estiver em execução
+            CyclicBarrier barreira = new CyclicBarrier(2);
+            CompletableFuture<Integer> primeira = servico.submeter(() -> barreira.await(2, TimeUnit.SECONDS));
+            CompletableFuture<Integer> segunda = servico.submeter(() -> barreira.await(2, TimeUnit.SECONDS));
+            assertEquals(1, primeira.get(5, TimeUnit.SECONDS) + segunda.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve interromper a tarefa que estoura o prazo")
+    void deveInterromperNoTimeout() throws Exception {
+        try (CnpjValidationService servico = servico(new StaticListableBeanFactory(), 1, 8, Duration.ofMillis(100))) {
+            CountDownLatch interrompida = new CountDownLatch(1);
+            CompletableFuture<Object> lenta = servico.submeter(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrompida.countDown();
+                }
+                return null;
+            });
+
+            VerificacaoIndisponivelException erro = assertThrows(VerificacaoIndisponivelException.class,
+                () -> CnpjValidationService.aguardar(lenta));
+            assertInstanceOf(TimeoutException.class, erro.getCause());
+            assertTrue(interrompida.await(5, TimeUnit.SECONDS));
+            assertEquals(1, servico.getExpiradas());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora quando o executor e a fila estão cheios")
+    void deveRecusarSemVaga() throws Exception {
+        try (CnpjValidationService servico = servico(new StaticListableBeanFactory(), 1, 1, Duration.ofSeconds(5))) {
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Boolean> executando = servico.submeter(() -> liberar.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> enfileirada = servico.submeter(() -> liberar.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<Boolean> recusada = servico.submeter(() -> true);
+            assertTrue(recusada.isCompletedExceptionally());
+            assertThrows(VerificacaoIndisponivelException.class, () -> CnpjValidationService.aguardar(recusada));
+            assertEquals(1, servico.getRecusadas());
+
+            liberar.countDown();
+            assertTrue(executando.get(5, TimeUnit.SECONDS));
+            assertTrue(enfileirada.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static CnpjValidationService servico(StaticListableBeanFactory beans, int threads, int fila,
+                                                 Duration timeout) {
+        return new CnpjValidationService(Validation.buildDefaultValidatorFactory().getValidator(),
+            ShardedRaizRegistry.standalone(new CnpjRaizIndex()), beans.getBeanProvider(SituacaoCadastralIndex.class),
+            threads, fila, timeout);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.empresa;
+
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjPacked;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link EmpresaStore}.
+ */
+@DisplayName("Testes do EmpresaStore")
+class EmpresaStoreTest {
+
+    private static final EmpresaDTO DADOS = new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE35", "Tech Inova");
+
+    @Test
+    @DisplayName("Deve gravar só sobre a versão esperada")
+    void deveCompararVersao() {
+        EmpresaStore store = new EmpresaStore();
+        Empresa v1 = store.criar(DADOS);
+        Empresa v2 = v1.proximaVersao(new EmpresaDTO("Tech Inovação S.A.", "12ABC34501DE35", null));
+
+        assertTrue(store.substituir(v1, v2));
+        assertFalse(store.substituir(v1, v1.proximaVersao(DADOS)), "versão antiga não pode sobrescrever");
+        assertEquals(v2, store.obter(v1.id()).orElseThrow());
+        assertEquals("\"2\"", v2.etag());
+    }
+
+    @Test
+    @DisplayName("Atualizações concorrentes com releitura não devem se perder")
+    void naoDevePerderAtualizacoes() throws InterruptedException {
+        EmpresaStore store = new EmpresaStore();
+        long id = store.criar(DADOS).id();
+        int threads = 8;
+        int porThread = 2_000;
+
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int numero = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < porThread; i++) {
+                    // perdeu a corrida: relê a versão nova e tenta de novo
+                    while (true) {
+                        Empresa atual = store.obter(id).orElseThrow();
+                        EmpresaDTO dados = new EmpresaDTO("Empresa " + numero + "-" + i, atual.cnpj(), null);
+                        if (store.substituir(atual, atual.proximaVersao(dados))) {
+                            break;
+                        }
+                    }
+                }
+            });
+            trabalhadores.add(thread);
+            thread.start();
+        }
+        for (Thread thread : trabalhadores) {
+            thread.join();
+        }
+
+        assertEquals(1L + threads * porThread, store.obter(id).orElseThrow().versao());
+    }
+
+    @Test
+    @DisplayName("Deve contar as empresas de cada base de CNPJ")
+    void deveContarUsosPorBase() {
+        EmpresaStore store = new EmpresaStore();
+        long base = CnpjPacked.packBase("12ABC34501DE", 0);
+        long outra = CnpjPacked.packBase("900213820001", 0);
+        assertFalse(store.emUso(base));
+
+        Empresa primeira = store.criar(DADOS);
+        assertTrue(store.criarSeAusente(Empresa.nova(100, new EmpresaDTO("Outra", "12.ABC.345/01DE-35", null))));
+        assertFalse(store.criarSeAusente(Empresa.nova(100, new EmpresaDTO("Outra", "90021382000122", null))));
+        assertTrue(store.emUso(base));
+        assertFalse(store.emUso(outra), "criação recusada não conta");
+
+        Empresa trocada = primeira.proximaVersao(new EmpresaDTO("Tech Inovação Ltda", "90021382000122", null));
+        assertTrue(store.substituir(primeira, trocada));
+        assertFalse(store.substituir(primeira, primeira.proximaVersao(DADOS)));
+        assertTrue(store.emUso(base), "a empresa 100 ainda usa a base");
+        assertTrue(store.emUso(outra));
+
+        Empresa cem = store.obter(100).orElseThrow();
+        assertTrue(store.substituir(cem, cem.proximaVersao(new EmpresaDTO("Outra", "90021382000122", null))));
+        assertFalse(store.emUso(base));
+        assertTrue(store.emUso(outra));
+    }
+
+    @Test
+    @DisplayName("Deve detectar reenvio sem alterações")
+    void deveDetectarMesmosDados() {
+        Empresa empresa = Empresa.nova(1, DADOS);
+
+        assertTrue(empresa.mesmosDados(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE35", "Tech Inova")));
+        assertFalse(empresa.mesmosDados(new EmpresaDTO("Tech Inovação Ltda", "12.ABC.345/01DE-35", "Tech Inova")));
+        assertFalse(empresa.mesmosDados(new EmpresaDTO("Tech Inovação Ltda", "12ABC34501DE35", null)));
+    }
+
+    @Test
+    @DisplayName("Criação não deve reutilizar id ocupado por PUT com id explícito")
+    void naoDeveReutilizarId() {
+        EmpresaStore store = new EmpresaStore();
+        assertTrue(store.criarSeAusente(Empresa.nova(1, DADOS)));
+        assertFalse(store.criarSeAusente(Empresa.nova(1, DADOS)));
+
+        assertEquals(2, store.criar(DADOS).id());
+        assertEquals(2, store.quantidade());
+    }
+}
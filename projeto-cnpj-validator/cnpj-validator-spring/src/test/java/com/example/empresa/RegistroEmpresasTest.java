@@ -0,0 +1,113 @@
+package com.example.empresa;
+
+import com.example.cluster.ClusterNode;
+import com.example.cluster.ShardedRaizRegistry;
+import com.example.dto.EmpresaDTO;
+import com.example.validation.cnpj.CnpjRaizIndex;
+import com.example.validation.cnpj.SituacaoCadastralIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link RegistroEmpresas}: registro desfeito só quando ninguém mais usa o estabelecimento.
+ */
+@DisplayName("Testes do RegistroEmpresas")
+class RegistroEmpresasTest {
+
+    private static final String CNPJ = "12ABC34501DE35";
+
+    @Test
+    @DisplayName("Gravação que falha não deve desfazer o registro de que outra gravação depende")
+    void deveManterRegistroDeOutraGravacao() {
+        ShardedRaizRegistry registro = ShardedRaizRegistry.standalone(new CnpjRaizIndex());
+        EmpresaStore empresas = new EmpresaStore();
+        try (CnpjValidationService verificacoes = servico(registro, Duration.ofSeconds(5))) {
+            RegistroEmpresas registros = new RegistroEmpresas(registro, empresas, verificacoes);
+
+            // A cria o registro, B o encontra pronto; A perde a corrida e B grava
+            RegistroEmpresas.Reserva a = registros.reservar(CNPJ);
+            assertTrue(CnpjValidationService.aguardar(a.registrado()));
+            RegistroEmpresas.Reserva b = registros.reservar("12.ABC.345/01DE-35");
+            assertFalse(CnpjValidationService.aguardar(b.registrado()));
+            a.encerrar(null);
+            assertEquals(List.of(CNPJ), registro.filiais("12ABC345"));
+            empresas.criar(new EmpresaDTO("Tech Inovação Ltda", CNPJ, null));
+            b.encerrar(null);
+            assertEquals(List.of(CNPJ), registro.filiais("12ABC345"));
+
+            // nenhuma das duas grava: a última a encerrar desfaz o registro criado pela outra
+            RegistroEmpresas.Reserva c = registros.reservar("90021382000122");
+            RegistroEmpresas.Reserva d = registros.reservar("90021382000122");
+            assertTrue(CnpjValidationService.aguardar(c.registrado()) ^ CnpjValidationService.aguardar(d.registrado()));
+            c.encerrar(null);
+            assertEquals(List.of("90021382000122"), registro.filiais("90021382"));
+            d.encerrar(null);
+            assertEquals(List.of(), registro.filiais("90021382"));
+
+            // a empresa gravada segura o registro
+            assertFalse(registros.liberar(CNPJ));
+            assertThrows(IllegalArgumentException.class, () -> registros.reservar("12ABC34501DE36"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o registro que termina depois do prazo")
+    void deveDesfazerRegistroTardio() throws Exception {
+        CountDownLatch liberado = new CountDownLatch(1);
+        CountDownLatch terminado = new CountDownLatch(1);
+        ShardedRaizRegistry registro = new ShardedRaizRegistry(new ClusterNode("local", "localhost", 0),
+                new CnpjRaizIndex(), List.of(), 128) {
+            @Override
+            public boolean registrar(CharSequence cnpj) {
+                // um nó lento que ignora a interrupção e conclui o registro depois do prazo
+                boolean interrompido = false;
+                while (true) {
+                    try {
+                        liberado.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrompido = true;
+                    }
+                }
+                boolean registrado = super.registrar(cnpj);
+                if (interrompido) {
+                    Thread.currentThread().interrupt();
+                }
+                return registrado;
+            }
+
+            @Override
+            public boolean remover(CharSequence cnpj) {
+                boolean removido = super.remover(cnpj);
+                terminado.countDown();
+                return removido;
+            }
+        };
+        try (CnpjValidationService verificacoes = servico(registro, Duration.ofMillis(100))) {
+            RegistroEmpresas registros = new RegistroEmpresas(registro, new EmpresaStore(), verificacoes);
+
+            RegistroEmpresas.Reserva reserva = registros.reservar(CNPJ);
+            VerificacaoIndisponivelException falha = assertThrows(VerificacaoIndisponivelException.class,
+                () -> CnpjValidationService.aguardar(reserva.registrado()));
+            reserva.encerrar(falha);
+
+            liberado.countDown();
+            assertTrue(terminado.await(5, TimeUnit.SECONDS), "o registro tardio deve ser desfeito");
+            assertEquals(List.of(), registro.filiais("12ABC345"));
+        }
+    }
+
+    private static CnpjValidationService servico(ShardedRaizRegistry registro, Duration timeout) {
+        return new CnpjValidationService(Validation.buildDefaultValidatorFactory().getValidator(), registro,
+            new StaticListableBeanFactory().getBeanProvider(SituacaoCadastralIndex.class), 2, 8, timeout);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.sidecar;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do protocolo do {@link CnpjSidecarServer} usando o {@link CnpjSidecarClient}.
+ *
+ * @author Sistema de Validação
+ * @since 1.0
+ */
+@DisplayName("CnpjSidecarServer - Protocolo TCP")
+class CnpjSidecarServerTest {
+
+    private static CnpjSidecarServer server;
+    private static CnpjSidecarClient cliente;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        server = new CnpjSidecarServer(0, false).start();
+        cliente = new CnpjSidecarClient("localhost", server.getPorta());
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        cliente.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Deve responder válido e inválido para CNPJs individuais")
+    void deveResponderCNPJsIndividuais() throws Exception {
+        assertTrue(cliente.validar("12ABC34501DE35"));
+        assertTrue(cliente.validar("90.021.382/0001-22"));
+        assertFalse(cliente.validar("12ABC34501DE00"));
+        assertFalse(cliente.validar(""));
+    }
+
+    @Test
+    @DisplayName("Deve responder na ordem de envio com pipelining")
+    void deveResponderNaOrdemComPipelining() throws Exception {
+        List<String> cnpjs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            cnpjs.add(i % 2 == 0 ? "R55231B3000757" : "R55231B3000700");
+        }
+
+        byte[] status = cliente.validarLote(cnpjs);
+
+        for (int i = 0; i < status.length; i++) {
+            byte esperado = i % 2 == 0 ? CnpjSidecarServer.STATUS_VALIDO : CnpjSidecarServer.STATUS_INVALIDO;
+            assertEquals(esperado, status[i], "Status incorreto na posição " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve responder erro para linha longa e continuar atendendo")
+    void deveResponderErroParaLinhaLonga() throws Exception {
+        assertEquals(CnpjSidecarServer.STATUS_ERRO, cliente.validarStatus("9".repeat(200)));
+        assertTrue(cliente.validar("1345C3A5000106"));
+    }
+
+    @Test
+    @DisplayName("Deve escutar só na interface de loopback por padrão")
+    void deveEscutarEmLoopback() {
+        assertTrue(server.getEndereco().isLoopbackAddress());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar linhas fragmentadas e terminadas em CRLF")
+    void deveAceitarLinhasFragmentadas() throws Exception {
+        try (Socket socket = new Socket("localhost", server.getPorta())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+
+            out.write("12ABC345".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            Thread.sleep(20);
+            out.write("01DE35\r\n1345c3A5000106\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            assertEquals(CnpjSidecarServer.STATUS_VALIDO, in.read());
+            assertEquals(CnpjSidecarServer.STATUS_INVALIDO, in.read());
+        }
+    }
+}